@@ -1,34 +1,87 @@
 package ai.elaro.sdk;
 
+import ai.elaro.sdk.aot.ElaroRuntimeHints;
+import ai.elaro.sdk.config.PluginKafkaClients;
 import ai.elaro.sdk.config.PluginKafkaConfig;
 import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.health.PluginHealthIndicators;
+import ai.elaro.sdk.health.PluginHealthMonitor;
 import ai.elaro.sdk.kafka.PluginKafkaListener;
 import ai.elaro.sdk.kafka.PluginKafkaProducer;
+import ai.elaro.sdk.load.InFlightRequestFilter;
+import ai.elaro.sdk.load.InFlightRequestWebFilter;
+import ai.elaro.sdk.load.InFlightRequests;
+import ai.elaro.sdk.load.InstanceLoadReporter;
+import ai.elaro.sdk.load.InstanceLoadSampler;
+import ai.elaro.sdk.logging.ElaroLogger;
+import ai.elaro.sdk.logging.LogPublisher;
+import ai.elaro.sdk.metrics.MicrometerPluginMetrics;
+import ai.elaro.sdk.metrics.PluginMetrics;
 import ai.elaro.sdk.registration.PluginLifecycleManager;
 import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.security.ScreenAccessEvaluator;
+import ai.elaro.sdk.security.ScreenPermissionFilter;
+import ai.elaro.sdk.security.ScreenPermissionWebFilter;
+import ai.elaro.sdk.startup.StartupEndpoint;
+import ai.elaro.sdk.startup.StartupTimeline;
+import ai.elaro.sdk.startup.StartupTimelineRecorder;
+import ai.elaro.sdk.tracing.MicrometerTraceContextResolver;
+import ai.elaro.sdk.tracing.OpenTelemetryTraceContextResolver;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.tracing.TraceContextResolver;
+import ai.elaro.sdk.transport.InMemoryConsole;
+import ai.elaro.sdk.transport.InProcessPluginTransport;
+import ai.elaro.sdk.transport.KafkaPluginTransport;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.ui.PluginReactiveEndpoints;
+import ai.elaro.sdk.ui.PluginResponseCache;
 import ai.elaro.sdk.ui.PluginScreenRegistry;
 import ai.elaro.sdk.ui.PluginUiController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
 
 /**
  * Spring Boot auto-configuration for the Elaro Plugin SDK.
  * This configuration is automatically loaded when the SDK is on the classpath
  * and the plugin is properly configured.
+ *
+ * <p>Every SDK bean is declared explicitly here rather than discovered by
+ * component scanning, which keeps startup cheap and lets Spring AOT
+ * pre-compute the bean graph for native images.</p>
  */
 @AutoConfiguration
 @EnableConfigurationProperties(PluginProperties.class)
 @ConditionalOnProperty(prefix = "elaro.plugin", name = "id")
 @Import(PluginKafkaConfig.class)
 @EnableKafka
-@ComponentScan(basePackages = "ai.elaro.sdk")
+@ImportRuntimeHints(ElaroRuntimeHints.class)
 @Slf4j
 public class ElaroPluginAutoConfiguration {
 
@@ -37,20 +90,75 @@ public class ElaroPluginAutoConfiguration {
             properties.getName(), properties.getId());
     }
 
+    /**
+     * Static so that it is registered before any SDK bean is created.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "elaro.plugin.startup", name = "enabled", havingValue = "true")
+    public static StartupTimelineRecorder elaroStartupTimelineRecorder() {
+        return new StartupTimelineRecorder();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public StartupTimeline elaroStartupTimeline(
+            ObjectProvider<StartupTimelineRecorder> recorder,
+            PluginMetrics pluginMetrics) {
+        StartupTimelineRecorder current = recorder.getIfAvailable();
+        StartupTimeline timeline = current != null ? current.getTimeline() : StartupTimeline.NOOP;
+        timeline.bindMetrics(pluginMetrics);
+        return timeline;
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public PluginScreenRegistry pluginScreenRegistry(
-            org.springframework.context.ApplicationContext applicationContext) {
-        return new PluginScreenRegistry(applicationContext);
+            org.springframework.context.ApplicationContext applicationContext,
+            StartupTimeline elaroStartupTimeline) {
+        PluginScreenRegistry registry = new PluginScreenRegistry(applicationContext);
+        registry.setStartupTimeline(elaroStartupTimeline);
+        return registry;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PluginMetrics.class)
+    public PluginMetrics noopPluginMetrics() {
+        return PluginMetrics.NOOP;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PluginMessageCodec pluginMessageCodec(
+            com.fasterxml.jackson.databind.ObjectMapper pluginObjectMapper,
+            PluginProperties properties) {
+        return new PluginMessageCodec(properties.getJson().isBlackbird()
+            ? PluginMessageCodec.withBlackbird(pluginObjectMapper)
+            : pluginObjectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PluginTracing pluginTracing(
+            ObjectProvider<TraceContextResolver> resolvers,
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            PluginProperties properties) {
+        PluginProperties.TracingProperties tracing = properties.getTracing();
+        return new PluginTracing(resolvers.orderedStream().toList(),
+            observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP),
+            tracing.getSampleRate(), tracing.isEnabled());
     }
 
     @Bean
     @ConditionalOnMissingBean
     public PluginKafkaProducer pluginKafkaProducer(
-            org.springframework.kafka.core.KafkaTemplate<String, String> pluginKafkaTemplate,
+            PluginTransport pluginTransport,
             PluginProperties properties,
-            com.fasterxml.jackson.databind.ObjectMapper pluginObjectMapper) {
-        return new PluginKafkaProducer(pluginKafkaTemplate, properties, pluginObjectMapper);
+            PluginMessageCodec pluginMessageCodec,
+            PluginMetrics pluginMetrics,
+            PluginTracing pluginTracing) {
+        return new PluginKafkaProducer(pluginTransport, properties, pluginMessageCodec,
+            pluginMetrics, pluginTracing);
     }
 
     @Bean
@@ -59,8 +167,15 @@ public class ElaroPluginAutoConfiguration {
             PluginKafkaProducer kafkaProducer,
             PluginProperties properties,
             PluginScreenRegistry screenRegistry,
-            org.springframework.core.env.Environment environment) {
-        return new PluginRegistrar(kafkaProducer, properties, screenRegistry, environment);
+            org.springframework.core.env.Environment environment,
+            PluginMetrics pluginMetrics,
+            PluginThreads pluginThreads,
+            ObjectProvider<InstanceLoadSampler> loadSampler,
+            StartupTimeline elaroStartupTimeline) {
+        PluginRegistrar registrar = new PluginRegistrar(kafkaProducer, properties, screenRegistry, environment,
+            pluginMetrics, pluginThreads, loadSampler);
+        registrar.setStartupTimeline(elaroStartupTimeline);
+        return registrar;
     }
 
     @Bean
@@ -68,24 +183,322 @@ public class ElaroPluginAutoConfiguration {
     public PluginKafkaListener pluginKafkaListener(
             PluginRegistrar registrar,
             PluginProperties properties,
-            com.fasterxml.jackson.databind.ObjectMapper pluginObjectMapper) {
-        return new PluginKafkaListener(registrar, properties, pluginObjectMapper);
+            PluginMessageCodec pluginMessageCodec,
+            PluginMetrics pluginMetrics,
+            PluginTransport pluginTransport) {
+        return new PluginKafkaListener(registrar, properties, pluginMessageCodec, pluginMetrics, pluginTransport);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public PluginLifecycleManager pluginLifecycleManager(
             PluginProperties properties,
-            PluginRegistrar registrar) {
-        return new PluginLifecycleManager(properties, registrar);
+            PluginRegistrar registrar,
+            PluginTransport pluginTransport,
+            ObjectProvider<LogPublisher> logPublisher) {
+        return new PluginLifecycleManager(properties, registrar, pluginTransport, logPublisher);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PluginHealthMonitor pluginHealthMonitor(
+            PluginProperties properties,
+            PluginRegistrar registrar,
+            PluginTransport pluginTransport,
+            PluginThreads pluginThreads,
+            PluginKafkaClients pluginKafkaClients) {
+        PluginHealthMonitor monitor = new PluginHealthMonitor(properties, registrar, pluginTransport, pluginThreads);
+        monitor.setAdminConfig(pluginKafkaClients.adminConfig());
+        return monitor;
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public PluginUiController pluginUiController(
+    @ConditionalOnWebApplication
+    @ConditionalOnProperty(prefix = "elaro.plugin.load", name = "enabled", havingValue = "true")
+    public InFlightRequests inFlightRequests() {
+        return new InFlightRequests();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "elaro.plugin.load", name = "enabled", havingValue = "true")
+    public InstanceLoadSampler instanceLoadSampler(
+            PluginTransport pluginTransport,
+            ObjectProvider<InFlightRequests> inFlightRequests) {
+        return new InstanceLoadSampler(pluginTransport, inFlightRequests.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "elaro.plugin.load", name = "enabled", havingValue = "true")
+    public InstanceLoadReporter instanceLoadReporter(
+            PluginProperties properties,
+            InstanceLoadSampler instanceLoadSampler,
+            PluginRegistrar registrar,
+            PluginTransport pluginTransport,
+            PluginMessageCodec pluginMessageCodec,
+            PluginThreads pluginThreads) {
+        return new InstanceLoadReporter(properties, instanceLoadSampler, registrar,
+            pluginTransport, pluginMessageCodec, pluginThreads);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication
+    public PluginResponseCache pluginResponseCache(
             PluginProperties properties,
             PluginScreenRegistry screenRegistry,
-            PluginRegistrar registrar) {
-        return new PluginUiController(properties, screenRegistry, registrar);
+            PluginRegistrar registrar,
+            com.fasterxml.jackson.databind.ObjectMapper pluginObjectMapper,
+            PluginHealthMonitor healthMonitor) {
+        return new PluginResponseCache(properties, screenRegistry, registrar, pluginObjectMapper, healthMonitor);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication
+    @ConditionalOnProperty(prefix = "elaro.plugin.security", name = "enabled", havingValue = "true")
+    public ScreenAccessEvaluator screenAccessEvaluator(
+            PluginScreenRegistry screenRegistry,
+            PluginProperties properties) {
+        return new ScreenAccessEvaluator(screenRegistry, properties);
+    }
+
+    /**
+     * Kafka transport, the default.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "elaro.plugin.transport", name = "type", havingValue = "kafka", matchIfMissing = true)
+    static class KafkaTransportConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(PluginTransport.class)
+        public KafkaPluginTransport pluginTransport(
+                @Qualifier("pluginKafkaTemplate") KafkaTemplate<String, byte[]> pluginKafkaTemplate,
+                @Qualifier("pluginKafkaListenerContainerFactory")
+                ConcurrentKafkaListenerContainerFactory<String, byte[]> pluginKafkaListenerContainerFactory,
+                StartupTimeline elaroStartupTimeline) {
+            KafkaPluginTransport transport =
+                new KafkaPluginTransport(pluginKafkaTemplate, pluginKafkaListenerContainerFactory);
+            transport.setStartupTimeline(elaroStartupTimeline);
+            return transport;
+        }
+    }
+
+    /**
+     * In-JVM transport for tests, benchmarks and load tests, with an optional
+     * in-memory console that acknowledges announcements.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "elaro.plugin.transport", name = "type", havingValue = "in-process")
+    static class InProcessTransportConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(PluginTransport.class)
+        public InProcessPluginTransport pluginTransport(PluginProperties properties, PluginThreads pluginThreads) {
+            return new InProcessPluginTransport(properties.getId(),
+                properties.getTransport().getQueueCapacity(), pluginThreads);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "elaro.plugin.transport", name = "in-memory-console",
+            havingValue = "true", matchIfMissing = true)
+        public InMemoryConsole inMemoryConsole(
+                PluginTransport pluginTransport,
+                PluginMessageCodec pluginMessageCodec,
+                PluginProperties properties) {
+            return new InMemoryConsole(pluginTransport, pluginMessageCodec,
+                properties.getKafka().getAnnounceTopic(),
+                properties.getKafka().getAckTopic(),
+                properties.getKafka().getStatusTopic(),
+                ElaroLogger.LOGS_TOPIC);
+        }
+    }
+
+    /**
+     * Trace context from Micrometer Tracing, consulted before OpenTelemetry.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Tracer.class)
+    static class MicrometerTracingConfiguration {
+
+        @Bean
+        @Order(0)
+        @ConditionalOnMissingBean(MicrometerTraceContextResolver.class)
+        public MicrometerTraceContextResolver micrometerTraceContextResolver(ObjectProvider<Tracer> tracer) {
+            return new MicrometerTraceContextResolver(tracer.getIfUnique());
+        }
+    }
+
+    /**
+     * Trace context from the OpenTelemetry API.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.opentelemetry.api.trace.Span")
+    static class OpenTelemetryTracingConfiguration {
+
+        @Bean
+        @Order(1)
+        @ConditionalOnMissingBean(OpenTelemetryTraceContextResolver.class)
+        public OpenTelemetryTraceContextResolver openTelemetryTraceContextResolver() {
+            return new OpenTelemetryTraceContextResolver();
+        }
+    }
+
+    /**
+     * Micrometer registration metrics, used when Micrometer is present and the
+     * application exposes a {@link MeterRegistry}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(PluginMetrics.class)
+        public PluginMetrics micrometerPluginMetrics(
+                ObjectProvider<MeterRegistry> meterRegistry,
+                PluginProperties properties) {
+            MeterRegistry registry = meterRegistry.getIfUnique();
+            if (registry == null) {
+                return PluginMetrics.NOOP;
+            }
+            MicrometerPluginMetrics metrics = new MicrometerPluginMetrics(registry, properties);
+            metrics.bindTo(registry);
+            return metrics;
+        }
+    }
+
+    /**
+     * Actuator health indicators, registered when Spring Boot Actuator is present.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HealthIndicator.class)
+    static class HealthIndicatorConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "elaroKafkaHealthIndicator")
+        public HealthIndicator elaroKafkaHealthIndicator(PluginHealthMonitor healthMonitor) {
+            return PluginHealthIndicators.kafka(healthMonitor);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "elaroRegistrationHealthIndicator")
+        public HealthIndicator elaroRegistrationHealthIndicator(PluginHealthMonitor healthMonitor) {
+            return PluginHealthIndicators.registration(healthMonitor);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "elaroReadinessHealthIndicator")
+        @ConditionalOnProperty(prefix = "elaro.plugin.registration", name = "gate-readiness", havingValue = "true")
+        public HealthIndicator elaroReadinessHealthIndicator(PluginRegistrar registrar) {
+            return PluginHealthIndicators.readiness(registrar);
+        }
+    }
+
+    /**
+     * Adds the {@code elaroReadiness} indicator to the readiness health group.
+     * The property source is added last, so an application that configures
+     * the group itself keeps its own members.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HealthIndicator.class)
+    @ConditionalOnProperty(prefix = "elaro.plugin.registration", name = "gate-readiness", havingValue = "true")
+    @PropertySource("classpath:META-INF/elaro-plugin-readiness.properties")
+    static class ReadinessGroupConfiguration {
+    }
+
+    /**
+     * Startup timeline actuator endpoint, registered when startup recording is on.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnProperty(prefix = "elaro.plugin.startup", name = "enabled", havingValue = "true")
+    static class StartupEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public StartupEndpoint elaroStartupEndpoint(StartupTimeline elaroStartupTimeline) {
+            return new StartupEndpoint(elaroStartupTimeline);
+        }
+    }
+
+    /**
+     * Plugin REST endpoints, only registered for servlet web applications.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletEndpointsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PluginUiController pluginUiController(
+                PluginScreenRegistry screenRegistry,
+                PluginResponseCache responseCache) {
+            return new PluginUiController(screenRegistry, responseCache);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "elaro.plugin.security", name = "enabled", havingValue = "true")
+        @ConditionalOnMissingBean(name = "screenPermissionFilter")
+        public FilterRegistrationBean<ScreenPermissionFilter> screenPermissionFilter(
+                ScreenAccessEvaluator evaluator,
+                PluginProperties properties) {
+            FilterRegistrationBean<ScreenPermissionFilter> registration =
+                new FilterRegistrationBean<>(new ScreenPermissionFilter(evaluator, properties));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+            return registration;
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "elaro.plugin.load", name = "enabled", havingValue = "true")
+        @ConditionalOnMissingBean(name = "inFlightRequestFilter")
+        public FilterRegistrationBean<InFlightRequestFilter> inFlightRequestFilter(
+                InFlightRequests inFlightRequests) {
+            FilterRegistrationBean<InFlightRequestFilter> registration =
+                new FilterRegistrationBean<>(new InFlightRequestFilter(inFlightRequests));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    /**
+     * Functional plugin endpoints, only registered for reactive web applications.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(RouterFunction.class)
+    static class ReactiveEndpointsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PluginReactiveEndpoints pluginReactiveEndpoints(
+                PluginScreenRegistry screenRegistry,
+                PluginResponseCache responseCache) {
+            return new PluginReactiveEndpoints(screenRegistry, responseCache);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "pluginRouterFunction")
+        public RouterFunction<ServerResponse> pluginRouterFunction(PluginReactiveEndpoints endpoints) {
+            return endpoints.routes();
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "elaro.plugin.security", name = "enabled", havingValue = "true")
+        @ConditionalOnMissingBean
+        public ScreenPermissionWebFilter screenPermissionWebFilter(
+                ScreenAccessEvaluator evaluator,
+                PluginProperties properties) {
+            return new ScreenPermissionWebFilter(evaluator, properties);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "elaro.plugin.load", name = "enabled", havingValue = "true")
+        @ConditionalOnMissingBean
+        public InFlightRequestWebFilter inFlightRequestWebFilter(InFlightRequests inFlightRequests) {
+            return new InFlightRequestWebFilter(inFlightRequests);
+        }
     }
 }
@@ -0,0 +1,51 @@
+package ai.elaro.sdk.aot;
+
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.load.InstanceLoad;
+import ai.elaro.sdk.load.InstanceStatus;
+import ai.elaro.sdk.logging.LogBatch;
+import ai.elaro.sdk.logging.LogLevelCommand;
+import ai.elaro.sdk.logging.LogMessage;
+import ai.elaro.sdk.model.MenuDefinition;
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.model.ScreenPage;
+import ai.elaro.sdk.registration.PluginManifest;
+import ai.elaro.sdk.startup.StartupPhase;
+import ai.elaro.sdk.startup.StartupReport;
+import ai.elaro.sdk.ui.ScreenIndex;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Runtime hints for Spring AOT and GraalVM native images.
+ * Registers Jackson binding metadata for every type the SDK serializes
+ * to or from Kafka and the /plugin endpoints, and the build-time screen
+ * index resource.
+ */
+public class ElaroRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] BINDING_TYPES = {
+        PluginManifest.class,
+        ScreenDefinition.class,
+        MenuDefinition.class,
+        ScreenPage.class,
+        AckMessage.class,
+        LogMessage.class,
+        LogBatch.class,
+        LogBatch.Entry.class,
+        LogLevelCommand.class,
+        InstanceStatus.class,
+        InstanceLoad.class,
+        StartupReport.class,
+        StartupPhase.class
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), BINDING_TYPES);
+        hints.resources().registerPattern(ScreenIndex.LOCATION);
+    }
+}
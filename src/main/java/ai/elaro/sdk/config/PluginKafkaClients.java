@@ -0,0 +1,322 @@
+package ai.elaro.sdk.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.kafka.KafkaConnectionDetails;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Builds the Kafka clients the SDK uses for beacons, acks, status and logs.
+ *
+ * <p>By default the SDK runs private clients configured only with
+ * {@code elaro.plugin.kafka.bootstrap-servers}. With
+ * {@code elaro.plugin.kafka.share-application-clients} the clients are taken
+ * from the application instead:</p>
+ * <ul>
+ *   <li>the application's {@link ProducerFactory} is used as is when it
+ *   serializes {@code String} keys and {@code byte[]} values and is not
+ *   transactional, so the SDK sends through the application's producer,
+ *   buffer and connections. Its {@code acks} and {@code retries} are kept,
+ *   with a warning when they are weaker than the SDK's {@code acks=all} and
+ *   {@code retries=3};</li>
+ *   <li>otherwise producer and consumer configuration is derived from the
+ *   application's factories, or from Spring Boot's {@code spring.kafka.*}
+ *   properties, with the SDK's serializers, group and a smaller
+ *   {@code buffer.memory} layered on top.</li>
+ * </ul>
+ *
+ * <p>Consumers are never shared: the SDK's listeners need their own group
+ * and deserializers. Overrides from {@code elaro.plugin.kafka.producer} and
+ * {@code elaro.plugin.kafka.consumer} are applied last in either mode.</p>
+ */
+@Slf4j
+public class PluginKafkaClients {
+
+    /**
+     * Producer {@code buffer.memory} for a derived SDK producer, in bytes.
+     */
+    public static final long SHARED_BUFFER_MEMORY = 4 * 1024 * 1024;
+
+    private static final int SDK_RETRIES = 3;
+    private static final String PRODUCER_BEAN = "pluginProducerFactory";
+    private static final String CONSUMER_BEAN = "pluginConsumerFactory";
+
+    private final PluginProperties properties;
+    private final ListableBeanFactory beanFactory;
+    private final org.springframework.boot.autoconfigure.kafka.KafkaProperties bootProperties;
+    private final KafkaConnectionDetails connectionDetails;
+    private final SslBundles sslBundles;
+    private final ReentrantLock producerLock = new ReentrantLock();
+    private ProducerFactory<String, byte[]> producerFactory;
+
+    /**
+     * @param bootProperties Spring Boot's Kafka properties, or null
+     * @param connectionDetails Spring Boot's Kafka connection details, or null
+     * @param sslBundles Spring Boot's SSL bundles, or null
+     */
+    public PluginKafkaClients(PluginProperties properties, ListableBeanFactory beanFactory,
+                              org.springframework.boot.autoconfigure.kafka.KafkaProperties bootProperties,
+                              KafkaConnectionDetails connectionDetails, SslBundles sslBundles) {
+        this.properties = properties;
+        this.beanFactory = beanFactory;
+        this.bootProperties = bootProperties;
+        this.connectionDetails = connectionDetails;
+        this.sslBundles = sslBundles;
+    }
+
+    /**
+     * Whether clients are taken from the application.
+     */
+    public boolean isShared() {
+        return properties.getKafka().isShareApplicationClients();
+    }
+
+    /**
+     * Producer factory for the SDK's template.
+     */
+    public ProducerFactory<String, byte[]> producerFactory() {
+        producerLock.lock();
+        try {
+            if (producerFactory == null) {
+                producerFactory = createProducerFactory();
+            }
+            return producerFactory;
+        } finally {
+            producerLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerFactory<String, byte[]> createProducerFactory() {
+        PluginProperties.KafkaProperties kafka = properties.getKafka();
+        Map<String, Object> config;
+        if (!isShared()) {
+            config = new HashMap<>();
+            config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        } else {
+            String name = applicationBean(ProducerFactory.class, PRODUCER_BEAN);
+            ProducerFactory<?, ?> application = name != null ? beanFactory.getBean(name, ProducerFactory.class) : null;
+            if (application != null && kafka.getProducer().isEmpty() && isCompatible(application)) {
+                Map<String, Object> shared = application.getConfigurationProperties();
+                String acks = effectiveAcks(shared);
+                int retries = effectiveRetries(shared);
+                if (!"all".equals(acks) || retries < SDK_RETRIES) {
+                    log.warn("Sharing the application's Kafka producer factory '{}' with acks={} and retries={}, "
+                        + "weaker than the SDK's acks=all and retries={}; SDK messages may be lost",
+                        name, acks, retries, SDK_RETRIES);
+                } else {
+                    log.info("Sharing the application's Kafka producer factory '{}'", name);
+                }
+                return (ProducerFactory<String, byte[]>) application;
+            }
+            if (application != null) {
+                log.info("Deriving the SDK's Kafka producer from the application's producer factory '{}'", name);
+                config = new HashMap<>(application.getConfigurationProperties());
+            } else {
+                config = bootProducerConfig();
+            }
+            config.remove(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+            suffixClientId(config);
+            config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, SHARED_BUFFER_MEMORY);
+        }
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.RETRIES_CONFIG, SDK_RETRIES);
+        config.putAll(kafka.getProducer());
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    /**
+     * Consumer factory for the SDK's listeners.
+     */
+    public ConsumerFactory<String, byte[]> consumerFactory() {
+        PluginProperties.KafkaProperties kafka = properties.getKafka();
+        Map<String, Object> config;
+        if (!isShared()) {
+            config = new HashMap<>();
+            config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        } else {
+            String name = applicationBean(ConsumerFactory.class, CONSUMER_BEAN);
+            if (name != null) {
+                log.info("Deriving the SDK's Kafka consumers from the application's consumer factory '{}'", name);
+                ConsumerFactory<?, ?> application = beanFactory.getBean(name, ConsumerFactory.class);
+                config = new HashMap<>(application.getConfigurationProperties());
+            } else {
+                config = bootConsumerConfig();
+            }
+            config.remove(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG);
+            suffixClientId(config);
+        }
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, kafka.getGroupId() + "-" + properties.getId());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        config.putAll(kafka.getConsumer());
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * Connection configuration for an admin client: bootstrap servers, plus
+     * security settings when clients are shared.
+     */
+    public Map<String, Object> adminConfig() {
+        Map<String, Object> config = new HashMap<>();
+        if (!isShared()) {
+            config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getKafka().getBootstrapServers());
+            return config;
+        }
+        if (bootProperties != null) {
+            config.putAll(bootProperties.buildAdminProperties(sslBundles));
+            bootstrap(config, connectionDetails != null ? connectionDetails.getAdminBootstrapServers() : null);
+        } else {
+            // Keep only what an admin client understands from the producer's connection settings
+            producerFactory().getConfigurationProperties().forEach((key, value) -> {
+                if (AdminClientConfig.configNames().contains(key)) {
+                    config.put(key, value);
+                }
+            });
+        }
+        config.remove(CommonClientConfigs.CLIENT_ID_CONFIG);
+        return config;
+    }
+
+    private Map<String, Object> bootProducerConfig() {
+        if (bootProperties == null) {
+            return privateConfig(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG);
+        }
+        log.info("Deriving the SDK's Kafka producer from spring.kafka properties");
+        Map<String, Object> config = new HashMap<>(bootProperties.buildProducerProperties(sslBundles));
+        bootstrap(config, connectionDetails != null ? connectionDetails.getProducerBootstrapServers() : null);
+        return config;
+    }
+
+    private Map<String, Object> bootConsumerConfig() {
+        if (bootProperties == null) {
+            return privateConfig(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG);
+        }
+        log.info("Deriving the SDK's Kafka consumers from spring.kafka properties");
+        Map<String, Object> config = new HashMap<>(bootProperties.buildConsumerProperties(sslBundles));
+        bootstrap(config, connectionDetails != null ? connectionDetails.getConsumerBootstrapServers() : null);
+        return config;
+    }
+
+    private Map<String, Object> privateConfig(String bootstrapKey) {
+        log.warn("No Kafka client configuration to share, using elaro.plugin.kafka.bootstrap-servers");
+        Map<String, Object> config = new HashMap<>();
+        config.put(bootstrapKey, properties.getKafka().getBootstrapServers());
+        return config;
+    }
+
+    private static void bootstrap(Map<String, Object> config, List<String> servers) {
+        if (servers != null && !servers.isEmpty()) {
+            config.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, String.join(",", servers));
+        }
+    }
+
+    /**
+     * Keep the SDK's clients apart from the application's in client quotas and metrics.
+     */
+    private void suffixClientId(Map<String, Object> config) {
+        Object clientId = config.get(CommonClientConfigs.CLIENT_ID_CONFIG);
+        if (clientId != null && !clientId.toString().isBlank()) {
+            config.put(CommonClientConfigs.CLIENT_ID_CONFIG, clientId + "-elaro-" + properties.getId());
+        }
+    }
+
+    /**
+     * The application's bean of this type, other than the SDK's own: the only
+     * one, or the primary one. Null when there is none or the choice is ambiguous.
+     */
+    private String applicationBean(Class<?> type, String sdkBean) {
+        List<String> names = List.of(beanFactory.getBeanNamesForType(type, false, false)).stream()
+            .filter(name -> !name.equals(sdkBean))
+            .toList();
+        if (names.size() == 1) {
+            return names.get(0);
+        }
+        if (beanFactory instanceof ConfigurableListableBeanFactory configurable) {
+            List<String> primary = names.stream()
+                .filter(name -> configurable.containsBeanDefinition(name)
+                    && configurable.getBeanDefinition(name).isPrimary())
+                .toList();
+            if (primary.size() == 1) {
+                return primary.get(0);
+            }
+        }
+        if (!names.isEmpty()) {
+            log.warn("Several {} beans {} and none primary, not sharing any", type.getSimpleName(), names);
+        }
+        return null;
+    }
+
+    /**
+     * Whether the SDK can send through this factory's producer unchanged.
+     */
+    private static boolean isCompatible(ProducerFactory<?, ?> factory) {
+        if (factory.transactionCapable()) {
+            return false;
+        }
+        Map<String, Object> config = factory.getConfigurationProperties();
+        return serializer(factory.getKeySerializerSupplier(), config.get(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG))
+                == StringSerializer.class
+            && serializer(factory.getValueSerializerSupplier(), config.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG))
+                == ByteArraySerializer.class;
+    }
+
+    /**
+     * The producer's {@code acks}, with Kafka's default of {@code all} when unset.
+     */
+    private static String effectiveAcks(Map<String, Object> config) {
+        String acks = String.valueOf(config.getOrDefault(ProducerConfig.ACKS_CONFIG, "all")).trim();
+        return "-1".equals(acks) ? "all" : acks;
+    }
+
+    /**
+     * The producer's {@code retries}, with Kafka's default of
+     * {@link Integer#MAX_VALUE} when unset.
+     */
+    private static int effectiveRetries(Map<String, Object> config) {
+        Object retries = config.get(ProducerConfig.RETRIES_CONFIG);
+        if (retries instanceof Number number) {
+            return number.intValue();
+        }
+        return retries != null ? Integer.parseInt(retries.toString().trim()) : Integer.MAX_VALUE;
+    }
+
+    private static Class<?> serializer(Supplier<? extends Serializer<?>> supplier, Object configured) {
+        Serializer<?> instance = supplier != null ? supplier.get() : null;
+        if (instance != null) {
+            return instance.getClass();
+        }
+        if (configured instanceof Class<?> type) {
+            return type;
+        }
+        if (configured instanceof String className) {
+            return StringSerializer.class.getName().equals(className) ? StringSerializer.class
+                : ByteArraySerializer.class.getName().equals(className) ? ByteArraySerializer.class : null;
+        }
+        return null;
+    }
+}
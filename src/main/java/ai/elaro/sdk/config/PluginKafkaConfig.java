@@ -3,75 +3,80 @@ package ai.elaro.sdk.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
-import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringDeserializer;
-import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaConnectionDetails;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Kafka configuration for plugin beacon and acknowledgment messaging.
+ * Clients are private to the SDK unless
+ * {@code elaro.plugin.kafka.share-application-clients} is set, see
+ * {@link PluginKafkaClients}.
  */
-@Configuration
+@Configuration(proxyBeanMethods = false)
 @RequiredArgsConstructor
 public class PluginKafkaConfig {
 
     private final PluginProperties properties;
 
+    @Bean
+    @ConditionalOnMissingBean
+    public PluginKafkaClients pluginKafkaClients(
+            ListableBeanFactory beanFactory,
+            ObjectProvider<org.springframework.boot.autoconfigure.kafka.KafkaProperties> kafkaProperties,
+            ObjectProvider<KafkaConnectionDetails> kafkaConnectionDetails,
+            ObjectProvider<SslBundles> sslBundles) {
+        return new PluginKafkaClients(properties, beanFactory, kafkaProperties.getIfAvailable(),
+            kafkaConnectionDetails.getIfAvailable(), sslBundles.getIfAvailable());
+    }
+
     @Bean
     @ConditionalOnMissingBean(name = "pluginProducerFactory")
-    public ProducerFactory<String, String> pluginProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
-            properties.getKafka().getBootstrapServers());
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
-            StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
-            StringSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        return new DefaultKafkaProducerFactory<>(configProps);
+    public ProducerFactory<String, byte[]> pluginProducerFactory(PluginKafkaClients pluginKafkaClients) {
+        return pluginKafkaClients.producerFactory();
     }
 
     @Bean
     @ConditionalOnMissingBean(name = "pluginKafkaTemplate")
-    public KafkaTemplate<String, String> pluginKafkaTemplate() {
-        return new KafkaTemplate<>(pluginProducerFactory());
+    public KafkaTemplate<String, byte[]> pluginKafkaTemplate(
+            @Qualifier("pluginProducerFactory") ProducerFactory<String, byte[]> pluginProducerFactory) {
+        return new KafkaTemplate<>(pluginProducerFactory);
     }
 
     @Bean
     @ConditionalOnMissingBean(name = "pluginConsumerFactory")
-    public ConsumerFactory<String, String> pluginConsumerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,
-            properties.getKafka().getBootstrapServers());
-        configProps.put(ConsumerConfig.GROUP_ID_CONFIG,
-            properties.getKafka().getGroupId() + "-" + properties.getId());
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
-            StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
-            StringDeserializer.class);
-        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
-        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
-        return new DefaultKafkaConsumerFactory<>(configProps);
+    public ConsumerFactory<String, byte[]> pluginConsumerFactory(PluginKafkaClients pluginKafkaClients) {
+        return pluginKafkaClients.consumerFactory();
     }
 
     @Bean
     @ConditionalOnMissingBean(name = "pluginKafkaListenerContainerFactory")
-    public ConcurrentKafkaListenerContainerFactory<String, String> pluginKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> pluginKafkaListenerContainerFactory(
+            @Qualifier("pluginConsumerFactory") ConsumerFactory<String, byte[]> pluginConsumerFactory,
+            PluginThreads pluginThreads) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
             new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(pluginConsumerFactory());
+        factory.setConsumerFactory(pluginConsumerFactory);
+        if (pluginThreads.isVirtual()) {
+            factory.getContainerProperties().setListenerTaskExecutor(
+                pluginThreads.taskExecutor("elaro-ack-" + properties.getId() + "-"));
+        }
         return factory;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public PluginThreads pluginThreads() {
+        return new PluginThreads(properties.getVirtualThreads().isEnabled());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ObjectMapper pluginObjectMapper() {
@@ -1,8 +1,12 @@
 package ai.elaro.sdk.config;
 
+import ai.elaro.sdk.logging.LogLevel;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Configuration properties for Elaro Plugin SDK.
  * These can be set in application.yml or application.properties.
@@ -100,6 +104,66 @@ public class PluginProperties {
      */
     private KafkaProperties kafka = new KafkaProperties();
 
+    /**
+     * Request/reply registration ahead of the periodic beacon.
+     */
+    private RegistrationProperties registration = new RegistrationProperties();
+
+    /**
+     * HTTP settings for the /plugin endpoints.
+     */
+    private HttpProperties http = new HttpProperties();
+
+    /**
+     * Screen permission enforcement for plugin routes.
+     */
+    private SecurityProperties security = new SecurityProperties();
+
+    /**
+     * Background health probing.
+     */
+    private HealthProperties health = new HealthProperties();
+
+    /**
+     * Messaging transport for announce, ack and log records.
+     */
+    private TransportProperties transport = new TransportProperties();
+
+    /**
+     * JSON encoding of SDK messages.
+     */
+    private JsonProperties json = new JsonProperties();
+
+    /**
+     * Run SDK background work on virtual threads.
+     */
+    private VirtualThreadsProperties virtualThreads = new VirtualThreadsProperties();
+
+    /**
+     * Shutdown sequencing.
+     */
+    private ShutdownProperties shutdown = new ShutdownProperties();
+
+    /**
+     * Instance load reporting.
+     */
+    private LoadProperties load = new LoadProperties();
+
+    /**
+     * Trace context propagation and SDK spans.
+     */
+    private TracingProperties tracing = new TracingProperties();
+
+    /**
+     * Centralized logging through {@code ElaroLogger}.
+     */
+    private LoggingProperties logging = new LoggingProperties();
+
+    /**
+     * SDK startup timeline.
+     */
+    private StartupProperties startup = new StartupProperties();
+
     @Data
     public static class KafkaProperties {
 
@@ -118,9 +182,385 @@ public class PluginProperties {
          */
         private String ackTopic = "elaro.plugin.ack";
 
+        /**
+         * Topic for periodic instance status and load messages.
+         */
+        private String statusTopic = "elaro.plugin.status";
+
         /**
          * Consumer group ID for acknowledgment listener.
          */
         private String groupId = "elaro-plugin";
+
+        /**
+         * Reuse the application's Kafka producer factory, or derive the SDK's
+         * clients from the application's factories or spring.kafka properties,
+         * instead of running private clients.
+         */
+        private boolean shareApplicationClients = false;
+
+        /**
+         * Producer properties applied on top of the SDK's producer configuration.
+         */
+        private Map<String, String> producer = new LinkedHashMap<>();
+
+        /**
+         * Consumer properties applied on top of the SDK's consumer configuration.
+         */
+        private Map<String, String> consumer = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class RegistrationProperties {
+
+        /**
+         * Send the first announcement with a correlation ID and reply topic
+         * and wait for the matching ack before falling back to beacons.
+         */
+        private boolean requestReply = true;
+
+        /**
+         * Milliseconds to wait for the reply to the first announcement.
+         */
+        private long replyTimeoutMillis = 3000;
+
+        /**
+         * Seconds to wait for the ack subscription to be assigned before the
+         * first announcement is sent anyway.
+         */
+        private int ackReadyTimeoutSeconds = 10;
+
+        /**
+         * Keep the readiness health group out of service until the instance
+         * is accepted, through the {@code elaroReadiness} health indicator.
+         */
+        private boolean gateReadiness = false;
+    }
+
+    @Data
+    public static class HttpProperties {
+
+        /**
+         * Cache-Control max-age in seconds for the manifest, screens and info endpoints.
+         * Clients revalidate with If-None-Match once it expires. Zero disables caching.
+         */
+        private int cacheMaxAgeSeconds = 30;
+    }
+
+    @Data
+    public static class SecurityProperties {
+
+        /**
+         * Enforce @PluginScreen permissions on requests to screen routes.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Request header carrying the caller's identity.
+         */
+        private String principalHeader = "X-Elaro-User";
+
+        /**
+         * Request header carrying the caller's comma-separated permissions.
+         */
+        private String permissionsHeader = "X-Elaro-Permissions";
+
+        /**
+         * Prefix under which screen routes are served (e.g. "/ui").
+         */
+        private String pathPrefix = "";
+
+        /**
+         * Maximum number of cached caller permission masks.
+         */
+        private int decisionCacheSize = 10_000;
+    }
+
+    @Data
+    public static class HealthProperties {
+
+        /**
+         * Probe Kafka connectivity in the background.
+         */
+        private boolean kafkaProbeEnabled = true;
+
+        /**
+         * Seconds between background Kafka probes.
+         */
+        private int refreshIntervalSeconds = 10;
+
+        /**
+         * Seconds after which a probe result is reported as UNKNOWN.
+         */
+        private int staleAfterSeconds = 30;
+
+        /**
+         * Timeout for a single Kafka probe in milliseconds.
+         */
+        private int probeTimeoutMillis = 2000;
+
+        /**
+         * Seconds a plugin may stay PENDING before registration is reported DOWN.
+         */
+        private int registrationGraceSeconds = 120;
+
+        /**
+         * Answer /plugin/health with 503 while the plugin is DOWN or OUT_OF_SERVICE.
+         * Off by default: one Kafka or console outage marks every instance DOWN at
+         * once, and a load balancer probing this endpoint would then drop them all.
+         */
+        private boolean unavailableWhenDown = false;
+    }
+
+    @Data
+    public static class TransportProperties {
+
+        /**
+         * Transport implementation: "kafka" or "in-process".
+         */
+        private String type = "kafka";
+
+        /**
+         * Start an in-memory console that acknowledges announcements when using
+         * the in-process transport.
+         */
+        private boolean inMemoryConsole = true;
+
+        /**
+         * Capacity of the in-process transport queue. Sends fail once it is full.
+         */
+        private int queueCapacity = 65_536;
+    }
+
+    @Data
+    public static class JsonProperties {
+
+        /**
+         * Register the Jackson Blackbird module for faster property access when
+         * encoding and decoding SDK messages. Requires jackson-module-blackbird.
+         */
+        private boolean blackbird = false;
+    }
+
+    @Data
+    public static class VirtualThreadsProperties {
+
+        /**
+         * Run the ack listener, beacon, health probe and transport dispatcher
+         * on virtual threads.
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class ShutdownProperties {
+
+        /**
+         * Maximum seconds to wait for pending log records and the departure
+         * announcement to be sent on shutdown.
+         */
+        private int drainTimeoutSeconds = 5;
+
+        /**
+         * Publish a LEAVING announcement on shutdown so the console stops routing
+         * to this instance immediately.
+         */
+        private boolean deregisterOnShutdown = true;
+    }
+
+    @Data
+    public static class LoadProperties {
+
+        /**
+         * Sample load signals and publish them to the status topic and in beacons.
+         * Off by default, since it installs a request-counting filter and a
+         * periodic status publisher in the application.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Seconds between load samples.
+         */
+        private int sampleIntervalSeconds = 10;
+
+        /**
+         * Publish a status at least this often, even if nothing changed.
+         */
+        private int maxSilenceSeconds = 60;
+
+        /**
+         * Minimum change that triggers an early status: absolute for CPU and heap
+         * ratios, relative for request and queue counts.
+         */
+        private double changeThreshold = 0.2;
+    }
+
+    @Data
+    public static class TracingProperties {
+
+        /**
+         * Capture the caller's trace context into log records and add
+         * traceparent headers to log and announce records.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of SDK sends wrapped in a span (0.0 to 1.0).
+         */
+        private double sampleRate = 0.01;
+    }
+
+    @Data
+    public static class StartupProperties {
+
+        /**
+         * Record SDK startup phases and serve them at the {@code elarostartup}
+         * actuator endpoint.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Commit a JFR event for every startup phase.
+         */
+        private boolean jfr = false;
+    }
+
+    @Data
+    public static class LoggingProperties {
+
+        /**
+         * Hand log records to a background encoder through a ring of reusable
+         * events instead of building a record per call.
+         */
+        private boolean garbageFree = false;
+
+        /**
+         * Number of events in the ring, rounded up to a power of two. Records
+         * logged while the ring is full are dropped.
+         */
+        private int ringSize = 8192;
+
+        /**
+         * Minimum Kafka level by logger name prefix, for example
+         * {@code levels.com.acme=WARN}. The {@code root} entry sets the default.
+         */
+        private Map<String, LogLevel> levels = new LinkedHashMap<>();
+
+        /**
+         * Apply level changes published by the console on the control topic.
+         */
+        private boolean controlEnabled = false;
+
+        /**
+         * Topic carrying runtime log level commands.
+         */
+        private String controlTopic = "elaro.plugin.logging.control";
+
+        /**
+         * UTF-8 budget for a record's message, 0 for no limit. Longer messages
+         * are cut and end with a {@code ...[truncated N bytes]} marker.
+         */
+        private int maxMessageBytes = 32 * 1024;
+
+        /**
+         * UTF-8 budget for a record's stack trace, 0 for no limit.
+         */
+        private int maxStackTraceBytes = 64 * 1024;
+
+        /**
+         * UTF-8 budget for each context key and value, 0 for no limit.
+         */
+        private int maxContextValueBytes = 2 * 1024;
+
+        /**
+         * Largest encoded record sent to the transport, 0 for no limit. Keep
+         * it below the producer's {@code max.request.size}.
+         */
+        private int maxRecordBytes = 256 * 1024;
+
+        /**
+         * Split records over {@code maxRecordBytes} into chunks instead of
+         * truncating them further. Consumers join them with
+         * {@code LogRecordReassembler}.
+         */
+        private boolean chunking = false;
+
+        /**
+         * Most chunks a single record may be split into.
+         */
+        private int maxChunks = 16;
+
+        /**
+         * Send records in envelopes that carry many records each, with shared
+         * fields written once and logger and thread names dictionary encoded.
+         * Consumers unpack them with {@code LogBatchUnpacker}.
+         */
+        private boolean batching = false;
+
+        /**
+         * Estimated envelope size at which it is sent. Keep it below
+         * {@code maxRecordBytes}.
+         */
+        private int batchTargetBytes = 64 * 1024;
+
+        /**
+         * Most records per envelope.
+         */
+        private int batchMaxRecords = 1000;
+
+        /**
+         * Longest time in milliseconds a record waits for its envelope to fill.
+         */
+        private long batchLingerMillis = 200;
+
+        /**
+         * Stop publishing low-severity records while the logging pipeline is
+         * under pressure, raising the shed level step by step.
+         */
+        private boolean shedding = false;
+
+        /**
+         * Milliseconds between pressure samples.
+         */
+        private long shedIntervalMillis = 1000;
+
+        /**
+         * Garbage-free ring occupancy, from 0 to 1, that counts as pressure.
+         * 0 turns the signal off.
+         */
+        private double shedQueueThreshold = 0.8;
+
+        /**
+         * Send buffer usage, from 0 to 1, that counts as pressure. On Kafka
+         * this is derived from the producer's {@code buffer-available-bytes}.
+         */
+        private double shedBufferThreshold = 0.8;
+
+        /**
+         * Fraction of failed sends per sample that counts as pressure.
+         */
+        private double shedErrorRateThreshold = 0.2;
+
+        /**
+         * Process CPU load, from 0 to 1, that counts as pressure.
+         */
+        private double shedCpuThreshold = 0.9;
+
+        /**
+         * Highest level records may be shed below. ERROR keeps only ERROR and
+         * FATAL records at the last step.
+         */
+        private LogLevel shedMaxLevel = LogLevel.ERROR;
+
+        /**
+         * Signals must fall below their threshold times this factor before
+         * the shed level is lowered.
+         */
+        private double shedRecoveryFactor = 0.7;
+
+        /**
+         * Consecutive calm samples needed for each step down.
+         */
+        private int shedRecoveryIntervals = 10;
     }
 }
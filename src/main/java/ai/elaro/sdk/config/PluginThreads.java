@@ -0,0 +1,72 @@
+package ai.elaro.sdk.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the SDK's background threads as daemon platform threads or, when
+ * {@code elaro.plugin.virtual-threads.enabled} is set, as virtual threads.
+ */
+public class PluginThreads {
+
+    private final boolean virtual;
+
+    public PluginThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    /**
+     * Whether SDK threads are virtual.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Thread factory producing threads with the given name.
+     *
+     * @param name Thread name
+     */
+    public ThreadFactory factory(String name) {
+        return virtual
+            ? Thread.ofVirtual().name(name).factory()
+            : Thread.ofPlatform().name(name).daemon(true).factory();
+    }
+
+    /**
+     * Create and start a thread.
+     *
+     * @param name Thread name
+     * @param task Work to run
+     */
+    public Thread start(String name, Runnable task) {
+        Thread thread = factory(name).newThread(task);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Single-threaded scheduler for periodic SDK work.
+     *
+     * @param name Thread name
+     */
+    public ScheduledExecutorService newScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(factory(name));
+    }
+
+    /**
+     * Task executor for Kafka listener containers.
+     *
+     * @param prefix Thread name prefix
+     */
+    public AsyncTaskExecutor taskExecutor(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(virtual);
+        executor.setDaemon(true);
+        return executor;
+    }
+}
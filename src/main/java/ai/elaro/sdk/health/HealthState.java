@@ -0,0 +1,59 @@
+package ai.elaro.sdk.health;
+
+/**
+ * Health state of an SDK component, mirroring Spring Boot's status codes.
+ */
+public enum HealthState {
+
+    /**
+     * The component is working.
+     */
+    UP,
+
+    /**
+     * The component has failed.
+     */
+    DOWN,
+
+    /**
+     * The component has been taken out of service on purpose.
+     */
+    OUT_OF_SERVICE,
+
+    /**
+     * The state is not known, e.g. no probe has completed or the last result is stale.
+     */
+    UNKNOWN;
+
+    /**
+     * Map a reported status to a state. Accepts a {@code HealthState}, or any
+     * object whose string form is a status code, such as Actuator's
+     * {@code Status}. Codes outside this enum, e.g. from custom health
+     * indicators, map to UNKNOWN.
+     *
+     * @param status The reported status, may be null
+     * @return The matching state, or UNKNOWN
+     */
+    public static HealthState of(Object status) {
+        if (status instanceof HealthState state) {
+            return state;
+        }
+        if (status != null) {
+            String code = status.toString();
+            for (HealthState state : values()) {
+                if (state.name().equals(code)) {
+                    return state;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * HTTP status for a health response in this state, mapped as Actuator
+     * does: 503 for DOWN and OUT_OF_SERVICE, 200 otherwise.
+     */
+    public int httpStatus() {
+        return this == DOWN || this == OUT_OF_SERVICE ? 503 : 200;
+    }
+}
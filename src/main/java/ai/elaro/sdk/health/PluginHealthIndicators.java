@@ -0,0 +1,57 @@
+package ai.elaro.sdk.health;
+
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.function.Function;
+
+/**
+ * Spring Boot Actuator adapters over {@link PluginHealthMonitor} and the
+ * registrar. They read cached or in-memory state and never block.
+ */
+public final class PluginHealthIndicators {
+
+    private PluginHealthIndicators() {
+    }
+
+    /**
+     * Health indicator for Kafka producer and consumer connectivity.
+     */
+    public static HealthIndicator kafka(PluginHealthMonitor monitor) {
+        return indicator(monitor, PluginHealthSnapshot::kafka);
+    }
+
+    /**
+     * Health indicator for registration with the Elaro platform.
+     */
+    public static HealthIndicator registration(PluginHealthMonitor monitor) {
+        return indicator(monitor, PluginHealthSnapshot::registration);
+    }
+
+    /**
+     * Health indicator for the readiness group: {@code OUT_OF_SERVICE} until
+     * the instance is accepted, and again once it leaves or is rejected.
+     * Unlike {@link #registration}, it has no grace period.
+     */
+    public static HealthIndicator readiness(PluginRegistrar registrar) {
+        return () -> {
+            RegistrationStatus status = registrar.getStatus();
+            return Health.status(status == RegistrationStatus.ACCEPTED ? Status.UP : Status.OUT_OF_SERVICE)
+                .withDetail("registration", status.name())
+                .build();
+        };
+    }
+
+    private static HealthIndicator indicator(PluginHealthMonitor monitor,
+                                             Function<PluginHealthSnapshot, PluginHealthSnapshot.Component> component) {
+        return () -> {
+            PluginHealthSnapshot.Component health = component.apply(monitor.getSnapshot());
+            return Health.status(new Status(health.state().name()))
+                .withDetails(health.details())
+                .build();
+        };
+    }
+}
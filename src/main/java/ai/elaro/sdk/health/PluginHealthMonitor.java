@@ -0,0 +1,212 @@
+package ai.elaro.sdk.health;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import ai.elaro.sdk.transport.KafkaPluginTransport;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportSubscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.apache.kafka.common.Node;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes Kafka connectivity in the background and serves cached health
+ * snapshots, so health requests never block on I/O and frequent load
+ * balancer polling adds no load to the broker.
+ *
+ * <p>The Kafka probe runs every {@code elaro.plugin.health.refresh-interval-seconds}.
+ * A result older than {@code stale-after-seconds} is reported as UNKNOWN.
+ * Registration state is in memory and is evaluated on read. With a
+ * non-Kafka transport only the transport subscriptions are checked.</p>
+ */
+@Slf4j
+public class PluginHealthMonitor {
+
+    private final PluginProperties properties;
+    private final PluginRegistrar registrar;
+    private final PluginTransport transport;
+    private final PluginThreads threads;
+
+    private ScheduledExecutorService scheduler;
+    private AdminClient adminClient;
+    private Map<String, Object> adminConfig;
+    private volatile PluginHealthSnapshot.Component kafkaHealth = unknown("No probe completed yet");
+    private volatile Instant sampledAt;
+
+    public PluginHealthMonitor(PluginProperties properties, PluginRegistrar registrar,
+                               PluginTransport transport, PluginThreads threads) {
+        this.properties = properties;
+        this.registrar = registrar;
+        this.transport = transport;
+        this.threads = threads;
+    }
+
+    /**
+     * Connection settings for the probe's admin client, used in place of
+     * {@code elaro.plugin.kafka.bootstrap-servers}.
+     */
+    public void setAdminConfig(Map<String, Object> adminConfig) {
+        this.adminConfig = adminConfig;
+    }
+
+    /**
+     * Start the background Kafka probe.
+     */
+    @PostConstruct
+    public void start() {
+        PluginProperties.HealthProperties health = properties.getHealth();
+        if (!health.isKafkaProbeEnabled()) {
+            return;
+        }
+
+        scheduler = threads.newScheduler("plugin-health-" + properties.getId());
+        scheduler.scheduleWithFixedDelay(
+            this::refresh,
+            0,
+            health.getRefreshIntervalSeconds(),
+            TimeUnit.SECONDS
+        );
+    }
+
+    /**
+     * Stop the background probe and release the admin client.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (adminClient != null) {
+            adminClient.close(Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * Get the current health snapshot without blocking.
+     */
+    public PluginHealthSnapshot getSnapshot() {
+        return new PluginHealthSnapshot(currentKafkaHealth(), registrationHealth(), sampledAt);
+    }
+
+    private PluginHealthSnapshot.Component currentKafkaHealth() {
+        PluginProperties.HealthProperties health = properties.getHealth();
+        if (!health.isKafkaProbeEnabled()) {
+            return unknown("Kafka probe disabled");
+        }
+
+        Instant sampled = sampledAt;
+        if (sampled != null
+                && sampled.plusSeconds(health.getStaleAfterSeconds()).isBefore(Instant.now())) {
+            Map<String, Object> details = new LinkedHashMap<>(kafkaHealth.details());
+            details.put("stale", true);
+            details.put("sampledAt", sampled.toString());
+            return new PluginHealthSnapshot.Component(HealthState.UNKNOWN, details);
+        }
+        return kafkaHealth;
+    }
+
+    private PluginHealthSnapshot.Component registrationHealth() {
+        RegistrationStatus status = registrar.getStatus();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("status", status.name());
+        details.put("instanceId", registrar.getInstanceId());
+
+        HealthState state = switch (status) {
+            case ACCEPTED -> HealthState.UP;
+            case REJECTED, LEAVING -> HealthState.OUT_OF_SERVICE;
+            case PENDING -> {
+                Instant startedAt = registrar.getStartedAt();
+                if (startedAt == null) {
+                    yield HealthState.UNKNOWN;
+                }
+                details.put("pendingSince", startedAt.toString());
+                Duration grace = Duration.ofSeconds(properties.getHealth().getRegistrationGraceSeconds());
+                yield startedAt.plus(grace).isBefore(Instant.now()) ? HealthState.DOWN : HealthState.UP;
+            }
+        };
+        return new PluginHealthSnapshot.Component(state, details);
+    }
+
+    /**
+     * Run one Kafka probe. Called on the health thread only.
+     */
+    void refresh() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        HealthState state = HealthState.UP;
+
+        if (transport instanceof KafkaPluginTransport) {
+            try {
+                Collection<Node> nodes = admin().describeCluster(new DescribeClusterOptions()
+                        .timeoutMs(properties.getHealth().getProbeTimeoutMillis()))
+                    .nodes()
+                    .get(properties.getHealth().getProbeTimeoutMillis(), TimeUnit.MILLISECONDS);
+                details.put("brokers", nodes.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                state = HealthState.DOWN;
+                details.put("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        } else {
+            details.put("transport", transport.getClass().getSimpleName());
+        }
+
+        int active = 0;
+        int assigned = 0;
+        List<TransportSubscription> subscriptions = transport.getSubscriptions();
+        for (TransportSubscription subscription : subscriptions) {
+            if (subscription.isActive()) {
+                active++;
+            }
+            assigned += subscription.assignedPartitions();
+        }
+        details.put("subscriptions", subscriptions.size());
+        details.put("activeSubscriptions", active);
+        details.put("assignedPartitions", assigned);
+        if (active < subscriptions.size()) {
+            state = HealthState.DOWN;
+        }
+
+        kafkaHealth = new PluginHealthSnapshot.Component(state, details);
+        sampledAt = Instant.now();
+        log.debug("Kafka health probe: {} {}", state, details);
+    }
+
+    private AdminClient admin() {
+        if (adminClient == null) {
+            Map<String, Object> config = new HashMap<>();
+            if (adminConfig != null) {
+                config.putAll(adminConfig);
+            } else {
+                config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                    properties.getKafka().getBootstrapServers());
+            }
+            config.put(AdminClientConfig.CLIENT_ID_CONFIG, "elaro-plugin-health-" + properties.getId());
+            config.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, properties.getHealth().getProbeTimeoutMillis());
+            config.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, properties.getHealth().getProbeTimeoutMillis());
+            adminClient = AdminClient.create(config);
+        }
+        return adminClient;
+    }
+
+    private static PluginHealthSnapshot.Component unknown(String reason) {
+        return new PluginHealthSnapshot.Component(HealthState.UNKNOWN, Map.of("reason", reason));
+    }
+}
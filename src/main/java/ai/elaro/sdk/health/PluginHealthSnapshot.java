@@ -0,0 +1,46 @@
+package ai.elaro.sdk.health;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Point-in-time health of the SDK's Kafka transport and plugin registration.
+ *
+ * @param kafka Kafka producer and consumer connectivity, from the last background probe
+ * @param registration Registration state with the Elaro platform
+ * @param sampledAt When the Kafka probe completed, or null if none has yet
+ */
+public record PluginHealthSnapshot(
+    Component kafka,
+    Component registration,
+    Instant sampledAt
+) {
+
+    /**
+     * Health of a single component.
+     *
+     * @param state The component state
+     * @param details Additional diagnostic details
+     */
+    public record Component(HealthState state, Map<String, Object> details) {
+    }
+
+    /**
+     * The aggregate state: DOWN if any component is down, otherwise the
+     * least healthy of OUT_OF_SERVICE, UNKNOWN and UP.
+     */
+    public HealthState overall() {
+        HealthState worst = HealthState.UP;
+        for (Component component : new Component[] {kafka, registration}) {
+            HealthState state = component.state();
+            if (state == HealthState.DOWN) {
+                return HealthState.DOWN;
+            }
+            if (state == HealthState.OUT_OF_SERVICE
+                    || (state == HealthState.UNKNOWN && worst == HealthState.UP)) {
+                worst = state;
+            }
+        }
+        return worst;
+    }
+}
@@ -1,47 +1,108 @@
 package ai.elaro.sdk.kafka;
 
 import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.metrics.PluginMetrics;
 import ai.elaro.sdk.registration.PluginRegistrar;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSubscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
 
 /**
- * Kafka listener for acknowledgment messages from the Elaro platform.
+ * Listener for acknowledgment messages from the Elaro platform, subscribed
+ * to the ack topic on the configured {@link PluginTransport}.
+ *
+ * <p>Consoles key acks by plugin ID, and each instance subscribes to that
+ * key, so a reply to one instance's announcement reaches every instance of
+ * the plugin but no instance of another plugin. A correlated reply to
+ * another instance's announcement is dropped before it is decoded.</p>
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
 public class PluginKafkaListener {
 
     private final PluginRegistrar registrar;
     private final PluginProperties properties;
-    private final ObjectMapper pluginObjectMapper;
+    private final PluginMessageCodec codec;
+    private final PluginMetrics metrics;
+    private final PluginTransport transport;
+
+    private TransportSubscription subscription;
 
     /**
-     * Listen for acknowledgment messages from the Elaro platform.
+     * Subscribe to the ack topic and hand the subscription to the registrar,
+     * which waits for it to be ready before announcing.
+     */
+    @PostConstruct
+    public void subscribe() {
+        subscription = transport.subscribeKey(properties.getKafka().getAckTopic(), properties.getId(), this::onAck);
+        registrar.ackSubscribed(subscription);
+    }
+
+    /**
+     * Cancel the ack topic subscription.
+     */
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    /**
+     * Handle an acknowledgment record, correlated with an announcement when
+     * it carries a {@link PluginKafkaProducer#CORRELATION_ID_HEADER}.
      *
-     * @param message The raw JSON message
+     * @param record The ack record
      */
-    @KafkaListener(
-        topics = "${elaro.plugin.kafka.ack-topic:elaro.plugin.ack}",
-        containerFactory = "pluginKafkaListenerContainerFactory"
-    )
-    public void onAck(String message) {
+    public void onAck(TransportRecord record) {
+        String correlationId = record.headers().get(PluginKafkaProducer.CORRELATION_ID_HEADER);
+        if (correlationId != null && !registrar.isAwaitingReply(correlationId)) {
+            // Reply to another instance's announcement
+            return;
+        }
+        onAck(record.value(), correlationId);
+    }
+
+    /**
+     * Handle an acknowledgment message from the Elaro platform.
+     *
+     * @param message The raw JSON message bytes
+     */
+    public void onAck(byte[] message) {
+        onAck(message, null);
+    }
+
+    private void onAck(byte[] message, String correlationId) {
+        long start = System.nanoTime();
+        AckMessage ack;
+        try {
+            ack = codec.decodeAck(message);
+        } catch (Exception e) {
+            metrics.ackParseFailed();
+            log.error("Failed to parse ACK message: {}", e.getMessage());
+            log.debug("Raw message: {}", new String(message, StandardCharsets.UTF_8));
+            return;
+        }
+
         try {
-            AckMessage ack = pluginObjectMapper.readValue(message, AckMessage.class);
 
             // Only process if it's for this plugin
             if (properties.getId().equals(ack.getPluginId())) {
                 log.info("Received ACK for plugin {}: {}",
                     ack.getPluginId(), ack.getStatus());
-                registrar.onAckReceived(ack);
+                registrar.onAckReceived(ack, correlationId);
             }
         } catch (Exception e) {
-            log.error("Failed to parse ACK message: {}", e.getMessage());
-            log.debug("Raw message: {}", message);
+            log.error("Failed to handle ACK message: {}", e.getMessage());
+        } finally {
+            metrics.ackProcessed(System.nanoTime() - start);
         }
     }
 }
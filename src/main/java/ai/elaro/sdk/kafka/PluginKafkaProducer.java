@@ -1,55 +1,103 @@
 package ai.elaro.sdk.kafka;
 
 import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.metrics.PluginMetrics;
 import ai.elaro.sdk.registration.PluginManifest;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
-import org.springframework.stereotype.Component;
+import org.springframework.kafka.support.KafkaHeaders;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Kafka producer for sending plugin announcements (beacons) to the Elaro platform.
+ * Producer for sending plugin announcements (beacons) to the Elaro platform
+ * over the configured {@link PluginTransport}.
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
 public class PluginKafkaProducer {
 
-    private final KafkaTemplate<String, String> pluginKafkaTemplate;
+    /**
+     * Header carrying the ID the console copies into its ack. Same name as
+     * Spring Kafka's request/reply header, so a {@code @SendTo} reply keeps it.
+     */
+    public static final String CORRELATION_ID_HEADER = KafkaHeaders.CORRELATION_ID;
+
+    /**
+     * Header naming the topic the console should reply on.
+     */
+    public static final String REPLY_TOPIC_HEADER = KafkaHeaders.REPLY_TOPIC;
+
+    private final PluginTransport transport;
     private final PluginProperties properties;
-    private final ObjectMapper pluginObjectMapper;
+    private final PluginMessageCodec codec;
+    private final PluginMetrics metrics;
+    private final PluginTracing tracing;
 
     /**
      * Send a plugin announcement (beacon) to the Elaro platform.
      *
      * @param manifest The plugin manifest to announce
+     * @return Future completed when the transport has accepted the announcement
      */
-    public void sendAnnouncement(PluginManifest manifest) {
+    public CompletableFuture<Void> sendAnnouncement(PluginManifest manifest) {
+        return sendAnnouncement(manifest, null);
+    }
+
+    /**
+     * Send a plugin announcement that asks for a correlated reply on the ack topic.
+     *
+     * @param manifest The plugin manifest to announce
+     * @param correlationId ID the console should copy into its ack, or null
+     * @return Future completed when the transport has accepted the announcement
+     */
+    public CompletableFuture<Void> sendAnnouncement(PluginManifest manifest, String correlationId) {
         try {
-            String json = pluginObjectMapper.writeValueAsString(manifest);
+            byte[] payload = codec.encodeManifest(manifest);
             String topic = properties.getKafka().getAnnounceTopic();
+            Map<String, String> headers = PluginTracing.headers(tracing.current());
+            if (correlationId != null) {
+                headers = new HashMap<>(headers);
+                headers.put(CORRELATION_ID_HEADER, correlationId);
+                headers.put(REPLY_TOPIC_HEADER, properties.getKafka().getAckTopic());
+            }
+            TransportRecord record = new TransportRecord(topic, key(manifest), payload, headers);
 
-            CompletableFuture<SendResult<String, String>> future =
-                pluginKafkaTemplate.send(topic, manifest.getPluginId(), json);
+            long start = System.nanoTime();
+            CompletableFuture<Void> sent = tracing.observeSend("elaro.plugin.announce", topic, () ->
+                transport.send(record));
 
-            future.whenComplete((result, ex) -> {
+            return sent.whenComplete((result, ex) -> {
+                metrics.announceCompleted(System.nanoTime() - start, ex == null);
                 if (ex != null) {
                     log.error("Failed to send beacon for plugin {}: {}",
                         manifest.getPluginId(), ex.getMessage());
                 } else {
-                    log.debug("Beacon sent for plugin {} to partition {} offset {}",
-                        manifest.getPluginId(),
-                        result.getRecordMetadata().partition(),
-                        result.getRecordMetadata().offset());
+                    log.debug("Beacon sent for plugin {}", manifest.getPluginId());
                 }
             });
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Failed to serialize plugin manifest: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Beacons are keyed by plugin ID. A LEAVING announcement is keyed by
+     * instance ID, since it concerns only the instance that is shutting down.
+     */
+    private static String key(PluginManifest manifest) {
+        if (manifest.getStatus() == RegistrationStatus.LEAVING && manifest.getInstanceId() != null) {
+            return manifest.getInstanceId();
         }
+        return manifest.getPluginId();
     }
 }
@@ -0,0 +1,32 @@
+package ai.elaro.sdk.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that counts requests in flight.
+ */
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private final InFlightRequests inFlightRequests;
+
+    public InFlightRequestFilter(InFlightRequests inFlightRequests) {
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        inFlightRequests.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlightRequests.decrement();
+        }
+    }
+}
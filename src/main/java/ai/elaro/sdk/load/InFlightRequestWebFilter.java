@@ -0,0 +1,25 @@
+package ai.elaro.sdk.load;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter that counts requests in flight.
+ * Reactive counterpart of {@link InFlightRequestFilter}.
+ */
+public class InFlightRequestWebFilter implements WebFilter {
+
+    private final InFlightRequests inFlightRequests;
+
+    public InFlightRequestWebFilter(InFlightRequests inFlightRequests) {
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        inFlightRequests.increment();
+        return chain.filter(exchange).doFinally(signal -> inFlightRequests.decrement());
+    }
+}
@@ -0,0 +1,27 @@
+package ai.elaro.sdk.load;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counter of HTTP requests currently being processed, maintained by
+ * {@link InFlightRequestFilter} or {@link InFlightRequestWebFilter}.
+ */
+public class InFlightRequests {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    void increment() {
+        count.incrementAndGet();
+    }
+
+    void decrement() {
+        count.decrementAndGet();
+    }
+
+    /**
+     * Requests currently in flight.
+     */
+    public int get() {
+        return count.get();
+    }
+}
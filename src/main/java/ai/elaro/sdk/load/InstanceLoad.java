@@ -0,0 +1,56 @@
+package ai.elaro.sdk.load;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time load signals for a plugin instance, used by the console to
+ * spread work across instances of the same plugin.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InstanceLoad {
+
+    /**
+     * Process CPU load between 0.0 and 1.0, or null if unavailable.
+     */
+    private Double cpuLoad;
+
+    /**
+     * Used heap in bytes.
+     */
+    private long heapUsedBytes;
+
+    /**
+     * Maximum heap in bytes, or -1 if undefined.
+     */
+    private long heapMaxBytes;
+
+    /**
+     * Milliseconds spent in GC pauses since the previous sample.
+     */
+    private long gcPauseMillis;
+
+    /**
+     * HTTP requests currently being processed.
+     */
+    private int inFlightRequests;
+
+    /**
+     * Records sent to the transport but not yet acknowledged, or -1 if unknown.
+     */
+    private long transportQueueDepth;
+
+    /**
+     * When these signals were sampled.
+     */
+    private Instant sampledAt;
+}
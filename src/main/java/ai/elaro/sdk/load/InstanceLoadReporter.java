@@ -0,0 +1,120 @@
+package ai.elaro.sdk.load;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples instance load on a schedule and publishes {@link InstanceStatus}
+ * messages to the status topic while the plugin is ACCEPTED.
+ *
+ * <p>Publication is rate-limited: a status is sent only when a signal moved
+ * by more than {@code elaro.plugin.load.change-threshold}, or when nothing
+ * was sent for {@code max-silence-seconds}.</p>
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class InstanceLoadReporter {
+
+    private final PluginProperties properties;
+    private final InstanceLoadSampler sampler;
+    private final PluginRegistrar registrar;
+    private final PluginTransport transport;
+    private final PluginMessageCodec codec;
+    private final PluginThreads threads;
+
+    private ScheduledExecutorService scheduler;
+    private InstanceLoad lastPublished;
+    private Instant lastPublishedAt;
+
+    /**
+     * Start sampling.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = threads.newScheduler("plugin-load-" + properties.getId());
+        scheduler.scheduleWithFixedDelay(
+            this::tick,
+            0,
+            properties.getLoad().getSampleIntervalSeconds(),
+            TimeUnit.SECONDS
+        );
+    }
+
+    /**
+     * Stop sampling.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Take one sample and publish it if due. Called on the load thread only.
+     */
+    void tick() {
+        try {
+            InstanceLoad load = sampler.sample();
+            if (registrar.getStatus() != RegistrationStatus.ACCEPTED || !isDue(load)) {
+                return;
+            }
+
+            InstanceStatus status = InstanceStatus.builder()
+                .pluginId(properties.getId())
+                .instanceId(registrar.getInstanceId())
+                .status(registrar.getStatus())
+                .load(load)
+                .build();
+            transport.send(new TransportRecord(properties.getKafka().getStatusTopic(),
+                registrar.getInstanceId(), codec.encodeStatus(status)));
+            lastPublished = load;
+            lastPublishedAt = load.getSampledAt();
+        } catch (Exception e) {
+            log.debug("Failed to publish instance load: {}", e.getMessage());
+        }
+    }
+
+    private boolean isDue(InstanceLoad load) {
+        if (lastPublished == null) {
+            return true;
+        }
+        Duration silence = Duration.between(lastPublishedAt, load.getSampledAt());
+        if (silence.getSeconds() >= properties.getLoad().getMaxSilenceSeconds()) {
+            return true;
+        }
+
+        double threshold = properties.getLoad().getChangeThreshold();
+        return Math.abs(cpu(load) - cpu(lastPublished)) >= threshold
+            || Math.abs(heapRatio(load) - heapRatio(lastPublished)) >= threshold
+            || relativeChange(load.getInFlightRequests(), lastPublished.getInFlightRequests()) >= threshold
+            || relativeChange(load.getTransportQueueDepth(), lastPublished.getTransportQueueDepth()) >= threshold
+            || load.getGcPauseMillis() > 0 && lastPublished.getGcPauseMillis() == 0;
+    }
+
+    private static double cpu(InstanceLoad load) {
+        return load.getCpuLoad() != null ? load.getCpuLoad() : 0.0;
+    }
+
+    private static double heapRatio(InstanceLoad load) {
+        return load.getHeapMaxBytes() > 0 ? (double) load.getHeapUsedBytes() / load.getHeapMaxBytes() : 0.0;
+    }
+
+    private static double relativeChange(long current, long previous) {
+        return (double) Math.abs(current - previous) / Math.max(1, Math.max(current, previous));
+    }
+}
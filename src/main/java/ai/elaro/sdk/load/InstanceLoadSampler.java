@@ -0,0 +1,84 @@
+package ai.elaro.sdk.load;
+
+import ai.elaro.sdk.transport.PluginTransport;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Samples cheap local load signals from JMX, the in-flight request counter
+ * and the transport.
+ *
+ * <p>{@link #sample()} is called from a single reporter thread;
+ * {@link #getLatest()} may be read from any thread.</p>
+ */
+public class InstanceLoadSampler {
+
+    private final PluginTransport transport;
+    private final InFlightRequests inFlightRequests;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final List<GarbageCollectorMXBean> pauseCollectors;
+
+    private long lastGcMillis = -1;
+    private volatile InstanceLoad latest;
+
+    /**
+     * @param transport Transport whose pending count is reported
+     * @param inFlightRequests Request counter, or null outside web applications
+     */
+    public InstanceLoadSampler(PluginTransport transport, InFlightRequests inFlightRequests) {
+        this.transport = transport;
+        this.inFlightRequests = inFlightRequests;
+        // Concurrent collector beans report cycle time, not pauses
+        this.pauseCollectors = ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .filter(gc -> !gc.getName().contains("Concurrent") && !gc.getName().contains("Cycles"))
+            .toList();
+    }
+
+    /**
+     * Take a new sample.
+     */
+    public InstanceLoad sample() {
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : pauseCollectors) {
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        long gcDelta = lastGcMillis < 0 ? 0 : gcMillis - lastGcMillis;
+        lastGcMillis = gcMillis;
+
+        InstanceLoad load = InstanceLoad.builder()
+            .cpuLoad(processCpuLoad())
+            .heapUsedBytes(heap.getUsed())
+            .heapMaxBytes(heap.getMax())
+            .gcPauseMillis(gcDelta)
+            .inFlightRequests(inFlightRequests != null ? inFlightRequests.get() : 0)
+            .transportQueueDepth(transport.getPendingCount())
+            .sampledAt(Instant.now())
+            .build();
+        latest = load;
+        return load;
+    }
+
+    /**
+     * The most recent sample, or null before the first one.
+     */
+    public InstanceLoad getLatest() {
+        return latest;
+    }
+
+    private Double processCpuLoad() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hotspot) {
+            double load = hotspot.getProcessCpuLoad();
+            return load < 0 ? null : load;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package ai.elaro.sdk.load;
+
+import ai.elaro.sdk.registration.RegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Periodic status message published by a registered instance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstanceStatus {
+
+    /**
+     * The plugin ID.
+     */
+    private String pluginId;
+
+    /**
+     * The instance this status describes.
+     */
+    private String instanceId;
+
+    /**
+     * Current registration status.
+     */
+    private RegistrationStatus status;
+
+    /**
+     * Current load signals.
+     */
+    private InstanceLoad load;
+}
@@ -1,5 +1,6 @@
 package ai.elaro.sdk.logging;
 
+import ai.elaro.sdk.tracing.TraceContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,10 +11,11 @@ import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Elaro centralized logger that publishes log messages to both SLF4J (local)
- * and Kafka (centralized collection).
+ * and the plugin transport (centralized collection, Kafka by default).
  *
  * <p>Usage example:</p>
  * <pre>
@@ -33,46 +35,145 @@ import java.util.UUID;
  * }
  * }
  * </pre>
+ *
+ * <p>With {@code elaro.plugin.logging.garbage-free} enabled, records are
+ * formatted straight into a reusable event from the publisher's ring and
+ * encoded on a background thread. The fixed-arity and {@code long} overloads
+ * then publish without allocating an argument array or boxing; {@code double}
+ * formatting still allocates inside the JDK. Local SLF4J output is only
+ * produced when its level is enabled, and then allocates as its backend does.
+ * On that path 3 and 4 argument calls also build an argument array and
+ * {@code long}/{@code double} values are boxed, since SLF4J has neither
+ * overloads past two arguments nor primitive ones.</p>
  */
 public class ElaroLogger {
 
-    private static final String LOGS_TOPIC = "elaro.logs";
+    /**
+     * Topic that log records are published to.
+     */
+    public static final String LOGS_TOPIC = "elaro.logs";
+
+    private static final Object[] NO_ARGS = new Object[0];
 
     private final Logger slf4jLogger;
     private final String loggerName;
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final LogPublisher publisher;
     private final String serviceId;
     private final String serviceName;
     private final UUID tenantId;
-    private LogLevel minKafkaLevel = LogLevel.DEBUG;
+    private final boolean garbageFree;
+    private final LogLevelResolver levels;
+    private volatile LogLevel minKafkaLevel;
+    private volatile ResolvedLevel resolved = new ResolvedLevel(LogLevel.DEBUG, -1);
 
+    /**
+     * Logger that sends each record through a String-valued template.
+     *
+     * @deprecated Loggers publish through a {@link LogPublisher}. Obtain them
+     * from {@link ElaroLoggerFactory}, or use
+     * {@link #ElaroLogger(Class, LogPublisher, String, String, UUID)}.
+     */
+    @Deprecated(forRemoval = true)
     public ElaroLogger(Class<?> clazz, KafkaTemplate<String, String> kafkaTemplate,
             ObjectMapper objectMapper, String serviceId, String serviceName, UUID tenantId) {
+        this(clazz, StringTemplateLogTransport.publisher(kafkaTemplate, objectMapper),
+            serviceId, serviceName, tenantId);
+    }
+
+    public ElaroLogger(Class<?> clazz, LogPublisher publisher,
+            String serviceId, String serviceName, UUID tenantId) {
+        this(clazz, publisher, serviceId, serviceName, tenantId, null);
+    }
+
+    /**
+     * @param levels Resolves the minimum Kafka level from logger name prefixes, may be null
+     */
+    public ElaroLogger(Class<?> clazz, LogPublisher publisher,
+            String serviceId, String serviceName, UUID tenantId, LogLevelResolver levels) {
         this.slf4jLogger = LoggerFactory.getLogger(clazz);
         this.loggerName = clazz.getName();
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.publisher = publisher;
         this.serviceId = serviceId;
         this.serviceName = serviceName;
         this.tenantId = tenantId;
+        this.garbageFree = publisher != null && publisher.isGarbageFree();
+        this.levels = levels;
     }
 
     /**
      * Set minimum level for Kafka publishing (local SLF4J logging unaffected).
-     * @param level Minimum level to publish to Kafka
+     * Takes precedence over levels set by logger name prefix.
+     * @param level Minimum level to publish to Kafka, or null to use the prefix levels
      */
     public void setMinKafkaLevel(LogLevel level) {
         this.minKafkaLevel = level;
     }
 
+    /**
+     * Get the minimum level currently published to Kafka.
+     */
+    public LogLevel getMinKafkaLevel() {
+        LogLevel explicit = minKafkaLevel;
+        if (explicit != null) {
+            return explicit;
+        }
+        if (levels == null) {
+            return resolved.level();
+        }
+
+        // Re-resolve only after the prefix levels changed
+        ResolvedLevel current = resolved;
+        long generation = levels.generation();
+        if (current.generation() != generation) {
+            current = new ResolvedLevel(levels.resolve(loggerName), generation);
+            resolved = current;
+        }
+        return current.level();
+    }
+
     // ========== TRACE ==========
     public void trace(String message) {
         log(LogLevel.TRACE, message, null, null);
     }
 
     public void trace(String message, Object... args) {
-        log(LogLevel.TRACE, format(message, args), null, null);
+        logFormatted(LogLevel.TRACE, message, args);
+    }
+
+    public void trace(String message, Object arg) {
+        logFormatted(LogLevel.TRACE, message, 1, arg, null, null, null);
+    }
+
+    public void trace(String message, Object arg1, Object arg2) {
+        logFormatted(LogLevel.TRACE, message, 2, arg1, arg2, null, null);
+    }
+
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        logFormatted(LogLevel.TRACE, message, 3, arg1, arg2, arg3, null);
+    }
+
+    public void trace(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        logFormatted(LogLevel.TRACE, message, 4, arg1, arg2, arg3, arg4);
+    }
+
+    public void trace(String message, char arg) {
+        logChar(LogLevel.TRACE, message, arg);
+    }
+
+    public void trace(String message, int arg) {
+        logLong(LogLevel.TRACE, message, arg);
+    }
+
+    public void trace(String message, long arg) {
+        logLong(LogLevel.TRACE, message, arg);
+    }
+
+    public void trace(String message, float arg) {
+        logFloat(LogLevel.TRACE, message, arg);
+    }
+
+    public void trace(String message, double arg) {
+        logDouble(LogLevel.TRACE, message, arg);
     }
 
     public void trace(String message, Map<String, String> context) {
@@ -85,7 +186,43 @@ public class ElaroLogger {
     }
 
     public void debug(String message, Object... args) {
-        log(LogLevel.DEBUG, format(message, args), null, null);
+        logFormatted(LogLevel.DEBUG, message, args);
+    }
+
+    public void debug(String message, Object arg) {
+        logFormatted(LogLevel.DEBUG, message, 1, arg, null, null, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        logFormatted(LogLevel.DEBUG, message, 2, arg1, arg2, null, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        logFormatted(LogLevel.DEBUG, message, 3, arg1, arg2, arg3, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        logFormatted(LogLevel.DEBUG, message, 4, arg1, arg2, arg3, arg4);
+    }
+
+    public void debug(String message, char arg) {
+        logChar(LogLevel.DEBUG, message, arg);
+    }
+
+    public void debug(String message, int arg) {
+        logLong(LogLevel.DEBUG, message, arg);
+    }
+
+    public void debug(String message, long arg) {
+        logLong(LogLevel.DEBUG, message, arg);
+    }
+
+    public void debug(String message, float arg) {
+        logFloat(LogLevel.DEBUG, message, arg);
+    }
+
+    public void debug(String message, double arg) {
+        logDouble(LogLevel.DEBUG, message, arg);
     }
 
     public void debug(String message, Map<String, String> context) {
@@ -98,7 +235,43 @@ public class ElaroLogger {
     }
 
     public void info(String message, Object... args) {
-        log(LogLevel.INFO, format(message, args), null, null);
+        logFormatted(LogLevel.INFO, message, args);
+    }
+
+    public void info(String message, Object arg) {
+        logFormatted(LogLevel.INFO, message, 1, arg, null, null, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        logFormatted(LogLevel.INFO, message, 2, arg1, arg2, null, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        logFormatted(LogLevel.INFO, message, 3, arg1, arg2, arg3, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        logFormatted(LogLevel.INFO, message, 4, arg1, arg2, arg3, arg4);
+    }
+
+    public void info(String message, char arg) {
+        logChar(LogLevel.INFO, message, arg);
+    }
+
+    public void info(String message, int arg) {
+        logLong(LogLevel.INFO, message, arg);
+    }
+
+    public void info(String message, long arg) {
+        logLong(LogLevel.INFO, message, arg);
+    }
+
+    public void info(String message, float arg) {
+        logFloat(LogLevel.INFO, message, arg);
+    }
+
+    public void info(String message, double arg) {
+        logDouble(LogLevel.INFO, message, arg);
     }
 
     public void info(String message, Map<String, String> context) {
@@ -111,7 +284,43 @@ public class ElaroLogger {
     }
 
     public void warn(String message, Object... args) {
-        log(LogLevel.WARN, format(message, args), null, null);
+        logFormatted(LogLevel.WARN, message, args);
+    }
+
+    public void warn(String message, Object arg) {
+        logFormatted(LogLevel.WARN, message, 1, arg, null, null, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        logFormatted(LogLevel.WARN, message, 2, arg1, arg2, null, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        logFormatted(LogLevel.WARN, message, 3, arg1, arg2, arg3, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        logFormatted(LogLevel.WARN, message, 4, arg1, arg2, arg3, arg4);
+    }
+
+    public void warn(String message, char arg) {
+        logChar(LogLevel.WARN, message, arg);
+    }
+
+    public void warn(String message, int arg) {
+        logLong(LogLevel.WARN, message, arg);
+    }
+
+    public void warn(String message, long arg) {
+        logLong(LogLevel.WARN, message, arg);
+    }
+
+    public void warn(String message, float arg) {
+        logFloat(LogLevel.WARN, message, arg);
+    }
+
+    public void warn(String message, double arg) {
+        logDouble(LogLevel.WARN, message, arg);
     }
 
     public void warn(String message, Throwable t) {
@@ -132,7 +341,43 @@ public class ElaroLogger {
     }
 
     public void error(String message, Object... args) {
-        log(LogLevel.ERROR, format(message, args), null, null);
+        logFormatted(LogLevel.ERROR, message, args);
+    }
+
+    public void error(String message, Object arg) {
+        logFormatted(LogLevel.ERROR, message, 1, arg, null, null, null);
+    }
+
+    public void error(String message, Object arg1, Object arg2) {
+        logFormatted(LogLevel.ERROR, message, 2, arg1, arg2, null, null);
+    }
+
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        logFormatted(LogLevel.ERROR, message, 3, arg1, arg2, arg3, null);
+    }
+
+    public void error(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        logFormatted(LogLevel.ERROR, message, 4, arg1, arg2, arg3, arg4);
+    }
+
+    public void error(String message, char arg) {
+        logChar(LogLevel.ERROR, message, arg);
+    }
+
+    public void error(String message, int arg) {
+        logLong(LogLevel.ERROR, message, arg);
+    }
+
+    public void error(String message, long arg) {
+        logLong(LogLevel.ERROR, message, arg);
+    }
+
+    public void error(String message, float arg) {
+        logFloat(LogLevel.ERROR, message, arg);
+    }
+
+    public void error(String message, double arg) {
+        logDouble(LogLevel.ERROR, message, arg);
     }
 
     public void error(String message, Throwable t) {
@@ -161,9 +406,266 @@ public class ElaroLogger {
         // Always log to SLF4J locally
         logToSlf4j(level, message, t);
 
-        // Only publish to Kafka if above min level
-        if (level.isAtLeast(minKafkaLevel) && kafkaTemplate != null) {
-            publishToKafka(level, message, t, context);
+        // Only publish to the transport if above min level
+        if (isPublishable(level)) {
+            if (garbageFree) {
+                LogEvent event = claim(level);
+                if (event != null) {
+                    boolean filled = false;
+                    try {
+                        event.message.append(message);
+                        event.thrown = t;
+                        event.context = context;
+                        filled = true;
+                    } finally {
+                        commit(event, filled);
+                    }
+                }
+            } else {
+                publish(level, message, t, context);
+            }
+        }
+    }
+
+    private void logFormatted(LogLevel level, String pattern, Object[] args) {
+        if (!garbageFree) {
+            log(level, ParameterFormatter.format(pattern, args), null, null);
+            return;
+        }
+        if (isSlf4jEnabled(level)) {
+            logToSlf4j(level, pattern, args);
+        }
+        if (isPublishable(level)) {
+            LogEvent event = claim(level);
+            if (event != null) {
+                boolean filled = false;
+                try {
+                    ParameterFormatter.formatTo(event.message, pattern, args != null ? args : NO_ARGS);
+                    filled = true;
+                } finally {
+                    commit(event, filled);
+                }
+            }
+        }
+    }
+
+    private void logFormatted(LogLevel level, String pattern, int argCount,
+                              Object a0, Object a1, Object a2, Object a3) {
+        if (!garbageFree) {
+            log(level, ParameterFormatter.format(pattern, argCount, a0, a1, a2, a3), null, null);
+            return;
+        }
+        if (isSlf4jEnabled(level)) {
+            switch (argCount) {
+                case 1 -> logToSlf4j(level, pattern, a0);
+                case 2 -> logToSlf4j(level, pattern, a0, a1);
+                // SLF4J has no fixed-arity overload past two arguments
+                case 3 -> logToSlf4j(level, pattern, new Object[] {a0, a1, a2});
+                default -> logToSlf4j(level, pattern, new Object[] {a0, a1, a2, a3});
+            }
+        }
+        if (isPublishable(level)) {
+            LogEvent event = claim(level);
+            if (event != null) {
+                boolean filled = false;
+                try {
+                    ParameterFormatter.formatTo(event.message, pattern, argCount, a0, a1, a2, a3);
+                    filled = true;
+                } finally {
+                    commit(event, filled);
+                }
+            }
+        }
+    }
+
+    private void logChar(LogLevel level, String pattern, char value) {
+        if (!garbageFree) {
+            log(level, ParameterFormatter.format(pattern, value), null, null);
+            return;
+        }
+        if (isSlf4jEnabled(level)) {
+            // SLF4J takes Objects, so local output boxes the value
+            logToSlf4j(level, pattern, (Object) value);
+        }
+        if (isPublishable(level)) {
+            LogEvent event = claim(level);
+            if (event != null) {
+                boolean filled = false;
+                try {
+                    ParameterFormatter.formatTo(event.message, pattern, value);
+                    filled = true;
+                } finally {
+                    commit(event, filled);
+                }
+            }
+        }
+    }
+
+    private void logLong(LogLevel level, String pattern, long value) {
+        if (!garbageFree) {
+            log(level, ParameterFormatter.format(pattern, value), null, null);
+            return;
+        }
+        if (isSlf4jEnabled(level)) {
+            // SLF4J takes Objects, so local output boxes the value
+            logToSlf4j(level, pattern, (Object) value);
+        }
+        if (isPublishable(level)) {
+            LogEvent event = claim(level);
+            if (event != null) {
+                boolean filled = false;
+                try {
+                    ParameterFormatter.formatTo(event.message, pattern, value);
+                    filled = true;
+                } finally {
+                    commit(event, filled);
+                }
+            }
+        }
+    }
+
+    private void logFloat(LogLevel level, String pattern, float value) {
+        if (!garbageFree) {
+            log(level, ParameterFormatter.format(pattern, value), null, null);
+            return;
+        }
+        if (isSlf4jEnabled(level)) {
+            // SLF4J takes Objects, so local output boxes the value
+            logToSlf4j(level, pattern, (Object) value);
+        }
+        if (isPublishable(level)) {
+            LogEvent event = claim(level);
+            if (event != null) {
+                boolean filled = false;
+                try {
+                    ParameterFormatter.formatTo(event.message, pattern, value);
+                    filled = true;
+                } finally {
+                    commit(event, filled);
+                }
+            }
+        }
+    }
+
+    private void logDouble(LogLevel level, String pattern, double value) {
+        if (!garbageFree) {
+            log(level, ParameterFormatter.format(pattern, value), null, null);
+            return;
+        }
+        if (isSlf4jEnabled(level)) {
+            // SLF4J takes Objects, so local output boxes the value
+            logToSlf4j(level, pattern, (Object) value);
+        }
+        if (isPublishable(level)) {
+            LogEvent event = claim(level);
+            if (event != null) {
+                boolean filled = false;
+                try {
+                    ParameterFormatter.formatTo(event.message, pattern, value);
+                    filled = true;
+                } finally {
+                    commit(event, filled);
+                }
+            }
+        }
+    }
+
+    private boolean isPublishable(LogLevel level) {
+        return publisher != null && level.isAtLeast(getMinKafkaLevel()) && publisher.accepts(level);
+    }
+
+    /**
+     * Claim a ring event and fill in everything but the message.
+     *
+     * <p>Once claimed, an event must be committed even if filling it throws,
+     * or the encoder thread would wait on its slot forever. Callers commit
+     * through {@link #commit(LogEvent, boolean)} in a finally block.</p>
+     *
+     * @return The event, or null if the record is dropped
+     */
+    private LogEvent claim(LogLevel level) {
+        LogEvent event = publisher.claim();
+        if (event == null) {
+            return null;
+        }
+        boolean filled = false;
+        try {
+            fill(event, level);
+            filled = true;
+        } finally {
+            if (!filled) {
+                commit(event, false);
+            }
+        }
+        return event;
+    }
+
+    private void fill(LogEvent event, LogLevel level) {
+        // Instant.now() allocates, so garbage-free records carry millisecond precision
+        long millis = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Random (version 4) UUID without SecureRandom or a UUID object
+        event.idMostSigBits = (random.nextLong() & ~0xf000L) | 0x4000L;
+        event.idLeastSigBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        event.serviceId = serviceId;
+        event.serviceName = serviceName;
+        event.level = level;
+        event.logger = loggerName;
+        event.threadName = Thread.currentThread().getName();
+        event.epochSecond = Math.floorDiv(millis, 1000);
+        event.nanos = Math.floorMod(millis, 1000) * 1_000_000;
+        event.tenantId = tenantId;
+        event.trace = publisher.currentTrace();
+    }
+
+    /**
+     * Hand a claimed event to the encoder thread.
+     *
+     * @param filled false if filling the event threw, so the record is skipped
+     */
+    private void commit(LogEvent event, boolean filled) {
+        event.failed = !filled;
+        publisher.commit(event);
+    }
+
+    private boolean isSlf4jEnabled(LogLevel level) {
+        return switch (level) {
+            case TRACE -> slf4jLogger.isTraceEnabled();
+            case DEBUG -> slf4jLogger.isDebugEnabled();
+            case INFO -> slf4jLogger.isInfoEnabled();
+            case WARN -> slf4jLogger.isWarnEnabled();
+            case ERROR, FATAL -> slf4jLogger.isErrorEnabled();
+        };
+    }
+
+    private void logToSlf4j(LogLevel level, String pattern, Object[] args) {
+        switch (level) {
+            case TRACE -> slf4jLogger.trace(pattern, args);
+            case DEBUG -> slf4jLogger.debug(pattern, args);
+            case INFO -> slf4jLogger.info(pattern, args);
+            case WARN -> slf4jLogger.warn(pattern, args);
+            case ERROR, FATAL -> slf4jLogger.error(pattern, args);
+        }
+    }
+
+    private void logToSlf4j(LogLevel level, String pattern, Object arg) {
+        switch (level) {
+            case TRACE -> slf4jLogger.trace(pattern, arg);
+            case DEBUG -> slf4jLogger.debug(pattern, arg);
+            case INFO -> slf4jLogger.info(pattern, arg);
+            case WARN -> slf4jLogger.warn(pattern, arg);
+            case ERROR, FATAL -> slf4jLogger.error(pattern, arg);
+        }
+    }
+
+    private void logToSlf4j(LogLevel level, String pattern, Object arg1, Object arg2) {
+        switch (level) {
+            case TRACE -> slf4jLogger.trace(pattern, arg1, arg2);
+            case DEBUG -> slf4jLogger.debug(pattern, arg1, arg2);
+            case INFO -> slf4jLogger.info(pattern, arg1, arg2);
+            case WARN -> slf4jLogger.warn(pattern, arg1, arg2);
+            case ERROR, FATAL -> slf4jLogger.error(pattern, arg1, arg2);
         }
     }
 
@@ -192,42 +694,30 @@ public class ElaroLogger {
         }
     }
 
-    private void publishToKafka(LogLevel level, String message, Throwable t, Map<String, String> context) {
-        try {
-            String stackTrace = null;
-            if (t != null) {
-                StringWriter sw = new StringWriter();
-                t.printStackTrace(new PrintWriter(sw));
-                stackTrace = sw.toString();
-            }
-
-            LogMessage logMessage = LogMessage.builder()
-                .serviceId(serviceId)
-                .serviceName(serviceName)
-                .level(level)
-                .logger(loggerName)
-                .message(message)
-                .stackTrace(stackTrace)
-                .context(context != null ? context : new HashMap<>())
-                .tenantId(tenantId)
-                .build();
-
-            String json = objectMapper.writeValueAsString(logMessage);
-            kafkaTemplate.send(LOGS_TOPIC, serviceId, json);
-        } catch (Exception e) {
-            // Don't let logging failures break the application
-            slf4jLogger.warn("Failed to publish log to Kafka: {}", e.getMessage());
+    private void publish(LogLevel level, String message, Throwable t, Map<String, String> context) {
+        String stackTrace = null;
+        if (t != null) {
+            StringWriter sw = new StringWriter();
+            t.printStackTrace(new PrintWriter(sw));
+            stackTrace = sw.toString();
         }
-    }
 
-    private String format(String message, Object... args) {
-        if (args == null || args.length == 0) return message;
-        // Simple {} placeholder replacement
-        String result = message;
-        for (Object arg : args) {
-            result = result.replaceFirst("\\{}", arg != null ? arg.toString() : "null");
-        }
-        return result;
+        TraceContext trace = publisher.currentTrace();
+
+        LogMessage logMessage = LogMessage.builder()
+            .serviceId(serviceId)
+            .serviceName(serviceName)
+            .level(level)
+            .logger(loggerName)
+            .message(message)
+            .stackTrace(stackTrace)
+            .context(context != null ? context : new HashMap<>())
+            .tenantId(tenantId)
+            .traceId(trace != null ? trace.traceIdHex() : null)
+            .spanId(trace != null ? trace.spanIdHex() : null)
+            .build();
+
+        publisher.publish(serviceId, logMessage, trace);
     }
 
     // ========== STATIC CONTEXT BUILDER ==========
@@ -248,4 +738,7 @@ public class ElaroLogger {
         }
         return ctx;
     }
+
+    private record ResolvedLevel(LogLevel level, long generation) {
+    }
 }
@@ -29,18 +29,36 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ElaroLoggerFactory {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final LogPublisher publisher;
+    private final LogLevelResolver levels;
     private final Map<String, ElaroLogger> loggers = new ConcurrentHashMap<>();
 
     private String serviceId;
     private String serviceName;
     private UUID tenantId;
-    private LogLevel defaultMinKafkaLevel = LogLevel.DEBUG;
 
+    public ElaroLoggerFactory(LogPublisher publisher) {
+        this(publisher, new LogLevelResolver());
+    }
+
+    /**
+     * @param publisher Publishes records to the transport
+     * @param levels Minimum Kafka levels by logger name prefix, shared by all loggers
+     */
+    public ElaroLoggerFactory(LogPublisher publisher, LogLevelResolver levels) {
+        this.publisher = publisher;
+        this.levels = levels;
+    }
+
+    /**
+     * Factory whose loggers send each record through a String-valued template.
+     *
+     * @deprecated Loggers publish through a {@link LogPublisher}. Inject the
+     * auto-configured factory, or use {@link #ElaroLoggerFactory(LogPublisher)}.
+     */
+    @Deprecated(forRemoval = true)
     public ElaroLoggerFactory(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this(StringTemplateLogTransport.publisher(kafkaTemplate, objectMapper));
     }
 
     /**
@@ -59,12 +77,20 @@ public class ElaroLoggerFactory {
 
     /**
      * Set the default minimum level for Kafka publishing.
-     * Logs below this level will only go to local SLF4J.
+     * Logs below this level will only go to local SLF4J. Applies to existing
+     * loggers too, except where a prefix level or per-logger level is set.
      *
      * @param level Minimum level for Kafka publishing
      */
     public void setDefaultMinKafkaLevel(LogLevel level) {
-        this.defaultMinKafkaLevel = level;
+        levels.setConfiguredLevel(LogLevelResolver.ROOT, level);
+    }
+
+    /**
+     * Get the resolver holding the minimum Kafka levels by logger name prefix.
+     */
+    public LogLevelResolver getLevelResolver() {
+        return levels;
     }
 
     /**
@@ -75,11 +101,7 @@ public class ElaroLoggerFactory {
      * @return ElaroLogger instance for the class
      */
     public ElaroLogger getLogger(Class<?> clazz) {
-        return loggers.computeIfAbsent(clazz.getName(), name -> {
-            ElaroLogger logger = new ElaroLogger(clazz, kafkaTemplate, objectMapper,
-                serviceId, serviceName, tenantId);
-            logger.setMinKafkaLevel(defaultMinKafkaLevel);
-            return logger;
-        });
+        return loggers.computeIfAbsent(clazz.getName(), name ->
+            new ElaroLogger(clazz, publisher, serviceId, serviceName, tenantId, levels));
     }
 }
@@ -1,38 +1,70 @@
 package ai.elaro.sdk.logging;
 
+import ai.elaro.sdk.ElaroPluginAutoConfiguration;
 import ai.elaro.sdk.config.PluginProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
-import org.springframework.kafka.core.KafkaTemplate;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
  * Auto-configuration for Elaro centralized logging.
- * Automatically registers ElaroLoggerFactory when Kafka is available.
+ * Automatically registers ElaroLoggerFactory when a plugin transport is available.
  */
-@AutoConfiguration
-@ConditionalOnClass(KafkaTemplate.class)
+@AutoConfiguration(after = ElaroPluginAutoConfiguration.class)
 public class ElaroLoggingAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(ElaroLoggingAutoConfiguration.class);
     private static final UUID DEFAULT_TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
 
     @Bean
-    @ConditionalOnBean(KafkaTemplate.class)
+    @ConditionalOnBean(PluginTransport.class)
+    @ConditionalOnMissingBean
+    public LogPublisher elaroLogPublisher(
+            PluginTransport pluginTransport,
+            PluginMessageCodec pluginMessageCodec,
+            PluginTracing pluginTracing,
+            PluginProperties properties,
+            PluginThreads pluginThreads) {
+        PluginProperties.LoggingProperties logging = properties.getLogging();
+        LogSizeLimits limits = new LogSizeLimits(logging.getMaxMessageBytes(), logging.getMaxStackTraceBytes(),
+            logging.getMaxContextValueBytes(), logging.getMaxRecordBytes(), logging.isChunking(),
+            logging.getMaxChunks());
+        LogBatching batching = logging.isBatching()
+            ? new LogBatching(logging.getBatchTargetBytes(), logging.getBatchMaxRecords(),
+                Duration.ofMillis(logging.getBatchLingerMillis()))
+            : null;
+        return new LogPublisher(pluginTransport, pluginMessageCodec, pluginTracing,
+            logging.isGarbageFree() ? logging.getRingSize() : 0, pluginThreads, limits, batching);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LogLevelResolver elaroLogLevelResolver(PluginProperties properties) {
+        return new LogLevelResolver(properties.getLogging().getLevels());
+    }
+
+    @Bean
+    @ConditionalOnBean(PluginTransport.class)
     @ConditionalOnMissingBean
     public ElaroLoggerFactory elaroLoggerFactory(
-            KafkaTemplate<String, String> pluginKafkaTemplate,
-            ObjectMapper pluginObjectMapper,
+            LogPublisher elaroLogPublisher,
+            LogLevelResolver elaroLogLevelResolver,
             PluginProperties properties) {
 
-        ElaroLoggerFactory factory = new ElaroLoggerFactory(pluginKafkaTemplate, pluginObjectMapper);
+        ElaroLoggerFactory factory = new ElaroLoggerFactory(elaroLogPublisher, elaroLogLevelResolver);
 
         UUID tenantId = parseTenantId(properties.getTenantId());
 
@@ -48,6 +80,38 @@ public class ElaroLoggingAutoConfiguration {
         return factory;
     }
 
+    @Bean
+    @ConditionalOnBean(PluginTransport.class)
+    @ConditionalOnProperty(prefix = "elaro.plugin.logging", name = "control-enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public LogLevelControlListener elaroLogLevelControlListener(
+            LogLevelResolver elaroLogLevelResolver,
+            PluginTransport pluginTransport,
+            PluginMessageCodec pluginMessageCodec,
+            PluginProperties properties,
+            ObjectProvider<PluginRegistrar> pluginRegistrar) {
+        return new LogLevelControlListener(elaroLogLevelResolver, pluginTransport, pluginMessageCodec,
+            properties.getLogging().getControlTopic(), properties.getId(), pluginRegistrar);
+    }
+
+    @Bean
+    @ConditionalOnBean(PluginTransport.class)
+    @ConditionalOnProperty(prefix = "elaro.plugin.logging", name = "shedding", havingValue = "true")
+    @ConditionalOnMissingBean
+    public LogLoadShedder elaroLogLoadShedder(
+            LogPublisher elaroLogPublisher,
+            PluginTransport pluginTransport,
+            PluginThreads pluginThreads,
+            PluginProperties properties) {
+        PluginProperties.LoggingProperties logging = properties.getLogging();
+        LogShedding shedding = new LogShedding(Duration.ofMillis(logging.getShedIntervalMillis()),
+            logging.getShedQueueThreshold(), logging.getShedBufferThreshold(),
+            logging.getShedErrorRateThreshold(), logging.getShedCpuThreshold(), logging.getShedMaxLevel(),
+            logging.getShedRecoveryFactor(), logging.getShedRecoveryIntervals());
+        return new LogLoadShedder(elaroLogPublisher, pluginTransport, shedding, pluginThreads,
+            properties.getId(), properties.getName(), parseTenantId(properties.getTenantId()));
+    }
+
     private UUID parseTenantId(String tenantIdStr) {
         if (tenantIdStr == null || tenantIdStr.isBlank()) {
             return DEFAULT_TENANT_ID;
@@ -0,0 +1,66 @@
+package ai.elaro.sdk.logging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Envelope that carries many log records in one transport record.
+ *
+ * <p>Fields shared by every record are written once per envelope. Logger and
+ * thread names are written once each in {@link #loggers()} and
+ * {@link #threads()}, and records refer to them by index. Records sent as
+ * envelopes have the {@value #FORMAT_HEADER} header set to {@value #FORMAT};
+ * {@link LogBatchUnpacker} turns either form back into {@link LogMessage}s.</p>
+ *
+ * @param format Always {@value #FORMAT}
+ * @param serviceId Service ID of every record
+ * @param serviceName Service name of every record
+ * @param tenantId Tenant ID of every record
+ * @param loggers Logger names referenced by {@link Entry#logger()}
+ * @param threads Thread names referenced by {@link Entry#thread()}
+ * @param records The records, in the order they were logged
+ */
+public record LogBatch(
+    String format,
+    String serviceId,
+    String serviceName,
+    UUID tenantId,
+    List<String> loggers,
+    List<String> threads,
+    List<Entry> records
+) {
+
+    /**
+     * Format identifier, also the value of the {@value #FORMAT_HEADER} header.
+     */
+    public static final String FORMAT = "elaro.log-batch.v1";
+
+    /**
+     * Header that marks a record as an envelope.
+     */
+    public static final String FORMAT_HEADER = "elaro-log-format";
+
+    /**
+     * One record in an envelope. {@code logger} and {@code thread} index the
+     * envelope's dictionaries, or are -1 when the name is null. Null and empty
+     * fields are left out.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record Entry(
+        UUID id,
+        LogLevel level,
+        int logger,
+        int thread,
+        String message,
+        String stackTrace,
+        Map<String, String> context,
+        Instant timestamp,
+        String traceId,
+        String spanId
+    ) {
+    }
+}
@@ -0,0 +1,94 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.TransportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns records read from {@code elaro.logs} back into {@link LogMessage}s,
+ * whether they hold a single message or a {@link LogBatch} envelope.
+ *
+ * <p>Chunked records must be joined with a {@link LogRecordReassembler}
+ * first:</p>
+ *
+ * <pre>
+ * byte[] payload = reassembler.accept(record.headers(), record.value());
+ * if (payload != null) {
+ *     for (LogMessage message : unpacker.unpack(record.headers(), payload)) {
+ *         store(message);
+ *     }
+ * }
+ * </pre>
+ */
+public class LogBatchUnpacker {
+
+    private final PluginMessageCodec codec;
+
+    /**
+     * @param objectMapper Mapper with the Java time module registered
+     */
+    public LogBatchUnpacker(ObjectMapper objectMapper) {
+        this(new PluginMessageCodec(objectMapper));
+    }
+
+    public LogBatchUnpacker(PluginMessageCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Unpack a record read through a {@code PluginTransport}.
+     */
+    public List<LogMessage> unpack(TransportRecord record) throws IOException {
+        return unpack(record.headers().get(LogBatch.FORMAT_HEADER), record.value());
+    }
+
+    /**
+     * Unpack a record read with a plain Kafka consumer.
+     *
+     * @param headers The record's headers
+     * @param payload The record value, or the payload joined from its chunks
+     */
+    public List<LogMessage> unpack(Headers headers, byte[] payload) throws IOException {
+        Header format = headers.lastHeader(LogBatch.FORMAT_HEADER);
+        return unpack(format != null && format.value() != null
+            ? new String(format.value(), StandardCharsets.UTF_8) : null, payload);
+    }
+
+    /**
+     * Expand an envelope into the messages it carries, with the shared fields
+     * and dictionary names filled back in.
+     */
+    public static List<LogMessage> unpack(LogBatch batch) {
+        List<LogMessage> messages = new ArrayList<>(batch.records().size());
+        for (LogBatch.Entry entry : batch.records()) {
+            messages.add(new LogMessage(entry.id(), batch.serviceId(), batch.serviceName(), entry.level(),
+                name(batch.loggers(), entry.logger()), entry.message(), entry.stackTrace(),
+                entry.context() != null ? entry.context() : Map.of(),
+                name(batch.threads(), entry.thread()), entry.timestamp(), batch.tenantId(),
+                entry.traceId(), entry.spanId()));
+        }
+        return messages;
+    }
+
+    private List<LogMessage> unpack(String format, byte[] payload) throws IOException {
+        if (format == null) {
+            return List.of(codec.decodeLog(payload));
+        }
+        if (!LogBatch.FORMAT.equals(format)) {
+            throw new IOException("Unsupported log record format: " + format);
+        }
+        return unpack(codec.decodeLogBatch(payload));
+    }
+
+    private static String name(List<String> names, int index) {
+        return names != null && index >= 0 && index < names.size() ? names.get(index) : null;
+    }
+}
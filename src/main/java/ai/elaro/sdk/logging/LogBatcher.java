@@ -0,0 +1,215 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Collects log records into {@link LogBatch} envelopes and hands each
+ * envelope to a sink once it reaches the target size or record count, once
+ * its oldest record has waited for the linger time, or when a record with a
+ * different service or tenant arrives.
+ *
+ * <p>Envelopes reach the sink in the order they were filled. The sink runs
+ * outside the lock that guards the open envelope, so logging threads only
+ * wait for an envelope to be encoded when they fill the next one first.
+ * Both locks are {@link ReentrantLock}s rather than monitors, so a virtual
+ * thread waiting on either unmounts instead of pinning its carrier.</p>
+ */
+final class LogBatcher {
+
+    /**
+     * Estimated bytes per record besides its text: ID, timestamp, level,
+     * dictionary indexes, trace IDs and JSON punctuation.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    private static final int ENVELOPE_OVERHEAD_BYTES = 200;
+
+    private final LogBatching settings;
+    private final Consumer<LogBatch> sink;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private Builder open;
+
+    LogBatcher(LogBatching settings, Consumer<LogBatch> sink, PluginThreads threads) {
+        this.settings = settings;
+        this.sink = sink;
+        this.scheduler = threads.newScheduler("elaro-log-batch");
+        long period = Math.max(1, settings.linger().toMillis() / 2);
+        scheduler.scheduleAtFixedRate(this::flushExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add a record to the open envelope.
+     */
+    void add(LogMessage message) {
+        LogBatch previous = null;
+        LogBatch full = null;
+        lock.lock();
+        try {
+            if (open != null && !open.accepts(message)) {
+                previous = open.build();
+                open = null;
+            }
+            if (open == null) {
+                open = new Builder(message, System.nanoTime());
+            }
+            open.add(message);
+            if (open.estimatedBytes >= settings.targetBytes() || open.entries.size() >= settings.maxRecords()) {
+                full = open.build();
+                open = null;
+            }
+            if (previous == null && full == null) {
+                return;
+            }
+            sendLock.lock();
+        } finally {
+            lock.unlock();
+        }
+        send(previous, full);
+    }
+
+    /**
+     * Send the open envelope now.
+     */
+    void flush() {
+        LogBatch batch;
+        lock.lock();
+        try {
+            if (open == null) {
+                return;
+            }
+            batch = open.build();
+            open = null;
+            sendLock.lock();
+        } finally {
+            lock.unlock();
+        }
+        send(batch, null);
+    }
+
+    /**
+     * Stop the linger timer and send the open envelope.
+     */
+    void close() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private void flushExpired() {
+        LogBatch batch;
+        lock.lock();
+        try {
+            if (open == null || System.nanoTime() - open.started < settings.linger().toNanos()) {
+                return;
+            }
+            batch = open.build();
+            open = null;
+            sendLock.lock();
+        } finally {
+            lock.unlock();
+        }
+        send(batch, null);
+    }
+
+    /**
+     * Hand envelopes to the sink. The caller took the send lock while still
+     * holding the envelope lock, which keeps envelopes in order.
+     */
+    private void send(LogBatch first, LogBatch second) {
+        try {
+            if (first != null) {
+                sink.accept(first);
+            }
+            if (second != null) {
+                sink.accept(second);
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private static int estimate(LogMessage message) {
+        int bytes = ENTRY_OVERHEAD_BYTES;
+        if (message.message() != null) {
+            bytes += Utf8Truncation.utf8Length(message.message());
+        }
+        if (message.stackTrace() != null) {
+            bytes += Utf8Truncation.utf8Length(message.stackTrace());
+        }
+        if (message.context() != null) {
+            for (Map.Entry<String, String> entry : message.context().entrySet()) {
+                bytes += 6 + (entry.getKey() != null ? Utf8Truncation.utf8Length(entry.getKey()) : 4)
+                    + (entry.getValue() != null ? Utf8Truncation.utf8Length(entry.getValue()) : 4);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Envelope being filled.
+     */
+    private static final class Builder {
+
+        private final String serviceId;
+        private final String serviceName;
+        private final UUID tenantId;
+        private final long started;
+        private final Map<String, Integer> loggers = new HashMap<>();
+        private final Map<String, Integer> threads = new HashMap<>();
+        private final List<String> loggerNames = new ArrayList<>();
+        private final List<String> threadNames = new ArrayList<>();
+        private final List<LogBatch.Entry> entries = new ArrayList<>();
+        private int estimatedBytes = ENVELOPE_OVERHEAD_BYTES;
+
+        private Builder(LogMessage first, long started) {
+            this.serviceId = first.serviceId();
+            this.serviceName = first.serviceName();
+            this.tenantId = first.tenantId();
+            this.started = started;
+        }
+
+        private boolean accepts(LogMessage message) {
+            return Objects.equals(serviceId, message.serviceId())
+                && Objects.equals(serviceName, message.serviceName())
+                && Objects.equals(tenantId, message.tenantId());
+        }
+
+        private void add(LogMessage message) {
+            entries.add(new LogBatch.Entry(message.id(), message.level(),
+                index(message.logger(), loggers, loggerNames), index(message.threadName(), threads, threadNames),
+                message.message(), message.stackTrace(), message.context(), message.timestamp(),
+                message.traceId(), message.spanId()));
+            estimatedBytes += estimate(message);
+        }
+
+        private int index(String name, Map<String, Integer> indexes, List<String> names) {
+            if (name == null) {
+                return -1;
+            }
+            Integer index = indexes.get(name);
+            if (index == null) {
+                index = names.size();
+                indexes.put(name, index);
+                names.add(name);
+                estimatedBytes += Utf8Truncation.utf8Length(name) + 3;
+            }
+            return index;
+        }
+
+        private LogBatch build() {
+            return new LogBatch(LogBatch.FORMAT, serviceId, serviceName, tenantId,
+                loggerNames, threadNames, entries);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ai.elaro.sdk.logging;
+
+import java.time.Duration;
+
+/**
+ * Settings for sending log records in {@link LogBatch} envelopes.
+ *
+ * @param targetBytes Envelope size, estimated from the records' content, at
+ *                    which the envelope is sent
+ * @param maxRecords Most records per envelope
+ * @param linger Longest time a record waits for its envelope to fill
+ */
+public record LogBatching(int targetBytes, int maxRecords, Duration linger) {
+
+    public LogBatching {
+        targetBytes = Math.max(1, targetBytes);
+        maxRecords = Math.max(1, maxRecords);
+        linger = linger == null || linger.isNegative() ? Duration.ZERO : linger;
+    }
+}
@@ -0,0 +1,78 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.tracing.TraceContext;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mutable log record held in a {@link LogEventRing} slot and reused for
+ * every record that passes through the slot.
+ *
+ * <p>Fields are written by the logging thread between claiming and
+ * committing the slot, and read by the encoder thread after that.</p>
+ */
+final class LogEvent {
+
+    private static final int INITIAL_MESSAGE_CAPACITY = 256;
+    private static final int MAX_RETAINED_MESSAGE_CAPACITY = 16 * 1024;
+
+    long sequence;
+    /** Set when filling the event threw, so the consumer skips it. */
+    boolean failed;
+
+    long idMostSigBits;
+    long idLeastSigBits;
+    String serviceId;
+    String serviceName;
+    LogLevel level;
+    String logger;
+    StringBuilder message = new StringBuilder(INITIAL_MESSAGE_CAPACITY);
+    Throwable thrown;
+    Map<String, String> context;
+    String threadName;
+    long epochSecond;
+    int nanos;
+    UUID tenantId;
+    TraceContext trace;
+
+    /**
+     * Copy the event into a {@link LogMessage}, for records that are batched
+     * rather than encoded directly.
+     */
+    LogMessage toMessage() {
+        String stackTrace = null;
+        if (thrown != null) {
+            StringWriter writer = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(writer));
+            stackTrace = writer.toString();
+        }
+        return new LogMessage(new UUID(idMostSigBits, idLeastSigBits), serviceId, serviceName, level, logger,
+            message.toString(), stackTrace, context, threadName, Instant.ofEpochSecond(epochSecond, nanos),
+            tenantId, trace != null ? trace.traceIdHex() : null, trace != null ? trace.spanIdHex() : null);
+    }
+
+    /**
+     * Drop references held by the event so the slot does not keep them alive.
+     */
+    void clear() {
+        failed = false;
+        serviceId = null;
+        serviceName = null;
+        logger = null;
+        thrown = null;
+        context = null;
+        threadName = null;
+        tenantId = null;
+        trace = null;
+        if (message.capacity() > MAX_RETAINED_MESSAGE_CAPACITY) {
+            // An unusually large message should not pin its buffer forever
+            message = new StringBuilder(INITIAL_MESSAGE_CAPACITY);
+        } else {
+            message.setLength(0);
+        }
+    }
+}
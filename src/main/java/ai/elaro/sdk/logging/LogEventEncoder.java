@@ -0,0 +1,246 @@
+package ai.elaro.sdk.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes a {@link LogEvent} as the same UTF-8 JSON that Jackson produces for
+ * {@link LogMessage}, into a buffer that is reused between events.
+ *
+ * <p>Fields are written in record component order with nulls included.
+ * Timestamps use Jackson's default {@code Instant} form of decimal epoch
+ * seconds with nine fraction digits. Field budgets from {@link LogSizeLimits}
+ * are applied while writing, with the same cut and marker as
+ * {@link LogSizeLimits#apply(LogMessage)}. Only the encoder thread may use an
+ * instance.</p>
+ */
+final class LogEventEncoder {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] HEX_UPPER = "0123456789ABCDEF".getBytes();
+
+    private byte[] buffer = new byte[1024];
+    private int position;
+    private final char[] digits = new char[20];
+
+    /**
+     * Encode an event.
+     *
+     * @return A new array holding exactly the encoded bytes, since the
+     * transport keeps the payload until it is sent
+     */
+    byte[] encode(LogEvent event, LogSizeLimits limits) {
+        position = 0;
+        writeAscii("{\"id\":\"");
+        writeUuid(event.idMostSigBits, event.idLeastSigBits);
+        writeAscii("\",\"serviceId\":");
+        writeString(event.serviceId);
+        writeAscii(",\"serviceName\":");
+        writeString(event.serviceName);
+        writeAscii(",\"level\":");
+        writeString(event.level != null ? event.level.name() : null);
+        writeAscii(",\"logger\":");
+        writeString(event.logger);
+        writeAscii(",\"message\":");
+        writeString(event.message, limits.maxMessageBytes());
+        writeAscii(",\"stackTrace\":");
+        writeString(event.thrown != null ? stackTrace(event.thrown) : null, limits.maxStackTraceBytes());
+        writeAscii(",\"context\":");
+        writeContext(event.context, limits.maxContextValueBytes());
+        writeAscii(",\"threadName\":");
+        writeString(event.threadName);
+        writeAscii(",\"timestamp\":");
+        writeTimestamp(event.epochSecond, event.nanos);
+        writeAscii(",\"tenantId\":");
+        if (event.tenantId != null) {
+            writeByte('"');
+            writeUuid(event.tenantId);
+            writeByte('"');
+        } else {
+            writeAscii("null");
+        }
+        writeAscii(",\"traceId\":");
+        if (event.trace != null) {
+            writeByte('"');
+            writeHex(event.trace.traceIdHigh());
+            writeHex(event.trace.traceIdLow());
+            writeAscii("\",\"spanId\":\"");
+            writeHex(event.trace.spanId());
+            writeByte('"');
+        } else {
+            writeAscii("null,\"spanId\":null");
+        }
+        writeByte('}');
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeContext(Map<String, String> context, int maxBytes) {
+        if (context == null) {
+            writeAscii("null");
+            return;
+        }
+        writeByte('{');
+        boolean first = true;
+        for (Map.Entry<String, String> entry : context.entrySet()) {
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            writeString(entry.getKey(), maxBytes);
+            writeByte(':');
+            writeString(entry.getValue(), maxBytes);
+        }
+        writeByte('}');
+    }
+
+    private void writeTimestamp(long epochSecond, int nanos) {
+        if (epochSecond == 0 && nanos == 0) {
+            writeAscii("0.0");
+            return;
+        }
+        writeLong(epochSecond);
+        writeByte('.');
+        for (int divisor = 100_000_000; divisor > 0; divisor /= 10) {
+            writeByte('0' + (nanos / divisor) % 10);
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        while (count > 0) {
+            writeByte(digits[--count]);
+        }
+    }
+
+    private void writeUuid(UUID uuid) {
+        writeUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    private void writeUuid(long msb, long lsb) {
+        writeHexDigits(msb >>> 32, 8);
+        writeByte('-');
+        writeHexDigits(msb >>> 16, 4);
+        writeByte('-');
+        writeHexDigits(msb, 4);
+        writeByte('-');
+        writeHexDigits(lsb >>> 48, 4);
+        writeByte('-');
+        writeHexDigits(lsb, 12);
+    }
+
+    private void writeHex(long value) {
+        writeHexDigits(value, 16);
+    }
+
+    private void writeHexDigits(long value, int count) {
+        for (int shift = (count - 1) * 4; shift >= 0; shift -= 4) {
+            writeByte(HEX[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    private void writeString(CharSequence value) {
+        writeString(value, 0);
+    }
+
+    /**
+     * @param maxBytes UTF-8 budget for the raw value, or 0 for no limit
+     */
+    private void writeString(CharSequence value, int maxBytes) {
+        if (value == null) {
+            writeAscii("null");
+            return;
+        }
+        writeByte('"');
+        int length = value.length();
+        int removed = 0;
+        if (maxBytes > 0 && length > maxBytes / 3) {
+            int total = Utf8Truncation.utf8Length(value);
+            if (total > maxBytes) {
+                length = Utf8Truncation.keptLength(value, maxBytes);
+                if (Utf8Truncation.marked(maxBytes)) {
+                    removed = total - Utf8Truncation.utf8Length(value, length);
+                }
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeEscapedAscii(c);
+            } else if (c < 0x800) {
+                writeByte(0xc0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes each surrogate rather than writing a 4-byte sequence
+                writeUnicodeEscape(c);
+            } else {
+                writeByte(0xe0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3f));
+                writeByte(0x80 | (c & 0x3f));
+            }
+        }
+        if (removed > 0) {
+            writeAscii(Utf8Truncation.MARKER_PREFIX);
+            writeLong(removed);
+            writeAscii(Utf8Truncation.MARKER_SUFFIX);
+        }
+        writeByte('"');
+    }
+
+    private void writeEscapedAscii(char c) {
+        switch (c) {
+            case '"' -> writeAscii("\\\"");
+            case '\\' -> writeAscii("\\\\");
+            case '\b' -> writeAscii("\\b");
+            case '\t' -> writeAscii("\\t");
+            case '\n' -> writeAscii("\\n");
+            case '\f' -> writeAscii("\\f");
+            case '\r' -> writeAscii("\\r");
+            default -> {
+                if (c < 0x20) {
+                    writeUnicodeEscape(c);
+                } else {
+                    writeByte(c);
+                }
+            }
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        writeByte('\\');
+        writeByte('u');
+        writeByte(HEX_UPPER[c >> 12]);
+        writeByte(HEX_UPPER[(c >> 8) & 0xf]);
+        writeByte(HEX_UPPER[(c >> 4) & 0xf]);
+        writeByte(HEX_UPPER[c & 0xf]);
+    }
+
+    private void writeAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeByte(int b) {
+        if (position == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private static String stackTrace(Throwable thrown) {
+        StringWriter writer = new StringWriter();
+        thrown.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+}
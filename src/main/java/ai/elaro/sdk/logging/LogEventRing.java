@@ -0,0 +1,158 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Fixed ring of preallocated {@link LogEvent}s with many producers and one
+ * consumer thread.
+ *
+ * <p>Producers claim a sequence with a CAS, fill the slot's event and commit
+ * it. The consumer hands committed events to the handler in sequence order
+ * and then frees their slots. A claim fails instead of blocking when every
+ * slot is in use, so logging never waits on the encoder. Producers commit a
+ * claimed event even when filling it fails, marking it {@code failed} so the
+ * consumer frees the slot without handling it.</p>
+ */
+final class LogEventRing {
+
+    private static final Logger log = LoggerFactory.getLogger(LogEventRing.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LogEvent[] events;
+    private final int mask;
+    private final AtomicLongArray committed;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Consumer<LogEvent> handler;
+    private final Thread consumer;
+
+    private volatile long consumed = 0;
+    private volatile boolean parked = false;
+    private volatile boolean closed = false;
+
+    LogEventRing(int size, Consumer<LogEvent> handler, PluginThreads threads) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.events = new LogEvent[capacity];
+        this.mask = capacity - 1;
+        this.committed = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new LogEvent();
+            committed.set(i, -1);
+        }
+        this.handler = handler;
+        this.consumer = threads.start("elaro-log-encoder", this::run);
+    }
+
+    /**
+     * Claim the next free event.
+     *
+     * @return The event to fill, or null if the ring is full or closed
+     */
+    LogEvent claim() {
+        while (!closed) {
+            long sequence = claimed.get();
+            if (sequence - consumed >= events.length) {
+                dropped.increment();
+                return null;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                LogEvent event = events[(int) (sequence & mask)];
+                event.sequence = sequence;
+                return event;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Make a claimed event visible to the consumer.
+     */
+    void commit(LogEvent event) {
+        committed.set((int) (event.sequence & mask), event.sequence);
+        if (parked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Number of events claimed but not yet consumed.
+     */
+    int occupancy() {
+        return (int) Math.max(0, claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return events.length;
+    }
+
+    /**
+     * Number of records dropped because the ring was full.
+     */
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Refuse new claims. Events already claimed are still consumed.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Wait for the consumer to finish the events claimed before {@link #close()}.
+     *
+     * @return true if the ring drained within the timeout
+     */
+    boolean awaitDrained(Duration timeout) {
+        try {
+            consumer.join(Math.max(1, timeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !consumer.isAlive();
+    }
+
+    private void run() {
+        long next = 0;
+        while (true) {
+            int slot = (int) (next & mask);
+            if (committed.get(slot) == next) {
+                LogEvent event = events[slot];
+                if (!event.failed) {
+                    try {
+                        handler.accept(event);
+                    } catch (Throwable e) {
+                        log.warn("Failed to publish log record: {}", e.getMessage());
+                    }
+                }
+                event.clear();
+                consumed = ++next;
+                continue;
+            }
+
+            if (closed && claimed.get() == next) {
+                return;
+            }
+            parked = true;
+            if (committed.get(slot) != next && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            } else if (committed.get(slot) != next) {
+                // A producer claimed before close and has not committed yet
+                Thread.onSpinWait();
+            }
+            parked = false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ai.elaro.sdk.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Runtime change to the minimum Kafka levels, published by the console on
+ * the logging control topic.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogLevelCommand {
+
+    /**
+     * Plugin the command applies to, or null or "*" for every plugin.
+     */
+    private String pluginId;
+
+    /**
+     * Instance the command applies to, or null for every instance of the plugin.
+     */
+    private String instanceId;
+
+    /**
+     * Levels by logger name prefix, with "root" for all loggers. A null level
+     * removes the runtime override for that prefix.
+     */
+    private Map<String, LogLevel> levels;
+
+    /**
+     * Remove all runtime overrides before applying the levels, restoring the
+     * configured levels.
+     */
+    private boolean reset;
+
+    /**
+     * When the command was issued.
+     */
+    private Instant timestamp;
+}
@@ -0,0 +1,100 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportSubscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Applies {@link LogLevelCommand}s from the logging control topic to the
+ * shared {@link LogLevelResolver}, so the console can raise or lower Kafka
+ * log levels across a fleet without restarts.
+ *
+ * <p>Every instance receives every command and ignores those addressed to
+ * another plugin or instance.</p>
+ */
+public class LogLevelControlListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LogLevelControlListener.class);
+    private static final String ALL_PLUGINS = "*";
+
+    private final LogLevelResolver levels;
+    private final PluginTransport transport;
+    private final PluginMessageCodec codec;
+    private final String topic;
+    private final String pluginId;
+    private final ObjectProvider<PluginRegistrar> registrar;
+
+    private TransportSubscription subscription;
+
+    public LogLevelControlListener(LogLevelResolver levels, PluginTransport transport, PluginMessageCodec codec,
+                                   String topic, String pluginId, ObjectProvider<PluginRegistrar> registrar) {
+        this.levels = levels;
+        this.transport = transport;
+        this.codec = codec;
+        this.topic = topic;
+        this.pluginId = pluginId;
+        this.registrar = registrar;
+    }
+
+    /**
+     * Subscribe to the control topic.
+     */
+    @PostConstruct
+    public void subscribe() {
+        subscription = transport.subscribeAll(topic, record -> onCommand(record.value()));
+    }
+
+    /**
+     * Cancel the control topic subscription.
+     */
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    /**
+     * Handle a command from the control topic.
+     *
+     * @param payload The raw JSON command
+     */
+    public void onCommand(byte[] payload) {
+        LogLevelCommand command;
+        try {
+            command = codec.decodeLevelCommand(payload);
+        } catch (Exception e) {
+            log.warn("Failed to parse log level command: {}", e.getMessage());
+            return;
+        }
+        if (!isAddressedToUs(command)) {
+            return;
+        }
+
+        try {
+            levels.applyOverrides(command.getLevels(), command.isReset());
+            log.info("Applied Kafka log level command (reset: {}), overrides now: {}",
+                command.isReset(), levels.getOverrides());
+        } catch (Exception e) {
+            log.warn("Failed to apply log level command: {}", e.getMessage());
+        }
+    }
+
+    private boolean isAddressedToUs(LogLevelCommand command) {
+        String target = command.getPluginId();
+        if (target != null && !ALL_PLUGINS.equals(target) && !target.equals(pluginId)) {
+            return false;
+        }
+        if (command.getInstanceId() == null) {
+            return true;
+        }
+        PluginRegistrar current = registrar.getIfAvailable();
+        return current != null && command.getInstanceId().equals(current.getInstanceId());
+    }
+}
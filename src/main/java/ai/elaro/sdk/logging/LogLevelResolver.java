@@ -0,0 +1,194 @@
+package ai.elaro.sdk.logging;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves the minimum publishing level of a logger from levels set on
+ * logger name prefixes, for example {@code com.acme=WARN}. The most specific
+ * prefix wins and {@value #ROOT} applies to every logger.
+ *
+ * <p>Levels come from configuration and can be overridden at runtime.
+ * Changes build a new immutable trie and then bump {@link #generation()}, so
+ * loggers cache their effective level and re-resolve only after a change.</p>
+ */
+public class LogLevelResolver {
+
+    /**
+     * Name under which the level for all loggers is set.
+     */
+    public static final String ROOT = "root";
+
+    private static final LogLevel DEFAULT_LEVEL = LogLevel.DEBUG;
+
+    private final Map<String, LogLevel> configured = new LinkedHashMap<>();
+    private final Map<String, LogLevel> overrides = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Node trie = new Node(DEFAULT_LEVEL, Map.of());
+    private volatile long generation = 0;
+
+    public LogLevelResolver() {
+    }
+
+    /**
+     * @param configured Levels by logger name prefix, from configuration
+     */
+    public LogLevelResolver(Map<String, LogLevel> configured) {
+        if (configured != null) {
+            configured.forEach((prefix, level) -> {
+                if (level != null) {
+                    this.configured.put(normalize(prefix), level);
+                }
+            });
+        }
+        rebuild();
+    }
+
+    /**
+     * Resolve the effective level of a logger.
+     *
+     * @param loggerName Fully qualified logger name
+     */
+    public LogLevel resolve(String loggerName) {
+        Node node = trie;
+        LogLevel level = node.level;
+        int start = 0;
+        int length = loggerName.length();
+        while (start < length) {
+            int end = start;
+            while (end < length && loggerName.charAt(end) != '.' && loggerName.charAt(end) != '$') {
+                end++;
+            }
+            node = node.children.get(loggerName.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.level != null) {
+                level = node.level;
+            }
+            start = end + 1;
+        }
+        return level;
+    }
+
+    /**
+     * Counter incremented on every change.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Set a configured level. Runtime overrides on the same prefix still win.
+     *
+     * @param prefix Logger name prefix, or {@value #ROOT}
+     * @param level The level, or null to remove it
+     */
+    public void setConfiguredLevel(String prefix, LogLevel level) {
+        lock.lock();
+        try {
+            put(configured, normalize(prefix), level);
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply runtime overrides on top of the configured levels.
+     *
+     * @param levels Levels by prefix. A null level removes that prefix's override.
+     * @param reset Remove all existing overrides first
+     */
+    public void applyOverrides(Map<String, LogLevel> levels, boolean reset) {
+        lock.lock();
+        try {
+            if (reset) {
+                overrides.clear();
+            }
+            if (levels != null) {
+                levels.forEach((prefix, level) -> put(overrides, normalize(prefix), level));
+            }
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Effective levels by prefix, with overrides applied.
+     */
+    public Map<String, LogLevel> getLevels() {
+        lock.lock();
+        try {
+            Map<String, LogLevel> levels = new LinkedHashMap<>(configured);
+            levels.putAll(overrides);
+            return Collections.unmodifiableMap(levels);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runtime overrides currently in effect.
+     */
+    public Map<String, LogLevel> getOverrides() {
+        lock.lock();
+        try {
+            return Map.copyOf(overrides);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        Map<String, LogLevel> levels = new HashMap<>(configured);
+        levels.putAll(overrides);
+
+        MutableNode root = new MutableNode();
+        root.level = levels.getOrDefault(ROOT, DEFAULT_LEVEL);
+        levels.forEach((prefix, level) -> {
+            if (ROOT.equals(prefix)) {
+                return;
+            }
+            MutableNode node = root;
+            for (String segment : prefix.split("[.$]")) {
+                node = node.children.computeIfAbsent(segment, s -> new MutableNode());
+            }
+            node.level = level;
+        });
+
+        trie = root.freeze();
+        generation++;
+    }
+
+    private static void put(Map<String, LogLevel> map, String prefix, LogLevel level) {
+        if (level == null) {
+            map.remove(prefix);
+        } else {
+            map.put(prefix, level);
+        }
+    }
+
+    private static String normalize(String prefix) {
+        return prefix == null || prefix.isBlank() || prefix.equalsIgnoreCase(ROOT) ? ROOT : prefix.trim();
+    }
+
+    private record Node(LogLevel level, Map<String, Node> children) {
+    }
+
+    private static final class MutableNode {
+
+        private LogLevel level;
+        private final Map<String, MutableNode> children = new HashMap<>();
+
+        private Node freeze() {
+            Map<String, Node> frozen = new HashMap<>();
+            children.forEach((segment, child) -> frozen.put(segment, child.freeze()));
+            return new Node(level, Map.copyOf(frozen));
+        }
+    }
+}
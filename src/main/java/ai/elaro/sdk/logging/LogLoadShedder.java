@@ -0,0 +1,257 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.transport.TransportSender;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds low-severity log records while the logging pipeline is under
+ * pressure, so that logging does not add to an outage.
+ *
+ * <p>On every sample the shedder reads ring occupancy, send buffer usage,
+ * the send error rate since the last sample and process CPU load. While any
+ * signal is over its threshold the shed level is raised one step per sample,
+ * from INFO up to the configured maximum, and loggers stop publishing records
+ * below it. The level is lowered one step after signals have stayed below
+ * their thresholds times the recovery factor for the configured number of
+ * samples.</p>
+ *
+ * <p>A single WARN record is published when shedding starts and an INFO
+ * record when it ends. Both bypass the shed level.</p>
+ */
+public class LogLoadShedder {
+
+    private static final Logger log = LoggerFactory.getLogger(LogLoadShedder.class);
+    private static final LogLevel FIRST_LEVEL = LogLevel.INFO;
+
+    /**
+     * Fewest completed sends per sample for the error rate to count.
+     */
+    private static final long MIN_ERROR_RATE_SENDS = 10;
+
+    private final LogPublisher publisher;
+    private final TransportSender transport;
+    private final LogShedding settings;
+    private final PluginThreads threads;
+    private final String serviceId;
+    private final String serviceName;
+    private final UUID tenantId;
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    private ScheduledExecutorService scheduler;
+    private long lastCompleted;
+    private long lastFailures;
+    private int calmSamples;
+    private volatile Signals signals;
+
+    public LogLoadShedder(LogPublisher publisher, TransportSender transport, LogShedding settings,
+                          PluginThreads threads, String serviceId, String serviceName, UUID tenantId) {
+        this.publisher = publisher;
+        this.transport = transport;
+        this.settings = settings;
+        this.threads = threads;
+        this.serviceId = serviceId;
+        this.serviceName = serviceName;
+        this.tenantId = tenantId;
+        this.lastCompleted = publisher.getSendCompletedCount();
+        this.lastFailures = publisher.getSendFailureCount();
+    }
+
+    /**
+     * Start sampling.
+     */
+    @PostConstruct
+    public void start() {
+        long period = settings.interval().toMillis();
+        scheduler = threads.newScheduler("elaro-log-shedder");
+        scheduler.scheduleWithFixedDelay(this::tick, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop sampling. The shed level in effect is kept.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Level below which records are currently shed, or null when nothing is.
+     */
+    public LogLevel getShedLevel() {
+        return publisher.getShedLevel();
+    }
+
+    /**
+     * The most recent sample, or null before the first one.
+     */
+    public Signals getSignals() {
+        return signals;
+    }
+
+    /**
+     * Take one sample and move the shed level. Called on the shedder thread only.
+     */
+    void sample() {
+        Signals current = read();
+        signals = current;
+        LogLevel level = publisher.getShedLevel();
+
+        if (current.exceeds(settings, 1.0)) {
+            calmSamples = 0;
+            LogLevel raised = raise(level);
+            if (raised != level) {
+                change(level, raised, current);
+            }
+        } else if (level != null && !current.exceeds(settings, settings.recoveryFactor())) {
+            if (++calmSamples >= settings.recoveryIntervals()) {
+                calmSamples = 0;
+                change(level, lower(level), current);
+            }
+        } else {
+            calmSamples = 0;
+        }
+    }
+
+    private void tick() {
+        try {
+            sample();
+        } catch (Exception e) {
+            log.warn("Log load shedding sample failed: {}", e.getMessage());
+        }
+    }
+
+    private Signals read() {
+        long completed = publisher.getSendCompletedCount();
+        long failures = publisher.getSendFailureCount();
+        long completedDelta = completed - lastCompleted;
+        double errorRate = completedDelta >= MIN_ERROR_RATE_SENDS
+            ? (double) (failures - lastFailures) / completedDelta : -1;
+        lastCompleted = completed;
+        lastFailures = failures;
+        return new Signals(publisher.getQueueUsage(), transport.getSendBufferUsage(), errorRate, processCpuLoad());
+    }
+
+    private LogLevel raise(LogLevel level) {
+        LogLevel max = settings.maxLevel();
+        LogLevel next = level == null ? FIRST_LEVEL : LogLevel.values()[Math.min(level.ordinal() + 1,
+            LogLevel.values().length - 1)];
+        if (!max.isAtLeast(next)) {
+            next = level == null || !level.isAtLeast(max) ? max : level;
+        }
+        return next;
+    }
+
+    private static LogLevel lower(LogLevel level) {
+        return level.ordinal() <= FIRST_LEVEL.ordinal() ? null : LogLevel.values()[level.ordinal() - 1];
+    }
+
+    private void change(LogLevel previous, LogLevel next, Signals current) {
+        publisher.setShedLevel(next);
+        if (next == null) {
+            log.info("Log load shedding ended ({})", current);
+            publishNotice(LogLevel.INFO, "Log load shedding ended", null, current);
+        } else if (previous == null) {
+            log.warn("Log load shedding active, records below {} are not published ({})", next, current);
+            publishNotice(LogLevel.WARN, "Log load shedding active, records below " + next + " are not published",
+                next, current);
+        } else {
+            log.info("Log load shedding level {} -> {} ({})", previous, next, current);
+        }
+    }
+
+    private void publishNotice(LogLevel level, String message, LogLevel shedLevel, Signals current) {
+        Map<String, String> context = new LinkedHashMap<>();
+        if (shedLevel != null) {
+            context.put("shedLevel", shedLevel.name());
+            context.put("pressure", String.join(",", current.exceeded(settings, 1.0)));
+        }
+        context.put("queueUsage", format(current.queueUsage()));
+        context.put("bufferUsage", format(current.bufferUsage()));
+        context.put("errorRate", format(current.errorRate()));
+        context.put("cpuLoad", format(current.cpuLoad()));
+        LogMessage notice = LogMessage.builder()
+            .serviceId(serviceId)
+            .serviceName(serviceName)
+            .level(level)
+            .logger(LogLoadShedder.class.getName())
+            .message(message)
+            .context(context)
+            .tenantId(tenantId)
+            .build();
+        // A send can block while the broker is unreachable, so keep it off the sampling thread
+        threads.start("elaro-log-shedder-notice", () -> publisher.publish(serviceId, notice, null));
+    }
+
+    private double processCpuLoad() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hotspot) {
+            double load = hotspot.getProcessCpuLoad();
+            return load < 0 ? -1 : load;
+        }
+        return -1;
+    }
+
+    private static String format(double value) {
+        return value < 0 ? "unknown" : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /**
+     * One sample of the pressure signals. A value of -1 means the signal is
+     * not available.
+     *
+     * @param queueUsage Fraction of the garbage-free ring in use
+     * @param bufferUsage Fraction of the transport's send buffer in use
+     * @param errorRate Fraction of sends completed since the previous sample that
+     *                  failed, or -1 when too few completed
+     * @param cpuLoad Process CPU load, from 0 to 1
+     */
+    public record Signals(double queueUsage, double bufferUsage, double errorRate, double cpuLoad) {
+
+        /**
+         * Whether any signal is over its threshold times the factor.
+         */
+        boolean exceeds(LogShedding settings, double factor) {
+            return !exceeded(settings, factor).isEmpty();
+        }
+
+        /**
+         * Names of the signals over their threshold times the factor.
+         */
+        List<String> exceeded(LogShedding settings, double factor) {
+            List<String> names = new ArrayList<>(4);
+            add(names, "queue", queueUsage, settings.queueThreshold(), factor);
+            add(names, "buffer", bufferUsage, settings.bufferThreshold(), factor);
+            add(names, "errors", errorRate, settings.errorRateThreshold(), factor);
+            add(names, "cpu", cpuLoad, settings.cpuThreshold(), factor);
+            return names;
+        }
+
+        private static void add(List<String> names, String name, double value, double threshold, double factor) {
+            if (threshold > 0 && value >= 0 && value >= threshold * factor) {
+                names.add(name);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "queue " + format(queueUsage) + ", buffer " + format(bufferUsage)
+                + ", errors " + format(errorRate) + ", cpu " + format(cpuLoad);
+        }
+    }
+}
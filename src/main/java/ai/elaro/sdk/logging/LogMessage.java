@@ -19,8 +19,20 @@ public record LogMessage(
     Map<String, String> context,  // Additional metadata
     String threadName,
     Instant timestamp,
-    UUID tenantId
+    UUID tenantId,
+    String traceId,          // W3C trace ID (32 hex chars), if a trace was active
+    String spanId            // W3C span ID (16 hex chars)
 ) {
+    /**
+     * Record without trace context, the shape before trace IDs were added.
+     */
+    public LogMessage(UUID id, String serviceId, String serviceName, LogLevel level, String logger,
+                      String message, String stackTrace, Map<String, String> context, String threadName,
+                      Instant timestamp, UUID tenantId) {
+        this(id, serviceId, serviceName, level, logger, message, stackTrace, context, threadName, timestamp,
+            tenantId, null, null);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -37,6 +49,8 @@ public record LogMessage(
         private String threadName = Thread.currentThread().getName();
         private Instant timestamp = Instant.now();
         private UUID tenantId;
+        private String traceId;
+        private String spanId;
 
         public Builder id(UUID id) {
             this.id = id;
@@ -93,9 +107,19 @@ public record LogMessage(
             return this;
         }
 
+        public Builder traceId(String traceId) {
+            this.traceId = traceId;
+            return this;
+        }
+
+        public Builder spanId(String spanId) {
+            this.spanId = spanId;
+            return this;
+        }
+
         public LogMessage build() {
             return new LogMessage(id, serviceId, serviceName, level, logger,
-                message, stackTrace, context, threadName, timestamp, tenantId);
+                message, stackTrace, context, threadName, timestamp, tenantId, traceId, spanId);
         }
     }
 }
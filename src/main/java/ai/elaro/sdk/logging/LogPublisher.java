@@ -0,0 +1,384 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.tracing.TraceContext;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes log records to the plugin transport on behalf of every
+ * {@link ElaroLogger}. Publishing can be closed during shutdown so that no
+ * new records are queued while pending ones drain.
+ *
+ * <p>In garbage-free mode records arrive as events in a {@link LogEventRing}
+ * and are encoded by the ring's consumer thread into a reused buffer.</p>
+ *
+ * <p>Every record is held to the {@link LogSizeLimits} field budgets. A record
+ * still over the record budget is encoded again with tighter budgets, split
+ * into chunks when chunking is on, or dropped as a last resort.</p>
+ *
+ * <p>With batching, records are collected into {@link LogBatch} envelopes
+ * and each envelope is sent as one record.</p>
+ *
+ * <p>Under pressure a {@link LogLoadShedder} sets a shed level, and loggers
+ * then stop publishing records below it.</p>
+ */
+public class LogPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(LogPublisher.class);
+
+    private static final Map<String, String> BATCH_HEADERS = Map.of(LogBatch.FORMAT_HEADER, LogBatch.FORMAT);
+
+    private final TransportSender transport;
+    private final PluginMessageCodec codec;
+    private final PluginTracing tracing;
+    private final LogEventRing ring;
+    private final LogEventEncoder encoder;
+    private final LogSizeLimits limits;
+    private final LogBatcher batcher;
+    private final LongAdder oversized = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder sendsCompleted = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private volatile boolean accepting = true;
+    private volatile LogLevel shedLevel;
+
+    public LogPublisher(TransportSender transport, PluginMessageCodec codec, PluginTracing tracing) {
+        this(transport, codec, tracing, 0, null);
+    }
+
+    public LogPublisher(TransportSender transport, PluginMessageCodec codec, PluginTracing tracing,
+                        int ringSize, PluginThreads threads) {
+        this(transport, codec, tracing, ringSize, threads, LogSizeLimits.DEFAULTS);
+    }
+
+    /**
+     * @param ringSize Events in the garbage-free ring, or 0 to build a record per call
+     * @param threads Creates the ring's encoder thread, unused when ringSize is 0
+     * @param limits Size budgets applied to every record
+     */
+    public LogPublisher(TransportSender transport, PluginMessageCodec codec, PluginTracing tracing,
+                        int ringSize, PluginThreads threads, LogSizeLimits limits) {
+        this(transport, codec, tracing, ringSize, threads, limits, null);
+    }
+
+    /**
+     * @param ringSize Events in the garbage-free ring, or 0 to build a record per call
+     * @param threads Creates the ring's encoder thread and the batch timer
+     * @param limits Size budgets applied to every record
+     * @param batching Envelope settings, or null to send each record on its own
+     */
+    public LogPublisher(TransportSender transport, PluginMessageCodec codec, PluginTracing tracing,
+                        int ringSize, PluginThreads threads, LogSizeLimits limits, LogBatching batching) {
+        this.transport = transport;
+        this.codec = codec;
+        this.tracing = tracing;
+        this.limits = limits;
+        this.batcher = batching != null ? new LogBatcher(batching, this::sendBatch, threads) : null;
+        if (ringSize > 0) {
+            this.encoder = new LogEventEncoder();
+            this.ring = new LogEventRing(ringSize, this::publishEvent, threads);
+        } else {
+            this.encoder = null;
+            this.ring = null;
+        }
+    }
+
+    /**
+     * Whether records go through the garbage-free ring.
+     */
+    public boolean isGarbageFree() {
+        return ring != null;
+    }
+
+    /**
+     * Number of records dropped because the garbage-free ring was full.
+     */
+    public long getDroppedCount() {
+        return ring != null ? ring.droppedCount() : 0;
+    }
+
+    /**
+     * Number of records dropped because they exceeded the record budget even
+     * after truncation.
+     */
+    public long getOversizedCount() {
+        return oversized.sum();
+    }
+
+    /**
+     * Number of records not published because they were below the shed level.
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * Level below which records are currently shed, or null when nothing is.
+     */
+    public LogLevel getShedLevel() {
+        return shedLevel;
+    }
+
+    /**
+     * Set the level below which records are shed. Used by {@link LogLoadShedder}.
+     *
+     * @param level The level, or null to stop shedding
+     */
+    void setShedLevel(LogLevel level) {
+        this.shedLevel = level;
+    }
+
+    /**
+     * Number of sends the transport has completed, successfully or not.
+     */
+    public long getSendCompletedCount() {
+        return sendsCompleted.sum();
+    }
+
+    /**
+     * Number of sends the transport failed.
+     */
+    public long getSendFailureCount() {
+        return sendFailures.sum();
+    }
+
+    /**
+     * Fraction of the garbage-free ring in use, or -1 without a ring.
+     */
+    public double getQueueUsage() {
+        return ring != null ? (double) ring.occupancy() / ring.capacity() : -1;
+    }
+
+    /**
+     * The size budgets applied to records.
+     */
+    public LogSizeLimits getSizeLimits() {
+        return limits;
+    }
+
+    /**
+     * The trace context active on the calling thread, or null.
+     */
+    public TraceContext currentTrace() {
+        return tracing.current();
+    }
+
+    /**
+     * Publish a log record. Records are dropped once publishing is closed.
+     *
+     * @param key Partitioning key, typically the service ID
+     * @param message The log record
+     * @param trace Trace context captured when the record was logged, may be null
+     */
+    public void publish(String key, LogMessage message, TraceContext trace) {
+        if (!accepting) {
+            return;
+        }
+        try {
+            if (batcher != null) {
+                batcher.add(limits.apply(message));
+                return;
+            }
+            byte[] payload = codec.encodeLog(limits.apply(message));
+            if (payload.length > limits.recordBudget()) {
+                int contextEntries = message.context() != null ? message.context().size() : 0;
+                payload = codec.encodeLog(limits.forOverflow(contextEntries).apply(message));
+            }
+            send(key, payload, trace);
+        } catch (Exception e) {
+            // Don't let logging failures break the application
+            log.warn("Failed to publish log record: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim a ring event to fill in. Garbage-free mode only.
+     *
+     * @return The event, or null if publishing is closed or the ring is full
+     */
+    LogEvent claim() {
+        return accepting ? ring.claim() : null;
+    }
+
+    /**
+     * Hand a filled event to the encoder thread.
+     */
+    void commit(LogEvent event) {
+        ring.commit(event);
+    }
+
+    /**
+     * Stop accepting new log records. Already queued records are unaffected.
+     */
+    public void stopAccepting() {
+        accepting = false;
+        if (ring != null) {
+            ring.close();
+        }
+    }
+
+    /**
+     * Wait until records accepted before {@link #stopAccepting()} have been
+     * handed to the transport.
+     *
+     * @param timeout Maximum time to wait
+     * @return true if nothing is left to hand over
+     */
+    public boolean awaitDrained(Duration timeout) {
+        boolean drained = ring == null || ring.awaitDrained(timeout);
+        if (batcher != null) {
+            batcher.close();
+        }
+        return drained;
+    }
+
+    /**
+     * Whether new log records are being accepted.
+     */
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * Whether a record at this level would be accepted, given the shed level.
+     */
+    public boolean accepts(LogLevel level) {
+        if (!accepting) {
+            return false;
+        }
+        LogLevel floor = shedLevel;
+        if (floor != null && !level.isAtLeast(floor)) {
+            shed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void publishEvent(LogEvent event) {
+        if (batcher != null) {
+            batcher.add(limits.apply(event.toMessage()));
+            return;
+        }
+        byte[] payload = encoder.encode(event, limits);
+        if (payload.length > limits.recordBudget()) {
+            int contextEntries = event.context != null ? event.context.size() : 0;
+            payload = encoder.encode(event, limits.forOverflow(contextEntries));
+        }
+        send(event.serviceId, payload, event.trace);
+    }
+
+    /**
+     * Send an envelope. One that is over the record budget is split in half,
+     * and a single record is retried with the overflow budgets.
+     */
+    private void sendBatch(LogBatch batch) {
+        try {
+            byte[] payload = codec.encodeLogBatch(batch);
+            List<LogBatch.Entry> records = batch.records();
+            if (payload.length > limits.recordBudget() && records.size() > 1) {
+                int half = records.size() / 2;
+                sendBatch(withRecords(batch, records.subList(0, half)));
+                sendBatch(withRecords(batch, records.subList(half, records.size())));
+                return;
+            }
+            if (payload.length > limits.recordBudget()) {
+                LogBatch.Entry entry = records.get(0);
+                int contextEntries = entry.context() != null ? entry.context().size() : 0;
+                LogMessage shrunk = limits.forOverflow(contextEntries).apply(new LogMessage(entry.id(),
+                    batch.serviceId(), batch.serviceName(), entry.level(), null, entry.message(),
+                    entry.stackTrace(), entry.context(), null, entry.timestamp(), batch.tenantId(),
+                    entry.traceId(), entry.spanId()));
+                payload = codec.encodeLogBatch(withRecords(batch, List.of(new LogBatch.Entry(entry.id(),
+                    entry.level(), entry.logger(), entry.thread(), shrunk.message(), shrunk.stackTrace(),
+                    shrunk.context(), entry.timestamp(), entry.traceId(), entry.spanId()))));
+            }
+            send(batch.serviceId(), payload, null, BATCH_HEADERS);
+        } catch (Exception e) {
+            log.warn("Failed to publish log batch: {}", e.getMessage());
+        }
+    }
+
+    private static LogBatch withRecords(LogBatch batch, List<LogBatch.Entry> records) {
+        return new LogBatch(batch.format(), batch.serviceId(), batch.serviceName(), batch.tenantId(),
+            batch.loggers(), batch.threads(), records);
+    }
+
+    private void send(String key, byte[] payload, TraceContext trace) {
+        send(key, payload, trace, Map.of());
+    }
+
+    private void send(String key, byte[] payload, TraceContext trace, Map<String, String> extraHeaders) {
+        if (payload.length > limits.recordBudget()) {
+            oversized.increment();
+            log.warn("Dropped log record of {} bytes, over the {} byte budget", payload.length,
+                limits.recordBudget());
+            return;
+        }
+        Map<String, String> headers = PluginTracing.headers(trace);
+        if (!extraHeaders.isEmpty()) {
+            headers = new HashMap<>(headers);
+            headers.putAll(extraHeaders);
+        }
+        if (limits.chunking() && limits.maxRecordBytes() > 0 && payload.length > limits.maxRecordBytes()) {
+            sendChunks(key, payload, headers);
+            return;
+        }
+        TransportRecord record = new TransportRecord(ElaroLogger.LOGS_TOPIC, key, payload, headers);
+        tracing.observeSend("elaro.plugin.log", ElaroLogger.LOGS_TOPIC, () -> sendRecord(record));
+    }
+
+    /**
+     * Hand a record to the transport, counting completions and failures for
+     * the shedder's error rate.
+     */
+    private CompletableFuture<Void> sendRecord(TransportRecord record) {
+        CompletableFuture<Void> future;
+        try {
+            future = transport.send(record);
+        } catch (RuntimeException e) {
+            sendsCompleted.increment();
+            sendFailures.increment();
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> {
+            sendsCompleted.increment();
+            if (ex != null) {
+                sendFailures.increment();
+            }
+        });
+    }
+
+    /**
+     * Send a payload as consecutive slices with the same key, so they stay in
+     * order on one partition. See {@link LogRecordReassembler}.
+     */
+    private void sendChunks(String key, byte[] payload, Map<String, String> headers) {
+        int chunkBytes = limits.maxRecordBytes();
+        int count = (payload.length + chunkBytes - 1) / chunkBytes;
+        String id = UUID.randomUUID().toString();
+        for (int index = 0; index < count; index++) {
+            int from = index * chunkBytes;
+            byte[] chunk = Arrays.copyOfRange(payload, from, Math.min(payload.length, from + chunkBytes));
+            Map<String, String> chunkHeaders = new HashMap<>(headers);
+            chunkHeaders.put(LogRecordReassembler.CHUNK_ID_HEADER, id);
+            chunkHeaders.put(LogRecordReassembler.CHUNK_INDEX_HEADER, Integer.toString(index));
+            chunkHeaders.put(LogRecordReassembler.CHUNK_COUNT_HEADER, Integer.toString(count));
+            TransportRecord record = new TransportRecord(ElaroLogger.LOGS_TOPIC, key, chunk, chunkHeaders);
+            tracing.observeSend("elaro.plugin.log", ElaroLogger.LOGS_TOPIC, () -> sendRecord(record));
+        }
+    }
+}
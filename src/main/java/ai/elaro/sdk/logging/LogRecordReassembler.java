@@ -0,0 +1,210 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.transport.TransportRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Joins log records that were split into chunks because they exceeded the
+ * record budget (see {@link LogSizeLimits#chunking()}).
+ *
+ * <p>Chunks carry {@value #CHUNK_ID_HEADER}, {@value #CHUNK_INDEX_HEADER} and
+ * {@value #CHUNK_COUNT_HEADER} headers and the same key as the original
+ * record, so on Kafka they land on one partition in order. Feed every record
+ * read from {@code elaro.logs} to {@link #accept}; records that were never
+ * split are returned unchanged. Incomplete records are discarded once they
+ * are older than the timeout or when too many are pending.</p>
+ *
+ * <pre>
+ * byte[] payload = reassembler.accept(record.headers(), record.value());
+ * if (payload != null) {
+ *     LogMessage message = objectMapper.readValue(payload, LogMessage.class);
+ * }
+ * </pre>
+ */
+public class LogRecordReassembler {
+
+    /**
+     * Header holding the ID shared by all chunks of a record.
+     */
+    public static final String CHUNK_ID_HEADER = "elaro-chunk-id";
+
+    /**
+     * Header holding the zero-based position of a chunk.
+     */
+    public static final String CHUNK_INDEX_HEADER = "elaro-chunk-index";
+
+    /**
+     * Header holding the number of chunks in the record.
+     */
+    public static final String CHUNK_COUNT_HEADER = "elaro-chunk-count";
+
+    private static final int MAX_CHUNK_COUNT = 1024;
+
+    private final long timeoutNanos;
+    private final int maxPending;
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder discarded = new LongAdder();
+
+    public LogRecordReassembler() {
+        this(Duration.ofMinutes(1), 1024);
+    }
+
+    /**
+     * @param timeout How long to wait for the remaining chunks of a record
+     * @param maxPending Most incomplete records held at once
+     */
+    public LogRecordReassembler(Duration timeout, int maxPending) {
+        this.timeoutNanos = timeout.toNanos();
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    /**
+     * Accept a record read through a {@code PluginTransport}.
+     *
+     * @return The complete payload, or null while chunks are still missing
+     */
+    public byte[] accept(TransportRecord record) {
+        Map<String, String> headers = record.headers();
+        return accept(headers.get(CHUNK_ID_HEADER), headers.get(CHUNK_INDEX_HEADER),
+            headers.get(CHUNK_COUNT_HEADER), record.value());
+    }
+
+    /**
+     * Accept a record read with a plain Kafka consumer.
+     *
+     * @return The complete payload, or null while chunks are still missing
+     */
+    public byte[] accept(Headers headers, byte[] value) {
+        return accept(header(headers, CHUNK_ID_HEADER), header(headers, CHUNK_INDEX_HEADER),
+            header(headers, CHUNK_COUNT_HEADER), value);
+    }
+
+    /**
+     * Number of records waiting for more chunks.
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of incomplete records discarded after a timeout or overflow, or
+     * because their chunk headers were invalid.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    private byte[] accept(String id, String indexHeader, String countHeader, byte[] value) {
+        if (id == null) {
+            return value;
+        }
+        lock.lock();
+        try {
+            return join(id, indexHeader, countHeader, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] join(String id, String indexHeader, String countHeader, byte[] value) {
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        int index;
+        int count;
+        try {
+            index = Integer.parseInt(indexHeader);
+            count = Integer.parseInt(countHeader);
+        } catch (NumberFormatException e) {
+            discarded.increment();
+            return null;
+        }
+        if (count < 1 || count > MAX_CHUNK_COUNT || index < 0 || index >= count) {
+            discarded.increment();
+            return null;
+        }
+        if (count == 1) {
+            return value;
+        }
+
+        Pending record = pending.get(id);
+        if (record == null) {
+            if (pending.size() >= maxPending) {
+                Iterator<Pending> oldest = pending.values().iterator();
+                oldest.next();
+                oldest.remove();
+                discarded.increment();
+            }
+            record = new Pending(count, now);
+            pending.put(id, record);
+        } else if (record.chunks.length != count) {
+            pending.remove(id);
+            discarded.increment();
+            return null;
+        }
+
+        if (record.chunks[index] == null) {
+            record.chunks[index] = value;
+            record.received++;
+            record.size += value.length;
+        }
+        if (record.received < count) {
+            return null;
+        }
+
+        pending.remove(id);
+        byte[] payload = new byte[record.size];
+        int position = 0;
+        for (byte[] chunk : record.chunks) {
+            System.arraycopy(chunk, 0, payload, position, chunk.length);
+            position += chunk.length;
+        }
+        return payload;
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Pending> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().started <= timeoutNanos) {
+                // Insertion order, so the rest started later
+                return;
+            }
+            iterator.remove();
+            discarded.increment();
+        }
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null && header.value() != null
+            ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static final class Pending {
+
+        private final byte[][] chunks;
+        private final long started;
+        private int received;
+        private int size;
+
+        private Pending(int count, long started) {
+            this.chunks = new byte[count][];
+            this.started = started;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ai.elaro.sdk.logging;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link LogLoadShedder}. A threshold of 0 or less turns that
+ * signal off.
+ *
+ * @param interval Time between pressure samples
+ * @param queueThreshold Fraction of the garbage-free ring in use
+ * @param bufferThreshold Fraction of the transport's send buffer in use
+ * @param errorRateThreshold Fraction of sends that failed since the last sample
+ * @param cpuThreshold Process CPU load, from 0 to 1
+ * @param maxLevel Highest level records may be shed below
+ * @param recoveryFactor Signals must fall below their threshold times this
+ *                       factor before the shed level is lowered
+ * @param recoveryIntervals Consecutive calm samples needed for each step down
+ */
+public record LogShedding(
+    Duration interval,
+    double queueThreshold,
+    double bufferThreshold,
+    double errorRateThreshold,
+    double cpuThreshold,
+    LogLevel maxLevel,
+    double recoveryFactor,
+    int recoveryIntervals
+) {
+
+    public LogShedding {
+        interval = interval == null || interval.isNegative() || interval.isZero() ? Duration.ofSeconds(1) : interval;
+        maxLevel = maxLevel != null ? maxLevel : LogLevel.ERROR;
+        recoveryFactor = Math.max(0.05, Math.min(1.0, recoveryFactor));
+        recoveryIntervals = Math.max(1, recoveryIntervals);
+    }
+}
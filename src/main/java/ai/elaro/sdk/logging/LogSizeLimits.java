@@ -0,0 +1,109 @@
+package ai.elaro.sdk.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size budgets applied to log records before they are handed to the
+ * transport. Field budgets count UTF-8 bytes of the raw value; the record
+ * budget counts bytes of the encoded payload. A budget of 0 means no limit.
+ *
+ * @param maxMessageBytes Budget for the message
+ * @param maxStackTraceBytes Budget for the stack trace
+ * @param maxContextValueBytes Budget for each context key and value
+ * @param maxRecordBytes Largest payload sent as a single record
+ * @param chunking Split payloads over {@code maxRecordBytes} into chunks
+ *                 instead of truncating them further
+ * @param maxChunks Most chunks a single record may be split into
+ */
+public record LogSizeLimits(
+    int maxMessageBytes,
+    int maxStackTraceBytes,
+    int maxContextValueBytes,
+    int maxRecordBytes,
+    boolean chunking,
+    int maxChunks
+) {
+
+    /**
+     * Budgets that fit well below Kafka's default {@code max.request.size}.
+     */
+    public static final LogSizeLimits DEFAULTS = new LogSizeLimits(32 * 1024, 64 * 1024, 2 * 1024,
+        256 * 1024, false, 16);
+
+    /**
+     * No budgets at all.
+     */
+    public static final LogSizeLimits UNLIMITED = new LogSizeLimits(0, 0, 0, 0, false, 0);
+
+    public LogSizeLimits {
+        maxChunks = Math.max(1, maxChunks);
+    }
+
+    /**
+     * Largest encoded payload accepted, across all chunks when chunking.
+     */
+    public long recordBudget() {
+        if (maxRecordBytes <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return chunking ? (long) maxRecordBytes * maxChunks : maxRecordBytes;
+    }
+
+    /**
+     * Apply the field budgets to a message.
+     *
+     * @return The message itself if every field fits, otherwise a truncated copy
+     */
+    public LogMessage apply(LogMessage message) {
+        String text = Utf8Truncation.truncate(message.message(), maxMessageBytes);
+        String stackTrace = Utf8Truncation.truncate(message.stackTrace(), maxStackTraceBytes);
+        Map<String, String> context = truncate(message.context(), maxContextValueBytes);
+        if (text == message.message() && stackTrace == message.stackTrace() && context == message.context()) {
+            return message;
+        }
+        return new LogMessage(message.id(), message.serviceId(), message.serviceName(), message.level(),
+            message.logger(), text, stackTrace, context, message.threadName(), message.timestamp(),
+            message.tenantId(), message.traceId(), message.spanId());
+    }
+
+    /**
+     * Tighter budgets used when a record is still over {@link #recordBudget()}
+     * after the field budgets were applied. The message and stack trace get a
+     * quarter of the record budget each and the context shares another quarter.
+     *
+     * @param contextEntries Number of context entries in the record
+     */
+    LogSizeLimits forOverflow(int contextEntries) {
+        int quarter = (int) Math.min(Integer.MAX_VALUE, recordBudget() / 4);
+        int perContextValue = Math.max(Utf8Truncation.MARKER_RESERVE + 16,
+            quarter / Math.max(1, 2 * contextEntries));
+        return new LogSizeLimits(min(maxMessageBytes, quarter), min(maxStackTraceBytes, quarter),
+            min(maxContextValueBytes, perContextValue), maxRecordBytes, chunking, maxChunks);
+    }
+
+    private static Map<String, String> truncate(Map<String, String> context, int maxBytes) {
+        if (context == null || maxBytes <= 0) {
+            return context;
+        }
+        boolean fits = true;
+        for (Map.Entry<String, String> entry : context.entrySet()) {
+            if (Utf8Truncation.truncate(entry.getKey(), maxBytes) != entry.getKey()
+                    || Utf8Truncation.truncate(entry.getValue(), maxBytes) != entry.getValue()) {
+                fits = false;
+                break;
+            }
+        }
+        if (fits) {
+            return context;
+        }
+        Map<String, String> truncated = new LinkedHashMap<>();
+        context.forEach((key, value) ->
+            truncated.put(Utf8Truncation.truncate(key, maxBytes), Utf8Truncation.truncate(value, maxBytes)));
+        return truncated;
+    }
+
+    private static int min(int budget, int limit) {
+        return budget <= 0 ? limit : Math.min(budget, limit);
+    }
+}
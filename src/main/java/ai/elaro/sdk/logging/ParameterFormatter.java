@@ -0,0 +1,149 @@
+package ai.elaro.sdk.logging;
+
+/**
+ * Substitutes {@code {}} placeholders in log messages, left to right.
+ *
+ * <p>The {@code formatTo} variants append to a caller-supplied builder and
+ * take a fixed number of arguments, so formatting into a reused
+ * {@link LogEvent} needs no array, no boxing for primitives and no
+ * intermediate String for numbers and character sequences.</p>
+ */
+final class ParameterFormatter {
+
+    private static final String PLACEHOLDER = "{}";
+
+    private ParameterFormatter() {
+    }
+
+    static String format(String pattern, Object[] args) {
+        if (args == null || args.length == 0) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        formatTo(builder, pattern, args);
+        return builder.toString();
+    }
+
+    static String format(String pattern, int argCount, Object a0, Object a1, Object a2, Object a3) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * argCount);
+        formatTo(builder, pattern, argCount, a0, a1, a2, a3);
+        return builder.toString();
+    }
+
+    static String format(String pattern, char value) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 1);
+        formatTo(builder, pattern, value);
+        return builder.toString();
+    }
+
+    static String format(String pattern, long value) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 20);
+        formatTo(builder, pattern, value);
+        return builder.toString();
+    }
+
+    static String format(String pattern, float value) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16);
+        formatTo(builder, pattern, value);
+        return builder.toString();
+    }
+
+    static String format(String pattern, double value) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 24);
+        formatTo(builder, pattern, value);
+        return builder.toString();
+    }
+
+    static void formatTo(StringBuilder builder, String pattern, Object[] args) {
+        int start = 0;
+        int placeholder;
+        for (int i = 0; i < args.length && (placeholder = pattern.indexOf(PLACEHOLDER, start)) >= 0; i++) {
+            builder.append(pattern, start, placeholder);
+            appendArgument(builder, args[i]);
+            start = placeholder + PLACEHOLDER.length();
+        }
+        builder.append(pattern, start, pattern.length());
+    }
+
+    static void formatTo(StringBuilder builder, String pattern, int argCount,
+                         Object a0, Object a1, Object a2, Object a3) {
+        int start = 0;
+        int placeholder;
+        for (int i = 0; i < argCount && (placeholder = pattern.indexOf(PLACEHOLDER, start)) >= 0; i++) {
+            builder.append(pattern, start, placeholder);
+            appendArgument(builder, switch (i) {
+                case 0 -> a0;
+                case 1 -> a1;
+                case 2 -> a2;
+                default -> a3;
+            });
+            start = placeholder + PLACEHOLDER.length();
+        }
+        builder.append(pattern, start, pattern.length());
+    }
+
+    static void formatTo(StringBuilder builder, String pattern, char value) {
+        int placeholder = pattern.indexOf(PLACEHOLDER);
+        if (placeholder < 0) {
+            builder.append(pattern);
+            return;
+        }
+        builder.append(pattern, 0, placeholder)
+            .append(value)
+            .append(pattern, placeholder + PLACEHOLDER.length(), pattern.length());
+    }
+
+    static void formatTo(StringBuilder builder, String pattern, long value) {
+        int placeholder = pattern.indexOf(PLACEHOLDER);
+        if (placeholder < 0) {
+            builder.append(pattern);
+            return;
+        }
+        builder.append(pattern, 0, placeholder)
+            .append(value)
+            .append(pattern, placeholder + PLACEHOLDER.length(), pattern.length());
+    }
+
+    static void formatTo(StringBuilder builder, String pattern, float value) {
+        int placeholder = pattern.indexOf(PLACEHOLDER);
+        if (placeholder < 0) {
+            builder.append(pattern);
+            return;
+        }
+        builder.append(pattern, 0, placeholder)
+            .append(value)
+            .append(pattern, placeholder + PLACEHOLDER.length(), pattern.length());
+    }
+
+    static void formatTo(StringBuilder builder, String pattern, double value) {
+        int placeholder = pattern.indexOf(PLACEHOLDER);
+        if (placeholder < 0) {
+            builder.append(pattern);
+            return;
+        }
+        builder.append(pattern, 0, placeholder)
+            .append(value)
+            .append(pattern, placeholder + PLACEHOLDER.length(), pattern.length());
+    }
+
+    private static void appendArgument(StringBuilder builder, Object arg) {
+        // Append common types directly to skip their toString() copies
+        if (arg instanceof CharSequence chars) {
+            builder.append(chars);
+        } else if (arg instanceof Integer value) {
+            builder.append(value.intValue());
+        } else if (arg instanceof Long value) {
+            builder.append(value.longValue());
+        } else if (arg instanceof Double value) {
+            builder.append(value.doubleValue());
+        } else if (arg instanceof Float value) {
+            builder.append(value.floatValue());
+        } else if (arg instanceof Boolean value) {
+            builder.append(value.booleanValue());
+        } else if (arg instanceof Character value) {
+            builder.append(value.charValue());
+        } else {
+            builder.append(arg);
+        }
+    }
+}
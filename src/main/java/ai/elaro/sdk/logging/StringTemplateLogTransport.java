@@ -0,0 +1,49 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport sender over a {@code KafkaTemplate<String, String>}, backing
+ * the deprecated template constructors of {@link ElaroLogger} and
+ * {@link ElaroLoggerFactory}. Records are UTF-8 JSON, so they are sent as the
+ * same strings those constructors used to send.
+ */
+final class StringTemplateLogTransport implements TransportSender {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    StringTemplateLogTransport(KafkaTemplate<String, String> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * A publisher that sends each record on its own through the template.
+     */
+    static LogPublisher publisher(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
+        return new LogPublisher(new StringTemplateLogTransport(kafkaTemplate), new PluginMessageCodec(objectMapper),
+            PluginTracing.DISABLED);
+    }
+
+    @Override
+    public CompletableFuture<Void> send(TransportRecord record) {
+        ProducerRecord<String, String> producerRecord = new ProducerRecord<>(record.topic(), record.key(),
+            new String(record.value(), StandardCharsets.UTF_8));
+        record.headers().forEach((name, value) ->
+            producerRecord.headers().add(name, value.getBytes(StandardCharsets.UTF_8)));
+        return kafkaTemplate.send(producerRecord).thenApply(result -> null);
+    }
+
+    @Override
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+}
@@ -0,0 +1,100 @@
+package ai.elaro.sdk.logging;
+
+/**
+ * Cuts text to a UTF-8 byte budget without splitting a character and marks
+ * the cut with {@code ...[truncated N bytes]}. A budget too small to hold the
+ * marker gets a plain cut instead, so the result never exceeds the budget.
+ */
+final class Utf8Truncation {
+
+    static final String MARKER_PREFIX = "...[truncated ";
+    static final String MARKER_SUFFIX = " bytes]";
+
+    /**
+     * Bytes reserved for the marker, enough for any int byte count.
+     */
+    static final int MARKER_RESERVE = MARKER_PREFIX.length() + 10 + MARKER_SUFFIX.length();
+
+    private Utf8Truncation() {
+    }
+
+    /**
+     * Whether a cut to this budget ends with the marker.
+     */
+    static boolean marked(int maxBytes) {
+        return maxBytes >= MARKER_RESERVE;
+    }
+
+    /**
+     * UTF-8 encoded length of a character sequence.
+     */
+    static int utf8Length(CharSequence value) {
+        return utf8Length(value, value.length());
+    }
+
+    /**
+     * UTF-8 encoded length of the first {@code length} chars.
+     */
+    static int utf8Length(CharSequence value, int length) {
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                // Three bytes, or four for a surrogate pair counted as two per half
+                bytes += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Number of leading chars to keep so that the kept text, and the marker
+     * if the budget is {@link #marked marked}, fit in {@code maxBytes}. Never
+     * ends between the halves of a surrogate pair.
+     */
+    static int keptLength(CharSequence value, int maxBytes) {
+        int budget = marked(maxBytes) ? maxBytes - MARKER_RESERVE : Math.max(0, maxBytes);
+        int bytes = 0;
+        int i = 0;
+        int length = value.length();
+        while (i < length) {
+            char c = value.charAt(i);
+            int width = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate(c) ? 2 : 3;
+            if (bytes + width > budget) {
+                break;
+            }
+            bytes += width;
+            i++;
+        }
+        if (i > 0 && i < length && Character.isHighSurrogate(value.charAt(i - 1))
+                && Character.isLowSurrogate(value.charAt(i))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Truncate a string to a byte budget.
+     *
+     * @param maxBytes Budget in UTF-8 bytes, or 0 for no limit
+     * @return The value itself if it fits, otherwise a kept prefix and, if
+     * there is room, the marker
+     */
+    static String truncate(String value, int maxBytes) {
+        if (value == null || maxBytes <= 0 || value.length() <= maxBytes / 3) {
+            return value;
+        }
+        int total = utf8Length(value);
+        if (total <= maxBytes) {
+            return value;
+        }
+        int kept = keptLength(value, maxBytes);
+        if (!marked(maxBytes)) {
+            return value.substring(0, kept);
+        }
+        int removed = total - utf8Length(value, kept);
+        return value.substring(0, kept) + MARKER_PREFIX + removed + MARKER_SUFFIX;
+    }
+}
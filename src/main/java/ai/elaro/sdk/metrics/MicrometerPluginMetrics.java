@@ -0,0 +1,125 @@
+package ai.elaro.sdk.metrics;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer implementation of {@link PluginMetrics}. All meters are tagged
+ * with the plugin ID and environment.
+ *
+ * <p>Counters and timers are registered on construction. The gauge reads
+ * this object's state, so it is registered by {@link #bindTo(MeterRegistry)}
+ * once the object is fully constructed.</p>
+ *
+ * <ul>
+ *   <li>{@code elaro.plugin.beacons.sent} - counter of beacons sent</li>
+ *   <li>{@code elaro.plugin.announce.send} - timer of announce send latency, tagged by outcome</li>
+ *   <li>{@code elaro.plugin.registration.time} - timer from beacon start to ACCEPTED or REJECTED, tagged by status</li>
+ *   <li>{@code elaro.plugin.registration.time.to.terminal} - gauge of the same duration in seconds, or NaN while pending</li>
+ *   <li>{@code elaro.plugin.ack.processing} - timer of ack handling</li>
+ *   <li>{@code elaro.plugin.ack.parse.failures} - counter of unparseable acks</li>
+ *   <li>{@code elaro.plugin.startup.phase} - timer of each SDK startup phase, tagged by phase and category</li>
+ * </ul>
+ */
+public class MicrometerPluginMetrics implements PluginMetrics, MeterBinder {
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Counter beaconsSent;
+    private final Timer announceSuccess;
+    private final Timer announceFailure;
+    private final Timer ackProcessing;
+    private final Counter ackParseFailures;
+    private volatile double registrationSeconds = Double.NaN;
+
+    public MicrometerPluginMetrics(MeterRegistry registry, PluginProperties properties) {
+        this.registry = registry;
+        this.tags = Tags.of("plugin", properties.getId(), "environment", properties.getEnvironment());
+
+        this.beaconsSent = Counter.builder("elaro.plugin.beacons.sent")
+            .description("Beacon announcements sent")
+            .tags(tags)
+            .register(registry);
+        this.announceSuccess = announceTimer("success");
+        this.announceFailure = announceTimer("failure");
+        this.ackProcessing = Timer.builder("elaro.plugin.ack.processing")
+            .description("Time to parse and handle an ack message")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(registry);
+        this.ackParseFailures = Counter.builder("elaro.plugin.ack.parse.failures")
+            .description("Ack messages that could not be parsed")
+            .tags(tags)
+            .register(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("elaro.plugin.registration.time.to.terminal", this, metrics -> metrics.registrationSeconds)
+            .description("Seconds from beacon start to ACCEPTED or REJECTED")
+            .baseUnit("seconds")
+            .tags(tags)
+            .register(registry);
+    }
+
+    @Override
+    public void beaconSent() {
+        beaconsSent.increment();
+    }
+
+    @Override
+    public void announceCompleted(long nanos, boolean success) {
+        (success ? announceSuccess : announceFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registrationCompleted(RegistrationStatus status, Duration sinceStart) {
+        registrationSeconds = sinceStart.toNanos() / 1e9;
+        Timer.builder("elaro.plugin.registration.time")
+            .description("Time from beacon start to a terminal registration status")
+            .tags(tags)
+            .tag("status", status.name())
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(sinceStart);
+    }
+
+    @Override
+    public void ackProcessed(long nanos) {
+        ackProcessing.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void ackParseFailed() {
+        ackParseFailures.increment();
+    }
+
+    @Override
+    public void startupPhaseCompleted(String phase, String category, Duration duration) {
+        Timer.builder("elaro.plugin.startup.phase")
+            .description("Duration of an SDK startup phase")
+            .tags(tags)
+            .tag("phase", phase)
+            .tag("category", category)
+            .register(registry)
+            .record(duration);
+    }
+
+    private Timer announceTimer(String outcome) {
+        return Timer.builder("elaro.plugin.announce.send")
+            .description("Time from announce send to broker acknowledgment")
+            .tags(tags)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package ai.elaro.sdk.metrics;
+
+import ai.elaro.sdk.registration.RegistrationStatus;
+
+import java.time.Duration;
+
+/**
+ * Registration lifecycle and startup instrumentation points.
+ *
+ * <p>{@link #NOOP} is used when Micrometer is not available, so SDK
+ * components can record unconditionally.</p>
+ */
+public interface PluginMetrics {
+
+    /**
+     * Metrics implementation that records nothing.
+     */
+    PluginMetrics NOOP = new PluginMetrics() {
+    };
+
+    /**
+     * A beacon announcement was handed to Kafka.
+     */
+    default void beaconSent() {
+    }
+
+    /**
+     * An announcement send completed.
+     *
+     * @param nanos Time from send to broker acknowledgment
+     * @param success Whether the send succeeded
+     */
+    default void announceCompleted(long nanos, boolean success) {
+    }
+
+    /**
+     * Registration reached a terminal status.
+     *
+     * @param status ACCEPTED or REJECTED
+     * @param sinceStart Time since the beacon started
+     */
+    default void registrationCompleted(RegistrationStatus status, Duration sinceStart) {
+    }
+
+    /**
+     * An ack message was processed.
+     *
+     * @param nanos Time spent parsing and handling the ack
+     */
+    default void ackProcessed(long nanos) {
+    }
+
+    /**
+     * An ack message could not be parsed.
+     */
+    default void ackParseFailed() {
+    }
+
+    /**
+     * A phase of SDK startup completed.
+     *
+     * @param phase Phase name, or the bean name for bean creation
+     * @param category Phase category
+     * @param duration Length of the phase
+     */
+    default void startupPhaseCompleted(String phase, String category, Duration duration) {
+    }
+}
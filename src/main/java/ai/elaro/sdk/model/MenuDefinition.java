@@ -12,7 +12,7 @@ import java.util.List;
  * Menus can contain nested children for hierarchical navigation.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MenuDefinition {
@@ -0,0 +1,38 @@
+package ai.elaro.sdk.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of screen definitions returned by the paginated screen endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenPage {
+
+    /**
+     * Screens on this page, sorted by order.
+     */
+    private List<ScreenDefinition> items;
+
+    /**
+     * Index of the first item in the full result.
+     */
+    private int offset;
+
+    /**
+     * Maximum number of items on the page, after clamping the requested limit.
+     */
+    private int limit;
+
+    /**
+     * Total number of screens matching the request.
+     */
+    private int total;
+}
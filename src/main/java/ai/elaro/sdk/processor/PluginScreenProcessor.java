@@ -0,0 +1,123 @@
+package ai.elaro.sdk.processor;
+
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.ui.PluginScreen;
+import ai.elaro.sdk.ui.ScreenIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor that writes every {@link PluginScreen} declaration
+ * into {@value ScreenIndex#LOCATION} at compile time.
+ *
+ * <p>With the index present, {@link ai.elaro.sdk.ui.PluginScreenRegistry}
+ * loads screen metadata without classpath scanning, reflection or bean
+ * creation. Add the SDK to your compiler's annotation processor path to
+ * enable it:</p>
+ * <pre>
+ * &lt;annotationProcessorPaths&gt;
+ *     &lt;path&gt;
+ *         &lt;groupId&gt;ai.elaro&lt;/groupId&gt;
+ *         &lt;artifactId&gt;elaro-plugin-sdk&lt;/artifactId&gt;
+ *         &lt;version&gt;${elaro-sdk.version}&lt;/version&gt;
+ *     &lt;/path&gt;
+ * &lt;/annotationProcessorPaths&gt;
+ * </pre>
+ */
+@SupportedAnnotationTypes("ai.elaro.sdk.ui.PluginScreen")
+public class PluginScreenProcessor extends AbstractProcessor {
+
+    private final Map<String, ScreenDefinition> screens = new TreeMap<>();
+    private boolean previousIndexMerged = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!previousIndexMerged) {
+            mergePreviousIndex();
+            previousIndexMerged = true;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(PluginScreen.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "@PluginScreen is only indexed on classes", element);
+                continue;
+            }
+
+            PluginScreen annotation = element.getAnnotation(PluginScreen.class);
+            String type = ((TypeElement) element).getQualifiedName().toString();
+            screens.put(type, ScreenDefinition.builder()
+                .path(annotation.path())
+                .title(annotation.title())
+                .icon(annotation.icon())
+                .order(annotation.order())
+                .parent(annotation.parent())
+                .permissions(Arrays.asList(annotation.permissions()))
+                .build());
+        }
+
+        if (roundEnv.processingOver() && !screens.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Keep entries from an earlier build so incremental compilation of a
+     * subset of sources does not drop screens. Types that no longer exist
+     * or are no longer annotated are discarded.
+     */
+    private void mergePreviousIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", ScreenIndex.LOCATION);
+            try (InputStream in = existing.openInputStream()) {
+                for (ScreenIndex.Entry entry : ScreenIndex.read(in)) {
+                    TypeElement type = processingEnv.getElementUtils().getTypeElement(entry.type());
+                    if (type != null && type.getAnnotation(PluginScreen.class) != null) {
+                        screens.put(entry.type(), entry.screen());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous index, this is a clean build
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", ScreenIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(
+                    resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                ScreenIndex.write(screens, writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Failed to write " + ScreenIndex.LOCATION + ": " + e.getMessage());
+        }
+    }
+}
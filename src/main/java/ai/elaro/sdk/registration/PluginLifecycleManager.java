@@ -1,22 +1,33 @@
 package ai.elaro.sdk.registration;
 
 import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.logging.LogPublisher;
+import ai.elaro.sdk.transport.PluginTransport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
-import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages the plugin lifecycle, handling startup and shutdown events.
+ *
+ * <p>On shutdown the beacon is stopped, log publishing is closed, pending
+ * records are flushed within {@code elaro.plugin.shutdown.drain-timeout-seconds},
+ * and a LEAVING announcement is published so the console stops routing to
+ * this instance without waiting for a timeout.</p>
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
 public class PluginLifecycleManager implements ApplicationListener<ContextClosedEvent> {
 
     private final PluginProperties properties;
     private final PluginRegistrar registrar;
+    private final PluginTransport transport;
+    private final ObjectProvider<LogPublisher> logPublisher;
 
     @Override
     public void onApplicationEvent(ContextClosedEvent event) {
@@ -24,11 +35,27 @@ public class PluginLifecycleManager implements ApplicationListener<ContextClosed
             properties.getId(),
             registrar.getInstanceId());
 
-        // The PluginRegistrar's @PreDestroy will handle stopping the beacon
-        // This listener is here for any additional shutdown logic needed
-
         RegistrationStatus status = registrar.getStatus();
         log.info("Final registration status: {}", status);
+
+        PluginProperties.ShutdownProperties shutdown = properties.getShutdown();
+        long deadline = System.nanoTime() + Duration.ofSeconds(shutdown.getDrainTimeoutSeconds()).toNanos();
+
+        registrar.stopBeacon(remaining(deadline));
+        logPublisher.ifAvailable(publisher -> {
+            publisher.stopAccepting();
+            if (!publisher.awaitDrained(remaining(deadline))) {
+                log.warn("Log records still being encoded after {}s", shutdown.getDrainTimeoutSeconds());
+            }
+        });
+
+        if (!transport.flush(remaining(deadline))) {
+            log.warn("Pending records not flushed within {}s", shutdown.getDrainTimeoutSeconds());
+        }
+
+        if (shutdown.isDeregisterOnShutdown()) {
+            registrar.deregister(remaining(deadline));
+        }
     }
 
     /**
@@ -58,4 +85,18 @@ public class PluginLifecycleManager implements ApplicationListener<ContextClosed
     public RegistrationStatus getStatus() {
         return registrar.getStatus();
     }
+
+    /**
+     * Future completed once registration leaves {@code PENDING}, for gating
+     * work on acceptance without polling.
+     *
+     * @see PluginRegistrar#awaitTerminalStatus()
+     */
+    public CompletableFuture<RegistrationStatus> awaitTerminalStatus() {
+        return registrar.awaitTerminalStatus();
+    }
+
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
 }
@@ -1,6 +1,7 @@
 package ai.elaro.sdk.registration;
 
 import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.load.InstanceLoad;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -109,4 +110,15 @@ public class PluginManifest {
      * The port the plugin is listening on.
      */
     private Integer port;
+
+    /**
+     * LEAVING when the instance is shutting down and should be deregistered.
+     * Absent on regular beacons.
+     */
+    private RegistrationStatus status;
+
+    /**
+     * Latest load signals for this instance, if load reporting is enabled.
+     */
+    private InstanceLoad load;
 }
@@ -1,47 +1,110 @@
 package ai.elaro.sdk.registration;
 
 import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
 import ai.elaro.sdk.kafka.AckMessage;
 import ai.elaro.sdk.kafka.PluginKafkaProducer;
+import ai.elaro.sdk.load.InstanceLoad;
+import ai.elaro.sdk.load.InstanceLoadSampler;
+import ai.elaro.sdk.metrics.PluginMetrics;
+import ai.elaro.sdk.startup.StartupTimeline;
+import ai.elaro.sdk.transport.TransportSubscription;
 import ai.elaro.sdk.ui.PluginScreenRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.core.env.Environment;
-import org.springframework.stereotype.Component;
 
 import java.net.InetAddress;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages the plugin beacon registration process.
  * Sends periodic beacon announcements until acknowledged by the Elaro platform.
+ *
+ * <p>With request/reply registration the first announcement waits until the
+ * ack subscription is assigned, carries a correlation ID and reply topic, and
+ * is answered within {@code elaro.plugin.registration.reply-timeout-millis}
+ * by a console that echoes the correlation ID. The periodic beacon only runs
+ * if that reply does not arrive.</p>
+ *
+ * <p>Every status change is published as a {@link RegistrationStatusChangedEvent},
+ * and {@link #awaitTerminalStatus()} completes on the first status other than
+ * {@link RegistrationStatus#PENDING}.</p>
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
-public class PluginRegistrar {
+public class PluginRegistrar implements ApplicationEventPublisherAware {
 
     private final PluginKafkaProducer kafkaProducer;
     private final PluginProperties properties;
     private final PluginScreenRegistry screenRegistry;
     private final Environment environment;
+    private final PluginMetrics metrics;
+    private final PluginThreads threads;
+    private final ObjectProvider<InstanceLoadSampler> loadSampler;
+
+    private static final int MAX_PENDING_REPLIES = 8;
+    private static final long ACK_READY_POLL_MILLIS = 10;
+
+    private final Map<String, CompletableFuture<AckMessage>> pendingReplies = new ConcurrentHashMap<>();
+    private final Queue<String> pendingReplyOrder = new ConcurrentLinkedQueue<>();
+
+    private final CompletableFuture<RegistrationStatus> terminalStatus = new CompletableFuture<>();
 
     private ScheduledExecutorService scheduler;
-    private volatile RegistrationStatus status = RegistrationStatus.PENDING;
+    private volatile TransportSubscription ackSubscription;
+    private ApplicationEventPublisher eventPublisher;
+    private StartupTimeline startupTimeline = StartupTimeline.NOOP;
+    private final AtomicReference<RegistrationStatus> status = new AtomicReference<>(RegistrationStatus.PENDING);
     private volatile boolean running = false;
     private final String instanceId = UUID.randomUUID().toString();
+    private volatile Instant startedAt;
 
     /**
      * Get the current registration status.
      */
     public RegistrationStatus getStatus() {
-        return status;
+        return status.get();
+    }
+
+    /**
+     * Future completed with the first terminal status: {@code ACCEPTED},
+     * {@code REJECTED}, or {@code LEAVING} if the instance shuts down first.
+     * Each call returns a new future, so completing or cancelling it has no
+     * effect on other callers.
+     */
+    public CompletableFuture<RegistrationStatus> awaitTerminalStatus() {
+        return terminalStatus.copy();
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Record starting the beacon as a startup phase.
+     */
+    public void setStartupTimeline(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
     }
 
     /**
@@ -51,6 +114,21 @@ public class PluginRegistrar {
         return instanceId;
     }
 
+    /**
+     * Get when the beacon was started, or null if it has not started yet.
+     */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Set the subscription acks arrive on, so the first announcement can wait
+     * until it is ready.
+     */
+    public void ackSubscribed(TransportSubscription subscription) {
+        this.ackSubscription = subscription;
+    }
+
     /**
      * Start sending beacon announcements.
      */
@@ -59,32 +137,127 @@ public class PluginRegistrar {
         log.info("Starting plugin beacon for: {} (instance: {})",
             properties.getId(), instanceId);
 
-        running = true;
-        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "plugin-beacon-" + properties.getId());
-            t.setDaemon(true);
-            return t;
-        });
+        try (StartupTimeline.Phase phase = startupTimeline.begin("registrar.start-beacon", "registration")) {
+            running = true;
+            startedAt = Instant.now();
+            scheduler = threads.newScheduler("plugin-beacon-" + properties.getId());
+
+            long firstBeacon = 0;  // Start immediately
+            if (properties.getRegistration().isRequestReply()) {
+                scheduler.execute(this::registerWithReply);
+                firstBeacon = properties.getBeaconIntervalSeconds();
+            }
+            scheduler.scheduleAtFixedRate(
+                this::sendBeacon,
+                firstBeacon,
+                properties.getBeaconIntervalSeconds(),
+                TimeUnit.SECONDS
+            );
+            phase.tag("requestReply", properties.getRegistration().isRequestReply());
+        }
+    }
 
-        scheduler.scheduleAtFixedRate(
-            this::sendBeacon,
-            0,  // Start immediately
-            properties.getBeaconIntervalSeconds(),
-            TimeUnit.SECONDS
-        );
+    /**
+     * Send the first announcement once acks can be received and wait briefly
+     * for the correlated reply. The beacon takes over if none arrives.
+     */
+    private void registerWithReply() {
+        PluginProperties.RegistrationProperties registration = properties.getRegistration();
+        if (!awaitAckSubscription(Duration.ofSeconds(registration.getAckReadyTimeoutSeconds()))) {
+            if (!running) {
+                return;
+            }
+            log.warn("Ack subscription for {} not ready after {}s, announcing anyway",
+                properties.getId(), registration.getAckReadyTimeoutSeconds());
+        }
+        if (!running || status.get() != RegistrationStatus.PENDING) {
+            return;
+        }
+
+        String correlationId = UUID.randomUUID().toString();
+        CompletableFuture<AckMessage> reply = expectReply(correlationId);
+        try {
+            kafkaProducer.sendAnnouncement(buildManifest(), correlationId)
+                .whenComplete((sent, ex) -> {
+                    if (ex != null) {
+                        reply.completeExceptionally(ex);
+                    }
+                });
+            metrics.beaconSent();
+            AckMessage ack = reply.get(registration.getReplyTimeoutMillis(), TimeUnit.MILLISECONDS);
+            log.info("Registration of {} answered {} in {} ms", properties.getId(), ack.getStatus(),
+                Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (TimeoutException e) {
+            log.info("No reply to announcement of {} within {} ms, beaconing every {}s",
+                properties.getId(), registration.getReplyTimeoutMillis(), properties.getBeaconIntervalSeconds());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Failed to send announcement: {}", e.getCause().getMessage());
+        } catch (CancellationException e) {
+            // Beacon stopped while waiting
+        } catch (Exception e) {
+            log.error("Failed to send announcement: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait until the ack subscription will receive records sent from now on.
+     *
+     * @return false if it was not ready within the timeout or the beacon stopped
+     */
+    private boolean awaitAckSubscription(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (running) {
+            TransportSubscription subscription = ackSubscription;
+            if (subscription != null && subscription.isReady()) {
+                return true;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(ACK_READY_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private CompletableFuture<AckMessage> expectReply(String correlationId) {
+        CompletableFuture<AckMessage> reply = new CompletableFuture<>();
+        pendingReplies.put(correlationId, reply);
+        pendingReplyOrder.add(correlationId);
+        // Only the latest announcements can still be answered
+        while (pendingReplyOrder.size() > MAX_PENDING_REPLIES) {
+            String eldest = pendingReplyOrder.poll();
+            if (eldest != null) {
+                pendingReplies.remove(eldest);
+            }
+        }
+        return reply;
     }
 
     /**
      * Send a single beacon announcement.
      */
     private void sendBeacon() {
-        if (!running || status != RegistrationStatus.PENDING) {
+        if (!running || status.get() != RegistrationStatus.PENDING) {
             return;
         }
 
         try {
             PluginManifest manifest = buildManifest();
-            kafkaProducer.sendAnnouncement(manifest);
+            if (properties.getRegistration().isRequestReply()) {
+                String correlationId = UUID.randomUUID().toString();
+                expectReply(correlationId);
+                kafkaProducer.sendAnnouncement(manifest, correlationId);
+            } else {
+                kafkaProducer.sendAnnouncement(manifest);
+            }
+            metrics.beaconSent();
             log.debug("Sent beacon for plugin: {} (instance: {})",
                 properties.getId(), instanceId);
         } catch (Exception e) {
@@ -92,25 +265,68 @@ public class PluginRegistrar {
         }
     }
 
+    /**
+     * Whether a reply with this correlation ID would answer one of this
+     * instance's announcements.
+     *
+     * @param correlationId The correlation ID echoed by the console
+     */
+    public boolean isAwaitingReply(String correlationId) {
+        return pendingReplies.containsKey(correlationId);
+    }
+
+    /**
+     * Handle an acknowledgment that may answer one of this instance's
+     * announcements. A correlated ack is only applied if this instance sent
+     * the announcement; acks without a correlation ID apply to every instance
+     * of the plugin.
+     *
+     * @param ack The acknowledgment message
+     * @param correlationId The correlation ID echoed by the console, or null
+     */
+    public void onAckReceived(AckMessage ack, String correlationId) {
+        if (correlationId == null) {
+            onAckReceived(ack);
+            return;
+        }
+        CompletableFuture<AckMessage> reply = pendingReplies.remove(correlationId);
+        if (reply == null) {
+            // Reply to another instance's announcement
+            return;
+        }
+        // Release the waiting announcement first, since accepting stops the beacon and waits for it
+        reply.complete(ack);
+        onAckReceived(ack);
+    }
+
     /**
      * Handle acknowledgment received from the Elaro platform.
      *
      * @param ack The acknowledgment message
      */
     public void onAckReceived(AckMessage ack) {
-        if (!ack.getPluginId().equals(properties.getId())) {
+        if (!ack.getPluginId().equals(properties.getId()) || ack.getStatus() == null) {
             return;
         }
 
-        this.status = ack.getStatus();
+        RegistrationStatus next = ack.getStatus();
+        RegistrationStatus previous = changeStatus(next, ack);
+        if (previous == RegistrationStatus.LEAVING) {
+            return;
+        }
+
+        if (previous == RegistrationStatus.PENDING && next != RegistrationStatus.PENDING
+                && startedAt != null) {
+            metrics.registrationCompleted(next, Duration.between(startedAt, Instant.now()));
+        }
 
-        if (status == RegistrationStatus.ACCEPTED) {
+        if (next == RegistrationStatus.ACCEPTED) {
             log.info("Plugin ACCEPTED: {} -> environment: {}, tenant: {}",
                 properties.getId(),
                 ack.getEnvironment(),
                 ack.getTenantId());
             stopBeacon();
-        } else if (status == RegistrationStatus.REJECTED) {
+        } else if (next == RegistrationStatus.REJECTED) {
             log.warn("Plugin REJECTED: {} - Reason: {}",
                 properties.getId(), ack.getReason());
             stopBeacon();
@@ -122,13 +338,30 @@ public class PluginRegistrar {
      */
     @PreDestroy
     public void stopBeacon() {
-        log.info("Stopping plugin beacon for: {}", properties.getId());
+        stopBeacon(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Stop sending beacon announcements, waiting at most the given time for an
+     * in-progress beacon to finish.
+     *
+     * @param timeout Maximum time to wait
+     */
+    public void stopBeacon(Duration timeout) {
         running = false;
+        for (String correlationId : pendingReplies.keySet()) {
+            CompletableFuture<AckMessage> reply = pendingReplies.remove(correlationId);
+            if (reply != null) {
+                reply.cancel(false);
+            }
+        }
+        pendingReplyOrder.clear();
 
         if (scheduler != null && !scheduler.isShutdown()) {
+            log.info("Stopping plugin beacon for: {}", properties.getId());
             scheduler.shutdown();
             try {
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                if (!scheduler.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
                     scheduler.shutdownNow();
                 }
             } catch (InterruptedException e) {
@@ -138,6 +371,67 @@ public class PluginRegistrar {
         }
     }
 
+    /**
+     * Announce that this instance is leaving so the console stops routing to
+     * it. Stops the beacon first. Does nothing for a rejected instance.
+     *
+     * @param timeout Maximum time to wait for the announcement to be sent
+     * @return true if the announcement was sent within the timeout
+     */
+    public boolean deregister(Duration timeout) {
+        RegistrationStatus previous = status.get();
+        if (previous == RegistrationStatus.REJECTED || previous == RegistrationStatus.LEAVING) {
+            return false;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        changeStatus(RegistrationStatus.LEAVING, null);
+        stopBeacon(timeout);
+
+        PluginManifest manifest = buildManifest();
+        manifest.setStatus(RegistrationStatus.LEAVING);
+        try {
+            // Sending may block on broker metadata, so keep it off the caller's clock
+            CompletableFuture
+                .supplyAsync(() -> kafkaProducer.sendAnnouncement(manifest),
+                    task -> threads.start("plugin-leave-" + properties.getId(), task))
+                .thenCompose(sent -> sent)
+                .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            log.info("Sent LEAVING announcement for plugin: {} (instance: {})",
+                properties.getId(), instanceId);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("LEAVING announcement for instance {} not confirmed: {}",
+                instanceId, e.getClass().getSimpleName());
+        }
+        return false;
+    }
+
+    /**
+     * Set the status, complete {@link #awaitTerminalStatus()} on the first
+     * terminal status and publish the change. {@code LEAVING} is final, and
+     * each transition is published once even when acks race.
+     *
+     * @return The previous status, or {@code LEAVING} if nothing changed
+     */
+    private RegistrationStatus changeStatus(RegistrationStatus next, AckMessage ack) {
+        RegistrationStatus previous = status.getAndUpdate(
+            current -> current == RegistrationStatus.LEAVING ? current : next);
+        if (previous == RegistrationStatus.LEAVING) {
+            return previous;
+        }
+        if (previous != next && eventPublisher != null) {
+            eventPublisher.publishEvent(new RegistrationStatusChangedEvent(this, instanceId, previous, next, ack));
+        }
+        if (next.isTerminal()) {
+            // After the event, so its listeners have run when waiters run
+            terminalStatus.complete(next);
+        }
+        return previous;
+    }
+
     /**
      * Build the plugin manifest from configuration and discovered screens.
      */
@@ -159,9 +453,18 @@ public class PluginRegistrar {
             .deployedAt(Instant.now())
             .host(determineHost())
             .port(determinePort())
+            .load(currentLoad())
             .build();
     }
 
+    /**
+     * Latest sampled load, or null if load reporting is disabled.
+     */
+    private InstanceLoad currentLoad() {
+        InstanceLoadSampler sampler = loadSampler.getIfAvailable();
+        return sampler != null ? sampler.getLatest() : null;
+    }
+
     /**
      * Determine the UI base URL for this plugin.
      */
@@ -18,5 +18,18 @@ public enum RegistrationStatus {
     /**
      * Plugin registration was rejected by the Elaro platform.
      */
-    REJECTED
+    REJECTED,
+
+    /**
+     * Plugin instance is shutting down and has asked to be deregistered.
+     */
+    LEAVING;
+
+    /**
+     * Whether the beacon has finished with this status: anything but
+     * {@link #PENDING}.
+     */
+    public boolean isTerminal() {
+        return this != PENDING;
+    }
 }
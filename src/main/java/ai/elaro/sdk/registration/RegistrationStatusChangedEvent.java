@@ -0,0 +1,57 @@
+package ai.elaro.sdk.registration;
+
+import ai.elaro.sdk.kafka.AckMessage;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link PluginRegistrar} whenever the registration status of
+ * this instance changes. Listeners run on the thread that applied the change,
+ * usually the ack listener, so they should not block.
+ */
+public class RegistrationStatusChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String instanceId;
+    private final RegistrationStatus previousStatus;
+    private final RegistrationStatus status;
+    private final transient AckMessage ack;
+
+    /**
+     * @param source The registrar
+     * @param instanceId ID of this running instance
+     * @param previousStatus Status before the change
+     * @param status Status after the change
+     * @param ack The acknowledgment that caused the change, or null
+     */
+    public RegistrationStatusChangedEvent(PluginRegistrar source, String instanceId,
+                                          RegistrationStatus previousStatus, RegistrationStatus status,
+                                          AckMessage ack) {
+        super(source);
+        this.instanceId = instanceId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.ack = ack;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public RegistrationStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public RegistrationStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The acknowledgment that caused the change, or null for a change made by
+     * the instance itself, such as {@link RegistrationStatus#LEAVING}. Not
+     * kept when the event is serialized.
+     */
+    public AckMessage getAck() {
+        return ack;
+    }
+}
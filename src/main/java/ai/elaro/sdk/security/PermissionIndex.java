@@ -0,0 +1,211 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.model.MenuDefinition;
+import ai.elaro.sdk.model.ScreenDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the plugin's permission vocabulary into a dense bitset index so
+ * screen visibility can be decided with bitwise checks.
+ *
+ * <p>Every distinct permission declared on a screen gets a bit. Each screen
+ * holds a precomputed mask of its required permissions, and a user's
+ * permission set is reduced to a mask over the same vocabulary. A screen is
+ * visible when all of its required bits are set in the user's mask.
+ * Permissions the plugin never declares are irrelevant to visibility and are
+ * ignored, so users with equivalent masks share cached results.</p>
+ */
+public final class PermissionIndex {
+
+    /**
+     * Maximum number of distinct permission masks whose results are cached.
+     */
+    static final int MAX_CACHED_MASKS = 1024;
+
+    private static final long[] EMPTY_MASK = new long[0];
+
+    private final Map<String, Integer> bits;
+    private final int words;
+    private final List<ScreenDefinition> screens;
+    private final long[][] screenMasks;
+    private final Map<String, long[]> masksByPath;
+    private final List<MenuDefinition> menu;
+    private final Map<Mask, Visible> cache = new ConcurrentHashMap<>();
+
+    private record Visible(List<ScreenDefinition> screens, List<MenuDefinition> menu) {
+    }
+
+    /**
+     * Build the index for a set of screens and their menu tree.
+     *
+     * @param screens All screens, in display order
+     * @param menu The menu tree built from the same screens
+     */
+    public PermissionIndex(List<ScreenDefinition> screens, List<MenuDefinition> menu) {
+        Map<String, Integer> vocabulary = new LinkedHashMap<>();
+        for (ScreenDefinition screen : screens) {
+            for (String permission : permissionsOf(screen.getPermissions())) {
+                vocabulary.putIfAbsent(permission, vocabulary.size());
+            }
+        }
+        this.bits = Collections.unmodifiableMap(vocabulary);
+        this.words = (vocabulary.size() + 63) >>> 6;
+        this.screens = screens;
+        this.menu = menu;
+
+        this.screenMasks = new long[screens.size()][];
+        this.masksByPath = new HashMap<>();
+        for (int i = 0; i < screens.size(); i++) {
+            ScreenDefinition screen = screens.get(i);
+            screenMasks[i] = maskOf(permissionsOf(screen.getPermissions()));
+            masksByPath.putIfAbsent(screen.getPath(), screenMasks[i]);
+        }
+    }
+
+    /**
+     * The number of distinct permissions declared by the plugin.
+     */
+    public int getVocabularySize() {
+        return bits.size();
+    }
+
+    /**
+     * Reduce a permission set to a mask over the plugin's vocabulary.
+     *
+     * @param permissions The permissions held, may be null
+     * @return The mask; permissions outside the vocabulary are ignored
+     */
+    public long[] maskOf(Collection<String> permissions) {
+        if (words == 0) {
+            return EMPTY_MASK;
+        }
+        long[] mask = new long[words];
+        if (permissions != null) {
+            for (String permission : permissions) {
+                Integer bit = bits.get(permission);
+                if (bit != null) {
+                    mask[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * The required-permission mask of the screen at a path.
+     *
+     * @param path The screen path
+     * @return The mask, or null if no screen has this path
+     */
+    public long[] requiredMask(String path) {
+        return masksByPath.get(path);
+    }
+
+    /**
+     * Check whether a mask holds every bit of a required mask.
+     */
+    public static boolean covers(long[] held, long[] required) {
+        for (int i = 0; i < required.length; i++) {
+            if ((required[i] & ~held[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Screens visible to a user holding the given permissions.
+     *
+     * @param permissions The user's permissions
+     * @return Visible screens in display order
+     */
+    public List<ScreenDefinition> visibleScreens(Collection<String> permissions) {
+        return visible(maskOf(permissions)).screens();
+    }
+
+    /**
+     * Menu tree visible to a user holding the given permissions. Children of
+     * a hidden item are hidden with it.
+     *
+     * @param permissions The user's permissions
+     * @return Visible top-level menu items with their visible children
+     */
+    public List<MenuDefinition> visibleMenu(Collection<String> permissions) {
+        return visible(maskOf(permissions)).menu();
+    }
+
+    private Visible visible(long[] mask) {
+        Mask key = new Mask(mask);
+        Visible cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<ScreenDefinition> visibleScreens = new ArrayList<>();
+        for (int i = 0; i < screenMasks.length; i++) {
+            if (covers(mask, screenMasks[i])) {
+                visibleScreens.add(screens.get(i));
+            }
+        }
+        Visible result = new Visible(
+            Collections.unmodifiableList(visibleScreens),
+            filterMenu(menu, mask));
+
+        // Bounded: a flood of distinct masks resets the cache instead of growing it
+        if (cache.size() >= MAX_CACHED_MASKS) {
+            cache.clear();
+        }
+        cache.put(key, result);
+        return result;
+    }
+
+    private List<MenuDefinition> filterMenu(List<MenuDefinition> nodes, long[] mask) {
+        List<MenuDefinition> visible = new ArrayList<>(nodes.size());
+        for (MenuDefinition node : nodes) {
+            long[] required = masksByPath.get(node.getPath());
+            if (required == null || covers(mask, required)) {
+                visible.add(node.toBuilder()
+                    .children(filterMenu(node.getChildren(), mask))
+                    .build());
+            }
+        }
+        return Collections.unmodifiableList(visible);
+    }
+
+    private static Collection<String> permissionsOf(List<String> permissions) {
+        return permissions != null ? permissions : Collections.emptyList();
+    }
+
+    /**
+     * Cache key over a mask's content with a precomputed hash.
+     */
+    private static final class Mask {
+
+        private final long[] words;
+        private final int hash;
+
+        Mask(long[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Mask mask && Arrays.equals(words, mask.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.ui.PluginScreenRegistry;
+import ai.elaro.sdk.ui.ScreenSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a request may reach a plugin screen route, using the same
+ * screen data the manifest advertises.
+ *
+ * <p>The path trie and permission masks are rebuilt whenever the
+ * {@link PluginScreenRegistry} snapshot changes. Each caller's permission
+ * mask is cached per principal and permission header value in a bounded
+ * cache, so a repeat request costs a trie walk and a bitwise check.</p>
+ */
+public class ScreenAccessEvaluator {
+
+    /**
+     * Outcome of an access check.
+     */
+    public enum Decision {
+
+        /**
+         * The path is not a screen route, the filter does not apply.
+         */
+        NOT_PROTECTED,
+
+        /**
+         * The caller holds every permission the route requires.
+         */
+        ALLOWED,
+
+        /**
+         * The route requires permissions and no principal was presented.
+         */
+        UNAUTHENTICATED,
+
+        /**
+         * The caller lacks at least one required permission.
+         */
+        DENIED
+    }
+
+    private final PluginScreenRegistry screenRegistry;
+    private final PluginProperties.SecurityProperties settings;
+
+    private volatile Compiled compiled;
+
+    private record Compiled(ScreenSnapshot snapshot, ScreenPathTrie trie,
+                            Map<String, long[]> masks) {
+    }
+
+    public ScreenAccessEvaluator(PluginScreenRegistry screenRegistry, PluginProperties properties) {
+        this.screenRegistry = screenRegistry;
+        this.settings = properties.getSecurity();
+    }
+
+    /**
+     * Check a request.
+     *
+     * @param path The request path within the application
+     * @param principal The caller's identity, or null if none was presented
+     * @param permissions The caller's comma-separated permissions, may be null
+     * @return The access decision
+     */
+    public Decision check(String path, String principal, String permissions) {
+        String prefix = settings.getPathPrefix();
+        if (prefix != null && !prefix.isEmpty()) {
+            path = stripPrefix(path, prefix);
+            if (path == null) {
+                return Decision.NOT_PROTECTED;
+            }
+        }
+
+        Compiled current = current();
+        ScreenPathTrie.Match match = current.trie().match(path);
+        if (match == null) {
+            return Decision.NOT_PROTECTED;
+        }
+        if (isEmpty(match.requiredMask())) {
+            return Decision.ALLOWED;
+        }
+        if (principal == null || principal.isEmpty()) {
+            return Decision.UNAUTHENTICATED;
+        }
+
+        long[] held = current.masks().get(cacheKey(principal, permissions));
+        if (held == null) {
+            held = current.snapshot().getPermissionIndex().maskOf(parse(permissions));
+            // Bounded: a flood of distinct callers resets the cache instead of growing it
+            if (current.masks().size() >= settings.getDecisionCacheSize()) {
+                current.masks().clear();
+            }
+            current.masks().put(cacheKey(principal, permissions), held);
+        }
+        return PermissionIndex.covers(held, match.requiredMask()) ? Decision.ALLOWED : Decision.DENIED;
+    }
+
+    private Compiled current() {
+        ScreenSnapshot snapshot = screenRegistry.getSnapshot();
+        Compiled cached = compiled;
+        if (cached != null && cached.snapshot() == snapshot) {
+            return cached;
+        }
+
+        cached = new Compiled(snapshot,
+            new ScreenPathTrie(snapshot.getScreens(), snapshot.getPermissionIndex()),
+            new ConcurrentHashMap<>());
+        compiled = cached;
+        return cached;
+    }
+
+    /**
+     * Remove the screen path prefix on a segment boundary, so a prefix of
+     * {@code /ui} covers {@code /ui} and {@code /ui/invoices} but not {@code /uix}.
+     *
+     * @return The path below the prefix, starting with a slash, or null if the prefix does not apply
+     */
+    static String stripPrefix(String path, String prefix) {
+        String base = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        if (path.equals(base)) {
+            return "/";
+        }
+        if (!path.startsWith(base + "/")) {
+            return null;
+        }
+        return path.substring(base.length());
+    }
+
+    private static String cacheKey(String principal, String permissions) {
+        return permissions == null ? principal : principal + '\n' + permissions;
+    }
+
+    private static List<String> parse(String permissions) {
+        List<String> parsed = new ArrayList<>();
+        if (permissions != null) {
+            for (String permission : permissions.split(",")) {
+                if (!permission.isBlank()) {
+                    parsed.add(permission.trim());
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
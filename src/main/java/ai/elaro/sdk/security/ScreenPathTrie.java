@@ -0,0 +1,134 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.model.ScreenDefinition;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Path trie compiled from screen routes, used to find the screen that owns a
+ * request path and the permissions required to reach it.
+ *
+ * <p>Each screen's required mask includes the masks of its parent chain, so a
+ * nested screen is never reachable by a user who cannot see its parent. A
+ * request path matches the screen with the longest route prefix, so
+ * {@code /invoices/42} is governed by {@code /invoices}. Route segments
+ * written as {@code *} or {@code {name}} match any single segment.</p>
+ */
+public final class ScreenPathTrie {
+
+    private static final String WILDCARD = "*";
+
+    private final Node root = new Node();
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node wildcard;
+        private String path;
+        private long[] requiredMask;
+    }
+
+    /**
+     * A matched screen route.
+     *
+     * @param path The screen path that owns the request
+     * @param requiredMask Permissions required for the screen and its ancestors
+     */
+    public record Match(String path, long[] requiredMask) {
+    }
+
+    /**
+     * Compile the trie.
+     *
+     * @param screens All screens
+     * @param index The permission index built from the same screens
+     */
+    public ScreenPathTrie(List<ScreenDefinition> screens, PermissionIndex index) {
+        Map<String, ScreenDefinition> byPath = new HashMap<>();
+        for (ScreenDefinition screen : screens) {
+            byPath.putIfAbsent(screen.getPath(), screen);
+        }
+
+        for (ScreenDefinition screen : byPath.values()) {
+            Node node = root;
+            for (String segment : segments(screen.getPath())) {
+                if (isWildcard(segment)) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node();
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.children.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            node.path = screen.getPath();
+            node.requiredMask = effectiveMask(screen, byPath, index);
+        }
+    }
+
+    /**
+     * Find the screen route governing a request path.
+     *
+     * @param requestPath The request path, relative to the plugin's route prefix
+     * @return The longest matching route, or null if no screen owns the path
+     */
+    public Match match(String requestPath) {
+        return match(root, segments(requestPath), 0, null);
+    }
+
+    private Match match(Node node, String[] segments, int position, Match best) {
+        if (node.path != null) {
+            best = new Match(node.path, node.requiredMask);
+        }
+        if (position == segments.length) {
+            return best;
+        }
+
+        // Literal segments take precedence over wildcards
+        Node literal = node.children.get(segments[position]);
+        if (literal != null) {
+            Match found = match(literal, segments, position + 1, best);
+            if (found != best) {
+                return found;
+            }
+        }
+        if (node.wildcard != null) {
+            return match(node.wildcard, segments, position + 1, best);
+        }
+        return best;
+    }
+
+    private static long[] effectiveMask(ScreenDefinition screen, Map<String, ScreenDefinition> byPath,
+                                        PermissionIndex index) {
+        long[] mask = index.requiredMask(screen.getPath()).clone();
+        Set<String> seen = new HashSet<>();
+        seen.add(screen.getPath());
+
+        ScreenDefinition parent = byPath.get(screen.getParent());
+        while (parent != null && seen.add(parent.getPath())) {
+            long[] parentMask = index.requiredMask(parent.getPath());
+            for (int i = 0; i < mask.length; i++) {
+                mask[i] |= parentMask[i];
+            }
+            parent = byPath.get(parent.getParent());
+        }
+        return mask;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return segment.equals(WILDCARD) || (segment.startsWith("{") && segment.endsWith("}"));
+    }
+
+    private static String[] segments(String path) {
+        if (path == null) {
+            return new String[0];
+        }
+        return Arrays.stream(path.split("/"))
+            .filter(segment -> !segment.isEmpty())
+            .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,52 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.config.PluginProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that enforces {@code @PluginScreen} permissions on screen routes.
+ *
+ * <p>The caller's identity and permissions are read from request headers set
+ * by the Elaro gateway (see {@code elaro.plugin.security.*}). The path is
+ * decoded and stripped of matrix parameters before matching, as the router
+ * does. Requests to paths that are not screen routes pass through untouched.</p>
+ */
+@Slf4j
+public class ScreenPermissionFilter extends OncePerRequestFilter {
+
+    private final ScreenAccessEvaluator evaluator;
+    private final String principalHeader;
+    private final String permissionsHeader;
+
+    public ScreenPermissionFilter(ScreenAccessEvaluator evaluator, PluginProperties properties) {
+        this.evaluator = evaluator;
+        this.principalHeader = properties.getSecurity().getPrincipalHeader();
+        this.permissionsHeader = properties.getSecurity().getPermissionsHeader();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = ScreenRequestPaths.normalize(
+            RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication());
+        ScreenAccessEvaluator.Decision decision = evaluator.check(path,
+            request.getHeader(principalHeader), request.getHeader(permissionsHeader));
+
+        switch (decision) {
+            case UNAUTHENTICATED -> response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            case DENIED -> {
+                log.debug("Denied {} to {}", path, request.getHeader(principalHeader));
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            }
+            default -> filterChain.doFilter(request, response);
+        }
+    }
+}
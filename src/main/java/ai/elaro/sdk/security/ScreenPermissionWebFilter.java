@@ -0,0 +1,51 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.config.PluginProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter that enforces {@code @PluginScreen} permissions on screen routes.
+ * Reactive counterpart of {@link ScreenPermissionFilter}.
+ */
+@Slf4j
+public class ScreenPermissionWebFilter implements WebFilter {
+
+    private final ScreenAccessEvaluator evaluator;
+    private final String principalHeader;
+    private final String permissionsHeader;
+
+    public ScreenPermissionWebFilter(ScreenAccessEvaluator evaluator, PluginProperties properties) {
+        this.evaluator = evaluator;
+        this.principalHeader = properties.getSecurity().getPrincipalHeader();
+        this.permissionsHeader = properties.getSecurity().getPermissionsHeader();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = ScreenRequestPaths.normalize(exchange.getRequest().getPath().pathWithinApplication());
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        ScreenAccessEvaluator.Decision decision = evaluator.check(path,
+            headers.getFirst(principalHeader), headers.getFirst(permissionsHeader));
+
+        switch (decision) {
+            case UNAUTHENTICATED -> {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+            case DENIED -> {
+                log.debug("Denied {} to {}", path, headers.getFirst(principalHeader));
+                exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+                return exchange.getResponse().setComplete();
+            }
+            default -> {
+                return chain.filter(exchange);
+            }
+        }
+    }
+}
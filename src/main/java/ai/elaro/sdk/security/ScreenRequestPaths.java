@@ -0,0 +1,47 @@
+package ai.elaro.sdk.security;
+
+import org.springframework.http.server.PathContainer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Turns a request path into the form screen routes are matched against.
+ *
+ * <p>Spring MVC and WebFlux route on decoded path segments with matrix
+ * parameters removed, so {@code /invoices;x=1} and {@code /%69nvoices} both
+ * reach {@code /invoices}. The permission filters must see the same path, or
+ * such requests would find no protected screen and pass. Dot segments are
+ * resolved as well, so {@code /public/../invoices} is checked as
+ * {@code /invoices} whether or not the router resolves them.</p>
+ */
+final class ScreenRequestPaths {
+
+    private ScreenRequestPaths() {
+    }
+
+    /**
+     * The decoded, normalized path of a request.
+     *
+     * @param path The path within the application, as parsed by Spring
+     * @return The path as {@code /}-separated decoded segments
+     */
+    static String normalize(PathContainer path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment segment)) {
+                continue;
+            }
+            String value = segment.valueToMatch();
+            if (value.isEmpty() || value.equals(".")) {
+                continue;
+            }
+            if (value.equals("..")) {
+                segments.pollLast();
+            } else {
+                segments.addLast(value);
+            }
+        }
+        return "/" + String.join("/", segments);
+    }
+}
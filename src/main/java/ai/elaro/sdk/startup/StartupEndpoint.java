@@ -0,0 +1,26 @@
+package ai.elaro.sdk.startup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint serving the SDK startup timeline at
+ * {@code /actuator/elarostartup}. Like any actuator endpoint it is only
+ * reachable once exposed through {@code management.endpoints.web.exposure.include},
+ * and is secured together with the rest of the management endpoints.
+ */
+@Endpoint(id = "elarostartup")
+@RequiredArgsConstructor
+public class StartupEndpoint {
+
+    private final StartupTimeline timeline;
+
+    /**
+     * Get the SDK startup timeline.
+     */
+    @ReadOperation
+    public StartupReport startup() {
+        return timeline.getReport();
+    }
+}
@@ -0,0 +1,23 @@
+package ai.elaro.sdk.startup;
+
+import java.util.Map;
+
+/**
+ * One recorded phase of SDK startup.
+ *
+ * @param name Phase name, or the bean name for bean creation
+ * @param category {@code bean}, {@code registration}, {@code kafka} or {@code screens}
+ * @param startMillis Milliseconds from JVM start to the start of the phase
+ * @param durationMillis Length of the phase
+ * @param thread Thread the phase ran on
+ * @param tags Additional detail, such as the number of screens found
+ */
+public record StartupPhase(
+    String name,
+    String category,
+    long startMillis,
+    double durationMillis,
+    String thread,
+    Map<String, String> tags
+) {
+}
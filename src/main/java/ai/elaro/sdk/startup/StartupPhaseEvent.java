@@ -0,0 +1,23 @@
+package ai.elaro.sdk.startup;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event committed for every SDK startup phase when
+ * {@code elaro.plugin.startup.jfr} is set.
+ */
+@Name("ai.elaro.sdk.StartupPhase")
+@Label("Elaro Startup Phase")
+@Category({"Elaro", "Startup"})
+@Description("A phase of Elaro Plugin SDK startup")
+final class StartupPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Category")
+    String category;
+}
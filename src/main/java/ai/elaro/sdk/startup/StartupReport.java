@@ -0,0 +1,22 @@
+package ai.elaro.sdk.startup;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * SDK startup timeline served by the {@code elarostartup} actuator endpoint.
+ *
+ * @param jvmStartedAt When the JVM started
+ * @param readyMillis Milliseconds from JVM start to the application being
+ *                    ready, or null before then
+ * @param sdkBeanMillis Wall-clock time spent creating SDK beans, with nested
+ *                      bean creation counted once
+ * @param phases Completed phases, by start time
+ */
+public record StartupReport(
+    Instant jvmStartedAt,
+    Long readyMillis,
+    double sdkBeanMillis,
+    List<StartupPhase> phases
+) {
+}
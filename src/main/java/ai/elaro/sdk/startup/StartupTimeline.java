@@ -0,0 +1,261 @@
+package ai.elaro.sdk.startup;
+
+import ai.elaro.sdk.metrics.PluginMetrics;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records the phases of SDK startup: creation of each SDK bean, the start of
+ * the registration beacon, the first Kafka send and acknowledgment, and
+ * screen discovery.
+ *
+ * <p>Every phase is also opened as a {@link StartupStep} named
+ * {@code elaro.<category>} on the application's {@link ApplicationStartup},
+ * so it shows up in {@code /actuator/startup} or Java Flight Recorder when
+ * the application configures a buffering or flight recorder startup. With
+ * JFR enabled, each phase is committed as an {@code ai.elaro.sdk.StartupPhase}
+ * event as well. Completed phases are reported to {@link PluginMetrics}.</p>
+ *
+ * <pre>
+ * try (StartupTimeline.Phase phase = timeline.begin("screens.discover", "screens")) {
+ *     phase.tag("source", "index");
+ * }
+ * </pre>
+ */
+public class StartupTimeline {
+
+    /**
+     * Timeline that records nothing, used when startup recording is off.
+     */
+    public static final StartupTimeline NOOP = new StartupTimeline(false);
+
+    private static final String BEAN_CATEGORY = "bean";
+
+    private final boolean enabled;
+    private final long jvmStartMillis;
+    private final List<Recorded> recorded = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    private volatile boolean jfr = false;
+    private volatile Long readyMillis;
+    private PluginMetrics metrics = PluginMetrics.NOOP;
+
+    public StartupTimeline() {
+        this(true);
+    }
+
+    private StartupTimeline(boolean enabled) {
+        this.enabled = enabled;
+        this.jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    /**
+     * Start a phase. End it with {@link Phase#end()} or try-with-resources.
+     *
+     * @param name Phase name
+     * @param category Phase category
+     */
+    public Phase begin(String name, String category) {
+        if (!enabled) {
+            return Phase.NOOP;
+        }
+        StartupStep step = applicationStartup.start("elaro." + category).tag("phase", name);
+        StartupPhaseEvent event = null;
+        if (jfr) {
+            event = new StartupPhaseEvent();
+            event.phase = name;
+            event.category = category;
+            event.begin();
+        }
+        return new Phase(this, name, category, step, event);
+    }
+
+    /**
+     * Open phases as steps on this application startup as well.
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup != null ? applicationStartup : ApplicationStartup.DEFAULT;
+    }
+
+    /**
+     * Commit a JFR event for every phase.
+     */
+    public void setJfrEnabled(boolean jfr) {
+        this.jfr = jfr;
+    }
+
+    /**
+     * Report phases to metrics, including those completed before this call.
+     */
+    public void bindMetrics(PluginMetrics metrics) {
+        lock.lock();
+        try {
+            this.metrics = metrics;
+            for (Recorded phase : recorded) {
+                report(metrics, phase);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record that the application is ready.
+     */
+    public void markReady() {
+        if (enabled && readyMillis == null) {
+            readyMillis = System.currentTimeMillis() - jvmStartMillis;
+        }
+    }
+
+    /**
+     * Completed phases, by start time.
+     */
+    public List<StartupPhase> getPhases() {
+        lock.lock();
+        try {
+            return recorded.stream()
+                .sorted(Comparator.comparingLong(Recorded::startNanos))
+                .map(Recorded::phase)
+                .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The timeline as served by {@link StartupEndpoint}.
+     */
+    public StartupReport getReport() {
+        List<Recorded> beans;
+        lock.lock();
+        try {
+            beans = recorded.stream()
+                .filter(phase -> BEAN_CATEGORY.equals(phase.phase().category()))
+                .sorted(Comparator.comparingLong(Recorded::startNanos))
+                .toList();
+        } finally {
+            lock.unlock();
+        }
+        // Bean creation nests, so count overlapping intervals once
+        long beanNanos = 0;
+        long coveredUntil = Long.MIN_VALUE;
+        for (Recorded bean : beans) {
+            long start = Math.max(bean.startNanos(), coveredUntil);
+            if (bean.endNanos() > start) {
+                beanNanos += bean.endNanos() - start;
+                coveredUntil = bean.endNanos();
+            }
+        }
+        return new StartupReport(Instant.ofEpochMilli(jvmStartMillis), readyMillis, beanNanos / 1e6, getPhases());
+    }
+
+    private void complete(Phase phase, long endNanos) {
+        Recorded done = new Recorded(new StartupPhase(phase.name, phase.category,
+            phase.startMillis - jvmStartMillis, (endNanos - phase.startNanos) / 1e6, phase.thread,
+            Map.copyOf(phase.tags)), phase.startNanos, endNanos);
+        lock.lock();
+        try {
+            recorded.add(done);
+            report(metrics, done);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void report(PluginMetrics metrics, Recorded phase) {
+        metrics.startupPhaseCompleted(phase.phase().name(), phase.phase().category(),
+            Duration.ofNanos(phase.endNanos() - phase.startNanos()));
+    }
+
+    private record Recorded(StartupPhase phase, long startNanos, long endNanos) {
+    }
+
+    /**
+     * A phase in progress. Ending it more than once has no effect.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        private static final Phase NOOP = new Phase(null, null, null, null, null);
+
+        private final StartupTimeline timeline;
+        private final String name;
+        private final String category;
+        private final StartupStep step;
+        private final StartupPhaseEvent event;
+        private final long startMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private final String thread = Thread.currentThread().getName();
+        private final Map<String, String> tags = new LinkedHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean ended;
+
+        private Phase(StartupTimeline timeline, String name, String category, StartupStep step,
+                      StartupPhaseEvent event) {
+            this.timeline = timeline;
+            this.name = name;
+            this.category = category;
+            this.step = step;
+            this.event = event;
+        }
+
+        /**
+         * Add detail to the phase.
+         */
+        public Phase tag(String key, Object value) {
+            if (timeline == null) {
+                return this;
+            }
+            lock.lock();
+            try {
+                if (!ended) {
+                    String text = String.valueOf(value);
+                    tags.put(key, text);
+                    step.tag(key, text);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return this;
+        }
+
+        /**
+         * End the phase and record it.
+         */
+        public void end() {
+            long endNanos = System.nanoTime();
+            if (timeline == null) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (ended) {
+                    return;
+                }
+                ended = true;
+            } finally {
+                lock.unlock();
+            }
+            step.end();
+            if (event != null) {
+                event.commit();
+            }
+            timeline.complete(this, endNanos);
+        }
+
+        @Override
+        public void close() {
+            end();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ai.elaro.sdk.startup;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times the creation of every SDK bean, from instantiation through
+ * {@code @PostConstruct}, into a {@link StartupTimeline}, and marks the
+ * timeline ready once the application is.
+ *
+ * <p>SDK beans are those whose class is in {@code ai.elaro.sdk} or that are
+ * declared by an SDK configuration class. Registered as a static bean so
+ * that it is in place before the SDK's own beans are created, and only when
+ * {@code elaro.plugin.startup.enabled=true}.</p>
+ *
+ * <p>A bean whose creation fails never reaches
+ * {@link #postProcessAfterInitialization}. Its phase is ended, tagged
+ * {@code outcome=failed}, when the bean is created again or when the
+ * application is ready, so nothing stays open for the life of the
+ * application.</p>
+ */
+public class StartupTimelineRecorder implements InstantiationAwareBeanPostProcessor, PriorityOrdered,
+        BeanFactoryAware, ApplicationStartupAware, EnvironmentAware, ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * Property that turns on a JFR event per phase.
+     */
+    public static final String JFR_PROPERTY = "elaro.plugin.startup.jfr";
+
+    private static final String SDK_PACKAGE = "ai.elaro.sdk.";
+    private static final String BEAN_CATEGORY = "bean";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String FAILED = "failed";
+
+    private final StartupTimeline timeline = new StartupTimeline();
+    private final Map<String, StartupTimeline.Phase> creating = new ConcurrentHashMap<>();
+    private ConfigurableListableBeanFactory beanFactory;
+
+    /**
+     * The timeline this recorder writes to.
+     */
+    public StartupTimeline getTimeline() {
+        return timeline;
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        if (isSdkBean(beanClass, beanName)) {
+            StartupTimeline.Phase abandoned = creating.put(beanName, timeline.begin(beanName, BEAN_CATEGORY));
+            if (abandoned != null) {
+                // The previous attempt failed before initialization completed
+                abandoned.tag(OUTCOME_TAG, FAILED).end();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        StartupTimeline.Phase phase = creating.remove(beanName);
+        if (phase != null) {
+            phase.end();
+        }
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        // Beans whose creation failed and was not retried
+        for (String beanName : creating.keySet()) {
+            StartupTimeline.Phase abandoned = creating.remove(beanName);
+            if (abandoned != null) {
+                abandoned.tag(OUTCOME_TAG, FAILED).end();
+            }
+        }
+        timeline.markReady();
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        if (beanFactory instanceof ConfigurableListableBeanFactory listable) {
+            this.beanFactory = listable;
+        }
+    }
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        timeline.setApplicationStartup(applicationStartup);
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        timeline.setJfrEnabled(environment.getProperty(JFR_PROPERTY, Boolean.class, false));
+    }
+
+    @Override
+    public int getOrder() {
+        // Before CommonAnnotationBeanPostProcessor, so @PostConstruct is inside the phase
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private boolean isSdkBean(Class<?> beanClass, String beanName) {
+        if (beanClass != null && beanClass.getName().startsWith(SDK_PACKAGE)) {
+            return true;
+        }
+        if (beanFactory == null || !beanFactory.containsBeanDefinition(beanName)) {
+            return false;
+        }
+        BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+        String factoryBeanName = definition.getFactoryBeanName();
+        return factoryBeanName != null && factoryBeanName.startsWith(SDK_PACKAGE);
+    }
+}
@@ -0,0 +1,19 @@
+package ai.elaro.sdk.tracing;
+
+import org.slf4j.MDC;
+
+/**
+ * Fallback resolver reading {@code traceparent}, or {@code traceId} and
+ * {@code spanId}, from the SLF4J MDC.
+ */
+public class MdcTraceContextResolver implements TraceContextResolver {
+
+    @Override
+    public TraceContext current() {
+        TraceContext context = TraceContext.fromTraceparent(MDC.get(TraceContext.TRACEPARENT));
+        if (context != null) {
+            return context;
+        }
+        return TraceContext.fromHex(MDC.get("traceId"), MDC.get("spanId"), true);
+    }
+}
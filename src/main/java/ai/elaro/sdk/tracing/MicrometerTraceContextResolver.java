@@ -0,0 +1,32 @@
+package ai.elaro.sdk.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Reads the current span from Micrometer Tracing. Resolves nothing when the
+ * application has no {@link Tracer}.
+ */
+public class MicrometerTraceContextResolver implements TraceContextResolver {
+
+    private final Tracer tracer;
+
+    /**
+     * @param tracer The application's tracer, or null
+     */
+    public MicrometerTraceContextResolver(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public ai.elaro.sdk.tracing.TraceContext current() {
+        Span span = tracer != null ? tracer.currentSpan() : null;
+        if (span == null) {
+            return null;
+        }
+        TraceContext context = span.context();
+        return ai.elaro.sdk.tracing.TraceContext.fromHex(context.traceId(), context.spanId(),
+            Boolean.TRUE.equals(context.sampled()));
+    }
+}
@@ -0,0 +1,19 @@
+package ai.elaro.sdk.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+
+/**
+ * Reads the current span from the OpenTelemetry API.
+ */
+public class OpenTelemetryTraceContextResolver implements TraceContextResolver {
+
+    @Override
+    public TraceContext current() {
+        SpanContext context = Span.current().getSpanContext();
+        if (!context.isValid()) {
+            return null;
+        }
+        return TraceContext.fromHex(context.getTraceId(), context.getSpanId(), context.isSampled());
+    }
+}
@@ -0,0 +1,104 @@
+package ai.elaro.sdk.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Captures the caller's trace context for SDK records and wraps a sampled
+ * fraction of SDK sends in observations, which become spans when a tracing
+ * bridge is present.
+ *
+ * <p>Resolvers are consulted in order and the MDC is used as a last resort.
+ * Sampling is decided per send with {@code elaro.plugin.tracing.sample-rate},
+ * so span overhead stays bounded regardless of log volume.</p>
+ */
+public class PluginTracing {
+
+    /**
+     * Tracing that captures nothing and creates no spans.
+     */
+    public static final PluginTracing DISABLED = new PluginTracing(List.of(), ObservationRegistry.NOOP, 0, false);
+
+    private final TraceContextResolver[] resolvers;
+    private final ObservationRegistry observationRegistry;
+    private final double sampleRate;
+    private final boolean enabled;
+
+    public PluginTracing(List<TraceContextResolver> resolvers, ObservationRegistry observationRegistry,
+                         double sampleRate, boolean enabled) {
+        TraceContextResolver[] all = resolvers.toArray(new TraceContextResolver[resolvers.size() + 1]);
+        all[resolvers.size()] = new MdcTraceContextResolver();
+        this.resolvers = all;
+        this.observationRegistry = observationRegistry;
+        this.sampleRate = sampleRate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * The trace context active on the calling thread, or null.
+     */
+    public TraceContext current() {
+        if (!enabled) {
+            return null;
+        }
+        for (TraceContextResolver resolver : resolvers) {
+            TraceContext context = resolver.current();
+            if (context != null) {
+                return context;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record headers carrying the given trace context.
+     *
+     * @param context The context, may be null
+     */
+    public static Map<String, String> headers(TraceContext context) {
+        return context != null ? Map.of(TraceContext.TRACEPARENT, context.toTraceparent()) : Map.of();
+    }
+
+    /**
+     * Run a send, wrapping a sampled fraction of calls in an observation that
+     * stays open until the returned future completes.
+     *
+     * @param name Observation name
+     * @param topic Destination topic
+     * @param send The send to run
+     * @return The send's future
+     */
+    public <T> CompletableFuture<T> observeSend(String name, String topic, Supplier<CompletableFuture<T>> send) {
+        if (!enabled || observationRegistry.isNoop() || !sampled()) {
+            return send.get();
+        }
+
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+            .lowCardinalityKeyValue("messaging.destination.name", topic)
+            .start();
+        CompletableFuture<T> future;
+        try {
+            future = observation.scoped(send);
+        } catch (RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                observation.error(ex);
+            }
+            observation.stop();
+        });
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,93 @@
+package ai.elaro.sdk.tracing;
+
+/**
+ * W3C trace context held as binary IDs: a 128-bit trace ID in two longs and a
+ * 64-bit span ID. Converted to hex only when written to a header or message.
+ *
+ * @param traceIdHigh Upper 64 bits of the trace ID
+ * @param traceIdLow Lower 64 bits of the trace ID
+ * @param spanId Span ID
+ * @param sampled Whether the trace is sampled
+ */
+public record TraceContext(long traceIdHigh, long traceIdLow, long spanId, boolean sampled) {
+
+    /**
+     * Header name defined by W3C Trace Context.
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    /**
+     * Parse a {@code traceparent} header value.
+     *
+     * @param traceparent Header value, e.g. {@code 00-<32 hex>-<16 hex>-01}
+     * @return The context, or null if the value is absent or malformed
+     */
+    public static TraceContext fromTraceparent(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        try {
+            int flags = Integer.parseInt(traceparent.substring(53, 55), 16);
+            return valid(new TraceContext(
+                Long.parseUnsignedLong(traceparent.substring(3, 19), 16),
+                Long.parseUnsignedLong(traceparent.substring(19, 35), 16),
+                Long.parseUnsignedLong(traceparent.substring(36, 52), 16),
+                (flags & 1) == 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Build a context from hex IDs as exposed by tracing libraries.
+     *
+     * @param traceId 16 or 32 hex characters
+     * @param spanId 16 hex characters
+     * @param sampled Whether the trace is sampled
+     * @return The context, or null if either ID is absent or malformed
+     */
+    public static TraceContext fromHex(String traceId, String spanId, boolean sampled) {
+        if (traceId == null || spanId == null || spanId.length() != 16
+                || (traceId.length() != 16 && traceId.length() != 32)) {
+            return null;
+        }
+        try {
+            long high = traceId.length() == 32 ? Long.parseUnsignedLong(traceId.substring(0, 16), 16) : 0;
+            long low = Long.parseUnsignedLong(traceId.substring(traceId.length() - 16), 16);
+            return valid(new TraceContext(high, low, Long.parseUnsignedLong(spanId, 16), sampled));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Trace ID as 32 lowercase hex characters.
+     */
+    public String traceIdHex() {
+        return hex(traceIdHigh) + hex(traceIdLow);
+    }
+
+    /**
+     * Span ID as 16 lowercase hex characters.
+     */
+    public String spanIdHex() {
+        return hex(spanId);
+    }
+
+    /**
+     * Format as a {@code traceparent} header value.
+     */
+    public String toTraceparent() {
+        return "00-" + traceIdHex() + "-" + spanIdHex() + (sampled ? "-01" : "-00");
+    }
+
+    private static TraceContext valid(TraceContext context) {
+        return (context.traceIdHigh != 0 || context.traceIdLow != 0) && context.spanId != 0 ? context : null;
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0".repeat(16 - digits.length()) + digits;
+    }
+}
@@ -0,0 +1,13 @@
+package ai.elaro.sdk.tracing;
+
+/**
+ * Source of the trace context active on the calling thread.
+ */
+@FunctionalInterface
+public interface TraceContextResolver {
+
+    /**
+     * The current trace context, or null if none is active.
+     */
+    TraceContext current();
+}
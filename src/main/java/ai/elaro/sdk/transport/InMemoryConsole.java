@@ -0,0 +1,151 @@
+package ai.elaro.sdk.transport;
+
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.kafka.PluginKafkaProducer;
+import ai.elaro.sdk.load.InstanceStatus;
+import ai.elaro.sdk.registration.PluginManifest;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Stand-in for the Elaro console that answers announcements over a
+ * {@link PluginTransport}. Every announcement is accepted unless a custom
+ * decision function is set, and LEAVING announcements remove the instance.
+ * Acks go to the announcement's reply topic, if any, with its correlation ID.
+ */
+@Slf4j
+public class InMemoryConsole implements AutoCloseable {
+
+    private final PluginTransport transport;
+    private final PluginMessageCodec codec;
+    private final String ackTopic;
+    private final Map<String, PluginManifest> instances = new ConcurrentHashMap<>();
+    private final Map<String, InstanceStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong announcements = new AtomicLong();
+    private final AtomicLong logRecords = new AtomicLong();
+    private final TransportSubscription announceSubscription;
+    private final TransportSubscription statusSubscription;
+    private final TransportSubscription logSubscription;
+
+    private volatile Function<PluginManifest, AckMessage> decision = InMemoryConsole::accept;
+
+    public InMemoryConsole(PluginTransport transport, PluginMessageCodec codec,
+                           String announceTopic, String ackTopic, String statusTopic, String logTopic) {
+        this.transport = transport;
+        this.codec = codec;
+        this.ackTopic = ackTopic;
+        this.announceSubscription = transport.subscribe(announceTopic, this::onAnnouncement);
+        this.statusSubscription = transport.subscribe(statusTopic, this::onStatus);
+        this.logSubscription = transport.subscribe(logTopic, record -> logRecords.incrementAndGet());
+    }
+
+    /**
+     * Replace the acknowledgment decision. Return null to leave an
+     * announcement unanswered.
+     *
+     * @param decision Function from announcement to acknowledgment
+     */
+    public void setDecision(Function<PluginManifest, AckMessage> decision) {
+        this.decision = decision;
+    }
+
+    /**
+     * Latest announcement per instance ID.
+     */
+    public Map<String, PluginManifest> getInstances() {
+        return Map.copyOf(instances);
+    }
+
+    /**
+     * Latest status message per instance ID.
+     */
+    public Map<String, InstanceStatus> getStatuses() {
+        return Map.copyOf(statuses);
+    }
+
+    /**
+     * Total announcements received.
+     */
+    public long getAnnouncementCount() {
+        return announcements.get();
+    }
+
+    /**
+     * Total log records received.
+     */
+    public long getLogRecordCount() {
+        return logRecords.get();
+    }
+
+    @Override
+    public void close() {
+        announceSubscription.close();
+        statusSubscription.close();
+        logSubscription.close();
+    }
+
+    private void onAnnouncement(TransportRecord record) {
+        try {
+            PluginManifest manifest = codec.decodeManifest(record.value());
+            announcements.incrementAndGet();
+            if (manifest.getStatus() == RegistrationStatus.LEAVING) {
+                if (manifest.getInstanceId() != null) {
+                    instances.remove(manifest.getInstanceId());
+                    statuses.remove(manifest.getInstanceId());
+                }
+                return;
+            }
+            if (manifest.getInstanceId() != null) {
+                instances.put(manifest.getInstanceId(), manifest);
+            }
+
+            AckMessage ack = decision.apply(manifest);
+            if (ack != null) {
+                transport.send(reply(record, ackTopic, manifest.getPluginId(), codec.encodeAck(ack)));
+            }
+        } catch (Exception e) {
+            log.warn("In-memory console could not handle announcement: {}", e.getMessage());
+        }
+    }
+
+    private void onStatus(TransportRecord record) {
+        try {
+            InstanceStatus status = codec.decodeStatus(record.value());
+            if (status.getInstanceId() != null) {
+                statuses.put(status.getInstanceId(), status);
+            }
+        } catch (Exception e) {
+            log.warn("In-memory console could not handle status: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Build an ack record addressed to the announcement's reply topic and
+     * carrying its correlation ID, as a request/reply console does.
+     *
+     * @param announcement The announcement being answered
+     * @param defaultTopic Topic used when the announcement names no reply topic
+     */
+    public static TransportRecord reply(TransportRecord announcement, String defaultTopic, String key, byte[] ack) {
+        String replyTopic = announcement.headers().get(PluginKafkaProducer.REPLY_TOPIC_HEADER);
+        String correlationId = announcement.headers().get(PluginKafkaProducer.CORRELATION_ID_HEADER);
+        return new TransportRecord(replyTopic != null ? replyTopic : defaultTopic, key, ack,
+            correlationId != null ? Map.of(PluginKafkaProducer.CORRELATION_ID_HEADER, correlationId) : Map.of());
+    }
+
+    private static AckMessage accept(PluginManifest manifest) {
+        return AckMessage.builder()
+            .pluginId(manifest.getPluginId())
+            .status(RegistrationStatus.ACCEPTED)
+            .environment(manifest.getEnvironment())
+            .tenantId(manifest.getTenantId())
+            .timestamp(Instant.now())
+            .build();
+    }
+}
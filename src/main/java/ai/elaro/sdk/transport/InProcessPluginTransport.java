@@ -0,0 +1,198 @@
+package ai.elaro.sdk.transport;
+
+import ai.elaro.sdk.config.PluginThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-JVM {@link PluginTransport} for tests, benchmarks and load tests.
+ *
+ * <p>Senders enqueue onto a lock-free queue and a single dispatcher thread
+ * delivers records to subscribers in send order. A send completes once its
+ * record has been delivered. Records sent before {@link #start()} are held
+ * and delivered once the dispatcher starts.</p>
+ */
+@Slf4j
+public class InProcessPluginTransport implements PluginTransport, SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ConcurrentLinkedQueue<Envelope> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, List<InProcessSubscription>> subscribers = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final String name;
+    private final PluginThreads threads;
+
+    private volatile Thread dispatcher;
+    private volatile boolean running = false;
+    private volatile boolean parked = false;
+
+    public InProcessPluginTransport(String name, int capacity, PluginThreads threads) {
+        this.name = name;
+        this.capacity = capacity;
+        this.threads = threads;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(TransportRecord record) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("In-process transport queue is full (" + capacity + ")"));
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        queue.offer(new Envelope(record, future));
+        if (parked) {
+            LockSupport.unpark(dispatcher);
+        }
+        return future;
+    }
+
+    @Override
+    public TransportSubscription subscribe(String topic, TransportListener listener) {
+        InProcessSubscription subscription = new InProcessSubscription(topic, listener);
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(subscription);
+        return subscription;
+    }
+
+    @Override
+    public List<TransportSubscription> getSubscriptions() {
+        List<TransportSubscription> all = new ArrayList<>();
+        subscribers.values().forEach(all::addAll);
+        return all;
+    }
+
+    @Override
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public double getSendBufferUsage() {
+        return capacity > 0 ? Math.min(1.0, (double) pending.get() / capacity) : -1;
+    }
+
+    @Override
+    public void flush() {
+        flush(Duration.ofNanos(Long.MAX_VALUE));
+    }
+
+    @Override
+    public boolean flush(Duration timeout) {
+        if (!running || Thread.currentThread() == dispatcher) {
+            return pending.get() == 0;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0 && running) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        return pending.get() == 0;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        dispatcher = threads.start("elaro-transport-" + name, this::dispatch);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch() {
+        while (true) {
+            Envelope envelope = queue.poll();
+            if (envelope == null) {
+                if (!running) {
+                    return;
+                }
+                parked = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                parked = false;
+                continue;
+            }
+            deliver(envelope.record());
+            pending.decrementAndGet();
+            envelope.future().complete(null);
+        }
+    }
+
+    private void deliver(TransportRecord record) {
+        List<InProcessSubscription> targets = subscribers.get(record.topic());
+        if (targets == null) {
+            return;
+        }
+        for (InProcessSubscription subscription : targets) {
+            try {
+                subscription.listener.onRecord(record);
+            } catch (Exception e) {
+                log.error("Transport listener failed for topic {}: {}", record.topic(), e.getMessage());
+            }
+        }
+    }
+
+    private record Envelope(TransportRecord record, CompletableFuture<Void> future) {
+    }
+
+    private final class InProcessSubscription implements TransportSubscription {
+
+        private final String topic;
+        private final TransportListener listener;
+
+        private InProcessSubscription(String topic, TransportListener listener) {
+            this.topic = topic;
+            this.listener = listener;
+        }
+
+        @Override
+        public String topic() {
+            return topic;
+        }
+
+        @Override
+        public boolean isActive() {
+            return running;
+        }
+
+        @Override
+        public void close() {
+            List<InProcessSubscription> list = subscribers.get(topic);
+            if (list != null) {
+                list.remove(this);
+            }
+        }
+    }
+}
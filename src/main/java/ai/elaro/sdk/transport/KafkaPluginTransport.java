@@ -0,0 +1,387 @@
+package ai.elaro.sdk.transport;
+
+import ai.elaro.sdk.startup.StartupTimeline;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.TopicPartitionOffset;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kafka-backed {@link PluginTransport}. Sends through a {@link KafkaTemplate}
+ * and creates one listener container per subscription from the plugin's
+ * container factory.
+ */
+@Slf4j
+public class KafkaPluginTransport implements PluginTransport, SmartLifecycle {
+
+    private static final String PRODUCER_METRICS_GROUP = "producer-metrics";
+    private static final String BUFFER_AVAILABLE_METRIC = "buffer-available-bytes";
+    private static final String BUFFER_TOTAL_METRIC = "buffer-total-bytes";
+    private static final long FLUSH_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Duration PARTITIONS_TIMEOUT = Duration.ofSeconds(10);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory;
+    private final List<TransportSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private volatile boolean running = false;
+    private final AtomicBoolean firstSend = new AtomicBoolean(true);
+    private volatile boolean sending = false;
+    private StartupTimeline startupTimeline = StartupTimeline.NOOP;
+
+    public KafkaPluginTransport(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.containerFactory = containerFactory;
+    }
+
+    /**
+     * Record the first send as startup phases: {@code kafka.first-send} until
+     * the producer is created and has fetched metadata for the topic, and
+     * {@code kafka.first-ack} until the broker acknowledges the record.
+     */
+    public void setStartupTimeline(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(TransportRecord record) {
+        if (firstSend.get() && firstSend.compareAndSet(true, false)) {
+            return sendFirst(record);
+        }
+        return doSend(record);
+    }
+
+    private CompletableFuture<Void> sendFirst(TransportRecord record) {
+        StartupTimeline.Phase ack = startupTimeline.begin("kafka.first-ack", "kafka").tag("topic", record.topic());
+        CompletableFuture<Void> future;
+        // KafkaProducer.send blocks while it fetches metadata for a new topic
+        try (StartupTimeline.Phase phase = startupTimeline.begin("kafka.first-send", "kafka")) {
+            phase.tag("topic", record.topic());
+            future = doSend(record);
+        } catch (RuntimeException e) {
+            ack.tag("outcome", "failure").end();
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> ack.tag("outcome", ex == null ? "success" : "failure").end());
+    }
+
+    private CompletableFuture<Void> doSend(TransportRecord record) {
+        ProducerRecord<String, byte[]> producerRecord =
+            new ProducerRecord<>(record.topic(), record.key(), record.value());
+        record.headers().forEach((name, value) ->
+            producerRecord.headers().add(name, value.getBytes(StandardCharsets.UTF_8)));
+        inFlight.incrementAndGet();
+        sending = true;
+        try {
+            return kafkaTemplate.send(producerRecord)
+                .whenComplete((result, ex) -> inFlight.decrementAndGet())
+                .thenApply(result -> null);
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public TransportSubscription subscribe(String topic, TransportListener listener) {
+        ConcurrentMessageListenerContainer<String, byte[]> container = containerFactory.createContainer(topic);
+        container.getContainerProperties().setMessageListener(
+            (MessageListener<String, byte[]>) consumerRecord -> deliver(listener, consumerRecord));
+        return register(topic, container);
+    }
+
+    /**
+     * Subscribes with a consumer group of its own. Offsets are never
+     * committed, so the group is removed by the broker once the consumer
+     * leaves, and a restarted instance starts from the latest records.
+     */
+    @Override
+    public TransportSubscription subscribeAll(String topic, TransportListener listener) {
+        ConcurrentMessageListenerContainer<String, byte[]> container = containerFactory.createContainer(topic);
+        ContainerProperties containerProperties = container.getContainerProperties();
+        containerProperties.setGroupId(baseGroupId() + "-" + UUID.randomUUID());
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.getKafkaConsumerProperties().setProperty(
+            ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        containerProperties.getKafkaConsumerProperties().setProperty(
+            ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        containerProperties.setMessageListener(
+            (AcknowledgingMessageListener<String, byte[]>) (consumerRecord, acknowledgment) ->
+                deliver(listener, consumerRecord));
+        return register(topic, container);
+    }
+
+    /**
+     * Reads only the partition that Kafka's default partitioner picks for the
+     * key, from a manually assigned consumer outside any consumer group. The
+     * subscription is ready once the consumer has seeked to the end of the
+     * partition and resolved its position, so no record sent after that is
+     * missed. Falls back to {@link #subscribeAll} filtered by key if the
+     * topic's partitions cannot be read.
+     */
+    @Override
+    public TransportSubscription subscribeKey(String topic, String key, TransportListener listener) {
+        int partitions = partitionCount(topic);
+        if (partitions <= 0) {
+            log.warn("Could not read the partitions of {}, reading every record on it", topic);
+            return PluginTransport.super.subscribeKey(topic, key, listener);
+        }
+        ConcurrentMessageListenerContainer<String, byte[]> container = containerFactory.createContainer(
+            new TopicPartitionOffset(topic, partitionForKey(key, partitions), TopicPartitionOffset.SeekPosition.END));
+        ContainerProperties containerProperties = container.getContainerProperties();
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.getKafkaConsumerProperties().setProperty(
+            ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        KeyedListener keyed = new KeyedListener(key, listener);
+        containerProperties.setMessageListener(keyed);
+        return register(topic, container, keyed);
+    }
+
+    /**
+     * The partition Kafka's default partitioner assigns to a String key.
+     */
+    static int partitionForKey(String key, int partitions) {
+        return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % partitions;
+    }
+
+    private int partitionCount(String topic) {
+        try (Consumer<?, ?> consumer = containerFactory.getConsumerFactory().createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic, PARTITIONS_TIMEOUT);
+            return partitions != null ? partitions.size() : 0;
+        } catch (RuntimeException e) {
+            log.debug("Reading the partitions of {} failed: {}", topic, e.getMessage());
+            return 0;
+        }
+    }
+
+    private TransportSubscription register(String topic, ConcurrentMessageListenerContainer<String, byte[]> container) {
+        return register(topic, container, null);
+    }
+
+    private TransportSubscription register(String topic, ConcurrentMessageListenerContainer<String, byte[]> container,
+                                           KeyedListener keyed) {
+        container.setBeanName("elaroTransport-" + topic);
+        KafkaSubscription subscription = new KafkaSubscription(topic, container, keyed);
+        subscriptions.add(subscription);
+        if (running) {
+            container.start();
+        }
+        return subscription;
+    }
+
+    @Override
+    public List<TransportSubscription> getSubscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    @Override
+    public long getPendingCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Derived from the producer's {@code buffer-available-bytes} and
+     * {@code buffer-total-bytes} metrics. Unknown until the first send, so
+     * that reading it does not create the producer.
+     */
+    @Override
+    public double getSendBufferUsage() {
+        if (!sending) {
+            return -1;
+        }
+        double available = -1;
+        double total = -1;
+        try {
+            for (Map.Entry<MetricName, ? extends Metric> metric : kafkaTemplate.metrics().entrySet()) {
+                if (!PRODUCER_METRICS_GROUP.equals(metric.getKey().group())) {
+                    continue;
+                }
+                if (BUFFER_AVAILABLE_METRIC.equals(metric.getKey().name())) {
+                    available = ((Number) metric.getValue().metricValue()).doubleValue();
+                } else if (BUFFER_TOTAL_METRIC.equals(metric.getKey().name())) {
+                    total = ((Number) metric.getValue().metricValue()).doubleValue();
+                }
+            }
+        } catch (RuntimeException e) {
+            return -1;
+        }
+        if (available < 0 || total <= 0) {
+            return -1;
+        }
+        return Math.max(0.0, Math.min(1.0, 1.0 - available / total));
+    }
+
+    @Override
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    /**
+     * Waits for sends made so far to complete, without blocking in
+     * {@code KafkaProducer.flush()}. Every send completes, acknowledged or
+     * failed, within the producer's {@code delivery.timeout.ms}, so no work is
+     * left running when the timeout expires.
+     */
+    @Override
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(FLUSH_POLL_NANOS);
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (TransportSubscription subscription : subscriptions) {
+            ((KafkaSubscription) subscription).container.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (TransportSubscription subscription : subscriptions) {
+            ((KafkaSubscription) subscription).container.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private String baseGroupId() {
+        Object groupId = containerFactory.getConsumerFactory().getConfigurationProperties()
+            .get(ConsumerConfig.GROUP_ID_CONFIG);
+        return groupId != null ? groupId.toString() : "elaro-plugin";
+    }
+
+    private void deliver(TransportListener listener, ConsumerRecord<String, byte[]> consumerRecord) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : consumerRecord.headers()) {
+            headers.put(header.key(), new String(header.value(), StandardCharsets.UTF_8));
+        }
+        try {
+            listener.onRecord(new TransportRecord(
+                consumerRecord.topic(), consumerRecord.key(), consumerRecord.value(), headers));
+        } catch (Exception e) {
+            log.error("Transport listener failed for topic {}: {}", consumerRecord.topic(), e.getMessage());
+        }
+    }
+
+    /**
+     * Delivers the records with one key and tracks whether the consumer has
+     * resolved its position at the end of the partition.
+     */
+    private final class KeyedListener implements AcknowledgingMessageListener<String, byte[]>, ConsumerSeekAware {
+
+        private final String key;
+        private final TransportListener listener;
+        private volatile boolean positioned = false;
+
+        private KeyedListener(String key, TransportListener listener) {
+            this.key = key;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onMessage(ConsumerRecord<String, byte[]> consumerRecord, Acknowledgment acknowledgment) {
+            if (key.equals(consumerRecord.key())) {
+                deliver(listener, consumerRecord);
+            }
+        }
+
+        /**
+         * Called after the container has sought to the end and read the
+         * position back, which makes the lazy seek take effect.
+         */
+        @Override
+        public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+            positioned = true;
+        }
+
+        @Override
+        public void unregisterSeekCallback() {
+            positioned = false;
+        }
+    }
+
+    /**
+     * Subscription backed by a dedicated listener container.
+     */
+    private final class KafkaSubscription implements TransportSubscription {
+
+        private final String topic;
+        private final ConcurrentMessageListenerContainer<String, byte[]> container;
+        private final KeyedListener keyed;
+
+        private KafkaSubscription(String topic, ConcurrentMessageListenerContainer<String, byte[]> container,
+                                  KeyedListener keyed) {
+            this.topic = topic;
+            this.container = container;
+            this.keyed = keyed;
+        }
+
+        @Override
+        public String topic() {
+            return topic;
+        }
+
+        @Override
+        public boolean isActive() {
+            return container.isRunning();
+        }
+
+        @Override
+        public boolean isReady() {
+            return container.isRunning() && assignedPartitions() > 0 && (keyed == null || keyed.positioned);
+        }
+
+        @Override
+        public int assignedPartitions() {
+            return container.getAssignedPartitions() != null ? container.getAssignedPartitions().size() : 0;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            container.stop();
+        }
+    }
+}
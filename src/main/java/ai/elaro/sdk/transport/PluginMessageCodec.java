@@ -0,0 +1,120 @@
+package ai.elaro.sdk.transport;
+
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.load.InstanceStatus;
+import ai.elaro.sdk.logging.LogBatch;
+import ai.elaro.sdk.logging.LogLevelCommand;
+import ai.elaro.sdk.logging.LogMessage;
+import ai.elaro.sdk.registration.PluginManifest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes SDK messages as UTF-8 JSON bytes.
+ *
+ * <p>Readers and writers are resolved once per message type, so the hot
+ * paths skip the mapper's per-call type lookup and never go through an
+ * intermediate String.</p>
+ */
+@Slf4j
+public class PluginMessageCodec {
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private final ObjectWriter manifestWriter;
+    private final ObjectReader manifestReader;
+    private final ObjectWriter ackWriter;
+    private final ObjectReader ackReader;
+    private final ObjectWriter logWriter;
+    private final ObjectReader logReader;
+    private final ObjectWriter logBatchWriter;
+    private final ObjectReader logBatchReader;
+    private final ObjectWriter statusWriter;
+    private final ObjectReader statusReader;
+    private final ObjectWriter levelCommandWriter;
+    private final ObjectReader levelCommandReader;
+
+    public PluginMessageCodec(ObjectMapper objectMapper) {
+        this.manifestWriter = objectMapper.writerFor(PluginManifest.class);
+        this.manifestReader = objectMapper.readerFor(PluginManifest.class);
+        this.ackWriter = objectMapper.writerFor(AckMessage.class);
+        this.ackReader = objectMapper.readerFor(AckMessage.class);
+        this.logWriter = objectMapper.writerFor(LogMessage.class);
+        this.logReader = objectMapper.readerFor(LogMessage.class);
+        this.logBatchWriter = objectMapper.writerFor(LogBatch.class);
+        this.logBatchReader = objectMapper.readerFor(LogBatch.class);
+        this.statusWriter = objectMapper.writerFor(InstanceStatus.class);
+        this.statusReader = objectMapper.readerFor(InstanceStatus.class);
+        this.levelCommandWriter = objectMapper.writerFor(LogLevelCommand.class);
+        this.levelCommandReader = objectMapper.readerFor(LogLevelCommand.class);
+    }
+
+    public byte[] encodeManifest(PluginManifest manifest) throws IOException {
+        return manifestWriter.writeValueAsBytes(manifest);
+    }
+
+    public PluginManifest decodeManifest(byte[] bytes) throws IOException {
+        return manifestReader.readValue(bytes);
+    }
+
+    public byte[] encodeAck(AckMessage ack) throws IOException {
+        return ackWriter.writeValueAsBytes(ack);
+    }
+
+    public AckMessage decodeAck(byte[] bytes) throws IOException {
+        return ackReader.readValue(bytes);
+    }
+
+    public byte[] encodeLog(LogMessage message) throws IOException {
+        return logWriter.writeValueAsBytes(message);
+    }
+
+    public LogMessage decodeLog(byte[] bytes) throws IOException {
+        return logReader.readValue(bytes);
+    }
+
+    public byte[] encodeLogBatch(LogBatch batch) throws IOException {
+        return logBatchWriter.writeValueAsBytes(batch);
+    }
+
+    public LogBatch decodeLogBatch(byte[] bytes) throws IOException {
+        return logBatchReader.readValue(bytes);
+    }
+
+    public byte[] encodeStatus(InstanceStatus status) throws IOException {
+        return statusWriter.writeValueAsBytes(status);
+    }
+
+    public InstanceStatus decodeStatus(byte[] bytes) throws IOException {
+        return statusReader.readValue(bytes);
+    }
+
+    public byte[] encodeLevelCommand(LogLevelCommand command) throws IOException {
+        return levelCommandWriter.writeValueAsBytes(command);
+    }
+
+    public LogLevelCommand decodeLevelCommand(byte[] bytes) throws IOException {
+        return levelCommandReader.readValue(bytes);
+    }
+
+    /**
+     * Return a copy of the mapper with the Blackbird module registered, or the
+     * mapper itself when Blackbird is not on the classpath.
+     *
+     * @param objectMapper The mapper to extend
+     * @return Mapper to build the codec from
+     */
+    public static ObjectMapper withBlackbird(ObjectMapper objectMapper) {
+        if (!ClassUtils.isPresent(BLACKBIRD_MODULE, PluginMessageCodec.class.getClassLoader())) {
+            log.warn("elaro.plugin.json.blackbird is enabled but jackson-module-blackbird is not on the classpath");
+            return objectMapper;
+        }
+        return objectMapper.copy().registerModule(new BlackbirdModule());
+    }
+}
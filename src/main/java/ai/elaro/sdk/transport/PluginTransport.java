@@ -0,0 +1,64 @@
+package ai.elaro.sdk.transport;
+
+import java.util.List;
+
+/**
+ * Messaging SPI used by the SDK for announcements, acknowledgments and logs.
+ * Sending is defined by {@link TransportSender}; this interface adds
+ * subscriptions.
+ *
+ * <p>Kafka is the default implementation. {@link InProcessPluginTransport}
+ * delivers records within the JVM so SDK behavior can be benchmarked and
+ * load-tested without a broker. Select one with
+ * {@code elaro.plugin.transport.type}.</p>
+ */
+public interface PluginTransport extends TransportSender {
+
+    /**
+     * Subscribe to a topic. Delivery starts once the transport is running.
+     *
+     * @param topic The topic to subscribe to
+     * @param listener Callback for received records
+     * @return Subscription handle
+     */
+    TransportSubscription subscribe(String topic, TransportListener listener);
+
+    /**
+     * Subscribe so that this instance receives every record on the topic,
+     * instead of sharing the records with other instances of the plugin.
+     * Used for broadcast topics such as logging control.
+     *
+     * @param topic The topic to subscribe to
+     * @param listener Callback for received records
+     * @return Subscription handle
+     */
+    default TransportSubscription subscribeAll(String topic, TransportListener listener) {
+        return subscribe(topic, listener);
+    }
+
+    /**
+     * Subscribe so that this instance receives every record on the topic sent
+     * with the given key. Used for replies, which consoles key by plugin ID,
+     * so that an instance does not read the replies meant for other plugins.
+     *
+     * <p>The default reads every record and drops the other keys. Transports
+     * that partition by key read only the key's partition.</p>
+     *
+     * @param topic The topic to subscribe to
+     * @param key The record key to receive
+     * @param listener Callback for received records
+     * @return Subscription handle
+     */
+    default TransportSubscription subscribeKey(String topic, String key, TransportListener listener) {
+        return subscribeAll(topic, record -> {
+            if (key.equals(record.key())) {
+                listener.onRecord(record);
+            }
+        });
+    }
+
+    /**
+     * Get the active subscriptions.
+     */
+    List<TransportSubscription> getSubscriptions();
+}
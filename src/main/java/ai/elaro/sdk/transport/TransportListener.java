@@ -0,0 +1,15 @@
+package ai.elaro.sdk.transport;
+
+/**
+ * Callback for records received from a subscribed topic.
+ */
+@FunctionalInterface
+public interface TransportListener {
+
+    /**
+     * Handle a received record. Exceptions are logged and do not stop delivery.
+     *
+     * @param record The received record
+     */
+    void onRecord(TransportRecord record);
+}
@@ -0,0 +1,22 @@
+package ai.elaro.sdk.transport;
+
+import java.util.Map;
+
+/**
+ * A single message exchanged over a {@link PluginTransport}.
+ *
+ * @param topic Destination topic
+ * @param key Partitioning key, may be null
+ * @param value Serialized message payload
+ * @param headers Message headers, never null
+ */
+public record TransportRecord(String topic, String key, byte[] value, Map<String, String> headers) {
+
+    public TransportRecord {
+        headers = headers == null ? Map.of() : headers;
+    }
+
+    public TransportRecord(String topic, String key, byte[] value) {
+        this(topic, key, value, Map.of());
+    }
+}
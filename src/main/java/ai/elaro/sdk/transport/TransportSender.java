@@ -0,0 +1,66 @@
+package ai.elaro.sdk.transport;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The sending half of {@link PluginTransport}, for components that only
+ * publish, such as the log pipeline.
+ */
+public interface TransportSender {
+
+    /**
+     * Send a record asynchronously.
+     *
+     * @param record The record to send
+     * @return Future completed when the transport has accepted the record
+     */
+    CompletableFuture<Void> send(TransportRecord record);
+
+    /**
+     * Send several records, letting the transport batch them.
+     *
+     * @param records The records to send
+     * @return Future completed when every record has been accepted
+     */
+    default CompletableFuture<Void> sendAll(Collection<TransportRecord> records) {
+        CompletableFuture<?>[] futures = records.stream()
+            .map(this::send)
+            .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Number of records sent but not yet acknowledged, or -1 if unknown.
+     */
+    default long getPendingCount() {
+        return -1;
+    }
+
+    /**
+     * Fraction of the transport's send buffer in use, from 0 to 1, or -1 if
+     * unknown.
+     */
+    default double getSendBufferUsage() {
+        return -1;
+    }
+
+    /**
+     * Block until records sent so far have been handed off.
+     */
+    void flush();
+
+    /**
+     * Flush, giving up after the timeout. The default flushes without a
+     * bound; transports whose flush can block should override it, as the
+     * SDK's transports do.
+     *
+     * @param timeout Maximum time to wait
+     * @return true if the flush completed in time
+     */
+    default boolean flush(Duration timeout) {
+        flush();
+        return true;
+    }
+}
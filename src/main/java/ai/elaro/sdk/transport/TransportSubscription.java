@@ -0,0 +1,42 @@
+package ai.elaro.sdk.transport;
+
+/**
+ * Handle for an active topic subscription.
+ */
+public interface TransportSubscription extends AutoCloseable {
+
+    /**
+     * The subscribed topic.
+     */
+    String topic();
+
+    /**
+     * Whether records are currently being delivered.
+     */
+    boolean isActive();
+
+    /**
+     * Whether records sent from now on will be delivered. On Kafka this also
+     * requires partitions to be assigned, since a consumer starting from the
+     * latest offset misses records sent before its assignment. A keyed
+     * subscription is only ready once its position at the end of the
+     * partition has been resolved.
+     */
+    default boolean isReady() {
+        return isActive();
+    }
+
+    /**
+     * Number of partitions assigned to this subscription, or 0 where the
+     * transport has no notion of partitions.
+     */
+    default int assignedPartitions() {
+        return 0;
+    }
+
+    /**
+     * Stop delivering records to this subscription.
+     */
+    @Override
+    void close();
+}
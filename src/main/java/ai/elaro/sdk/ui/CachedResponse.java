@@ -0,0 +1,147 @@
+package ai.elaro.sdk.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A pre-serialized JSON response body with its strong ETag and an optional
+ * gzip-compressed variant, built once and served as-is on every request.
+ */
+public final class CachedResponse {
+
+    /**
+     * Bodies smaller than this are not worth compressing.
+     */
+    static final int MIN_COMPRESS_BYTES = 256;
+
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final String etag;
+    private final String gzipEtag;
+
+    private CachedResponse(byte[] body, byte[] gzipBody, String etag, String gzipEtag) {
+        this.body = body;
+        this.gzipBody = gzipBody;
+        this.etag = etag;
+        this.gzipEtag = gzipEtag;
+    }
+
+    /**
+     * Build a cached response from serialized JSON.
+     *
+     * @param json The response body
+     * @return The cached response with ETags and a gzip variant when worthwhile
+     */
+    public static CachedResponse of(byte[] json) {
+        String hash = hash(json);
+        byte[] gzip = json.length >= MIN_COMPRESS_BYTES ? gzip(json) : null;
+        if (gzip != null && gzip.length >= json.length) {
+            gzip = null;
+        }
+        return new CachedResponse(json, gzip,
+            "\"" + hash + "\"",
+            gzip != null ? "\"" + hash + "-gzip\"" : null);
+    }
+
+    /**
+     * Whether a gzip variant exists.
+     */
+    public boolean hasGzip() {
+        return gzipBody != null;
+    }
+
+    /**
+     * The body to send, gzip-compressed if requested and available.
+     */
+    public byte[] body(boolean gzip) {
+        return gzip && gzipBody != null ? gzipBody : body;
+    }
+
+    /**
+     * The strong ETag of the representation that would be sent.
+     */
+    public String etag(boolean gzip) {
+        return gzip && gzipBody != null ? gzipEtag : etag;
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against this response. Either
+     * representation matches, since both carry the same content.
+     *
+     * @param ifNoneMatch The header value, may be null
+     * @return true if the client's copy is current
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an {@code Accept-Encoding} header allows gzip.
+     *
+     * @param acceptEncoding The header value, may be null
+     * @return true if gzip is acceptable
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=") && isZero(param.substring(2))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,134 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.model.MenuDefinition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Functional WebFlux variant of {@link PluginUiController} for reactive
+ * applications. Serves the same /plugin endpoints without a servlet stack.
+ *
+ * <p>Cached bodies from {@link PluginResponseCache} are wrapped in data
+ * buffers without copying, with the same ETag, 304 and gzip handling as
+ * the servlet controller.</p>
+ */
+@RequiredArgsConstructor
+public class PluginReactiveEndpoints {
+
+    private final PluginScreenRegistry screenRegistry;
+    private final PluginResponseCache responseCache;
+
+    /**
+     * Build the router for all plugin endpoints.
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+            .GET("/plugin/manifest", request -> cached(request, responseCache::manifest))
+            .GET("/plugin/screens", request -> cached(request, responseCache::screens))
+            .GET("/plugin/screens/page", this::screensPage)
+            .GET("/plugin/screens/visible",
+                request -> json(screenRegistry.getVisibleScreens(permissionsParam(request))))
+            .GET("/plugin/menu", this::menu)
+            .GET("/plugin/menu/visible",
+                request -> json(screenRegistry.getVisibleMenu(permissionsParam(request))))
+            .GET("/plugin/health", request -> health())
+            .GET("/plugin/info", request -> cached(request, responseCache::info))
+            .build();
+    }
+
+    private Mono<ServerResponse> health() {
+        Map<String, Object> health = responseCache.buildHealth();
+        return ServerResponse.status(PluginResponseCache.healthStatus(health, responseCache.unavailableWhenDown()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(health);
+    }
+
+    private Mono<ServerResponse> screensPage(ServerRequest request) {
+        String parent = request.queryParam("parent").orElse(null);
+        int offset = intParam(request, "offset", 0);
+        int limit = Math.min(intParam(request, "limit", 50), PluginUiController.MAX_PAGE_SIZE);
+        return json(screenRegistry.getScreensPage(parent, offset, limit));
+    }
+
+    private Mono<ServerResponse> menu(ServerRequest request) {
+        String root = request.queryParam("root").orElse(null);
+        List<MenuDefinition> menu = screenRegistry.getMenu(root, intParam(request, "depth", -1));
+        if (menu == null) {
+            return ServerResponse.notFound().build();
+        }
+        return json(menu);
+    }
+
+    private Mono<ServerResponse> cached(ServerRequest request, Supplier<CachedResponse> supplier) {
+        CachedResponse response = supplier.get();
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        boolean gzip = response.hasGzip()
+            && CachedResponse.acceptsGzip(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+
+        if (response.matches(String.join(",", headers.getOrEmpty(HttpHeaders.IF_NONE_MATCH)))) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                .eTag(response.etag(gzip))
+                .cacheControl(responseCache.cacheControl())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        byte[] bytes = response.body(gzip);
+        DataBuffer body = DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+        ServerResponse.BodyBuilder builder = ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .contentLength(bytes.length)
+            .eTag(response.etag(gzip))
+            .cacheControl(responseCache.cacheControl())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(BodyInserters.fromDataBuffers(Mono.just(body)));
+    }
+
+    private static Mono<ServerResponse> json(Object body) {
+        return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body);
+    }
+
+    private static List<String> permissionsParam(ServerRequest request) {
+        List<String> permissions = new ArrayList<>();
+        for (String value : request.queryParams().getOrDefault("permissions", List.of())) {
+            for (String permission : value.split(",")) {
+                if (!permission.isBlank()) {
+                    permissions.add(permission.trim());
+                }
+            }
+        }
+        return permissions;
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name)
+            .map(value -> {
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    return defaultValue;
+                }
+            })
+            .orElse(defaultValue);
+    }
+}
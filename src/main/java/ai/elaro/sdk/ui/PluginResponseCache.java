@@ -0,0 +1,166 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.health.HealthState;
+import ai.elaro.sdk.health.PluginHealthMonitor;
+import ai.elaro.sdk.health.PluginHealthSnapshot;
+import ai.elaro.sdk.registration.PluginManifest;
+import ai.elaro.sdk.registration.PluginRegistrar;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-serialized bodies for the plugin endpoints whose content only changes
+ * when the screen snapshot does: manifest, screens and info.
+ *
+ * <p>Bodies are serialized and compressed once per {@link ScreenSnapshot}
+ * and shared by the servlet and reactive endpoint implementations.</p>
+ */
+@RequiredArgsConstructor
+public class PluginResponseCache {
+
+    private final PluginProperties properties;
+    private final PluginScreenRegistry screenRegistry;
+    private final PluginRegistrar registrar;
+    private final ObjectMapper pluginObjectMapper;
+    private final PluginHealthMonitor healthMonitor;
+
+    private volatile Responses responses;
+
+    private record Responses(ScreenSnapshot snapshot, CachedResponse manifest,
+                             CachedResponse screens, CachedResponse info) {
+    }
+
+    /**
+     * The serialized plugin manifest.
+     */
+    public CachedResponse manifest() {
+        return current().manifest();
+    }
+
+    /**
+     * The serialized screen list.
+     */
+    public CachedResponse screens() {
+        return current().screens();
+    }
+
+    /**
+     * The serialized basic plugin info.
+     */
+    public CachedResponse info() {
+        return current().info();
+    }
+
+    /**
+     * The Cache-Control policy for cached responses.
+     */
+    public CacheControl cacheControl() {
+        int maxAge = properties.getHttp().getCacheMaxAgeSeconds();
+        return maxAge > 0
+            ? CacheControl.maxAge(maxAge, TimeUnit.SECONDS)
+            : CacheControl.noCache();
+    }
+
+    /**
+     * Build the health response from the monitor's cached snapshot. Health
+     * changes at runtime, so this body is not cached.
+     */
+    public Map<String, Object> buildHealth() {
+        PluginHealthSnapshot health = healthMonitor.getSnapshot();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", health.overall().name());
+        response.put("pluginId", properties.getId());
+        response.put("name", properties.getName());
+        response.put("version", properties.getVersion());
+        response.put("registrationStatus", registrar.getStatus().name());
+        response.put("instanceId", registrar.getInstanceId());
+        response.put("kafka", health.kafka());
+        response.put("registration", health.registration());
+        return response;
+    }
+
+    /**
+     * Whether the health endpoint answers 503 while the plugin is DOWN or OUT_OF_SERVICE.
+     */
+    public boolean unavailableWhenDown() {
+        return properties.getHealth().isUnavailableWhenDown();
+    }
+
+    /**
+     * HTTP status for a body built by {@link #buildHealth()}.
+     *
+     * @param health The health body
+     * @param unavailableWhenDown Whether DOWN and OUT_OF_SERVICE map to 503 rather than 200
+     * @return The HTTP status code
+     */
+    public static int healthStatus(Map<String, Object> health, boolean unavailableWhenDown) {
+        if (!unavailableWhenDown) {
+            return 200;
+        }
+        return HealthState.of(health.get("status")).httpStatus();
+    }
+
+    /**
+     * Build the manifest served by the plugin endpoints.
+     */
+    public PluginManifest buildManifest() {
+        return PluginManifest.builder()
+            .pluginId(properties.getId())
+            .name(properties.getName())
+            .description(properties.getDescription())
+            .version(properties.getVersion())
+            .vendor(properties.getVendor())
+            .vendorEmail(properties.getVendorEmail())
+            .iconUrl(properties.getIconUrl())
+            .screens(screenRegistry.getScreens())
+            .environment(properties.getEnvironment())
+            .tenantId(properties.getTenantId())
+            .instanceId(registrar.getInstanceId())
+            .build();
+    }
+
+    /**
+     * Build the basic plugin info served by the plugin endpoints.
+     */
+    public Map<String, Object> buildInfo() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", properties.getId());
+        response.put("name", properties.getName());
+        response.put("vendor", properties.getVendor());
+        response.put("version", properties.getVersion());
+        response.put("environment", properties.getEnvironment());
+        response.put("screenCount", screenRegistry.getScreenCount());
+        return response;
+    }
+
+    private Responses current() {
+        ScreenSnapshot snapshot = screenRegistry.getSnapshot();
+        Responses cached = responses;
+        if (cached != null && cached.snapshot() == snapshot) {
+            return cached;
+        }
+
+        // Concurrent rebuilds produce identical bodies, so a race only costs duplicate work
+        cached = new Responses(snapshot,
+            serialize(buildManifest()),
+            serialize(snapshot.getScreens()),
+            serialize(buildInfo()));
+        responses = cached;
+        return cached;
+    }
+
+    private CachedResponse serialize(Object value) {
+        try {
+            return CachedResponse.of(pluginObjectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize plugin response", e);
+        }
+    }
+}
@@ -12,6 +12,12 @@ import java.lang.annotation.Target;
  * Screens annotated with this annotation will be automatically discovered
  * and registered with the Elaro platform.
  *
+ * <p>Screen metadata is read from the build-time index written by
+ * {@link ai.elaro.sdk.processor.PluginScreenProcessor}, or from class metadata
+ * in application packages the index does not cover. The registry never
+ * instantiates screen classes; they are still {@code @Component}s, so the
+ * application's own component scan registers them as beans for injection.</p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * &#64;PluginScreen(
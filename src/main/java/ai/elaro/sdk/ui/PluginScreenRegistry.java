@@ -1,88 +1,270 @@
 package ai.elaro.sdk.ui;
 
+import ai.elaro.sdk.model.MenuDefinition;
 import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.model.ScreenPage;
+import ai.elaro.sdk.startup.StartupTimeline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.context.ApplicationContext;
-import org.springframework.stereotype.Component;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Registry that discovers and collects all @PluginScreen annotated classes.
+ *
+ * <p>Screens are loaded from the build-time indexes ({@value ScreenIndex#LOCATION})
+ * on the classpath. Auto-configuration packages that contain no indexed screen
+ * are scanned as well, by reading class metadata without loading or
+ * instantiating the screen classes, so an application that does not run the
+ * annotation processor still finds its own screens next to a library's index.</p>
+ *
+ * <p>Discovery runs once. The result is held as an immutable
+ * {@link ScreenSnapshot} until the application context is refreshed.</p>
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
-public class PluginScreenRegistry {
+public class PluginScreenRegistry implements ApplicationListener<ContextRefreshedEvent> {
 
     private final ApplicationContext applicationContext;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile ScreenSnapshot snapshot;
+    private StartupTimeline startupTimeline = StartupTimeline.NOOP;
+
+    // The index is build output and never changes at runtime, so it is read once
+    private volatile List<ScreenIndex.Entry> indexEntries;
+    private volatile boolean indexChecked = false;
 
     /**
-     * Get all registered screens sorted by order.
-     *
-     * @return List of screen definitions
+     * Record screen discovery as a startup phase.
      */
-    public List<ScreenDefinition> getScreens() {
-        Map<String, Object> beans = applicationContext.getBeansWithAnnotation(PluginScreen.class);
-
-        List<ScreenDefinition> screens = beans.values().stream()
-            .map(bean -> {
-                Class<?> beanClass = bean.getClass();
-                // Handle Spring proxies
-                if (beanClass.getName().contains("$$")) {
-                    beanClass = beanClass.getSuperclass();
-                }
+    public void setStartupTimeline(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    /**
+     * Get the current screen snapshot, discovering screens on first use.
+     */
+    public ScreenSnapshot getSnapshot() {
+        ScreenSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        snapshotLock.lock();
+        try {
+            if (snapshot == null) {
+                try (StartupTimeline.Phase phase = startupTimeline.begin("screens.discover", "screens")) {
+                    List<ScreenIndex.Entry> indexed = loadIndex();
+                    Set<String> indexedTypes = new HashSet<>();
+                    List<ScreenDefinition> discovered = new ArrayList<>();
+                    if (indexed != null) {
+                        for (ScreenIndex.Entry entry : indexed) {
+                            indexedTypes.add(entry.type());
+                            discovered.add(entry.screen());
+                        }
+                    }
 
-                PluginScreen annotation = beanClass.getAnnotation(PluginScreen.class);
-                if (annotation == null) {
-                    log.warn("Could not find @PluginScreen annotation on {}", beanClass.getName());
-                    return null;
+                    boolean scanned = scanPackages(indexedTypes, discovered);
+                    phase.tag("source", indexed == null ? "scan" : scanned ? "index+scan" : "index");
+                    snapshot = new ScreenSnapshot(discovered);
+                    phase.tag("screens", discovered.size());
+                    log.debug("Discovered {} plugin screens", discovered.size());
                 }
+            }
+            return snapshot;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Discard the current snapshot when the context is refreshed.
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() == applicationContext) {
+            snapshot = null;
+        }
+    }
 
-                return ScreenDefinition.builder()
-                    .path(annotation.path())
-                    .title(annotation.title())
-                    .icon(annotation.icon())
-                    .order(annotation.order())
-                    .parent(annotation.parent())
-                    .permissions(Arrays.asList(annotation.permissions()))
-                    .build();
-            })
-            .filter(screen -> screen != null)
-            .sorted(Comparator.comparingInt(ScreenDefinition::getOrder))
-            .collect(Collectors.toList());
-
-        log.debug("Discovered {} plugin screens", screens.size());
-        return screens;
+    /**
+     * Get all registered screens sorted by order.
+     *
+     * <p>The list is the snapshot's own unmodifiable list, shared by all
+     * callers. Copy it before sorting or adding to it.</p>
+     *
+     * @return Unmodifiable list of screen definitions
+     */
+    public List<ScreenDefinition> getScreens() {
+        return getSnapshot().getScreens();
     }
 
     /**
      * Get screens filtered by parent path.
      *
      * @param parent The parent path to filter by (empty for top-level)
-     * @return List of screen definitions with matching parent
+     * @return Unmodifiable list of screen definitions with matching parent
      */
     public List<ScreenDefinition> getScreensByParent(String parent) {
-        return getScreens().stream()
-            .filter(screen -> {
-                String screenParent = screen.getParent();
-                if (parent == null || parent.isEmpty()) {
-                    return screenParent == null || screenParent.isEmpty();
-                }
-                return parent.equals(screenParent);
-            })
-            .collect(Collectors.toList());
+        return getSnapshot().getChildren(parent);
     }
 
     /**
      * Get the total count of registered screens.
      */
     public int getScreenCount() {
-        return getScreens().size();
+        return getSnapshot().getScreens().size();
+    }
+
+    /**
+     * Get the hierarchical menu built from screen parent paths.
+     *
+     * @return Top-level menu items with nested children
+     */
+    public List<MenuDefinition> getMenu() {
+        return getSnapshot().getMenu();
+    }
+
+    /**
+     * Get part of the menu tree.
+     *
+     * @param root Path of the subtree root, or null/empty for the whole tree
+     * @param depth Number of levels to include, or a negative value for all levels
+     * @return The selected menu items, or null if the root path is unknown
+     */
+    public List<MenuDefinition> getMenu(String root, int depth) {
+        return getSnapshot().getMenu(root, depth);
+    }
+
+    /**
+     * Get a page of screens.
+     *
+     * @param parent Parent path to filter by, or null for all screens
+     * @param offset Index of the first item to return
+     * @param limit Maximum number of items to return
+     * @return The requested page
+     */
+    public ScreenPage getScreensPage(String parent, int offset, int limit) {
+        return getSnapshot().getPage(parent, offset, limit);
+    }
+
+    /**
+     * Get the screens visible to a user, decided with the snapshot's permission bitsets.
+     *
+     * @param permissions The user's permissions
+     * @return Visible screens sorted by order
+     */
+    public List<ScreenDefinition> getVisibleScreens(Collection<String> permissions) {
+        return getSnapshot().getPermissionIndex().visibleScreens(permissions);
+    }
+
+    /**
+     * Get the menu tree visible to a user. Children of a hidden item are hidden with it.
+     *
+     * @param permissions The user's permissions
+     * @return Visible top-level menu items with their visible children
+     */
+    public List<MenuDefinition> getVisibleMenu(Collection<String> permissions) {
+        return getSnapshot().getPermissionIndex().visibleMenu(permissions);
+    }
+
+    private List<ScreenIndex.Entry> loadIndex() {
+        if (!indexChecked) {
+            ClassLoader classLoader = applicationContext.getClassLoader() != null
+                ? applicationContext.getClassLoader()
+                : PluginScreenRegistry.class.getClassLoader();
+            indexEntries = ScreenIndex.loadEntries(classLoader);
+            indexChecked = true;
+
+            if (indexEntries != null) {
+                log.debug("Loaded {} plugin screens from {}", indexEntries.size(), ScreenIndex.LOCATION);
+            }
+        }
+        return indexEntries;
+    }
+
+    /**
+     * Scan the auto-configuration packages that no index covers. A package is
+     * covered when an indexed screen type lives in it or below it, since the
+     * annotation processor indexes every screen of the build it runs in.
+     * Reads {@code @PluginScreen} attributes from class metadata only.
+     *
+     * @param indexedTypes Type names already loaded from an index, skipped when scanned
+     * @param screens Receives the scanned screens
+     * @return Whether any package was scanned
+     */
+    private boolean scanPackages(Set<String> indexedTypes, List<ScreenDefinition> screens) {
+        BeanFactory beanFactory = applicationContext.getAutowireCapableBeanFactory();
+        if (!AutoConfigurationPackages.has(beanFactory)) {
+            if (indexedTypes.isEmpty()) {
+                log.warn("No screen index and no auto-configuration packages found, no screens registered");
+            }
+            return false;
+        }
+
+        ClassPathScanningCandidateComponentProvider scanner =
+            new ClassPathScanningCandidateComponentProvider(false, applicationContext.getEnvironment());
+        scanner.setResourceLoader(applicationContext);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(PluginScreen.class));
+
+        boolean scanned = false;
+        for (String basePackage : AutoConfigurationPackages.get(beanFactory)) {
+            if (isCovered(basePackage, indexedTypes)) {
+                continue;
+            }
+
+            scanned = true;
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                if (indexedTypes.contains(candidate.getBeanClassName())) {
+                    continue;
+                }
+
+                Map<String, Object> attributes = ((AnnotatedBeanDefinition) candidate).getMetadata()
+                    .getAnnotationAttributes(PluginScreen.class.getName());
+                if (attributes == null) {
+                    log.warn("Could not find @PluginScreen annotation on {}", candidate.getBeanClassName());
+                    continue;
+                }
+
+                screens.add(ScreenDefinition.builder()
+                    .path((String) attributes.get("path"))
+                    .title((String) attributes.get("title"))
+                    .icon((String) attributes.get("icon"))
+                    .order((Integer) attributes.get("order"))
+                    .parent((String) attributes.get("parent"))
+                    .permissions(Arrays.asList((String[]) attributes.get("permissions")))
+                    .build());
+            }
+        }
+        return scanned;
+    }
+
+    static boolean isCovered(String basePackage, Set<String> indexedTypes) {
+        if (basePackage.isEmpty()) {
+            return !indexedTypes.isEmpty();
+        }
+        String prefix = basePackage + ".";
+        for (String type : indexedTypes) {
+            if (type.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -1,86 +1,148 @@
 package ai.elaro.sdk.ui;
 
-import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.model.MenuDefinition;
 import ai.elaro.sdk.model.ScreenDefinition;
-import ai.elaro.sdk.registration.PluginManifest;
-import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.model.ScreenPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * REST controller that exposes plugin metadata endpoints.
  * These endpoints can be called by the Elaro platform or for debugging.
+ *
+ * <p>The manifest, screens and info endpoints serve pre-serialized bodies
+ * from {@link PluginResponseCache} with strong ETags, answer matching
+ * {@code If-None-Match} requests with 304 and send the gzip variant when
+ * the client accepts it.</p>
  */
 @RestController
 @RequestMapping("/plugin")
 @RequiredArgsConstructor
 public class PluginUiController {
 
-    private final PluginProperties properties;
+    static final int MAX_PAGE_SIZE = 500;
+
     private final PluginScreenRegistry screenRegistry;
-    private final PluginRegistrar registrar;
+    private final PluginResponseCache responseCache;
 
     /**
      * Get the full plugin manifest.
      */
     @GetMapping("/manifest")
-    public PluginManifest getManifest() {
-        return PluginManifest.builder()
-            .pluginId(properties.getId())
-            .name(properties.getName())
-            .description(properties.getDescription())
-            .version(properties.getVersion())
-            .vendor(properties.getVendor())
-            .vendorEmail(properties.getVendorEmail())
-            .iconUrl(properties.getIconUrl())
-            .screens(screenRegistry.getScreens())
-            .environment(properties.getEnvironment())
-            .tenantId(properties.getTenantId())
-            .instanceId(registrar.getInstanceId())
-            .build();
+    public ResponseEntity<byte[]> getManifest(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(responseCache.manifest(), ifNoneMatch, acceptEncoding);
     }
 
     /**
      * Get all registered screens.
      */
     @GetMapping("/screens")
-    public List<ScreenDefinition> getScreens() {
-        return screenRegistry.getScreens();
+    public ResponseEntity<byte[]> getScreens(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(responseCache.screens(), ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Get a page of screens, optionally restricted to the children of a parent path.
+     * An empty parent selects top-level screens.
+     */
+    @GetMapping("/screens/page")
+    public ScreenPage getScreensPage(
+            @RequestParam(name = "parent", required = false) String parent,
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return screenRegistry.getScreensPage(parent, offset, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     /**
-     * Health check endpoint for the plugin.
+     * Get the menu tree, or the subtree below a root path.
+     * A negative depth returns all levels.
+     */
+    @GetMapping("/menu")
+    public ResponseEntity<List<MenuDefinition>> getMenu(
+            @RequestParam(name = "root", required = false) String root,
+            @RequestParam(name = "depth", defaultValue = "-1") int depth) {
+        List<MenuDefinition> menu = screenRegistry.getMenu(root, depth);
+        if (menu == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(menu);
+    }
+
+    /**
+     * Get the screens visible to a user holding the given permissions.
+     */
+    @GetMapping("/screens/visible")
+    public List<ScreenDefinition> getVisibleScreens(
+            @RequestParam(name = "permissions", required = false) List<String> permissions) {
+        return screenRegistry.getVisibleScreens(permissions);
+    }
+
+    /**
+     * Get the menu tree visible to a user holding the given permissions.
+     */
+    @GetMapping("/menu/visible")
+    public List<MenuDefinition> getVisibleMenu(
+            @RequestParam(name = "permissions", required = false) List<String> permissions) {
+        return screenRegistry.getVisibleMenu(permissions);
+    }
+
+    /**
+     * Health check endpoint for the plugin. Responds 503 while the plugin is
+     * DOWN or OUT_OF_SERVICE when {@code elaro.plugin.health.unavailable-when-down}
+     * is set, and 200 with the status in the body otherwise.
      */
     @GetMapping("/health")
-    public Map<String, Object> health() {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("status", "UP");
-        response.put("pluginId", properties.getId());
-        response.put("name", properties.getName());
-        response.put("version", properties.getVersion());
-        response.put("registrationStatus", registrar.getStatus().name());
-        response.put("instanceId", registrar.getInstanceId());
-        return response;
+    public ResponseEntity<Map<String, Object>> health() {
+        Map<String, Object> health = responseCache.buildHealth();
+        return ResponseEntity.status(PluginResponseCache.healthStatus(health, responseCache.unavailableWhenDown())).body(health);
     }
 
     /**
      * Get basic plugin info.
      */
     @GetMapping("/info")
-    public Map<String, Object> info() {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("id", properties.getId());
-        response.put("name", properties.getName());
-        response.put("vendor", properties.getVendor());
-        response.put("version", properties.getVersion());
-        response.put("environment", properties.getEnvironment());
-        response.put("screenCount", screenRegistry.getScreenCount());
-        return response;
+    public ResponseEntity<byte[]> info(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(responseCache.info(), ifNoneMatch, acceptEncoding);
+    }
+
+    private ResponseEntity<byte[]> respond(CachedResponse response, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = response.hasGzip() && CachedResponse.acceptsGzip(acceptEncoding);
+        CacheControl cacheControl = responseCache.cacheControl();
+
+        if (response.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(response.etag(gzip))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(response.etag(gzip))
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(response.body(gzip));
     }
 }
@@ -0,0 +1,223 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.model.ScreenDefinition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the build-time screen index generated by
+ * {@link ai.elaro.sdk.processor.PluginScreenProcessor}.
+ *
+ * <p>The index is a UTF-8 text file with one screen per line. Fields are
+ * tab separated in the order: type, path, title, icon, order, parent,
+ * permissions. Permissions are comma separated. Backslash, tab, newline
+ * and comma are escaped with a backslash.</p>
+ */
+public final class ScreenIndex {
+
+    /**
+     * Classpath location of the generated index.
+     */
+    public static final String LOCATION = "META-INF/elaro/screens.idx";
+
+    private static final String HEADER = "# Elaro plugin screen index, generated at build time";
+    private static final int FIELD_COUNT = 7;
+
+    private ScreenIndex() {
+    }
+
+    /**
+     * A single index line: the annotated type and the screen it declares.
+     */
+    public record Entry(String type, ScreenDefinition screen) {
+    }
+
+    /**
+     * Load and merge every index on the classpath.
+     *
+     * @param classLoader The class loader to search
+     * @return All indexed screens, or {@code null} if no index is present
+     */
+    public static List<ScreenDefinition> load(ClassLoader classLoader) {
+        List<Entry> entries = loadEntries(classLoader);
+        if (entries == null) {
+            return null;
+        }
+
+        List<ScreenDefinition> screens = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            screens.add(entry.screen());
+        }
+        return screens;
+    }
+
+    /**
+     * Load and merge the entries of every index on the classpath.
+     *
+     * @param classLoader The class loader to search
+     * @return All index entries, or {@code null} if no index is present
+     */
+    public static List<Entry> loadEntries(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+
+            List<Entry> entries = new ArrayList<>();
+            while (urls.hasMoreElements()) {
+                try (InputStream in = urls.nextElement().openStream()) {
+                    entries.addAll(read(in));
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load screen index " + LOCATION, e);
+        }
+    }
+
+    /**
+     * Parse index entries from a stream.
+     *
+     * @param in The index content
+     * @return The parsed entries in file order
+     */
+    public static List<Entry> read(InputStream in) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            List<String> fields = split(line, '\t');
+            if (fields.size() != FIELD_COUNT) {
+                throw new IOException("Malformed screen index line: " + line);
+            }
+
+            List<String> permissions = new ArrayList<>();
+            if (!fields.get(6).isEmpty()) {
+                for (String permission : split(fields.get(6), ',')) {
+                    permissions.add(unescape(permission));
+                }
+            }
+
+            ScreenDefinition screen = ScreenDefinition.builder()
+                .path(unescape(fields.get(1)))
+                .title(unescape(fields.get(2)))
+                .icon(unescape(fields.get(3)))
+                .order(Integer.parseInt(fields.get(4)))
+                .parent(unescape(fields.get(5)))
+                .permissions(permissions)
+                .build();
+            entries.add(new Entry(unescape(fields.get(0)), screen));
+        }
+        return entries;
+    }
+
+    /**
+     * Write index entries keyed by annotated type name.
+     *
+     * @param screens Screens keyed by the fully qualified name of the annotated type
+     * @param writer The destination
+     */
+    public static void write(Map<String, ScreenDefinition> screens, Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+
+        for (Map.Entry<String, ScreenDefinition> entry : screens.entrySet()) {
+            ScreenDefinition screen = entry.getValue();
+            List<String> permissions = screen.getPermissions() != null
+                ? screen.getPermissions()
+                : Collections.emptyList();
+
+            StringBuilder line = new StringBuilder();
+            line.append(escape(entry.getKey())).append('\t')
+                .append(escape(screen.getPath())).append('\t')
+                .append(escape(screen.getTitle())).append('\t')
+                .append(escape(screen.getIcon())).append('\t')
+                .append(screen.getOrder()).append('\t')
+                .append(escape(screen.getParent())).append('\t');
+            for (int i = 0; i < permissions.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(escape(permissions.get(i)));
+            }
+            writer.write(line.append('\n').toString());
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case ',' -> sb.append("\\,");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Split on unescaped separators, leaving escape sequences intact so
+     * nested lists can be split again.
+     */
+    private static List<String> split(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == separator) {
+                parts.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start));
+        return parts;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    default -> next;
+                });
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
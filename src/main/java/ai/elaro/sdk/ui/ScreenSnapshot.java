@@ -0,0 +1,202 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.model.MenuDefinition;
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.model.ScreenPage;
+import ai.elaro.sdk.security.PermissionIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of the plugin's screens, computed once by
+ * {@link PluginScreenRegistry} and shared by all readers until the
+ * application context is refreshed.
+ *
+ * <p>Holds the screens sorted by order, a parent-to-children index and the
+ * prebuilt {@link MenuDefinition} tree. The returned definitions are shared
+ * and must not be modified.</p>
+ */
+@Slf4j
+public final class ScreenSnapshot {
+
+    private static final String TOP_LEVEL = "";
+
+    private final List<ScreenDefinition> screens;
+    private final Map<String, List<ScreenDefinition>> childrenByParent;
+    private final Map<String, MenuDefinition> menuByPath;
+    private final List<MenuDefinition> menu;
+    private final PermissionIndex permissionIndex;
+
+    ScreenSnapshot(List<ScreenDefinition> discovered) {
+        List<ScreenDefinition> sorted = new ArrayList<>(discovered);
+        sorted.sort(Comparator.comparingInt(ScreenDefinition::getOrder));
+        this.screens = Collections.unmodifiableList(sorted);
+
+        Map<String, List<ScreenDefinition>> byParent = new HashMap<>();
+        for (ScreenDefinition screen : sorted) {
+            byParent.computeIfAbsent(parentKey(screen.getParent()), key -> new ArrayList<>()).add(screen);
+        }
+        byParent.replaceAll((parent, children) -> Collections.unmodifiableList(children));
+        this.childrenByParent = Collections.unmodifiableMap(byParent);
+
+        this.menuByPath = new LinkedHashMap<>();
+        this.menu = buildMenu(sorted);
+        this.permissionIndex = new PermissionIndex(screens, menu);
+    }
+
+    /**
+     * All screens sorted by order, as an unmodifiable list.
+     */
+    public List<ScreenDefinition> getScreens() {
+        return screens;
+    }
+
+    /**
+     * Direct children of a parent path.
+     *
+     * @param parent The parent path (null or empty for top-level)
+     * @return Screens with the given parent, sorted by order
+     */
+    public List<ScreenDefinition> getChildren(String parent) {
+        return childrenByParent.getOrDefault(parentKey(parent), Collections.emptyList());
+    }
+
+    /**
+     * The full menu tree.
+     */
+    public List<MenuDefinition> getMenu() {
+        return menu;
+    }
+
+    /**
+     * The permission index compiled from these screens.
+     */
+    public PermissionIndex getPermissionIndex() {
+        return permissionIndex;
+    }
+
+    /**
+     * Select part of the menu tree.
+     *
+     * @param root Path of the subtree root, or null/empty for the whole tree
+     * @param depth Number of levels to include, or a negative value for all levels
+     * @return The selected nodes, or null if the root path is unknown
+     */
+    public List<MenuDefinition> getMenu(String root, int depth) {
+        List<MenuDefinition> nodes;
+        if (root == null || root.isEmpty()) {
+            nodes = menu;
+        } else {
+            MenuDefinition node = menuByPath.get(root);
+            if (node == null) {
+                return null;
+            }
+            nodes = List.of(node);
+        }
+
+        if (depth < 0) {
+            return nodes;
+        }
+        return truncate(nodes, depth);
+    }
+
+    /**
+     * Page through screens, optionally restricted to the children of a parent.
+     *
+     * @param parent Parent path to filter by, or null for all screens
+     * @param offset Index of the first item to return, clamped to the available range
+     * @param limit Maximum number of items to return, a negative value is treated as zero
+     * @return The requested page, reporting the clamped offset and limit
+     */
+    public ScreenPage getPage(String parent, int offset, int limit) {
+        List<ScreenDefinition> source = parent == null ? screens : getChildren(parent);
+        int from = Math.min(Math.max(offset, 0), source.size());
+        int size = Math.max(limit, 0);
+        int to = Math.min(from + size, source.size());
+
+        return ScreenPage.builder()
+            .items(source.subList(from, to))
+            .offset(from)
+            .limit(size)
+            .total(source.size())
+            .build();
+    }
+
+    private List<MenuDefinition> buildMenu(List<ScreenDefinition> sorted) {
+        Set<String> paths = new HashSet<>();
+        for (ScreenDefinition screen : sorted) {
+            paths.add(screen.getPath());
+        }
+
+        Set<String> visited = new HashSet<>();
+        List<MenuDefinition> roots = new ArrayList<>();
+        for (ScreenDefinition screen : sorted) {
+            String parent = parentKey(screen.getParent());
+            if (parent.isEmpty() || !paths.contains(parent)) {
+                if (!parent.isEmpty()) {
+                    log.warn("Screen {} references unknown parent {}, placing it at top level",
+                        screen.getPath(), parent);
+                }
+                roots.add(buildNode(screen, visited));
+            }
+        }
+
+        // Screens whose parent chain forms a cycle are unreachable from any root
+        for (ScreenDefinition screen : sorted) {
+            if (!visited.contains(screen.getPath())) {
+                log.warn("Screen {} is part of a parent cycle, placing it at top level", screen.getPath());
+                roots.add(buildNode(screen, visited));
+            }
+        }
+        return Collections.unmodifiableList(roots);
+    }
+
+    private MenuDefinition buildNode(ScreenDefinition screen, Set<String> visited) {
+        visited.add(screen.getPath());
+
+        List<MenuDefinition> children = new ArrayList<>();
+        for (ScreenDefinition child : getChildren(screen.getPath())) {
+            if (!visited.contains(child.getPath())) {
+                children.add(buildNode(child, visited));
+            }
+        }
+
+        MenuDefinition node = MenuDefinition.builder()
+            .id(screen.getPath())
+            .title(screen.getTitle())
+            .icon(screen.getIcon())
+            .order(screen.getOrder())
+            .path(screen.getPath())
+            .permissions(screen.getPermissions())
+            .children(Collections.unmodifiableList(children))
+            .build();
+        menuByPath.putIfAbsent(screen.getPath(), node);
+        return node;
+    }
+
+    private static List<MenuDefinition> truncate(List<MenuDefinition> nodes, int depth) {
+        if (depth == 0) {
+            return Collections.emptyList();
+        }
+        List<MenuDefinition> copies = new ArrayList<>(nodes.size());
+        for (MenuDefinition node : nodes) {
+            copies.add(node.toBuilder()
+                .children(truncate(node.getChildren(), depth - 1))
+                .build());
+        }
+        return copies;
+    }
+
+    private static String parentKey(String parent) {
+        return parent == null ? TOP_LEVEL : parent;
+    }
+}
@@ -0,0 +1,73 @@
+package ai.elaro.sdk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SDK code runs on virtual threads when {@code elaro.plugin.virtual-threads.enabled}
+ * is set, where blocking while holding a monitor pins the carrier thread.
+ * Reads the compiled SDK classes and fails on any synchronized method or
+ * block; use a {@code ReentrantLock} or a concurrent collection instead.
+ */
+class NoMonitorLocksTest {
+
+    @Test
+    void sdkClassesHoldNoMonitors() throws Exception {
+        Path classes = Path.of(ElaroPluginAutoConfiguration.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> offenders = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(classes.resolve("ai/elaro/sdk"))) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                offenders.addAll(monitors(file));
+            }
+        }
+
+        assertThat(offenders).isEmpty();
+    }
+
+    private static List<String> monitors(Path file) throws IOException {
+        List<String> found = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file)) {
+            new ClassReader(in).accept(new ClassVisitor(Opcodes.ASM9) {
+
+                private String className;
+
+                @Override
+                public void visit(int version, int access, String name, String signature, String superName,
+                                  String[] interfaces) {
+                    className = name.replace('/', '.');
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                                 String[] exceptions) {
+                    String method = className + "." + name;
+                    if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                        found.add(method + " is synchronized");
+                    }
+                    return new MethodVisitor(Opcodes.ASM9) {
+                        @Override
+                        public void visitInsn(int opcode) {
+                            if (opcode == Opcodes.MONITORENTER) {
+                                found.add(method + " has a synchronized block");
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+        return found;
+    }
+}
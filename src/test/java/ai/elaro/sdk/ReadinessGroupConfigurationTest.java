@@ -0,0 +1,52 @@
+package ai.elaro.sdk;
+
+import ai.elaro.sdk.health.PluginHealthIndicators;
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadinessGroupConfigurationTest {
+
+    private static final String READINESS_INCLUDE = "management.endpoint.health.group.readiness.include";
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+        .withUserConfiguration(ElaroPluginAutoConfiguration.ReadinessGroupConfiguration.class);
+
+    @Test
+    void gateAddsTheIndicatorToTheReadinessGroup() {
+        runner.withPropertyValues("elaro.plugin.registration.gate-readiness=true")
+            .run(context -> assertThat(context.getEnvironment().getProperty(READINESS_INCLUDE))
+                .isEqualTo("readinessState,elaroReadiness"));
+    }
+
+    @Test
+    void readinessGroupIsUntouchedWithoutTheGate() {
+        runner.run(context -> assertThat(context.getEnvironment().getProperty(READINESS_INCLUDE)).isNull());
+    }
+
+    @Test
+    void applicationReadinessGroupWins() {
+        runner.withPropertyValues("elaro.plugin.registration.gate-readiness=true", READINESS_INCLUDE + "=db")
+            .run(context -> assertThat(context.getEnvironment().getProperty(READINESS_INCLUDE)).isEqualTo("db"));
+    }
+
+    @Test
+    void indicatorIsOutOfServiceUntilAccepted() {
+        PluginRegistrar registrar = mock(PluginRegistrar.class);
+        HealthIndicator indicator = PluginHealthIndicators.readiness(registrar);
+
+        for (RegistrationStatus status : RegistrationStatus.values()) {
+            when(registrar.getStatus()).thenReturn(status);
+            assertThat(indicator.health().getStatus()).as("%s", status)
+                .isEqualTo(status == RegistrationStatus.ACCEPTED ? Status.UP : Status.OUT_OF_SERVICE);
+            assertThat(indicator.health().getDetails()).containsEntry("registration", status.name());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package ai.elaro.sdk.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PluginKafkaClientsTest {
+
+    private final PluginProperties properties = new PluginProperties();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final ch.qos.logback.classic.Logger slf4j =
+        (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(PluginKafkaClients.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setId("billing");
+        properties.getKafka().setBootstrapServers("sdk-broker:9092");
+        appender.start();
+        slf4j.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slf4j.detachAppender(appender);
+    }
+
+    @Test
+    void privateClientsUseOnlyTheSdkBootstrapServers() {
+        beanFactory.registerSingleton("applicationProducerFactory", producerFactory(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092",
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+        PluginKafkaClients clients = clients(null);
+
+        assertThat(clients.producerFactory().getConfigurationProperties())
+            .containsEntry(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "sdk-broker:9092")
+            .containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+            .containsEntry(ProducerConfig.RETRIES_CONFIG, 3)
+            .doesNotContainKey(ProducerConfig.BUFFER_MEMORY_CONFIG);
+        assertThat(clients.consumerFactory().getConfigurationProperties())
+            .containsEntry(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "sdk-broker:9092")
+            .containsEntry(ConsumerConfig.GROUP_ID_CONFIG, "elaro-plugin-billing");
+        assertThat(clients.adminConfig()).containsOnly(Map.entry(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, "sdk-broker:9092"));
+    }
+
+    @Test
+    void compatibleApplicationProducerIsShared() {
+        ProducerFactory<String, byte[]> application = producerFactory(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092",
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        beanFactory.registerSingleton("applicationProducerFactory", application);
+        properties.getKafka().setShareApplicationClients(true);
+
+        assertThat(clients(null).producerFactory()).isSameAs(application);
+        assertThat(warnings()).isEmpty();
+    }
+
+    @Test
+    void sharingAWeakerProducerWarnsWithTheEffectiveSettings() {
+        ProducerFactory<String, byte[]> application = producerFactory(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092",
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+            ProducerConfig.ACKS_CONFIG, "1",
+            ProducerConfig.RETRIES_CONFIG, "0"));
+        beanFactory.registerSingleton("applicationProducerFactory", application);
+        properties.getKafka().setShareApplicationClients(true);
+
+        assertThat(clients(null).producerFactory()).isSameAs(application);
+        assertThat(warnings()).singleElement().asString()
+            .contains("'applicationProducerFactory'", "acks=1", "retries=0", "acks=all and retries=3");
+    }
+
+    @Test
+    void incompatibleApplicationProducerIsDerivedFrom() {
+        beanFactory.registerSingleton("applicationProducerFactory", producerFactory(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092",
+            ProducerConfig.CLIENT_ID_CONFIG, "billing-app",
+            ProducerConfig.TRANSACTIONAL_ID_CONFIG, "tx-",
+            ProducerConfig.ACKS_CONFIG, "0",
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class)));
+        properties.getKafka().setShareApplicationClients(true);
+
+        assertThat(clients(null).producerFactory().getConfigurationProperties())
+            .containsEntry(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092")
+            .containsEntry(ProducerConfig.CLIENT_ID_CONFIG, "billing-app-elaro-billing")
+            .containsEntry(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)
+            .containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+            .containsEntry(ProducerConfig.BUFFER_MEMORY_CONFIG, PluginKafkaClients.SHARED_BUFFER_MEMORY)
+            .doesNotContainKey(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+    }
+
+    @Test
+    void producerOverridesStopSharing() {
+        beanFactory.registerSingleton("applicationProducerFactory", producerFactory(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092",
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+        properties.getKafka().setShareApplicationClients(true);
+        properties.getKafka().getProducer().put(ProducerConfig.LINGER_MS_CONFIG, "20");
+
+        assertThat(clients(null).producerFactory().getConfigurationProperties())
+            .containsEntry(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092")
+            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, "20");
+    }
+
+    @Test
+    void consumersAreDerivedFromTheApplicationConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092");
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "billing-app");
+        config.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, "billing-app-1");
+        config.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_SSL");
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        beanFactory.registerSingleton("applicationConsumerFactory", new DefaultKafkaConsumerFactory<String, String>(config));
+        properties.getKafka().setShareApplicationClients(true);
+
+        assertThat(clients(null).consumerFactory().getConfigurationProperties())
+            .containsEntry(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "app-broker:9092")
+            .containsEntry(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_SSL")
+            .containsEntry(ConsumerConfig.GROUP_ID_CONFIG, "elaro-plugin-billing")
+            .containsEntry(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class)
+            .doesNotContainKey(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG);
+    }
+
+    @Test
+    void clientsAreDerivedFromSpringKafkaPropertiesWithoutFactories() {
+        KafkaProperties boot = new KafkaProperties();
+        boot.setBootstrapServers(List.of("boot-broker:9092"));
+        boot.getSecurity().setProtocol("SSL");
+        properties.getKafka().setShareApplicationClients(true);
+        PluginKafkaClients clients = clients(boot);
+
+        assertThat(clients.producerFactory().getConfigurationProperties())
+            .containsEntry(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, List.of("boot-broker:9092"))
+            .containsEntry(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL")
+            .containsEntry(ProducerConfig.ACKS_CONFIG, "all");
+        assertThat(clients.consumerFactory().getConfigurationProperties())
+            .containsEntry(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, List.of("boot-broker:9092"));
+        assertThat(clients.adminConfig())
+            .containsEntry(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL")
+            .doesNotContainKey(CommonClientConfigs.CLIENT_ID_CONFIG);
+    }
+
+    private PluginKafkaClients clients(KafkaProperties boot) {
+        return new PluginKafkaClients(properties, beanFactory, boot, null, null);
+    }
+
+    private static ProducerFactory<String, byte[]> producerFactory(Map<String, Object> config) {
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    private List<String> warnings() {
+        return appender.list.stream()
+            .filter(event -> event.getLevel() == Level.WARN)
+            .map(ILoggingEvent::getFormattedMessage)
+            .toList();
+    }
+}
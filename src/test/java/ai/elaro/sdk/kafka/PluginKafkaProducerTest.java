@@ -0,0 +1,62 @@
+package ai.elaro.sdk.kafka;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.metrics.PluginMetrics;
+import ai.elaro.sdk.registration.PluginManifest;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PluginKafkaProducerTest {
+
+    private final PluginTransport transport = mock(PluginTransport.class);
+    private final PluginKafkaProducer producer = new PluginKafkaProducer(transport, new PluginProperties(),
+        new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule())), PluginMetrics.NOOP,
+        PluginTracing.DISABLED);
+
+    PluginKafkaProducerTest() {
+        when(transport.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void beaconsAreKeyedByPluginId() {
+        producer.sendAnnouncement(manifest(RegistrationStatus.PENDING));
+
+        assertThat(sent().key()).isEqualTo("billing");
+    }
+
+    @Test
+    void leavingAnnouncementIsKeyedByInstanceId() {
+        producer.sendAnnouncement(manifest(RegistrationStatus.LEAVING));
+
+        assertThat(sent().key()).isEqualTo("billing-7f3a");
+    }
+
+    private static PluginManifest manifest(RegistrationStatus status) {
+        return PluginManifest.builder()
+            .pluginId("billing")
+            .instanceId("billing-7f3a")
+            .status(status)
+            .build();
+    }
+
+    private TransportRecord sent() {
+        ArgumentCaptor<TransportRecord> captor = ArgumentCaptor.forClass(TransportRecord.class);
+        verify(transport).send(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,63 @@
+package ai.elaro.sdk.load;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InFlightRequestFilterTest {
+
+    private final InFlightRequests inFlight = new InFlightRequests();
+
+    @Test
+    void servletFilterCountsTheRequestWhileTheChainRuns() throws Exception {
+        AtomicInteger seen = new AtomicInteger(-1);
+
+        new InFlightRequestFilter(inFlight).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+            (request, response) -> seen.set(inFlight.get()));
+
+        assertThat(seen).hasValue(1);
+        assertThat(inFlight.get()).isZero();
+    }
+
+    @Test
+    void servletFilterDecrementsWhenTheChainThrows() {
+        InFlightRequestFilter filter = new InFlightRequestFilter(inFlight);
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+            (request, response) -> {
+                throw new ServletException("handler failed");
+            }))
+            .isInstanceOf(ServletException.class);
+        assertThat(inFlight.get()).isZero();
+    }
+
+    @Test
+    void webFilterDecrementsOnCompletionAndError() {
+        InFlightRequestWebFilter filter = new InFlightRequestWebFilter(inFlight);
+        AtomicInteger seen = new AtomicInteger(-1);
+
+        filter.filter(exchange(), exchange -> Mono.fromRunnable(() -> seen.set(inFlight.get()))).block();
+        assertThat(seen).hasValue(1);
+        assertThat(inFlight.get()).isZero();
+
+        assertThatThrownBy(() -> filter.filter(exchange(),
+            exchange -> Mono.error(new IllegalStateException("handler failed"))).block())
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(inFlight.get()).isZero();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.GET, URI.create("/invoices")));
+    }
+}
@@ -0,0 +1,49 @@
+package ai.elaro.sdk.load;
+
+import ai.elaro.sdk.transport.PluginTransport;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InstanceLoadSamplerTest {
+
+    private final PluginTransport transport = mock(PluginTransport.class);
+
+    @Test
+    void samplesRequestsTransportAndHeap() {
+        InFlightRequests inFlight = new InFlightRequests();
+        inFlight.increment();
+        inFlight.increment();
+        when(transport.getPendingCount()).thenReturn(7L);
+        InstanceLoadSampler sampler = new InstanceLoadSampler(transport, inFlight);
+
+        assertThat(sampler.getLatest()).isNull();
+        InstanceLoad load = sampler.sample();
+
+        assertThat(load.getInFlightRequests()).isEqualTo(2);
+        assertThat(load.getTransportQueueDepth()).isEqualTo(7);
+        assertThat(load.getHeapUsedBytes()).isPositive();
+        assertThat(load.getSampledAt()).isNotNull();
+        assertThat(load.getCpuLoad()).satisfiesAnyOf(
+            cpu -> assertThat(cpu).isNull(),
+            cpu -> assertThat(cpu).isBetween(0.0, 1.0));
+        assertThat(sampler.getLatest()).isSameAs(load);
+    }
+
+    @Test
+    void firstSampleReportsNoGcPauseAndLaterSamplesReportDeltas() {
+        InstanceLoadSampler sampler = new InstanceLoadSampler(transport, null);
+
+        assertThat(sampler.sample().getGcPauseMillis()).isZero();
+        assertThat(sampler.sample().getGcPauseMillis()).isNotNegative();
+    }
+
+    @Test
+    void reportsNoRequestsOutsideWebApplications() {
+        InstanceLoadSampler sampler = new InstanceLoadSampler(transport, null);
+
+        assertThat(sampler.sample().getInFlightRequests()).isZero();
+    }
+}
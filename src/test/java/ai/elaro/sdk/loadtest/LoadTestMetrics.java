@@ -0,0 +1,119 @@
+package ai.elaro.sdk.loadtest;
+
+import ai.elaro.sdk.metrics.PluginMetrics;
+import ai.elaro.sdk.registration.RegistrationStatus;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PluginMetrics} shared by all simulated instances of a load test.
+ *
+ * <p>Each instance completes registration at most once, so time-to-accept
+ * samples go into an array sized for the whole fleet and no sample is
+ * dropped or merged.</p>
+ */
+public class LoadTestMetrics implements PluginMetrics {
+
+    private final LongAdder beaconsSent = new LongAdder();
+    private final LongAdder announcesSucceeded = new LongAdder();
+    private final LongAdder announcesFailed = new LongAdder();
+    private final LongAdder acksProcessed = new LongAdder();
+    private final LongAdder ackParseFailures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLongArray acceptNanos;
+    private final AtomicInteger accepted = new AtomicInteger();
+
+    public LoadTestMetrics(int instances) {
+        this.acceptNanos = new AtomicLongArray(instances);
+    }
+
+    @Override
+    public void beaconSent() {
+        beaconsSent.increment();
+    }
+
+    @Override
+    public void announceCompleted(long nanos, boolean success) {
+        (success ? announcesSucceeded : announcesFailed).increment();
+    }
+
+    @Override
+    public void registrationCompleted(RegistrationStatus status, Duration sinceStart) {
+        if (status == RegistrationStatus.ACCEPTED) {
+            int index = accepted.getAndIncrement();
+            if (index < acceptNanos.length()) {
+                acceptNanos.set(index, sinceStart.toNanos());
+            }
+        } else if (status == RegistrationStatus.REJECTED) {
+            rejected.increment();
+        }
+    }
+
+    @Override
+    public void ackProcessed(long nanos) {
+        acksProcessed.increment();
+    }
+
+    @Override
+    public void ackParseFailed() {
+        ackParseFailures.increment();
+    }
+
+    public long getBeaconsSent() {
+        return beaconsSent.sum();
+    }
+
+    public long getAnnouncesSucceeded() {
+        return announcesSucceeded.sum();
+    }
+
+    public long getAnnouncesFailed() {
+        return announcesFailed.sum();
+    }
+
+    public long getAcksProcessed() {
+        return acksProcessed.sum();
+    }
+
+    public long getAckParseFailures() {
+        return ackParseFailures.sum();
+    }
+
+    public int getAccepted() {
+        return Math.min(accepted.get(), acceptNanos.length());
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Time-to-accept percentiles over all instances accepted so far.
+     *
+     * @param percentiles Percentiles between 0 and 100
+     * @return Durations in the order requested, all zero if nothing was accepted
+     */
+    public Duration[] timeToAccept(double... percentiles) {
+        long[] samples = new long[getAccepted()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = acceptNanos.get(i);
+        }
+        Arrays.sort(samples);
+
+        Duration[] result = new Duration[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (samples.length == 0) {
+                result[i] = Duration.ZERO;
+                continue;
+            }
+            // Nearest-rank percentile
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * samples.length);
+            result[i] = Duration.ofNanos(samples[Math.max(0, Math.min(samples.length, rank) - 1)]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package ai.elaro.sdk.loadtest;
+
+import lombok.Data;
+
+/**
+ * Settings for a {@link RegistrationLoadTest} run, parsed from
+ * {@code --name=value} arguments.
+ */
+@Data
+public class LoadTestOptions {
+
+    /**
+     * Transport to run over: "kafka" (embedded broker unless a bootstrap
+     * address is given) or "in-process".
+     */
+    private String transport = "kafka";
+
+    /**
+     * Existing broker to use instead of starting an embedded one.
+     */
+    private String bootstrapServers;
+
+    /**
+     * Partitions for the announce and ack topics on the embedded broker.
+     */
+    private int partitions = 6;
+
+    /**
+     * Number of simulated plugin instances, each with its own plugin ID.
+     */
+    private int instances = 1000;
+
+    /**
+     * Number of Kafka producers the instances are spread across.
+     */
+    private int producers = 1;
+
+    /**
+     * Time over which instance start-up is spread.
+     */
+    private int rampUpSeconds = 10;
+
+    /**
+     * Beacon interval of every simulated instance.
+     */
+    private int beaconIntervalSeconds = 5;
+
+    /**
+     * Total run time, including ramp-up.
+     */
+    private int durationSeconds = 60;
+
+    /**
+     * Interval between progress reports.
+     */
+    private int reportIntervalSeconds = 5;
+
+    /**
+     * Fixed delay the console adds before acknowledging an announcement.
+     */
+    private long ackLatencyMillis = 50;
+
+    /**
+     * Upper bound of random delay added on top of the fixed ack latency.
+     */
+    private long ackJitterMillis = 0;
+
+    /**
+     * Fraction of plugin IDs the console rejects.
+     */
+    private double rejectRate = 0;
+
+    /**
+     * Fraction of plugin IDs the console never answers.
+     */
+    private double dropRate = 0;
+
+    /**
+     * Time in PENDING after which an instance is reported as stuck.
+     */
+    private int stuckAfterSeconds = 30;
+
+    /**
+     * Create SDK threads as virtual threads.
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * Root log level while the test runs. Progress reports are always logged.
+     */
+    private String logLevel = "WARN";
+
+    /**
+     * Parse {@code --name=value} arguments. Names are the kebab-case forms
+     * of the option fields, for example {@code --ack-latency-millis=100}.
+     *
+     * @param args Command line arguments
+     * @return Options with defaults for anything not given
+     */
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "transport" -> options.setTransport(value);
+                case "bootstrap-servers" -> options.setBootstrapServers(value);
+                case "partitions" -> options.setPartitions(Integer.parseInt(value));
+                case "instances" -> options.setInstances(Integer.parseInt(value));
+                case "producers" -> options.setProducers(Integer.parseInt(value));
+                case "ramp-up-seconds" -> options.setRampUpSeconds(Integer.parseInt(value));
+                case "beacon-interval-seconds" -> options.setBeaconIntervalSeconds(Integer.parseInt(value));
+                case "duration-seconds" -> options.setDurationSeconds(Integer.parseInt(value));
+                case "report-interval-seconds" -> options.setReportIntervalSeconds(Integer.parseInt(value));
+                case "ack-latency-millis" -> options.setAckLatencyMillis(Long.parseLong(value));
+                case "ack-jitter-millis" -> options.setAckJitterMillis(Long.parseLong(value));
+                case "reject-rate" -> options.setRejectRate(Double.parseDouble(value));
+                case "drop-rate" -> options.setDropRate(Double.parseDouble(value));
+                case "stuck-after-seconds" -> options.setStuckAfterSeconds(Integer.parseInt(value));
+                case "virtual-threads" -> options.setVirtualThreads(Boolean.parseBoolean(value));
+                case "log-level" -> options.setLogLevel(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Whether the run uses the in-process transport instead of Kafka.
+     */
+    public boolean isInProcess() {
+        return "in-process".equalsIgnoreCase(transport);
+    }
+}
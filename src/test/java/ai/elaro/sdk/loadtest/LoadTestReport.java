@@ -0,0 +1,93 @@
+package ai.elaro.sdk.loadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Result of a {@link RegistrationLoadTest} run, or a progress snapshot of one.
+ */
+@Data
+@Builder
+public class LoadTestReport {
+
+    private Duration elapsed;
+    private int instances;
+    private int started;
+    private long beaconsSent;
+    private long announcesSucceeded;
+    private long announcesFailed;
+
+    /**
+     * Successful announcements per second over the reported window.
+     */
+    private double announceThroughput;
+
+    private long acksProcessed;
+    private int accepted;
+    private long rejected;
+    private int pending;
+    private Duration timeToAcceptP50;
+    private Duration timeToAcceptP95;
+    private Duration timeToAcceptP99;
+    private Duration timeToAcceptMax;
+
+    /**
+     * Records not yet consumed by the console on the announce topic. For the
+     * in-process transport this is the transport queue depth.
+     */
+    private long announceLag;
+
+    /**
+     * Records not yet consumed by the instances on the ack topic. For the
+     * in-process transport this is the transport queue depth.
+     */
+    private long ackLag;
+
+    /**
+     * Plugin IDs that have been PENDING for longer than the stuck threshold.
+     */
+    private List<String> stuckInstances;
+
+    /**
+     * One-line summary for progress reporting.
+     */
+    public String toProgressLine() {
+        return String.format(
+            "t=%ds started=%d/%d accepted=%d rejected=%d pending=%d stuck=%d announces/s=%.1f "
+                + "accept p50=%dms p95=%dms p99=%dms lag announce=%d ack=%d",
+            elapsed.toSeconds(), started, instances, accepted, rejected, pending, stuckInstances.size(),
+            announceThroughput, timeToAcceptP50.toMillis(), timeToAcceptP95.toMillis(),
+            timeToAcceptP99.toMillis(), announceLag, ackLag);
+    }
+
+    /**
+     * Multi-line summary for the end of a run.
+     */
+    public String toSummary() {
+        StringBuilder summary = new StringBuilder()
+            .append("Registration load test finished after ").append(elapsed.toSeconds()).append("s\n")
+            .append("  instances:           ").append(instances).append(" (").append(started).append(" started)\n")
+            .append("  beacons sent:        ").append(beaconsSent).append('\n')
+            .append("  announces ok/failed: ").append(announcesSucceeded).append('/').append(announcesFailed).append('\n')
+            .append("  announce throughput: ").append(String.format("%.1f/s", announceThroughput)).append('\n')
+            .append("  acks processed:      ").append(acksProcessed).append('\n')
+            .append("  accepted/rejected:   ").append(accepted).append('/').append(rejected).append('\n')
+            .append("  time to accept:      p50=").append(timeToAcceptP50.toMillis())
+            .append("ms p95=").append(timeToAcceptP95.toMillis())
+            .append("ms p99=").append(timeToAcceptP99.toMillis())
+            .append("ms max=").append(timeToAcceptMax.toMillis()).append("ms\n")
+            .append("  consumer lag:        announce=").append(announceLag).append(" ack=").append(ackLag).append('\n')
+            .append("  still pending:       ").append(pending).append('\n')
+            .append("  stuck in PENDING:    ").append(stuckInstances.size());
+        if (!stuckInstances.isEmpty()) {
+            summary.append(' ').append(stuckInstances.subList(0, Math.min(10, stuckInstances.size())));
+            if (stuckInstances.size() > 10) {
+                summary.append(" ...");
+            }
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,399 @@
+package ai.elaro.sdk.loadtest;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.kafka.PluginKafkaListener;
+import ai.elaro.sdk.kafka.PluginKafkaProducer;
+import ai.elaro.sdk.load.InstanceLoadSampler;
+import ai.elaro.sdk.registration.PluginRegistrar;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.InProcessPluginTransport;
+import ai.elaro.sdk.transport.KafkaPluginTransport;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSubscription;
+import ai.elaro.sdk.ui.PluginScreenRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.Lifecycle;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fleet-scale registration load test. Runs many {@link PluginRegistrar}
+ * instances in one JVM against a {@link ScriptedConsole}, over an embedded
+ * Kafka broker, an existing broker or the in-process transport.
+ *
+ * <p>Each simulated instance has its own plugin ID, registrar and ack
+ * listener. The instances share one ack consumer that hands each record to
+ * the listener of the plugin it is keyed by, so the test measures the
+ * registration protocol rather than the cost of thousands of consumers.</p>
+ *
+ * <p>Run with {@code mvn exec:java -Dexec.mainClass=ai.elaro.sdk.loadtest.RegistrationLoadTest
+ * -Dexec.args="--instances=5000"}. See {@link LoadTestOptions} for all options.</p>
+ */
+@Slf4j
+public class RegistrationLoadTest implements AutoCloseable {
+
+    private static final String CONSOLE_GROUP = "elaro-loadtest-console";
+    private static final String INSTANCE_GROUP = "elaro-loadtest-instances";
+    private static final Duration ASSIGNMENT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final PluginProperties baseProperties = new PluginProperties();
+    private final PluginThreads threads;
+    private final PluginMessageCodec codec;
+    private final LoadTestMetrics metrics;
+    private final ScheduledExecutorService consoleScheduler;
+    private final ScheduledExecutorService rampScheduler;
+    private final GenericApplicationContext screenContext = new GenericApplicationContext();
+    private final List<PluginTransport> producerTransports = new ArrayList<>();
+    private final List<DefaultKafkaProducerFactory<String, byte[]>> producerFactories = new ArrayList<>();
+    private final Map<String, PluginKafkaListener> listeners = new ConcurrentHashMap<>();
+    private final List<PluginRegistrar> registrars = new ArrayList<>();
+    private final List<String> pluginIds = new ArrayList<>();
+
+    private EmbeddedKafkaBroker broker;
+    private AdminClient admin;
+    private PluginTransport consoleTransport;
+    private PluginTransport instanceTransport;
+    private ScriptedConsole console;
+    private TransportSubscription ackSubscription;
+
+    public RegistrationLoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.threads = new PluginThreads(options.isVirtualThreads());
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        this.codec = new PluginMessageCodec(mapper);
+        this.metrics = new LoadTestMetrics(options.getInstances());
+        this.consoleScheduler = Executors.newScheduledThreadPool(2, threads.factory("loadtest-console"));
+        this.rampScheduler = threads.newScheduler("loadtest-ramp");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoggingSystem logging = LoggingSystem.get(RegistrationLoadTest.class.getClassLoader());
+        logging.setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.valueOf(options.getLogLevel().toUpperCase()));
+        logging.setLogLevel(RegistrationLoadTest.class.getPackageName(), LogLevel.INFO);
+
+        try (RegistrationLoadTest test = new RegistrationLoadTest(options)) {
+            log.info(test.run().toSummary());
+        }
+    }
+
+    /**
+     * Start the transports, console and instances, report progress until
+     * every instance is terminal or the duration has passed, and return the
+     * final report.
+     */
+    public LoadTestReport run() throws InterruptedException {
+        setUpTransports();
+        String announceTopic = baseProperties.getKafka().getAnnounceTopic();
+        String ackTopic = baseProperties.getKafka().getAckTopic();
+
+        console = new ScriptedConsole(consoleTransport, codec, announceTopic, ackTopic, consoleScheduler, options);
+        ackSubscription = instanceTransport.subscribe(ackTopic, this::routeAck);
+        startTransports();
+
+        screenContext.refresh();
+        PluginScreenRegistry screenRegistry = new PluginScreenRegistry(screenContext);
+        screenRegistry.getScreens();
+        createInstances(screenRegistry);
+
+        log.info("Starting {} instances over {}s on the {} transport", options.getInstances(),
+            options.getRampUpSeconds(), options.isInProcess() ? "in-process" : "Kafka");
+        long rampNanos = TimeUnit.SECONDS.toNanos(options.getRampUpSeconds());
+        for (int i = 0; i < registrars.size(); i++) {
+            rampScheduler.schedule(registrars.get(i)::startBeacon,
+                rampNanos * i / registrars.size(), TimeUnit.NANOSECONDS);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        long windowStart = start;
+        long windowAnnounces = 0;
+        while (true) {
+            long sleep = Math.min(TimeUnit.SECONDS.toNanos(options.getReportIntervalSeconds()),
+                deadline - System.nanoTime());
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+
+            long now = System.nanoTime();
+            LoadTestReport report = snapshot(now - start, now - windowStart, windowAnnounces);
+            windowStart = now;
+            windowAnnounces = report.getAnnouncesSucceeded();
+
+            boolean done = report.getStarted() == registrars.size() && report.getPending() == 0;
+            if (done || now >= deadline) {
+                break;
+            }
+            log.info(report.toProgressLine());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        return snapshot(elapsed, elapsed, 0);
+    }
+
+    @Override
+    public void close() {
+        rampScheduler.shutdownNow();
+        for (PluginRegistrar registrar : registrars) {
+            registrar.stopBeacon(Duration.ZERO);
+        }
+        if (console != null) {
+            console.close();
+        }
+        if (ackSubscription != null) {
+            ackSubscription.close();
+        }
+        consoleScheduler.shutdownNow();
+        stopTransport(consoleTransport);
+        stopTransport(instanceTransport);
+        producerTransports.forEach(this::stopTransport);
+        producerFactories.forEach(DefaultKafkaProducerFactory::destroy);
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(5));
+        }
+        if (broker != null) {
+            broker.destroy();
+        }
+        screenContext.close();
+    }
+
+    private void setUpTransports() {
+        if (options.isInProcess()) {
+            InProcessPluginTransport transport = new InProcessPluginTransport("loadtest",
+                Math.max(65_536, options.getInstances() * 4), threads);
+            consoleTransport = transport;
+            instanceTransport = transport;
+            producerTransports.add(transport);
+            return;
+        }
+
+        String bootstrapServers = options.getBootstrapServers();
+        if (bootstrapServers == null || bootstrapServers.isBlank()) {
+            broker = new EmbeddedKafkaKraftBroker(1, options.getPartitions(),
+                baseProperties.getKafka().getAnnounceTopic(), baseProperties.getKafka().getAckTopic());
+            broker.afterPropertiesSet();
+            bootstrapServers = broker.getBrokersAsString();
+            log.info("Embedded Kafka broker started at {}", bootstrapServers);
+        }
+
+        admin = AdminClient.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+        consoleTransport = kafkaTransport(bootstrapServers, CONSOLE_GROUP);
+        instanceTransport = kafkaTransport(bootstrapServers, INSTANCE_GROUP);
+        producerTransports.add(instanceTransport);
+        for (int i = 1; i < options.getProducers(); i++) {
+            producerTransports.add(kafkaTransport(bootstrapServers, INSTANCE_GROUP));
+        }
+    }
+
+    private KafkaPluginTransport kafkaTransport(String bootstrapServers, String groupId) {
+        Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        DefaultKafkaProducerFactory<String, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(producerProps);
+        producerFactories.add(producerFactory);
+
+        Map<String, Object> consumerProps = new HashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        // Commit often so the lag figures follow the consumers closely
+        consumerProps.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, 1000);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        containerFactory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(consumerProps));
+        containerFactory.setConcurrency(options.getPartitions());
+        if (threads.isVirtual()) {
+            containerFactory.getContainerProperties().setListenerTaskExecutor(threads.taskExecutor(groupId + "-"));
+        }
+        return new KafkaPluginTransport(new KafkaTemplate<>(producerFactory), containerFactory);
+    }
+
+    private void startTransports() throws InterruptedException {
+        for (PluginTransport transport : List.of(consoleTransport, instanceTransport)) {
+            if (transport instanceof Lifecycle lifecycle && !lifecycle.isRunning()) {
+                lifecycle.start();
+            }
+        }
+        if (options.isInProcess()) {
+            return;
+        }
+
+        // Announcements sent before the console is assigned would be missed
+        long deadline = System.nanoTime() + ASSIGNMENT_TIMEOUT.toNanos();
+        while (console.getSubscription().assignedPartitions() == 0 || ackSubscription.assignedPartitions() == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Consumers were not assigned partitions within " + ASSIGNMENT_TIMEOUT);
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private void createInstances(PluginScreenRegistry screenRegistry) {
+        StandardEnvironment environment = new StandardEnvironment();
+        ObjectProvider<InstanceLoadSampler> noLoadSampler =
+            new StaticListableBeanFactory().getBeanProvider(InstanceLoadSampler.class);
+
+        List<PluginKafkaProducer> producers = producerTransports.stream()
+            .map(transport -> new PluginKafkaProducer(transport, baseProperties, codec, metrics, PluginTracing.DISABLED))
+            .toList();
+
+        for (int i = 0; i < options.getInstances(); i++) {
+            PluginProperties properties = new PluginProperties();
+            properties.setId(String.format("loadtest-plugin-%05d", i));
+            properties.setName("Load test plugin " + i);
+            properties.setHost("127.0.0.1");
+            properties.setPort(8080);
+            properties.setBeaconIntervalSeconds(options.getBeaconIntervalSeconds());
+            properties.setKafka(baseProperties.getKafka());
+
+            PluginRegistrar registrar = new PluginRegistrar(producers.get(i % producers.size()), properties,
+                screenRegistry, environment, metrics, threads, noLoadSampler);
+            registrar.ackSubscribed(ackSubscription);
+            registrars.add(registrar);
+            pluginIds.add(properties.getId());
+            listeners.put(properties.getId(),
+                new PluginKafkaListener(registrar, properties, codec, metrics, instanceTransport));
+        }
+    }
+
+    private void routeAck(TransportRecord record) {
+        PluginKafkaListener listener = record.key() != null ? listeners.get(record.key()) : null;
+        if (listener != null) {
+            listener.onAck(record);
+        }
+    }
+
+    private LoadTestReport snapshot(long elapsedNanos, long windowNanos, long windowStartAnnounces) {
+        Instant stuckBefore = Instant.now().minusSeconds(options.getStuckAfterSeconds());
+        int started = 0;
+        int pending = 0;
+        List<String> stuck = new ArrayList<>();
+        for (int i = 0; i < registrars.size(); i++) {
+            PluginRegistrar registrar = registrars.get(i);
+            Instant startedAt = registrar.getStartedAt();
+            if (startedAt == null) {
+                continue;
+            }
+            started++;
+            if (registrar.getStatus() == RegistrationStatus.PENDING) {
+                pending++;
+                if (startedAt.isBefore(stuckBefore)) {
+                    stuck.add(pluginIds.get(i));
+                }
+            }
+        }
+
+        long announces = metrics.getAnnouncesSucceeded();
+        Duration[] timeToAccept = metrics.timeToAccept(50, 95, 99, 100);
+        String announceTopic = baseProperties.getKafka().getAnnounceTopic();
+        String ackTopic = baseProperties.getKafka().getAckTopic();
+
+        return LoadTestReport.builder()
+            .elapsed(Duration.ofNanos(elapsedNanos))
+            .instances(registrars.size())
+            .started(started)
+            .beaconsSent(metrics.getBeaconsSent())
+            .announcesSucceeded(announces)
+            .announcesFailed(metrics.getAnnouncesFailed())
+            .announceThroughput(windowNanos > 0
+                ? (announces - windowStartAnnounces) / (windowNanos / 1e9) : 0)
+            .acksProcessed(metrics.getAcksProcessed())
+            .accepted(metrics.getAccepted())
+            .rejected(metrics.getRejected())
+            .pending(pending)
+            .timeToAcceptP50(timeToAccept[0])
+            .timeToAcceptP95(timeToAccept[1])
+            .timeToAcceptP99(timeToAccept[2])
+            .timeToAcceptMax(timeToAccept[3])
+            .announceLag(lag(CONSOLE_GROUP, announceTopic))
+            .ackLag(lag(INSTANCE_GROUP, ackTopic))
+            .stuckInstances(stuck)
+            .build();
+    }
+
+    /**
+     * Records on the topic not yet committed by the group, or -1 if the
+     * broker could not be asked.
+     */
+    private long lag(String groupId, String topic) {
+        if (admin == null) {
+            return instanceTransport.getPendingCount();
+        }
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(5, TimeUnit.SECONDS);
+            TopicDescription description = admin.describeTopics(List.of(topic))
+                .allTopicNames().get(5, TimeUnit.SECONDS).get(topic);
+
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            description.partitions().forEach(partition ->
+                latest.put(new TopicPartition(topic, partition.partition()), OffsetSpec.latest()));
+
+            long lag = 0;
+            for (var end : admin.listOffsets(latest).all().get(5, TimeUnit.SECONDS).entrySet()) {
+                OffsetAndMetadata offset = committed.get(end.getKey());
+                lag += end.getValue().offset() - (offset != null ? offset.offset() : 0);
+            }
+            return lag;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            log.warn("Could not read consumer lag for {}: {}", groupId, e.getMessage());
+            return -1;
+        }
+    }
+
+    private void stopTransport(PluginTransport transport) {
+        if (transport instanceof Lifecycle lifecycle && lifecycle.isRunning()) {
+            lifecycle.stop();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ai.elaro.sdk.loadtest;
+
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.registration.PluginManifest;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import ai.elaro.sdk.transport.InMemoryConsole;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSubscription;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Console stand-in for load tests. Consumes announcements and answers each
+ * one after a configurable delay.
+ *
+ * <p>Which plugin IDs are rejected or never answered is decided from a hash
+ * of the ID, so the same instances are affected on every beacon.</p>
+ */
+@Slf4j
+public class ScriptedConsole implements AutoCloseable {
+
+    private final PluginTransport transport;
+    private final PluginMessageCodec codec;
+    private final String ackTopic;
+    private final ScheduledExecutorService scheduler;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double rejectRate;
+    private final double dropRate;
+    private final TransportSubscription subscription;
+    private final LongAdder announcements = new LongAdder();
+    private final LongAdder acksSent = new LongAdder();
+
+    public ScriptedConsole(PluginTransport transport, PluginMessageCodec codec,
+                           String announceTopic, String ackTopic,
+                           ScheduledExecutorService scheduler, LoadTestOptions options) {
+        this.transport = transport;
+        this.codec = codec;
+        this.ackTopic = ackTopic;
+        this.scheduler = scheduler;
+        this.latencyMillis = options.getAckLatencyMillis();
+        this.jitterMillis = options.getAckJitterMillis();
+        this.rejectRate = options.getRejectRate();
+        this.dropRate = options.getDropRate();
+        this.subscription = transport.subscribe(announceTopic, this::onAnnouncement);
+    }
+
+    /**
+     * Get the number of announcements consumed.
+     */
+    public long getAnnouncementCount() {
+        return announcements.sum();
+    }
+
+    /**
+     * Get the number of acks handed to the transport.
+     */
+    public long getAcksSent() {
+        return acksSent.sum();
+    }
+
+    /**
+     * Get the subscription on the announce topic.
+     */
+    public TransportSubscription getSubscription() {
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        subscription.close();
+    }
+
+    private void onAnnouncement(TransportRecord record) {
+        PluginManifest manifest;
+        try {
+            manifest = codec.decodeManifest(record.value());
+        } catch (Exception e) {
+            log.warn("Scripted console could not parse announcement: {}", e.getMessage());
+            return;
+        }
+        announcements.increment();
+        if (manifest.getStatus() == RegistrationStatus.LEAVING) {
+            return;
+        }
+
+        double bucket = bucket(manifest.getPluginId());
+        if (bucket < dropRate) {
+            return;
+        }
+        AckMessage ack = AckMessage.builder()
+            .pluginId(manifest.getPluginId())
+            .status(bucket < dropRate + rejectRate ? RegistrationStatus.REJECTED : RegistrationStatus.ACCEPTED)
+            .environment(manifest.getEnvironment())
+            .tenantId(manifest.getTenantId())
+            .reason(bucket < dropRate + rejectRate ? "Rejected by load test script" : null)
+            .build();
+
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        scheduler.schedule(() -> sendAck(record, ack), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void sendAck(TransportRecord announcement, AckMessage ack) {
+        try {
+            ack.setTimestamp(Instant.now());
+            transport.send(InMemoryConsole.reply(announcement, ackTopic, ack.getPluginId(), codec.encodeAck(ack)));
+            acksSent.increment();
+        } catch (Exception e) {
+            log.warn("Scripted console could not send ack for {}: {}", ack.getPluginId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Stable value in [0, 1) for a plugin ID.
+     */
+    private static double bucket(String pluginId) {
+        // Spread sequential IDs, whose string hashes are close together
+        int h = pluginId.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        return (h & 0x7fffffff) % 10_000 / 10_000.0;
+    }
+}
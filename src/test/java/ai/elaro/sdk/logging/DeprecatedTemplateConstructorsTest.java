@@ -0,0 +1,86 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"deprecation", "removal", "unchecked"})
+class DeprecatedTemplateConstructorsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final KafkaTemplate<String, String> template = mock(KafkaTemplate.class);
+
+    DeprecatedTemplateConstructorsTest() {
+        CompletableFuture<SendResult<String, String>> sent = CompletableFuture.completedFuture(null);
+        when(template.send(any(ProducerRecord.class))).thenReturn(sent);
+    }
+
+    @Test
+    void factoryLoggersSendJsonStringsThroughTheTemplate() throws Exception {
+        UUID tenant = UUID.randomUUID();
+        ElaroLoggerFactory factory = new ElaroLoggerFactory(template, objectMapper);
+        factory.configure("billing", "Billing", tenant);
+
+        factory.getLogger(DeprecatedTemplateConstructorsTest.class).info("Invoice {} paid", 42);
+
+        ProducerRecord<String, String> record = captureSent();
+        assertThat(record.topic()).isEqualTo(ElaroLogger.LOGS_TOPIC);
+        assertThat(record.key()).isEqualTo("billing");
+        JsonNode json = objectMapper.readTree(record.value());
+        assertThat(json.get("message").asText()).isEqualTo("Invoice 42 paid");
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("tenantId").asText()).isEqualTo(tenant.toString());
+    }
+
+    @Test
+    void loggerSendsJsonStringsThroughTheTemplate() throws Exception {
+        ElaroLogger logger = new ElaroLogger(DeprecatedTemplateConstructorsTest.class, template, objectMapper,
+            "billing", "Billing", null);
+
+        logger.warn("Slow response");
+
+        JsonNode json = objectMapper.readTree(captureSent().value());
+        assertThat(json.get("message").asText()).isEqualTo("Slow response");
+        assertThat(json.get("logger").asText()).isEqualTo(DeprecatedTemplateConstructorsTest.class.getName());
+    }
+
+    @Test
+    void templateSenderForwardsHeadersAndFlushes() {
+        StringTemplateLogTransport sender = new StringTemplateLogTransport(template);
+
+        sender.send(new TransportRecord("logs", "billing", "{}".getBytes(StandardCharsets.UTF_8),
+            Map.of("traceparent", "00-abc-def-01")));
+        sender.flush();
+
+        ProducerRecord<String, String> record = captureSent();
+        assertThat(record.value()).isEqualTo("{}");
+        assertThat(new String(record.headers().lastHeader("traceparent").value(), StandardCharsets.UTF_8))
+            .isEqualTo("00-abc-def-01");
+        assertThat(sender).isNotInstanceOf(PluginTransport.class);
+        verify(template).flush();
+    }
+
+    private ProducerRecord<String, String> captureSent() {
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(template).send(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,161 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportListener;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSubscription;
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GarbageFreeLoggerTest {
+
+    private static final CompletableFuture<Void> SENT = CompletableFuture.completedFuture(null);
+
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final CapturingTransport transport = new CapturingTransport();
+    private final ch.qos.logback.classic.Logger slf4j =
+        (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(GarbageFreeLoggerTest.class);
+    private LogPublisher publisher;
+    private ElaroLogger logger;
+
+    @BeforeEach
+    void setUp() {
+        // Publish only, so the measured calls do not include the SLF4J backend
+        slf4j.setLevel(Level.OFF);
+        publisher = new LogPublisher(transport, codec, PluginTracing.DISABLED, 1024, new PluginThreads(false));
+        logger = new ElaroLogger(GarbageFreeLoggerTest.class, publisher, "billing", "Billing", null);
+        logger.setMinKafkaLevel(LogLevel.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.stopAccepting();
+        publisher.awaitDrained(Duration.ofSeconds(5));
+        slf4j.setLevel(null);
+    }
+
+    @Test
+    void publishesFormattedRecords() throws Exception {
+        logger.info("Invoice {} paid by {}", "INV-1", "alice");
+        logger.warn("Retry {} of {}", 2L, 5L);
+        logger.error("Took {} ms", 12.5);
+
+        assertThat(messages(3)).containsExactly(
+            "Invoice INV-1 paid by alice", "Retry 2 of 5", "Took 12.5 ms");
+    }
+
+    @Test
+    void throwingArgumentDoesNotStallTheRing() throws Exception {
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("broken");
+            }
+        };
+
+        assertThatThrownBy(() -> logger.info("Value {}", broken)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> logger.info("Values {} {} {}", "a", "b", broken))
+            .isInstanceOf(IllegalStateException.class);
+        logger.info("After {}", "failure");
+
+        assertThat(messages(1)).containsExactly("After failure");
+
+        publisher.stopAccepting();
+        assertThat(publisher.awaitDrained(Duration.ofSeconds(5))).isTrue();
+        assertThat(transport.records).hasSize(1);
+    }
+
+    @Test
+    void fixedArityOverloadsDoNotAllocateOnTheCallingThread() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String order = "INV-1";
+        Object customer = "alice";
+        Long amount = 1_000_000L;
+        transport.capturing = false;
+
+        // Warm up past JIT compilation of the logging path
+        for (int i = 0; i < 200_000; i++) {
+            logAll(order, customer, amount, i);
+        }
+        int calls = 20_000;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < calls; i++) {
+            logAll(order, customer, amount, i);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Allocating on every call would cost megabytes here
+        assertThat(allocated).as("bytes allocated by %d calls", calls * 6).isLessThan(calls);
+    }
+
+    private void logAll(String order, Object customer, Long amount, long i) {
+        logger.info("Order created");
+        logger.info("Order {}", order);
+        logger.info("Order {} for {}", order, customer);
+        logger.info("Order {} for {} of {}", order, customer, amount);
+        logger.info("Order {} for {} of {} at {}", order, customer, amount, order);
+        logger.info("Sequence {}", i);
+    }
+
+    private List<String> messages(int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.records.size() < count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertThat(transport.records).hasSizeGreaterThanOrEqualTo(count);
+        List<String> messages = new ArrayList<>();
+        for (TransportRecord record : transport.records) {
+            messages.add(codec.decodeLog(record.value()).message());
+        }
+        return messages;
+    }
+
+    private static final class CapturingTransport implements PluginTransport {
+
+        private final ConcurrentLinkedQueue<TransportRecord> records = new ConcurrentLinkedQueue<>();
+        private volatile boolean capturing = true;
+
+        @Override
+        public CompletableFuture<Void> send(TransportRecord record) {
+            if (capturing) {
+                records.add(record);
+            }
+            return SENT;
+        }
+
+        @Override
+        public TransportSubscription subscribe(String topic, TransportListener listener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TransportSubscription> getSubscriptions() {
+            return List.of();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
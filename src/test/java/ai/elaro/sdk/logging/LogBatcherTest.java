@@ -0,0 +1,195 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogBatcherTest {
+
+    private static final UUID TENANT = UUID.fromString("0f1e2d3c-4b5a-4978-8695-a4b3c2d1e0f9");
+
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final LogBatchUnpacker unpacker = new LogBatchUnpacker(codec);
+    private final ConcurrentLinkedQueue<LogBatch> batches = new ConcurrentLinkedQueue<>();
+    private LogBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    void roundTripsRecordsThroughEnvelopes() throws Exception {
+        batcher = new LogBatcher(new LogBatching(1024 * 1024, 3, Duration.ofMinutes(1)), batches::add,
+            new PluginThreads(false));
+        List<LogMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            messages.add(message("billing", TENANT, "Invoice " + i + " paid ü 😀", i % 2 == 0 ? "worker-1" : "worker-2"));
+        }
+
+        messages.forEach(batcher::add);
+        assertThat(batches).hasSize(2);
+        batcher.flush();
+
+        assertThat(batches).hasSize(3);
+        assertThat(batches).allSatisfy(batch -> {
+            assertThat(batch.serviceId()).isEqualTo("billing");
+            assertThat(batch.tenantId()).isEqualTo(TENANT);
+            assertThat(batch.threads()).doesNotHaveDuplicates();
+        });
+        assertThat(decoded()).containsExactlyElementsOf(messages);
+    }
+
+    @Test
+    void startsANewEnvelopeWhenTheServiceOrTenantChanges() throws Exception {
+        batcher = new LogBatcher(new LogBatching(1024 * 1024, 100, Duration.ofMinutes(1)), batches::add,
+            new PluginThreads(false));
+        List<LogMessage> messages = List.of(
+            message("billing", TENANT, "first", "worker-1"),
+            message("billing", TENANT, "second", "worker-1"),
+            message("billing", null, "third", "worker-1"),
+            message("shipping", null, "fourth", "worker-1"));
+
+        messages.forEach(batcher::add);
+        batcher.flush();
+
+        assertThat(batches).extracting(batch -> batch.records().size()).containsExactly(2, 1, 1);
+        assertThat(decoded()).containsExactlyElementsOf(messages);
+    }
+
+    @Test
+    void sendsAnEnvelopeOnceItReachesTheTargetSize() {
+        batcher = new LogBatcher(new LogBatching(2048, 100, Duration.ofMinutes(1)), batches::add,
+            new PluginThreads(false));
+
+        for (int i = 0; i < 10; i++) {
+            batcher.add(message("billing", TENANT, "x".repeat(500), "worker-1"));
+        }
+
+        assertThat(batches).isNotEmpty();
+        assertThat(batches).allSatisfy(batch -> assertThat(batch.records().size()).isLessThan(10));
+    }
+
+    @Test
+    void sendsAnEnvelopeAfterTheLinger() {
+        batcher = new LogBatcher(new LogBatching(1024 * 1024, 100, Duration.ofMillis(20)), batches::add,
+            new PluginThreads(false));
+
+        batcher.add(message("billing", TENANT, "lingering", "worker-1"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.isEmpty() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void keepsEveryRecordInOrderAcrossVirtualThreads() throws Exception {
+        batcher = new LogBatcher(new LogBatching(1024 * 1024, 16, Duration.ofMillis(5)), batch -> {
+            // Slow sink, so producers queue on the send lock
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            batches.add(batch);
+        }, new PluginThreads(true));
+        int threads = 16;
+        int perThread = 500;
+
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String name = "producer-" + t;
+            producers.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    batcher.add(message("billing", TENANT, Integer.toString(i), name));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(30));
+            assertThat(producer.isAlive()).isFalse();
+        }
+        batcher.flush();
+
+        Map<String, Integer> next = new HashMap<>();
+        for (LogMessage message : decoded()) {
+            int expected = next.getOrDefault(message.threadName(), 0);
+            assertThat(Integer.parseInt(message.message())).as(message.threadName()).isEqualTo(expected);
+            next.put(message.threadName(), expected + 1);
+        }
+        assertThat(next).hasSize(threads);
+        assertThat(next.values()).containsOnly(perThread);
+    }
+
+    @Test
+    void publisherSendsEnvelopesTheUnpackerExpands() throws Exception {
+        PluginTransport transport = mock(PluginTransport.class);
+        when(transport.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        LogPublisher publisher = new LogPublisher(transport, codec, PluginTracing.DISABLED, 0,
+            new PluginThreads(false), LogSizeLimits.DEFAULTS, new LogBatching(1024 * 1024, 4, Duration.ofMinutes(1)));
+        List<LogMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            messages.add(message("billing", TENANT, "Record " + i, "worker-1"));
+        }
+
+        messages.forEach(message -> publisher.publish("billing", message, null));
+        publisher.stopAccepting();
+        publisher.awaitDrained(Duration.ofSeconds(5));
+
+        ArgumentCaptor<TransportRecord> sent = ArgumentCaptor.forClass(TransportRecord.class);
+        verify(transport, atLeastOnce()).send(sent.capture());
+        assertThat(sent.getAllValues()).hasSize(2);
+        List<LogMessage> received = new ArrayList<>();
+        for (TransportRecord record : sent.getAllValues()) {
+            assertThat(record.headers()).containsEntry(LogBatch.FORMAT_HEADER, LogBatch.FORMAT);
+            received.addAll(unpacker.unpack(record));
+        }
+        assertThat(received).containsExactlyElementsOf(messages);
+    }
+
+    /**
+     * Encode and decode every envelope the sink received, then expand it.
+     */
+    private List<LogMessage> decoded() throws Exception {
+        List<LogMessage> messages = new ArrayList<>();
+        for (LogBatch batch : batches) {
+            TransportRecord record = new TransportRecord(ElaroLogger.LOGS_TOPIC, batch.serviceId(),
+                codec.encodeLogBatch(batch), Map.of(LogBatch.FORMAT_HEADER, LogBatch.FORMAT));
+            messages.addAll(unpacker.unpack(record));
+        }
+        return messages;
+    }
+
+    private static LogMessage message(String serviceId, UUID tenantId, String text, String thread) {
+        return new LogMessage(UUID.randomUUID(), serviceId, serviceId + " service", LogLevel.INFO,
+            "com.example.Billing", text, null, Map.of("orderId", "123"), thread,
+            Instant.parse("2024-01-02T03:04:05.678Z"), tenantId,
+            "0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331");
+    }
+}
@@ -0,0 +1,116 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.tracing.TraceContext;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogEventEncoderTest {
+
+    private static final LogSizeLimits SMALL = new LogSizeLimits(12, 40, 5, 0, false, 1);
+
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final LogEventEncoder encoder = new LogEventEncoder();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "Invoice 42 paid",
+        "quote \" backslash \\ slash /",
+        "controls \u0000 \u0001 \b \t \n \f \r \u001f \u007f",
+        "latin é ß ñ",
+        "cjk 請求書",
+        "emoji 😀 and 👍🏽",
+        "separators    ",
+        "high \ud83d alone",
+        "low \ude00 alone",
+        "ends high \ud83d"
+    })
+    void matchesJacksonForMessages(String message) throws Exception {
+        LogEvent event = event(message);
+
+        assertMatchesJackson(event, LogSizeLimits.UNLIMITED);
+        assertMatchesJackson(event, SMALL);
+    }
+
+    @Test
+    void matchesJacksonWithEveryFieldSet() throws Exception {
+        LogEvent event = event("Payment failed for ü");
+        event.thrown = new IllegalStateException("Declined: 😀");
+        Map<String, String> context = new LinkedHashMap<>();
+        context.put("orderId", "123");
+        context.put("note", "multi-byte ü 請求 😀 value");
+        context.put("empty", "");
+        event.context = context;
+        event.tenantId = UUID.fromString("0f1e2d3c-4b5a-4978-8695-a4b3c2d1e0f9");
+        event.trace = new TraceContext(0x0af7651916cd43ddL, 0x8448eb211c80319cL, 0xb7ad6b7169203331L, true);
+
+        assertMatchesJackson(event, LogSizeLimits.UNLIMITED);
+        assertMatchesJackson(event, LogSizeLimits.DEFAULTS);
+        assertMatchesJackson(event, SMALL);
+    }
+
+    @Test
+    void matchesJacksonWithNullFields() throws Exception {
+        LogEvent event = event("Nothing else set");
+        event.serviceId = null;
+        event.serviceName = null;
+        event.level = null;
+        event.logger = null;
+        event.threadName = null;
+
+        assertMatchesJackson(event, LogSizeLimits.UNLIMITED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1L, 999L, 1_700_000_000_123L, 1_700_000_000_000L, -1L, -1_500L})
+    void matchesJacksonForTimestamps(long millis) throws Exception {
+        LogEvent event = event("tick");
+        event.epochSecond = Math.floorDiv(millis, 1000);
+        event.nanos = (int) Math.floorMod(millis, 1000) * 1_000_000;
+
+        assertMatchesJackson(event, LogSizeLimits.UNLIMITED);
+    }
+
+    @Test
+    void reusesItsBufferAcrossEventsOfDifferentSizes() throws Exception {
+        LogEvent large = event("x".repeat(5000) + " ü");
+        LogEvent small = event("short");
+
+        assertMatchesJackson(large, LogSizeLimits.UNLIMITED);
+        assertMatchesJackson(small, LogSizeLimits.UNLIMITED);
+    }
+
+    private void assertMatchesJackson(LogEvent event, LogSizeLimits limits) throws Exception {
+        byte[] expected = codec.encodeLog(limits.apply(event.toMessage()));
+        byte[] actual = encoder.encode(event, limits);
+
+        assertThat(new String(actual, StandardCharsets.UTF_8)).isEqualTo(new String(expected, StandardCharsets.UTF_8));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static LogEvent event(String message) {
+        LogEvent event = new LogEvent();
+        event.idMostSigBits = 0x123e4567e89b42d3L;
+        event.idLeastSigBits = 0xa456426614174000L;
+        event.serviceId = "billing";
+        event.serviceName = "Billing \"Service\"";
+        event.level = LogLevel.WARN;
+        event.logger = "com.example.billing.InvoiceService";
+        event.message.append(message);
+        event.threadName = "worker-1";
+        event.epochSecond = 1_700_000_000L;
+        event.nanos = 123_000_000;
+        return event;
+    }
+}
@@ -0,0 +1,166 @@
+package ai.elaro.sdk.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogLevelResolverTest {
+
+    @Test
+    void defaultsToDebug() {
+        assertThat(new LogLevelResolver().resolve("com.acme.Billing")).isEqualTo(LogLevel.DEBUG);
+        assertThat(new LogLevelResolver(null).resolve("com.acme.Billing")).isEqualTo(LogLevel.DEBUG);
+    }
+
+    @Test
+    void appliesTheRootLevelToEveryLogger() {
+        LogLevelResolver resolver = new LogLevelResolver(Map.of("root", LogLevel.WARN));
+
+        assertThat(resolver.resolve("com.acme.Billing")).isEqualTo(LogLevel.WARN);
+        assertThat(resolver.resolve("Billing")).isEqualTo(LogLevel.WARN);
+        assertThat(resolver.resolve("")).isEqualTo(LogLevel.WARN);
+    }
+
+    @Test
+    void mostSpecificPrefixWins() {
+        LogLevelResolver resolver = new LogLevelResolver(levels(
+            "root", LogLevel.ERROR,
+            "com.acme", LogLevel.WARN,
+            "com.acme.billing", LogLevel.DEBUG,
+            "com.acme.billing.InvoiceService", LogLevel.TRACE));
+
+        assertThat(resolver.resolve("org.other.Thing")).isEqualTo(LogLevel.ERROR);
+        assertThat(resolver.resolve("com.Thing")).isEqualTo(LogLevel.ERROR);
+        assertThat(resolver.resolve("com.acme.Thing")).isEqualTo(LogLevel.WARN);
+        assertThat(resolver.resolve("com.acme.billing.Ledger")).isEqualTo(LogLevel.DEBUG);
+        assertThat(resolver.resolve("com.acme.billing.InvoiceService")).isEqualTo(LogLevel.TRACE);
+        assertThat(resolver.resolve("com.acme.billing.InvoiceService$Retry")).isEqualTo(LogLevel.TRACE);
+    }
+
+    @Test
+    void matchesWholeSegmentsOnly() {
+        LogLevelResolver resolver = new LogLevelResolver(levels(
+            "root", LogLevel.INFO,
+            "com.acme", LogLevel.ERROR));
+
+        assertThat(resolver.resolve("com.acmecorp.Thing")).isEqualTo(LogLevel.INFO);
+        assertThat(resolver.resolve("com.acm")).isEqualTo(LogLevel.INFO);
+        assertThat(resolver.resolve("com.acme")).isEqualTo(LogLevel.ERROR);
+    }
+
+    @Test
+    void intermediateSegmentsWithoutALevelInheritFromTheirParent() {
+        LogLevelResolver resolver = new LogLevelResolver(levels(
+            "com", LogLevel.WARN,
+            "com.acme.billing.internal", LogLevel.TRACE));
+
+        assertThat(resolver.resolve("com.acme.billing.Ledger")).isEqualTo(LogLevel.WARN);
+        assertThat(resolver.resolve("com.acme.billing.internal.Cache")).isEqualTo(LogLevel.TRACE);
+    }
+
+    @Test
+    void treatsNestedClassSeparatorsAsSegments() {
+        LogLevelResolver resolver = new LogLevelResolver(Map.of("com.acme.Billing$Retry", LogLevel.ERROR));
+
+        assertThat(resolver.resolve("com.acme.Billing$Retry")).isEqualTo(LogLevel.ERROR);
+        assertThat(resolver.resolve("com.acme.Billing.Retry")).isEqualTo(LogLevel.ERROR);
+        assertThat(resolver.resolve("com.acme.Billing")).isEqualTo(LogLevel.DEBUG);
+    }
+
+    @Test
+    void normalizesRootNames() {
+        LogLevelResolver resolver = new LogLevelResolver();
+
+        resolver.setConfiguredLevel("ROOT", LogLevel.WARN);
+        assertThat(resolver.resolve("any.Logger")).isEqualTo(LogLevel.WARN);
+
+        resolver.setConfiguredLevel(" ", LogLevel.ERROR);
+        assertThat(resolver.resolve("any.Logger")).isEqualTo(LogLevel.ERROR);
+        assertThat(resolver.getLevels()).containsOnlyKeys(LogLevelResolver.ROOT);
+    }
+
+    @Test
+    void ignoresNullConfiguredLevels() {
+        Map<String, LogLevel> configured = new HashMap<>();
+        configured.put("com.acme", null);
+
+        assertThat(new LogLevelResolver(configured).getLevels()).isEmpty();
+    }
+
+    @Test
+    void overridesWinOverConfiguredLevels() {
+        LogLevelResolver resolver = new LogLevelResolver(Map.of("com.acme", LogLevel.WARN));
+
+        resolver.applyOverrides(Map.of("com.acme", LogLevel.TRACE), false);
+        assertThat(resolver.resolve("com.acme.Thing")).isEqualTo(LogLevel.TRACE);
+
+        resolver.setConfiguredLevel("com.acme", LogLevel.ERROR);
+        assertThat(resolver.resolve("com.acme.Thing")).isEqualTo(LogLevel.TRACE);
+        assertThat(resolver.getLevels()).containsEntry("com.acme", LogLevel.TRACE);
+    }
+
+    @Test
+    void removingAnOverrideRestoresTheConfiguredLevel() {
+        LogLevelResolver resolver = new LogLevelResolver(Map.of("com.acme", LogLevel.WARN));
+        resolver.applyOverrides(levels("com.acme", LogLevel.TRACE, "org.other", LogLevel.ERROR), false);
+
+        Map<String, LogLevel> removal = new HashMap<>();
+        removal.put("com.acme", null);
+        resolver.applyOverrides(removal, false);
+
+        assertThat(resolver.resolve("com.acme.Thing")).isEqualTo(LogLevel.WARN);
+        assertThat(resolver.getOverrides()).containsOnlyKeys("org.other");
+    }
+
+    @Test
+    void resetClearsEveryOverride() {
+        LogLevelResolver resolver = new LogLevelResolver(Map.of("com.acme", LogLevel.WARN));
+        resolver.applyOverrides(levels("com.acme", LogLevel.TRACE, "org.other", LogLevel.ERROR), false);
+
+        resolver.applyOverrides(Map.of("net.third", LogLevel.INFO), true);
+
+        assertThat(resolver.getOverrides()).containsOnlyKeys("net.third");
+        assertThat(resolver.resolve("com.acme.Thing")).isEqualTo(LogLevel.WARN);
+        assertThat(resolver.resolve("org.other.Thing")).isEqualTo(LogLevel.DEBUG);
+    }
+
+    @Test
+    void bumpsTheGenerationOnEveryChange() {
+        LogLevelResolver resolver = new LogLevelResolver();
+        long start = resolver.generation();
+
+        resolver.setConfiguredLevel("com.acme", LogLevel.WARN);
+        resolver.applyOverrides(Map.of(), true);
+
+        assertThat(resolver.generation()).isEqualTo(start + 2);
+    }
+
+    @Test
+    void loggersPickUpChangedLevels() {
+        LogLevelResolver resolver = new LogLevelResolver(Map.of("ai.elaro", LogLevel.INFO));
+        ElaroLogger logger = new ElaroLogger(LogLevelResolverTest.class, null, "billing", "Billing", null, resolver);
+        assertThat(logger.getMinKafkaLevel()).isEqualTo(LogLevel.INFO);
+
+        resolver.applyOverrides(Map.of("ai.elaro.sdk.logging", LogLevel.ERROR), false);
+        assertThat(logger.getMinKafkaLevel()).isEqualTo(LogLevel.ERROR);
+
+        logger.setMinKafkaLevel(LogLevel.TRACE);
+        assertThat(logger.getMinKafkaLevel()).isEqualTo(LogLevel.TRACE);
+
+        logger.setMinKafkaLevel(null);
+        resolver.applyOverrides(null, true);
+        assertThat(logger.getMinKafkaLevel()).isEqualTo(LogLevel.INFO);
+    }
+
+    private static Map<String, LogLevel> levels(Object... prefixesAndLevels) {
+        Map<String, LogLevel> levels = new LinkedHashMap<>();
+        for (int i = 0; i < prefixesAndLevels.length; i += 2) {
+            levels.put((String) prefixesAndLevels[i], (LogLevel) prefixesAndLevels[i + 1]);
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,123 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogLoadShedderTest {
+
+    private static final CompletableFuture<Void> SENT = CompletableFuture.completedFuture(null);
+
+    // Only the send buffer signal is on: shed at 80%, recover below 40% for two samples
+    private static final LogShedding SETTINGS =
+        new LogShedding(Duration.ofSeconds(1), 0, 0.8, 0, 0, LogLevel.WARN, 0.5, 2);
+
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final BufferTransport transport = new BufferTransport();
+    private final LogPublisher publisher = new LogPublisher(transport, codec, PluginTracing.DISABLED);
+    private final LogLoadShedder shedder =
+        new LogLoadShedder(publisher, transport, SETTINGS, new PluginThreads(false), "billing", "Billing", null);
+
+    @Test
+    void pressureRaisesTheShedLevelOneStepPerSampleUpToTheMaximum() throws Exception {
+        transport.bufferUsage = 0.9;
+
+        assertThat(levelsAfterSamples(3)).containsExactly(LogLevel.INFO, LogLevel.WARN, LogLevel.WARN);
+        assertThat(shedder.getSignals().bufferUsage()).isEqualTo(0.9);
+        assertThat(notices(1)).containsExactly("Log load shedding active, records below INFO are not published");
+    }
+
+    @Test
+    void levelHoldsWhileSignalsStayInsideTheHysteresisBand() {
+        transport.bufferUsage = 0.9;
+        levelsAfterSamples(2);
+
+        transport.bufferUsage = 0.6;
+        assertThat(levelsAfterSamples(5)).containsOnly(LogLevel.WARN);
+
+        // A band sample restarts the calm count
+        transport.bufferUsage = 0.1;
+        shedder.sample();
+        transport.bufferUsage = 0.6;
+        shedder.sample();
+        transport.bufferUsage = 0.1;
+        shedder.sample();
+        assertThat(shedder.getShedLevel()).isEqualTo(LogLevel.WARN);
+    }
+
+    @Test
+    void calmSamplesLowerTheLevelOneStepAtATimeUntilSheddingEnds() throws Exception {
+        transport.bufferUsage = 0.9;
+        levelsAfterSamples(2);
+
+        transport.bufferUsage = 0.1;
+
+        assertThat(levelsAfterSamples(4)).containsExactly(LogLevel.WARN, LogLevel.INFO, LogLevel.INFO, null);
+        assertThat(notices(2)).containsExactly(
+            "Log load shedding active, records below INFO are not published", "Log load shedding ended");
+    }
+
+    @Test
+    void unavailableSignalsNeverTriggerShedding() {
+        transport.bufferUsage = -1;
+
+        assertThat(levelsAfterSamples(3)).containsOnlyNulls();
+    }
+
+    private List<LogLevel> levelsAfterSamples(int samples) {
+        List<LogLevel> levels = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            shedder.sample();
+            levels.add(shedder.getShedLevel());
+        }
+        return levels;
+    }
+
+    private List<String> notices(int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.records.size() < count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        List<String> messages = new ArrayList<>();
+        for (TransportRecord record : transport.records) {
+            messages.add(codec.decodeLog(record.value()).message());
+        }
+        return messages;
+    }
+
+    private static final class BufferTransport implements TransportSender {
+
+        private final ConcurrentLinkedQueue<TransportRecord> records = new ConcurrentLinkedQueue<>();
+        private volatile double bufferUsage = -1;
+
+        @Override
+        public CompletableFuture<Void> send(TransportRecord record) {
+            records.add(record);
+            return SENT;
+        }
+
+        @Override
+        public double getSendBufferUsage() {
+            return bufferUsage;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
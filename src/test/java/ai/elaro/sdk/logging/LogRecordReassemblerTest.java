@@ -0,0 +1,211 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogRecordReassemblerTest {
+
+    private final LogRecordReassembler reassembler = new LogRecordReassembler();
+
+    @Test
+    void returnsUnchunkedRecordsUnchanged() {
+        byte[] value = bytes("whole");
+
+        assertThat(reassembler.accept(new TransportRecord(ElaroLogger.LOGS_TOPIC, "billing", value))).isSameAs(value);
+        assertThat(reassembler.accept(new RecordHeaders(), value)).isSameAs(value);
+    }
+
+    @Test
+    void returnsSingleChunkRecordsDirectly() {
+        byte[] value = bytes("only");
+
+        assertThat(reassembler.accept(chunk("a", 0, 1, value))).isSameAs(value);
+        assertThat(reassembler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void joinsChunksInOrder() {
+        assertThat(reassembler.accept(chunk("a", 0, 3, "one-"))).isNull();
+        assertThat(reassembler.accept(chunk("a", 1, 3, "two-"))).isNull();
+        assertThat(reassembler.getPendingCount()).isEqualTo(1);
+
+        assertThat(text(reassembler.accept(chunk("a", 2, 3, "three")))).isEqualTo("one-two-three");
+        assertThat(reassembler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void joinsChunksOutOfOrder() {
+        assertThat(reassembler.accept(chunk("a", 2, 3, "three"))).isNull();
+        assertThat(reassembler.accept(chunk("a", 0, 3, "one-"))).isNull();
+
+        assertThat(text(reassembler.accept(chunk("a", 1, 3, "two-")))).isEqualTo("one-two-three");
+    }
+
+    @Test
+    void ignoresDuplicateChunks() {
+        assertThat(reassembler.accept(chunk("a", 0, 2, "one-"))).isNull();
+        assertThat(reassembler.accept(chunk("a", 0, 2, "again-"))).isNull();
+        assertThat(reassembler.getPendingCount()).isEqualTo(1);
+
+        assertThat(text(reassembler.accept(chunk("a", 1, 2, "two")))).isEqualTo("one-two");
+        assertThat(reassembler.getDiscardedCount()).isZero();
+    }
+
+    @Test
+    void keepsInterleavedRecordsApart() {
+        assertThat(reassembler.accept(chunk("a", 0, 2, "a0"))).isNull();
+        assertThat(reassembler.accept(chunk("b", 1, 2, "b1"))).isNull();
+        assertThat(text(reassembler.accept(chunk("b", 0, 2, "b0")))).isEqualTo("b0b1");
+
+        assertThat(text(reassembler.accept(chunk("a", 1, 2, "a1")))).isEqualTo("a0a1");
+    }
+
+    @Test
+    void readsKafkaHeaders() {
+        RecordHeaders first = headers("a", 0, 2);
+        RecordHeaders second = headers("a", 1, 2);
+
+        assertThat(reassembler.accept(second, bytes("two"))).isNull();
+        assertThat(text(reassembler.accept(first, bytes("one-")))).isEqualTo("one-two");
+    }
+
+    @Test
+    void discardsInvalidChunkHeaders() {
+        assertThat(reassembler.accept(chunk("a", "x", "2", "bad"))).isNull();
+        assertThat(reassembler.accept(chunk("a", "2", "2", "bad"))).isNull();
+        assertThat(reassembler.accept(chunk("a", "-1", "2", "bad"))).isNull();
+        assertThat(reassembler.accept(chunk("a", "0", "0", "bad"))).isNull();
+        assertThat(reassembler.accept(chunk("a", "0", "100000", "bad"))).isNull();
+
+        assertThat(reassembler.getDiscardedCount()).isEqualTo(5);
+        assertThat(reassembler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void discardsRecordsWhoseChunkCountChanges() {
+        assertThat(reassembler.accept(chunk("a", 0, 3, "one"))).isNull();
+        assertThat(reassembler.accept(chunk("a", 1, 2, "two"))).isNull();
+
+        assertThat(reassembler.getDiscardedCount()).isEqualTo(1);
+        assertThat(reassembler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void evictsTheOldestRecordWhenTooManyArePending() {
+        LogRecordReassembler bounded = new LogRecordReassembler(Duration.ofMinutes(1), 2);
+
+        bounded.accept(chunk("a", 0, 2, "a0"));
+        bounded.accept(chunk("b", 0, 2, "b0"));
+        bounded.accept(chunk("c", 0, 2, "c0"));
+
+        assertThat(bounded.getPendingCount()).isEqualTo(2);
+        assertThat(bounded.getDiscardedCount()).isEqualTo(1);
+        // "a" was evicted, so its last chunk starts a new record
+        assertThat(bounded.accept(chunk("a", 1, 2, "a1"))).isNull();
+        assertThat(text(bounded.accept(chunk("c", 1, 2, "c1")))).isEqualTo("c0c1");
+    }
+
+    @Test
+    void evictsRecordsOlderThanTheTimeout() {
+        LogRecordReassembler expiring = new LogRecordReassembler(Duration.ofMillis(1), 16);
+
+        expiring.accept(chunk("a", 0, 2, "a0"));
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        expiring.accept(chunk("b", 0, 2, "b0"));
+
+        assertThat(expiring.getDiscardedCount()).isEqualTo(1);
+        assertThat(expiring.getPendingCount()).isEqualTo(1);
+        assertThat(expiring.accept(chunk("a", 1, 2, "a1"))).isNull();
+    }
+
+    @Test
+    void joinsChunksSentByThePublisher() throws Exception {
+        PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+        PluginTransport transport = mock(PluginTransport.class);
+        when(transport.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        LogSizeLimits limits = new LogSizeLimits(0, 0, 0, 256, true, 64);
+        LogPublisher publisher = new LogPublisher(transport, codec, PluginTracing.DISABLED, 0, null, limits);
+        LogMessage message = new LogMessage(UUID.randomUUID(), "billing", "Billing", LogLevel.ERROR,
+            "com.example.Billing", "Invoice failed 請求 😀 ".repeat(100), null, Map.of("orderId", "123"),
+            "worker-1", Instant.parse("2024-01-02T03:04:05.678Z"), null, null, null);
+
+        publisher.publish("billing", message, null);
+
+        ArgumentCaptor<TransportRecord> sent = ArgumentCaptor.forClass(TransportRecord.class);
+        verify(transport, atLeastOnce()).send(sent.capture());
+        List<TransportRecord> chunks = new ArrayList<>(sent.getAllValues());
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.value().length).isLessThanOrEqualTo(256));
+        Collections.shuffle(chunks, new Random(42));
+
+        byte[] payload = null;
+        for (TransportRecord chunk : chunks) {
+            payload = reassembler.accept(chunk);
+        }
+        assertThat(payload).isNotNull();
+        assertThat(codec.decodeLog(payload)).isEqualTo(message);
+    }
+
+    private static TransportRecord chunk(String id, int index, int count, String value) {
+        return chunk(id, index, count, bytes(value));
+    }
+
+    private static TransportRecord chunk(String id, int index, int count, byte[] value) {
+        return chunk(id, Integer.toString(index), Integer.toString(count), value);
+    }
+
+    private static TransportRecord chunk(String id, String index, String count, String value) {
+        return chunk(id, index, count, bytes(value));
+    }
+
+    private static TransportRecord chunk(String id, String index, String count, byte[] value) {
+        return new TransportRecord(ElaroLogger.LOGS_TOPIC, "billing", value, Map.of(
+            LogRecordReassembler.CHUNK_ID_HEADER, id,
+            LogRecordReassembler.CHUNK_INDEX_HEADER, index,
+            LogRecordReassembler.CHUNK_COUNT_HEADER, count));
+    }
+
+    private static RecordHeaders headers(String id, int index, int count) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(LogRecordReassembler.CHUNK_ID_HEADER, bytes(id));
+        headers.add(LogRecordReassembler.CHUNK_INDEX_HEADER, bytes(Integer.toString(index)));
+        headers.add(LogRecordReassembler.CHUNK_COUNT_HEADER, bytes(Integer.toString(count)));
+        return headers;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        assertThat(value).isNotNull();
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
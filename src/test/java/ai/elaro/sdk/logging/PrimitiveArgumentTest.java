@@ -0,0 +1,132 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.PluginTransport;
+import ai.elaro.sdk.transport.TransportListener;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.transport.TransportSubscription;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitiveArgumentTest {
+
+    private static final CompletableFuture<Void> SENT = CompletableFuture.completedFuture(null);
+
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final CapturingTransport transport = new CapturingTransport();
+    private final ch.qos.logback.classic.Logger slf4j =
+        (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(PrimitiveArgumentTest.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private LogPublisher publisher;
+
+    static Stream<Arguments> primitives() {
+        byte b = 7;
+        short s = 300;
+        int i = 42;
+        long l = 9_000_000_000L;
+        float f = 0.1f;
+        double d = 0.1;
+        char c = 'A';
+        return Stream.of(
+            Arguments.of("byte", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", b), "Value 7"),
+            Arguments.of("short", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", s), "Value 300"),
+            Arguments.of("int", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", i), "Value 42"),
+            Arguments.of("long", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", l), "Value 9000000000"),
+            Arguments.of("float", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", f), "Value 0.1"),
+            Arguments.of("double", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", d), "Value 0.1"),
+            Arguments.of("char", (Consumer<ElaroLogger>) logger -> logger.info("Value {}", c), "Value A"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.stopAccepting();
+            publisher.awaitDrained(Duration.ofSeconds(5));
+        }
+        slf4j.detachAppender(appender);
+        slf4j.setLevel(null);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("primitives")
+    void garbageFreePathRendersLikeStringValueOf(String type, Consumer<ElaroLogger> call, String expected)
+            throws Exception {
+        assertRendered(1024, call, expected);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("primitives")
+    void directPathRendersLikeStringValueOf(String type, Consumer<ElaroLogger> call, String expected)
+            throws Exception {
+        assertRendered(0, call, expected);
+    }
+
+    private void assertRendered(int ringSize, Consumer<ElaroLogger> call, String expected) throws Exception {
+        slf4j.setLevel(Level.INFO);
+        appender.start();
+        slf4j.addAppender(appender);
+        publisher = new LogPublisher(transport, codec, PluginTracing.DISABLED, ringSize, new PluginThreads(false));
+        ElaroLogger logger = new ElaroLogger(PrimitiveArgumentTest.class, publisher, "billing", "Billing", null);
+        logger.setMinKafkaLevel(LogLevel.INFO);
+
+        call.accept(logger);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(expected);
+        assertThat(published()).isEqualTo(expected);
+    }
+
+    private String published() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.records.isEmpty() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertThat(transport.records).hasSize(1);
+        return codec.decodeLog(transport.records.peek().value()).message();
+    }
+
+    private static final class CapturingTransport implements PluginTransport {
+
+        private final ConcurrentLinkedQueue<TransportRecord> records = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public CompletableFuture<Void> send(TransportRecord record) {
+            records.add(record);
+            return SENT;
+        }
+
+        @Override
+        public TransportSubscription subscribe(String topic, TransportListener listener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TransportSubscription> getSubscriptions() {
+            return List.of();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ai.elaro.sdk.logging;
+
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.tracing.TraceContext;
+import ai.elaro.sdk.transport.InProcessPluginTransport;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.TransportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracePropagationTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final PluginMessageCodec codec =
+        new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final InProcessPluginTransport transport =
+        new InProcessPluginTransport("trace-test", 64, new PluginThreads(false));
+    private final CompletableFuture<TransportRecord> received = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp() {
+        transport.subscribe(ElaroLogger.LOGS_TOPIC, received::complete);
+        transport.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        transport.stop();
+    }
+
+    @Test
+    void traceparentRoundTripsThroughTheTransport() throws Exception {
+        LogPublisher publisher = new LogPublisher(transport, codec,
+            new PluginTracing(List.of(), ObservationRegistry.NOOP, 0, true));
+        ElaroLogger logger = new ElaroLogger(TracePropagationTest.class, publisher, "billing", "Billing", null);
+
+        MDC.put(TraceContext.TRACEPARENT, TRACEPARENT);
+        logger.info("Invoice {} paid", 42);
+
+        TransportRecord record = received.get(5, TimeUnit.SECONDS);
+        assertThat(record.headers()).containsEntry(TraceContext.TRACEPARENT, TRACEPARENT);
+        TraceContext context = TraceContext.fromTraceparent(record.headers().get(TraceContext.TRACEPARENT));
+        assertThat(context.toTraceparent()).isEqualTo(TRACEPARENT);
+
+        LogMessage message = codec.decodeLog(record.value());
+        assertThat(message.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(message.spanId()).isEqualTo("00f067aa0ba902b7");
+    }
+
+    @Test
+    void recordsWithoutTraceCarryNoHeader() throws Exception {
+        LogPublisher publisher = new LogPublisher(transport, codec,
+            new PluginTracing(List.of(), ObservationRegistry.NOOP, 0, true));
+        new ElaroLogger(TracePropagationTest.class, publisher, "billing", "Billing", null).info("No trace");
+
+        TransportRecord record = received.get(5, TimeUnit.SECONDS);
+        assertThat(record.headers()).doesNotContainKey(TraceContext.TRACEPARENT);
+        assertThat(codec.decodeLog(record.value()).traceId()).isNull();
+    }
+
+    @Test
+    void untracedConstructorLeavesTraceIdsEmpty() {
+        UUID id = UUID.randomUUID();
+        Instant now = Instant.now();
+
+        LogMessage message = new LogMessage(id, "billing", "Billing", LogLevel.INFO, "logger", "message",
+            null, Map.of(), "main", now, null);
+
+        assertThat(message).isEqualTo(new LogMessage(id, "billing", "Billing", LogLevel.INFO, "logger",
+            "message", null, Map.of(), "main", now, null, null, null));
+    }
+}
@@ -0,0 +1,130 @@
+package ai.elaro.sdk.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Utf8TruncationTest {
+
+    private static final Pattern MARKER = Pattern.compile(
+        Pattern.quote(Utf8Truncation.MARKER_PREFIX) + "(\\d+)" + Pattern.quote(Utf8Truncation.MARKER_SUFFIX) + "$");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ascii", "latin é ß", "cjk 請求書", "emoji 😀👍🏽", "mixed a é 請 😀 z"})
+    void countsUtf8Bytes(String value) {
+        assertThat(Utf8Truncation.utf8Length(value)).isEqualTo(value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void leavesFittingValuesAlone() {
+        String value = "fits";
+
+        assertThat(Utf8Truncation.truncate(value, 100)).isSameAs(value);
+        assertThat(Utf8Truncation.truncate(value, 0)).isSameAs(value);
+        assertThat(Utf8Truncation.truncate(null, 10)).isNull();
+    }
+
+    @Test
+    void leavesValuesExactlyAtTheBudgetAlone() {
+        String value = "é".repeat(50);
+
+        assertThat(Utf8Truncation.truncate(value, 100)).isSameAs(value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"x", "é", "請", "😀", "a😀", "é請😀x"})
+    void keepsTruncatedValuesWithinTheBudget(String unit) {
+        String value = unit.repeat(200);
+        int total = value.getBytes(StandardCharsets.UTF_8).length;
+
+        for (int maxBytes = Utf8Truncation.MARKER_RESERVE; maxBytes < total; maxBytes++) {
+            String truncated = Utf8Truncation.truncate(value, maxBytes);
+
+            assertThat(truncated.getBytes(StandardCharsets.UTF_8).length)
+                .as("budget %d", maxBytes).isLessThanOrEqualTo(maxBytes);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"😀", "a😀", "ab😀", "é😀", "請😀"})
+    void neverSplitsASurrogatePair(String unit) {
+        String value = unit.repeat(100);
+        int total = value.getBytes(StandardCharsets.UTF_8).length;
+
+        for (int maxBytes = Utf8Truncation.MARKER_RESERVE; maxBytes < total; maxBytes++) {
+            String kept = kept(Utf8Truncation.truncate(value, maxBytes));
+
+            assertThat(kept).as("budget %d", maxBytes).isEqualTo(value.substring(0, kept.length()));
+            assertThat(kept.isEmpty() || !Character.isHighSurrogate(kept.charAt(kept.length() - 1)))
+                .as("budget %d ends inside a pair", maxBytes).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"x", "é", "請", "😀", "é請😀x"})
+    void markerCountsTheRemovedBytes(String unit) {
+        String value = unit.repeat(300);
+        int total = value.getBytes(StandardCharsets.UTF_8).length;
+
+        for (int maxBytes = Utf8Truncation.MARKER_RESERVE; maxBytes < total; maxBytes += 7) {
+            String truncated = Utf8Truncation.truncate(value, maxBytes);
+            Matcher marker = MARKER.matcher(truncated);
+
+            assertThat(marker.find()).as("budget %d", maxBytes).isTrue();
+            int keptBytes = kept(truncated).getBytes(StandardCharsets.UTF_8).length;
+            assertThat(keptBytes + Integer.parseInt(marker.group(1))).as("budget %d", maxBytes).isEqualTo(total);
+        }
+    }
+
+    @Test
+    void keepsNothingWhenTheBudgetOnlyFitsTheMarker() {
+        String truncated = Utf8Truncation.truncate("x".repeat(500), Utf8Truncation.MARKER_RESERVE);
+
+        assertThat(truncated).isEqualTo(Utf8Truncation.MARKER_PREFIX + 500 + Utf8Truncation.MARKER_SUFFIX);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"x", "é", "請", "😀", "a😀", "é請😀x"})
+    void cutsWithoutTheMarkerWhenTheBudgetCannotHoldIt(String unit) {
+        String value = unit.repeat(50);
+
+        for (int maxBytes = 1; maxBytes < Utf8Truncation.MARKER_RESERVE; maxBytes++) {
+            String truncated = Utf8Truncation.truncate(value, maxBytes);
+
+            assertThat(truncated.getBytes(StandardCharsets.UTF_8).length)
+                .as("budget %d", maxBytes).isLessThanOrEqualTo(maxBytes);
+            assertThat(truncated).as("budget %d", maxBytes)
+                .doesNotContain(Utf8Truncation.MARKER_PREFIX)
+                .isEqualTo(value.substring(0, truncated.length()));
+            assertThat(truncated.isEmpty() || !Character.isHighSurrogate(truncated.charAt(truncated.length() - 1)))
+                .as("budget %d ends inside a pair", maxBytes).isTrue();
+        }
+    }
+
+    @Test
+    void keepsAsMuchAsFitsWithoutTheMarker() {
+        assertThat(Utf8Truncation.truncate("abcdefghij".repeat(10), 5)).isEqualTo("abcde");
+        assertThat(Utf8Truncation.truncate("éééééééééé", 5)).isEqualTo("éé");
+        assertThat(Utf8Truncation.truncate("a😀b".repeat(10), 4)).isEqualTo("a");
+    }
+
+    @Test
+    void keptLengthStopsBeforeAPairThatDoesNotFit() {
+        // One byte of budget left after "a", a pair needs four
+        String value = "a😀b";
+
+        assertThat(Utf8Truncation.keptLength(value, Utf8Truncation.MARKER_RESERVE + 2)).isEqualTo(1);
+        assertThat(Utf8Truncation.keptLength(value, Utf8Truncation.MARKER_RESERVE + 4)).isEqualTo(1);
+        assertThat(Utf8Truncation.keptLength(value, Utf8Truncation.MARKER_RESERVE + 5)).isEqualTo(3);
+    }
+
+    private static String kept(String truncated) {
+        return truncated.substring(0, truncated.lastIndexOf(Utf8Truncation.MARKER_PREFIX));
+    }
+}
@@ -0,0 +1,84 @@
+package ai.elaro.sdk.metrics;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerPluginMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerPluginMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        PluginProperties properties = new PluginProperties();
+        properties.setId("billing");
+        properties.setEnvironment("test");
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerPluginMetrics(registry, properties);
+    }
+
+    @Test
+    void countsBeaconsOnceWithPluginTags() {
+        metrics.beaconSent();
+        metrics.beaconSent();
+
+        assertThat(registry.get("elaro.plugin.beacons.sent")
+            .tag("plugin", "billing").tag("environment", "test")
+            .counter().count()).isEqualTo(2);
+        assertThat(registry.find("elaro.plugin.beacons").meters()).isEmpty();
+    }
+
+    @Test
+    void timesAnnouncementsByOutcome() {
+        metrics.announceCompleted(TimeUnit.MILLISECONDS.toNanos(5), true);
+        metrics.announceCompleted(TimeUnit.MILLISECONDS.toNanos(7), false);
+        metrics.announceCompleted(TimeUnit.MILLISECONDS.toNanos(9), false);
+
+        assertThat(registry.get("elaro.plugin.announce.send").tag("outcome", "success").timer().count())
+            .isEqualTo(1);
+        assertThat(registry.get("elaro.plugin.announce.send").tag("outcome", "failure").timer().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void registrationGaugeIsRegisteredOnBindAndReportsNaNUntilTerminal() {
+        assertThat(registry.find("elaro.plugin.registration.time.to.terminal").gauge()).isNull();
+
+        metrics.bindTo(registry);
+        Gauge gauge = registry.get("elaro.plugin.registration.time.to.terminal").gauge();
+        assertThat(gauge.value()).isNaN();
+
+        metrics.registrationCompleted(RegistrationStatus.ACCEPTED, Duration.ofMillis(1500));
+
+        assertThat(gauge.value()).isEqualTo(1.5);
+        assertThat(registry.get("elaro.plugin.registration.time").tag("status", "ACCEPTED").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void recordsAckHandlingAndParseFailures() {
+        metrics.ackProcessed(TimeUnit.MICROSECONDS.toNanos(250));
+        metrics.ackParseFailed();
+
+        assertThat(registry.get("elaro.plugin.ack.processing").timer().count()).isEqualTo(1);
+        assertThat(registry.get("elaro.plugin.ack.parse.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timesStartupPhasesByPhaseAndCategory() {
+        metrics.startupPhaseCompleted("screens.discover", "screens", Duration.ofMillis(12));
+
+        assertThat(registry.get("elaro.plugin.startup.phase")
+            .tag("phase", "screens.discover").tag("category", "screens")
+            .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12);
+    }
+}
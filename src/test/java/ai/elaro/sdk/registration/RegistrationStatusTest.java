@@ -0,0 +1,157 @@
+package ai.elaro.sdk.registration;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.kafka.PluginKafkaProducer;
+import ai.elaro.sdk.load.InstanceLoadSampler;
+import ai.elaro.sdk.metrics.PluginMetrics;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.InProcessPluginTransport;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.ui.PluginScreenRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrationStatusTest {
+
+    private final PluginThreads threads = new PluginThreads(false);
+    private final InProcessPluginTransport transport = new InProcessPluginTransport("status", 1024, threads);
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final PluginProperties properties = new PluginProperties();
+    private final GenericApplicationContext context = new GenericApplicationContext();
+    private final ConcurrentLinkedQueue<RegistrationStatusChangedEvent> events = new ConcurrentLinkedQueue<>();
+    private PluginRegistrar registrar;
+
+    @BeforeEach
+    void setUp() {
+        properties.setId("billing");
+        properties.setHost("127.0.0.1");
+        properties.setPort(8080);
+        context.refresh();
+        transport.start();
+        PluginKafkaProducer producer =
+            new PluginKafkaProducer(transport, properties, codec, PluginMetrics.NOOP, PluginTracing.DISABLED);
+        registrar = new PluginRegistrar(producer, properties, new PluginScreenRegistry(context),
+            new StandardEnvironment(), PluginMetrics.NOOP, threads,
+            new StaticListableBeanFactory().getBeanProvider(InstanceLoadSampler.class));
+        registrar.setApplicationEventPublisher(event -> events.add((RegistrationStatusChangedEvent) event));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registrar.stopBeacon();
+        transport.stop();
+        context.close();
+    }
+
+    @Test
+    void racingAcksPublishTheTransitionOnce() throws Exception {
+        int racers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> racerThreads = new ArrayList<>();
+        for (int i = 0; i < racers; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                registrar.onAckReceived(ack(RegistrationStatus.ACCEPTED));
+            });
+            thread.start();
+            racerThreads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : racerThreads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertThat(registrar.getStatus()).isEqualTo(RegistrationStatus.ACCEPTED);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getPreviousStatus()).isEqualTo(RegistrationStatus.PENDING);
+            assertThat(event.getStatus()).isEqualTo(RegistrationStatus.ACCEPTED);
+        });
+        assertThat(registrar.awaitTerminalStatus()).isCompletedWithValue(RegistrationStatus.ACCEPTED);
+    }
+
+    @Test
+    void leavingIsNotOverwrittenByALateAck() {
+        registrar.deregister(Duration.ofSeconds(1));
+
+        registrar.onAckReceived(ack(RegistrationStatus.ACCEPTED));
+
+        assertThat(registrar.getStatus()).isEqualTo(RegistrationStatus.LEAVING);
+        assertThat(events).extracting(RegistrationStatusChangedEvent::getStatus)
+            .containsExactly(RegistrationStatus.LEAVING);
+    }
+
+    @Test
+    void stoppingTheBeaconCancelsPendingReplies() throws Exception {
+        ConcurrentLinkedQueue<String> correlationIds = new ConcurrentLinkedQueue<>();
+        transport.subscribe(properties.getKafka().getAnnounceTopic(),
+            record -> correlationIds.add(record.headers().get(PluginKafkaProducer.CORRELATION_ID_HEADER)));
+        registrar.ackSubscribed(transport.subscribe(properties.getKafka().getAckTopic(), record -> { }));
+        registrar.startBeacon();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (correlationIds.isEmpty() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        String correlationId = correlationIds.peek();
+        assertThat(registrar.isAwaitingReply(correlationId)).isTrue();
+
+        registrar.stopBeacon();
+
+        assertThat(registrar.isAwaitingReply(correlationId)).isFalse();
+        assertThat(registrar.getStatus()).isEqualTo(RegistrationStatus.PENDING);
+    }
+
+    @Test
+    void serializedEventDropsTheAck() throws Exception {
+        RegistrationStatusChangedEvent event = new RegistrationStatusChangedEvent(registrar, "instance-1",
+            RegistrationStatus.PENDING, RegistrationStatus.ACCEPTED, ack(RegistrationStatus.ACCEPTED));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        }
+        RegistrationStatusChangedEvent copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (RegistrationStatusChangedEvent) in.readObject();
+        }
+
+        assertThat(copy.getInstanceId()).isEqualTo("instance-1");
+        assertThat(copy.getPreviousStatus()).isEqualTo(RegistrationStatus.PENDING);
+        assertThat(copy.getStatus()).isEqualTo(RegistrationStatus.ACCEPTED);
+        assertThat(copy.getAck()).isNull();
+    }
+
+    private static AckMessage ack(RegistrationStatus status) {
+        return AckMessage.builder()
+            .pluginId("billing")
+            .status(status)
+            .timestamp(Instant.now())
+            .build();
+    }
+}
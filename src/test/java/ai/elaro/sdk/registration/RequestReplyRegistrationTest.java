@@ -0,0 +1,154 @@
+package ai.elaro.sdk.registration;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.config.PluginThreads;
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.kafka.PluginKafkaListener;
+import ai.elaro.sdk.kafka.PluginKafkaProducer;
+import ai.elaro.sdk.load.InstanceLoadSampler;
+import ai.elaro.sdk.metrics.PluginMetrics;
+import ai.elaro.sdk.tracing.PluginTracing;
+import ai.elaro.sdk.transport.InMemoryConsole;
+import ai.elaro.sdk.transport.InProcessPluginTransport;
+import ai.elaro.sdk.transport.PluginMessageCodec;
+import ai.elaro.sdk.transport.TransportRecord;
+import ai.elaro.sdk.ui.PluginScreenRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestReplyRegistrationTest {
+
+    private static final String LOG_TOPIC = "elaro.plugin.logs";
+
+    private final PluginThreads threads = new PluginThreads(false);
+    private final InProcessPluginTransport transport = new InProcessPluginTransport("registration", 1024, threads);
+    private final PluginMessageCodec codec = new PluginMessageCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final PluginProperties properties = new PluginProperties();
+    private final GenericApplicationContext context = new GenericApplicationContext();
+    private InMemoryConsole console;
+    private PluginRegistrar registrar;
+    private PluginKafkaListener listener;
+
+    @BeforeEach
+    void setUp() {
+        properties.setId("billing");
+        properties.setName("Billing");
+        properties.setHost("127.0.0.1");
+        properties.setPort(8080);
+        properties.setBeaconIntervalSeconds(60);
+        PluginProperties.KafkaProperties kafka = properties.getKafka();
+        console = new InMemoryConsole(transport, codec,
+            kafka.getAnnounceTopic(), kafka.getAckTopic(), kafka.getStatusTopic(), LOG_TOPIC);
+        transport.start();
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (listener != null) {
+            listener.unsubscribe();
+        }
+        if (registrar != null) {
+            registrar.stopBeacon();
+        }
+        console.close();
+        transport.stop();
+        context.close();
+    }
+
+    @Test
+    void matchedReplyAcceptsWithoutBeaconing() throws Exception {
+        start();
+
+        assertThat(registrar.awaitTerminalStatus().get(5, TimeUnit.SECONDS)).isEqualTo(RegistrationStatus.ACCEPTED);
+        assertThat(registrar.getStatus()).isEqualTo(RegistrationStatus.ACCEPTED);
+        assertThat(console.getAnnouncementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unmatchedRepliesAreIgnored() throws Exception {
+        console.setDecision(manifest -> null);
+        start();
+        awaitTrue(() -> console.getAnnouncementCount() == 1);
+        String ackTopic = properties.getKafka().getAckTopic();
+
+        // Answer to another instance's announcement
+        transport.send(new TransportRecord(ackTopic, "billing", codec.encodeAck(ack("billing")),
+            Map.of(PluginKafkaProducer.CORRELATION_ID_HEADER, "another-instance")));
+        // Uncorrelated ack for another plugin
+        transport.send(new TransportRecord(ackTopic, "reports", codec.encodeAck(ack("reports"))));
+        transport.flush();
+
+        assertThat(registrar.getStatus()).isEqualTo(RegistrationStatus.PENDING);
+        assertThat(registrar.awaitTerminalStatus()).isNotDone();
+    }
+
+    @Test
+    void uncorrelatedAckForThePluginApplies() throws Exception {
+        console.setDecision(manifest -> null);
+        start();
+        awaitTrue(() -> console.getAnnouncementCount() == 1);
+
+        transport.send(new TransportRecord(properties.getKafka().getAckTopic(), "billing",
+            codec.encodeAck(ack("billing"))));
+
+        assertThat(registrar.awaitTerminalStatus().get(5, TimeUnit.SECONDS)).isEqualTo(RegistrationStatus.ACCEPTED);
+    }
+
+    @Test
+    void timedOutReplyFallsBackToTheBeacon() throws Exception {
+        AtomicBoolean answer = new AtomicBoolean(false);
+        console.setDecision(manifest -> answer.get() ? ack(manifest.getPluginId()) : null);
+        properties.getRegistration().setReplyTimeoutMillis(100);
+        properties.setBeaconIntervalSeconds(1);
+        start();
+        awaitTrue(() -> console.getAnnouncementCount() == 1);
+        answer.set(true);
+
+        assertThat(registrar.awaitTerminalStatus().get(5, TimeUnit.SECONDS)).isEqualTo(RegistrationStatus.ACCEPTED);
+        assertThat(console.getAnnouncementCount()).isEqualTo(2);
+    }
+
+    private void start() {
+        PluginKafkaProducer producer =
+            new PluginKafkaProducer(transport, properties, codec, PluginMetrics.NOOP, PluginTracing.DISABLED);
+        registrar = new PluginRegistrar(producer, properties, new PluginScreenRegistry(context),
+            new StandardEnvironment(), PluginMetrics.NOOP, threads,
+            new StaticListableBeanFactory().getBeanProvider(InstanceLoadSampler.class));
+        listener = new PluginKafkaListener(registrar, properties, codec, PluginMetrics.NOOP, transport);
+        listener.subscribe();
+        registrar.startBeacon();
+    }
+
+    private static AckMessage ack(String pluginId) {
+        return AckMessage.builder()
+            .pluginId(pluginId)
+            .status(RegistrationStatus.ACCEPTED)
+            .timestamp(Instant.now())
+            .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.model.MenuDefinition;
+import ai.elaro.sdk.model.ScreenDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionIndexTest {
+
+    private final ScreenDefinition billing = screen("/billing", "billing:read");
+    private final ScreenDefinition invoices = screen("/billing/invoices", "billing:read", "invoices:write");
+    private final ScreenDefinition help = screen("/help");
+    private final List<MenuDefinition> menu = List.of(
+        node(billing, node(invoices)),
+        node(help));
+    private final PermissionIndex index = new PermissionIndex(List.of(billing, invoices, help), menu);
+
+    @Test
+    void screenNeedsEveryRequiredPermission() {
+        assertThat(index.getVocabularySize()).isEqualTo(2);
+        assertThat(index.visibleScreens(Set.of("billing:read"))).containsExactly(billing, help);
+        assertThat(index.visibleScreens(Set.of("billing:read", "invoices:write")))
+            .containsExactly(billing, invoices, help);
+        assertThat(index.visibleScreens(Set.of("invoices:write"))).containsExactly(help);
+        assertThat(index.visibleScreens(null)).containsExactly(help);
+    }
+
+    @Test
+    void undeclaredPermissionsAreIgnoredAndShareCachedResults() {
+        List<ScreenDefinition> plain = index.visibleScreens(Set.of("billing:read"));
+        List<ScreenDefinition> extra = index.visibleScreens(Set.of("billing:read", "admin:all"));
+
+        assertThat(extra).isSameAs(plain);
+        assertThat(index.maskOf(Set.of("admin:all"))).containsOnly(0L);
+    }
+
+    @Test
+    void hiddenMenuItemHidesItsChildren() {
+        List<MenuDefinition> visible = index.visibleMenu(Set.of("invoices:write"));
+
+        assertThat(visible).extracting(MenuDefinition::getPath).containsExactly("/help");
+
+        List<MenuDefinition> reader = index.visibleMenu(Set.of("billing:read"));
+        assertThat(reader).extracting(MenuDefinition::getPath).containsExactly("/billing", "/help");
+        assertThat(reader.get(0).getChildren()).isEmpty();
+    }
+
+    @Test
+    void vocabularyWiderThanOneWordUsesMultipleMaskWords() {
+        List<ScreenDefinition> screens = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            screens.add(screen("/s" + i, "p" + i));
+        }
+        ScreenDefinition both = screen("/both", "p1", "p69");
+        screens.add(both);
+        PermissionIndex wide = new PermissionIndex(screens, List.of());
+
+        assertThat(wide.getVocabularySize()).isEqualTo(70);
+        assertThat(wide.maskOf(Set.of("p69"))).hasSize(2);
+        assertThat(wide.visibleScreens(Set.of("p69"))).extracting(ScreenDefinition::getPath)
+            .containsExactly("/s69");
+        assertThat(wide.visibleScreens(Set.of("p1", "p69"))).extracting(ScreenDefinition::getPath)
+            .containsExactly("/s1", "/s69", "/both");
+        assertThat(PermissionIndex.covers(wide.maskOf(Set.of("p1", "p69")), wide.requiredMask("/both"))).isTrue();
+        assertThat(PermissionIndex.covers(wide.maskOf(Set.of("p69")), wide.requiredMask("/both"))).isFalse();
+    }
+
+    private static ScreenDefinition screen(String path, String... permissions) {
+        return ScreenDefinition.builder()
+            .path(path)
+            .title(path)
+            .permissions(List.of(permissions))
+            .build();
+    }
+
+    private static MenuDefinition node(ScreenDefinition screen, MenuDefinition... children) {
+        return MenuDefinition.builder()
+            .id(screen.getPath())
+            .path(screen.getPath())
+            .title(screen.getTitle())
+            .permissions(screen.getPermissions())
+            .children(List.of(children))
+            .build();
+    }
+}
@@ -0,0 +1,180 @@
+package ai.elaro.sdk.security;
+
+import ai.elaro.sdk.config.PluginProperties;
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.ui.PluginScreenRegistry;
+import ai.elaro.sdk.ui.ScreenSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScreenPermissionFilterTest {
+
+    private ScreenAccessEvaluator evaluator;
+    private PluginProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        List<ScreenDefinition> screens = List.of(
+            ScreenDefinition.builder().path("/invoices").title("Invoices")
+                .permissions(List.of("invoices:read")).build(),
+            ScreenDefinition.builder().path("/public").title("Public").build());
+        ScreenSnapshot snapshot = mock(ScreenSnapshot.class);
+        when(snapshot.getScreens()).thenReturn(screens);
+        when(snapshot.getPermissionIndex()).thenReturn(new PermissionIndex(screens, List.of()));
+        PluginScreenRegistry registry = mock(PluginScreenRegistry.class);
+        when(registry.getSnapshot()).thenReturn(snapshot);
+
+        properties = new PluginProperties();
+        evaluator = new ScreenAccessEvaluator(registry, properties);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/invoices",
+        "/invoices/42",
+        "/invoices;x=1",
+        "/invoices;jsessionid=abc/42",
+        "/%69nvoices",
+        "/%69nvoices/42",
+        "/public/../invoices",
+        "/public/%2E%2E/invoices",
+        "/./invoices",
+        "//invoices"
+    })
+    void servletFilterRejectsAnonymousRequestsToProtectedScreens(String uri) throws Exception {
+        MockHttpServletResponse response = servlet(uri, null, null);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/invoices;x=1", "/%69nvoices", "/public/../invoices"})
+    void servletFilterDeniesCallersWithoutThePermission(String uri) throws Exception {
+        MockHttpServletResponse response = servlet(uri, "alice", "reports:read");
+
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void servletFilterAllowsCallersWithThePermission() throws Exception {
+        MockHttpServletResponse response = servlet("/%69nvoices;x=1", "alice", "invoices:read");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void servletFilterMatchesWithinTheContextPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/%69nvoices");
+        request.setContextPath("/app");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ScreenPermissionFilter(evaluator, properties).doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void servletFilterPassesUnprotectedPaths() throws Exception {
+        assertThat(servlet("/public", null, null).getStatus()).isEqualTo(200);
+        assertThat(servlet("/other;x=1", null, null).getStatus()).isEqualTo(200);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/ui/invoices", "/ui/invoices/42", "/ui//invoices"})
+    void pathPrefixProtectsScreensBelowIt(String path) {
+        properties.getSecurity().setPathPrefix("/ui");
+
+        assertThat(evaluator.check(path, null, null)).isEqualTo(ScreenAccessEvaluator.Decision.UNAUTHENTICATED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/uiinvoices", "/uix/invoices", "/invoices", "/ui"})
+    void pathPrefixMatchesOnSegmentBoundaries(String path) {
+        properties.getSecurity().setPathPrefix("/ui");
+
+        assertThat(evaluator.check(path, null, null)).isEqualTo(ScreenAccessEvaluator.Decision.NOT_PROTECTED);
+    }
+
+    @Test
+    void pathPrefixWithTrailingSlashBehavesTheSame() {
+        properties.getSecurity().setPathPrefix("/admin/");
+
+        assertThat(evaluator.check("/admin/invoices", null, null))
+            .isEqualTo(ScreenAccessEvaluator.Decision.UNAUTHENTICATED);
+        assertThat(evaluator.check("/administrator/invoices", null, null))
+            .isEqualTo(ScreenAccessEvaluator.Decision.NOT_PROTECTED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/invoices",
+        "/invoices;x=1",
+        "/%69nvoices",
+        "/public/../invoices",
+        "/public/%2E%2E/invoices"
+    })
+    void webFilterRejectsAnonymousRequestsToProtectedScreens(String uri) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.method(HttpMethod.GET, URI.create(uri)));
+        AtomicBoolean passed = new AtomicBoolean();
+
+        new ScreenPermissionWebFilter(evaluator, properties)
+            .filter(exchange, ignored -> {
+                passed.set(true);
+                return Mono.empty();
+            })
+            .block();
+
+        assertThat(passed).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void webFilterAllowsCallersWithThePermission() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.method(HttpMethod.GET, URI.create("/%69nvoices;x=1"))
+            .header(properties.getSecurity().getPrincipalHeader(), "alice")
+            .header(properties.getSecurity().getPermissionsHeader(), "invoices:read"));
+        AtomicBoolean passed = new AtomicBoolean();
+
+        new ScreenPermissionWebFilter(evaluator, properties)
+            .filter(exchange, ignored -> {
+                passed.set(true);
+                return Mono.empty();
+            })
+            .block();
+
+        assertThat(passed).isTrue();
+    }
+
+    private MockHttpServletResponse servlet(String uri, String principal, String permissions) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (principal != null) {
+            request.addHeader(properties.getSecurity().getPrincipalHeader(), principal);
+        }
+        if (permissions != null) {
+            request.addHeader(properties.getSecurity().getPermissionsHeader(), permissions);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ScreenPermissionFilter(evaluator, properties).doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
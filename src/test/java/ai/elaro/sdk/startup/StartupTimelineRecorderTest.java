@@ -0,0 +1,72 @@
+package ai.elaro.sdk.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupTimelineRecorderTest {
+
+    private final StartupTimelineRecorder recorder = new StartupTimelineRecorder();
+
+    @Test
+    void sdkBeanCreationIsRecorded() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        recorder.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(recorder);
+        beanFactory.registerBeanDefinition("sdkBean", new RootBeanDefinition(SdkBean.class));
+        beanFactory.registerBeanDefinition("applicationBean", new RootBeanDefinition(StringBuilder.class));
+
+        beanFactory.getBean("sdkBean");
+        beanFactory.getBean("applicationBean");
+
+        assertThat(recorder.getTimeline().getPhases()).singleElement().satisfies(phase -> {
+            assertThat(phase.name()).isEqualTo("sdkBean");
+            assertThat(phase.category()).isEqualTo("bean");
+            assertThat(phase.tags()).isEmpty();
+        });
+    }
+
+    @Test
+    void failedCreationIsEndedWhenTheBeanIsCreatedAgain() {
+        recorder.postProcessBeforeInstantiation(SdkBean.class, "sdkBean");
+        recorder.postProcessBeforeInstantiation(SdkBean.class, "sdkBean");
+        recorder.postProcessAfterInitialization(new SdkBean(), "sdkBean");
+
+        assertThat(recorder.getTimeline().getPhases()).extracting(StartupPhase::tags)
+            .containsExactly(Map.of("outcome", "failed"), Map.of());
+    }
+
+    @Test
+    void failedCreationIsEndedWhenTheApplicationIsReady() {
+        recorder.postProcessBeforeInstantiation(SdkBean.class, "sdkBean");
+
+        recorder.onApplicationEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], null, Duration.ZERO));
+        recorder.postProcessAfterInitialization(new SdkBean(), "sdkBean");
+
+        assertThat(recorder.getTimeline().getPhases()).singleElement()
+            .satisfies(phase -> assertThat(phase.tags()).containsEntry("outcome", "failed"));
+        assertThat(recorder.getTimeline().getReport().readyMillis()).isNotNull();
+    }
+
+    @Test
+    void endpointServesTheReport() {
+        recorder.postProcessBeforeInstantiation(SdkBean.class, "sdkBean");
+        recorder.postProcessAfterInitialization(new SdkBean(), "sdkBean");
+
+        StartupReport report = new StartupEndpoint(recorder.getTimeline()).startup();
+
+        assertThat(report.phases()).extracting(StartupPhase::name).containsExactly("sdkBean");
+        assertThat(report.sdkBeanMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(report.readyMillis()).isNull();
+    }
+
+    static class SdkBean {
+    }
+}
@@ -0,0 +1,75 @@
+package ai.elaro.sdk.transport;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.internals.BuiltInPartitioner;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class KafkaPluginTransportTest {
+
+    private final KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+    private final KafkaPluginTransport transport =
+        new KafkaPluginTransport(template, new ConcurrentKafkaListenerContainerFactory<>());
+
+    @Test
+    void timedFlushGivesUpWhileSendsArePendingWithoutStartingAThread() {
+        CompletableFuture<SendResult<String, byte[]>> pending = new CompletableFuture<>();
+        when(template.send(any(ProducerRecord.class))).thenReturn(pending);
+        transport.send(new TransportRecord("elaro.logs", "key", new byte[] {1}));
+        int threads = Thread.activeCount();
+
+        boolean flushed = transport.flush(Duration.ofMillis(50));
+
+        assertThat(flushed).isFalse();
+        assertThat(Thread.activeCount()).isLessThanOrEqualTo(threads);
+        verify(template, never()).flush();
+    }
+
+    @Test
+    void timedFlushCompletesOncePendingSendsComplete() throws Exception {
+        CompletableFuture<SendResult<String, byte[]>> pending = new CompletableFuture<>();
+        when(template.send(any(ProducerRecord.class))).thenReturn(pending);
+        transport.send(new TransportRecord("elaro.logs", "key", new byte[] {1}));
+
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)
+            .execute(() -> pending.complete(null));
+
+        assertThat(transport.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(transport.getPendingCount()).isZero();
+    }
+
+    @Test
+    void timedFlushCountsFailedSendsAsDone() {
+        when(template.send(any(ProducerRecord.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        transport.send(new TransportRecord("elaro.logs", "key", new byte[] {1}));
+
+        assertThat(transport.flush(Duration.ofMillis(50))).isTrue();
+    }
+
+    @Test
+    void keyedSubscriptionsReadThePartitionTheProducerPicks() {
+        for (String key : new String[] {"billing", "reports", "loadtest-plugin-00042", "é"}) {
+            for (int partitions : new int[] {1, 3, 12, 50}) {
+                assertThat(KafkaPluginTransport.partitionForKey(key, partitions))
+                    .as("%s over %d partitions", key, partitions)
+                    .isEqualTo(BuiltInPartitioner.partitionForKey(key.getBytes(StandardCharsets.UTF_8), partitions));
+            }
+        }
+    }
+}
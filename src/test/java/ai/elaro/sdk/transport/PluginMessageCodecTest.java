@@ -0,0 +1,100 @@
+package ai.elaro.sdk.transport;
+
+import ai.elaro.sdk.kafka.AckMessage;
+import ai.elaro.sdk.logging.LogLevel;
+import ai.elaro.sdk.logging.LogLevelCommand;
+import ai.elaro.sdk.logging.LogMessage;
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.registration.PluginManifest;
+import ai.elaro.sdk.registration.RegistrationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PluginMessageCodecTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T08:30:00.123Z");
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void manifestRoundTripsAndMatchesTheMapperEncoding(boolean blackbird) throws Exception {
+        PluginMessageCodec codec = codec(blackbird);
+        PluginManifest manifest = PluginManifest.builder()
+            .pluginId("billing")
+            .name("Billing")
+            .version("1.2.0")
+            .screens(List.of(ScreenDefinition.builder()
+                .path("/invoices").title("Invoices é").order(10)
+                .permissions(List.of("billing:read")).build()))
+            .metadata(Map.of("region", "eu"))
+            .deployedAt(NOW)
+            .instanceId("instance-1")
+            .build();
+
+        byte[] encoded = codec.encodeManifest(manifest);
+
+        assertThat(codec.decodeManifest(encoded)).isEqualTo(manifest);
+        assertThat(new String(encoded, StandardCharsets.UTF_8)).isEqualTo(mapper.writeValueAsString(manifest));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void ackRoundTrips(boolean blackbird) throws Exception {
+        PluginMessageCodec codec = codec(blackbird);
+        AckMessage ack = AckMessage.builder()
+            .pluginId("billing")
+            .status(RegistrationStatus.REJECTED)
+            .reason("Unknown vendor")
+            .timestamp(NOW)
+            .build();
+
+        assertThat(codec.decodeAck(codec.encodeAck(ack))).isEqualTo(ack);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void logMessageRoundTrips(boolean blackbird) throws Exception {
+        PluginMessageCodec codec = codec(blackbird);
+        LogMessage message = LogMessage.builder()
+            .serviceId("billing")
+            .serviceName("Billing")
+            .level(LogLevel.ERROR)
+            .logger("ai.elaro.billing.InvoiceService")
+            .message("Invoice 42 failed")
+            .stackTrace("java.lang.IllegalStateException: boom\n\tat Invoice.pay")
+            .context(Map.of("invoice", "42"))
+            .timestamp(NOW)
+            .tenantId(UUID.randomUUID())
+            .build();
+
+        assertThat(codec.decodeLog(codec.encodeLog(message))).isEqualTo(message);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void levelCommandRoundTrips(boolean blackbird) throws Exception {
+        PluginMessageCodec codec = codec(blackbird);
+        LogLevelCommand command = LogLevelCommand.builder()
+            .pluginId("billing")
+            .levels(Map.of("ai.elaro.billing", LogLevel.DEBUG))
+            .timestamp(NOW)
+            .build();
+
+        assertThat(codec.decodeLevelCommand(codec.encodeLevelCommand(command))).isEqualTo(command);
+    }
+
+    private PluginMessageCodec codec(boolean blackbird) {
+        return new PluginMessageCodec(blackbird ? PluginMessageCodec.withBlackbird(mapper) : mapper);
+    }
+}
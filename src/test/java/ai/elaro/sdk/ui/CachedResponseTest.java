@@ -0,0 +1,117 @@
+package ai.elaro.sdk.ui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachedResponseTest {
+
+    private static final byte[] LARGE = ("[" + "{\"path\":\"/invoices\",\"title\":\"Invoices\"},".repeat(40)
+        + "{}]").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SMALL = "{\"id\":\"billing\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void smallBodiesAreNotCompressed() {
+        CachedResponse response = CachedResponse.of(SMALL);
+
+        assertThat(response.hasGzip()).isFalse();
+        assertThat(response.body(true)).isEqualTo(SMALL);
+        assertThat(response.etag(true)).isEqualTo(response.etag(false));
+    }
+
+    @Test
+    void gzipVariantCarriesTheSameContentUnderItsOwnEtag() throws IOException {
+        CachedResponse response = CachedResponse.of(LARGE);
+
+        assertThat(response.hasGzip()).isTrue();
+        assertThat(response.body(true).length).isLessThan(LARGE.length);
+        assertThat(gunzip(response.body(true))).isEqualTo(LARGE);
+        assertThat(response.etag(false)).startsWith("\"").endsWith("\"");
+        assertThat(response.etag(true)).isNotEqualTo(response.etag(false));
+    }
+
+    @Test
+    void etagIsStableForEqualContent() {
+        assertThat(CachedResponse.of(LARGE.clone()).etag(false)).isEqualTo(CachedResponse.of(LARGE).etag(false));
+        assertThat(CachedResponse.of(SMALL).etag(false)).isNotEqualTo(CachedResponse.of(LARGE).etag(false));
+    }
+
+    @Test
+    void ifNoneMatchAcceptsEitherRepresentationWeakTagsAndWildcard() {
+        CachedResponse response = CachedResponse.of(LARGE);
+
+        assertThat(response.matches(response.etag(false))).isTrue();
+        assertThat(response.matches(response.etag(true))).isTrue();
+        assertThat(response.matches("\"other\", W/" + response.etag(false))).isTrue();
+        assertThat(response.matches("*")).isTrue();
+        assertThat(response.matches("\"other\"")).isFalse();
+        assertThat(response.matches(null)).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "gzip|true",
+        "deflate, GZIP;q=0.5|true",
+        "*|true",
+        "gzip;q=0|false",
+        "gzip;q=0.0, br|false",
+        "br, deflate|false",
+        "|false"
+    })
+    void acceptEncodingSelectsGzip(String acceptEncoding, boolean expected) {
+        assertThat(CachedResponse.acceptsGzip(acceptEncoding)).isEqualTo(expected);
+    }
+
+    @Test
+    void controllerServesGzipWithEtagAndVary() {
+        CachedResponse screens = CachedResponse.of(LARGE);
+        PluginUiController controller = controllerServing(screens);
+
+        ResponseEntity<byte[]> response = controller.getScreens(null, "gzip, deflate");
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).isEqualTo(screens.etag(true));
+        assertThat(response.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getBody()).isEqualTo(screens.body(true));
+    }
+
+    @Test
+    void controllerAnswersMatchingIfNoneMatchWith304() {
+        CachedResponse screens = CachedResponse.of(LARGE);
+        PluginUiController controller = controllerServing(screens);
+
+        ResponseEntity<byte[]> response = controller.getScreens(screens.etag(false), null);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(304);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(screens.etag(false));
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+    }
+
+    private static PluginUiController controllerServing(CachedResponse screens) {
+        PluginResponseCache cache = mock(PluginResponseCache.class);
+        when(cache.screens()).thenReturn(screens);
+        when(cache.cacheControl()).thenReturn(CacheControl.noCache());
+        return new PluginUiController(mock(PluginScreenRegistry.class), cache);
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.health.HealthState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PluginHealthEndpointTest {
+
+    @ParameterizedTest
+    @CsvSource({"UP, 200", "UNKNOWN, 200", "DOWN, 503", "OUT_OF_SERVICE, 503"})
+    void servletEndpointStatusFollowsHealth(String state, int expected) {
+        PluginResponseCache cache = cacheReporting(state, true);
+        PluginUiController controller = new PluginUiController(mock(PluginScreenRegistry.class), cache);
+
+        ResponseEntity<Map<String, Object>> response = controller.health();
+
+        assertThat(response.getStatusCode().value()).isEqualTo(expected);
+        assertThat(response.getBody()).containsEntry("status", state);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"UP, 200", "UNKNOWN, 200", "DOWN, 503", "OUT_OF_SERVICE, 503"})
+    void reactiveEndpointStatusFollowsHealth(String state, int expected) {
+        PluginReactiveEndpoints endpoints = new PluginReactiveEndpoints(mock(PluginScreenRegistry.class),
+            cacheReporting(state, true));
+
+        WebTestClient.bindToRouterFunction(endpoints.routes()).build()
+            .get().uri("/plugin/health")
+            .exchange()
+            .expectStatus().isEqualTo(expected)
+            .expectBody().jsonPath("$.status").isEqualTo(state);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"DOWN", "OUT_OF_SERVICE"})
+    void unhealthyPluginAnswers200UnlessOptedIn(String state) {
+        PluginUiController controller = new PluginUiController(mock(PluginScreenRegistry.class),
+            cacheReporting(state, false));
+
+        ResponseEntity<Map<String, Object>> response = controller.health();
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).containsEntry("status", state);
+    }
+
+    @Test
+    void unknownStatusCodesDoNotFailTheEndpoint() {
+        assertThat(PluginResponseCache.healthStatus(Map.of("status", "DEGRADED"), true)).isEqualTo(200);
+        assertThat(PluginResponseCache.healthStatus(new LinkedHashMap<>(), true)).isEqualTo(200);
+    }
+
+    @Test
+    void healthStateMapsStatusObjectsByCode() {
+        assertThat(HealthState.of(HealthState.DOWN)).isEqualTo(HealthState.DOWN);
+        assertThat(HealthState.of(Status.OUT_OF_SERVICE)).isEqualTo(HealthState.OUT_OF_SERVICE);
+        assertThat(HealthState.of(new Status("DEGRADED"))).isEqualTo(HealthState.UNKNOWN);
+        assertThat(HealthState.of("up")).isEqualTo(HealthState.UNKNOWN);
+        assertThat(HealthState.of(null)).isEqualTo(HealthState.UNKNOWN);
+    }
+
+    private static PluginResponseCache cacheReporting(String state, boolean unavailableWhenDown) {
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", state);
+        PluginResponseCache cache = mock(PluginResponseCache.class);
+        when(cache.buildHealth()).thenReturn(health);
+        when(cache.unavailableWhenDown()).thenReturn(unavailableWhenDown);
+        return cache;
+    }
+}
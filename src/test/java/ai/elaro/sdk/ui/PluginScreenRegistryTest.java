@@ -0,0 +1,127 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.ui.screens.OrdersScreen;
+import ai.elaro.sdk.ui.screens.ReportsScreen;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PluginScreenRegistryTest {
+
+    @TempDir
+    Path indexRoot;
+
+    private GenericApplicationContext context;
+
+    @AfterEach
+    void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void scansApplicationPackagesWithoutAnIndex() {
+        PluginScreenRegistry registry = registry(null, "ai.elaro.sdk.ui.screens");
+
+        assertThat(registry.getScreens())
+            .extracting(ScreenDefinition::getPath)
+            .containsExactly("/orders", "/reports");
+        assertThat(registry.getScreens().get(1).getPermissions()).containsExactly("reports:read");
+    }
+
+    @Test
+    void loadsIndexedScreensWithoutScanningCoveredPackages() {
+        Map<String, ScreenDefinition> index = new LinkedHashMap<>();
+        index.put(OrdersScreen.class.getName(), screen("/orders", "Orders (indexed)", 10));
+        index.put(ReportsScreen.class.getName(), screen("/reports", "Reports (indexed)", 20));
+
+        PluginScreenRegistry registry = registry(index, "ai.elaro.sdk.ui.screens");
+
+        assertThat(registry.getScreens())
+            .extracting(ScreenDefinition::getTitle)
+            .containsExactly("Orders (indexed)", "Reports (indexed)");
+    }
+
+    @Test
+    void libraryIndexDoesNotHideUnindexedApplicationScreens() {
+        Map<String, ScreenDefinition> index = new LinkedHashMap<>();
+        index.put("com.example.library.AuditScreen", screen("/audit", "Audit", 5));
+
+        PluginScreenRegistry registry = registry(index, "ai.elaro.sdk.ui.screens");
+
+        assertThat(registry.getScreens())
+            .extracting(ScreenDefinition::getPath)
+            .containsExactly("/audit", "/orders", "/reports");
+    }
+
+    @Test
+    void indexedTypeCoversItsEnclosingPackagesOnly() {
+        Set<String> indexed = Set.of("com.example.app.screens.InvoicesScreen");
+
+        assertThat(PluginScreenRegistry.isCovered("com.example.app", indexed)).isTrue();
+        assertThat(PluginScreenRegistry.isCovered("com.example.app.screens", indexed)).isTrue();
+        assertThat(PluginScreenRegistry.isCovered("com.example.application", indexed)).isFalse();
+        assertThat(PluginScreenRegistry.isCovered("com.example.other", indexed)).isFalse();
+    }
+
+    @Test
+    void screenClassesRemainComponents() {
+        assertThat(PluginScreen.class.isAnnotationPresent(Component.class)).isTrue();
+    }
+
+    private PluginScreenRegistry registry(Map<String, ScreenDefinition> index, String basePackage) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        if (index != null) {
+            classLoader = classLoaderWithIndex(index);
+        }
+
+        context = new GenericApplicationContext();
+        context.setClassLoader(classLoader);
+        AutoConfigurationPackages.register(context, basePackage);
+        context.refresh();
+        return new PluginScreenRegistry(context);
+    }
+
+    private ClassLoader classLoaderWithIndex(Map<String, ScreenDefinition> index) {
+        try {
+            Path file = indexRoot.resolve(ScreenIndex.LOCATION);
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                ScreenIndex.write(index, writer);
+            }
+            return new URLClassLoader(new URL[] {indexRoot.toUri().toURL()}, getClass().getClassLoader());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ScreenDefinition screen(String path, String title, int order) {
+        return ScreenDefinition.builder()
+            .path(path)
+            .title(title)
+            .icon("")
+            .order(order)
+            .parent("")
+            .permissions(List.of())
+            .build();
+    }
+}
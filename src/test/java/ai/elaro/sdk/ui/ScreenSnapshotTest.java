@@ -0,0 +1,100 @@
+package ai.elaro.sdk.ui;
+
+import ai.elaro.sdk.model.MenuDefinition;
+import ai.elaro.sdk.model.ScreenDefinition;
+import ai.elaro.sdk.model.ScreenPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScreenSnapshotTest {
+
+    private final ScreenSnapshot snapshot = new ScreenSnapshot(List.of(
+        screen("/reports", 30, ""),
+        screen("/billing", 10, ""),
+        screen("/billing/invoices", 12, "/billing"),
+        screen("/billing/payments", 11, "/billing"),
+        screen("/billing/invoices/drafts", 13, "/billing/invoices")));
+
+    @Test
+    void sortsScreensByOrderAndIndexesChildren() {
+        assertThat(snapshot.getScreens()).extracting(ScreenDefinition::getPath)
+            .containsExactly("/billing", "/billing/payments", "/billing/invoices",
+                "/billing/invoices/drafts", "/reports");
+        assertThat(snapshot.getChildren("/billing")).extracting(ScreenDefinition::getPath)
+            .containsExactly("/billing/payments", "/billing/invoices");
+        assertThat(snapshot.getChildren(null)).extracting(ScreenDefinition::getPath)
+            .containsExactly("/billing", "/reports");
+        assertThat(snapshot.getChildren("/unknown")).isEmpty();
+    }
+
+    @Test
+    void screenListsAreUnmodifiable() {
+        assertThatThrownBy(() -> snapshot.getScreens().add(screen("/extra", 1, "")))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.getChildren("/billing").clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void buildsMenuTreeFromParentPaths() {
+        List<MenuDefinition> menu = snapshot.getMenu();
+
+        assertThat(menu).extracting(MenuDefinition::getPath).containsExactly("/billing", "/reports");
+        MenuDefinition invoices = menu.get(0).getChildren().get(1);
+        assertThat(invoices.getPath()).isEqualTo("/billing/invoices");
+        assertThat(invoices.getChildren()).extracting(MenuDefinition::getPath)
+            .containsExactly("/billing/invoices/drafts");
+    }
+
+    @Test
+    void selectsSubtreeToDepth() {
+        List<MenuDefinition> subtree = snapshot.getMenu("/billing", 2);
+
+        assertThat(subtree).extracting(MenuDefinition::getPath).containsExactly("/billing");
+        assertThat(subtree.get(0).getChildren()).hasSize(2)
+            .allSatisfy(child -> assertThat(child.getChildren()).isEmpty());
+        assertThat(snapshot.getMenu("/unknown", -1)).isNull();
+        assertThat(snapshot.getMenu(null, 0)).isEmpty();
+    }
+
+    @Test
+    void pagesThroughScreens() {
+        ScreenPage page = snapshot.getPage(null, 1, 2);
+
+        assertThat(page.getItems()).extracting(ScreenDefinition::getPath)
+            .containsExactly("/billing/payments", "/billing/invoices");
+        assertThat(page.getOffset()).isEqualTo(1);
+        assertThat(page.getLimit()).isEqualTo(2);
+        assertThat(page.getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void clampsNegativeLimitAndOutOfRangeOffset() {
+        ScreenPage negativeLimit = snapshot.getPage(null, 0, -5);
+        assertThat(negativeLimit.getItems()).isEmpty();
+        assertThat(negativeLimit.getLimit()).isZero();
+
+        ScreenPage pastEnd = snapshot.getPage("/billing", 10, 5);
+        assertThat(pastEnd.getItems()).isEmpty();
+        assertThat(pastEnd.getOffset()).isEqualTo(2);
+        assertThat(pastEnd.getTotal()).isEqualTo(2);
+
+        ScreenPage negativeOffset = snapshot.getPage(null, -3, 1);
+        assertThat(negativeOffset.getOffset()).isZero();
+        assertThat(negativeOffset.getItems()).extracting(ScreenDefinition::getPath).containsExactly("/billing");
+    }
+
+    private static ScreenDefinition screen(String path, int order, String parent) {
+        return ScreenDefinition.builder()
+            .path(path)
+            .title(path)
+            .order(order)
+            .parent(parent)
+            .permissions(List.of())
+            .build();
+    }
+}
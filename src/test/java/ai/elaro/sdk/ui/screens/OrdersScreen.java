@@ -0,0 +1,7 @@
+package ai.elaro.sdk.ui.screens;
+
+import ai.elaro.sdk.ui.PluginScreen;
+
+@PluginScreen(path = "/orders", title = "Orders", icon = "Package", order = 10)
+public class OrdersScreen {
+}
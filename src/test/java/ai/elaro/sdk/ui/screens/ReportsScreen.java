@@ -0,0 +1,7 @@
+package ai.elaro.sdk.ui.screens;
+
+import ai.elaro.sdk.ui.PluginScreen;
+
+@PluginScreen(path = "/reports", title = "Reports", order = 20, permissions = {"reports:read"})
+public class ReportsScreen {
+}